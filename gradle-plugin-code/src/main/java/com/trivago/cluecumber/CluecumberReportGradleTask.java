@@ -18,12 +18,18 @@ import com.trivago.cluecumber.logging.CluecumberLogger;
 import com.trivago.cluecumberCore.CluecumberReportPluginCore;
 import com.trivago.cluecumberCore.constants.ChartConfiguration;
 import com.trivago.cluecumberCore.exceptions.CluecumberPluginException;
+import com.trivago.cluecumberCore.filesystem.AttachmentWriter;
 import com.trivago.cluecumberCore.filesystem.FileIO;
 import com.trivago.cluecumberCore.filesystem.FileSystemManager;
+import com.trivago.cluecumberCore.filesystem.JsonDirectoryWatcher;
+import com.trivago.cluecumberCore.filesystem.ThumbnailGenerator;
+import com.trivago.cluecumberCore.json.JsonFileParser;
 import com.trivago.cluecumberCore.json.JsonPojoConverter;
+import com.trivago.cluecumberCore.json.cache.ReportCache;
 import com.trivago.cluecumberCore.json.processors.ElementIndexPreProcessor;
 import com.trivago.cluecumberCore.json.processors.ElementJsonPostProcessor;
 import com.trivago.cluecumberCore.json.processors.ReportJsonPostProcessor;
+import com.trivago.cluecumberCore.json.processors.SymbolTable;
 import com.trivago.cluecumberCore.logging.ICluecumberLogger;
 import com.trivago.cluecumberCore.logging.LoggerUtils;
 import com.trivago.cluecumberCore.properties.PropertiesFileLoader;
@@ -34,6 +40,7 @@ import com.trivago.cluecumberCore.rendering.pages.renderering.*;
 import com.trivago.cluecumberCore.rendering.pages.templates.TemplateConfiguration;
 import com.trivago.cluecumberCore.rendering.pages.templates.TemplateEngine;
 import com.trivago.cluecumberCore.rendering.pages.visitors.*;
+import com.trivago.cluecumberCore.rendering.singlepage.SinglePageReportWriter;
 import org.gradle.api.DefaultTask;
 import org.gradle.api.logging.Logging;
 import org.gradle.api.tasks.Input;
@@ -56,9 +63,14 @@ public class CluecumberReportGradleTask extends DefaultTask {
     private PropertiesFileLoader  propertiesFileLoader = new PropertiesFileLoader(fileIO);
     private final PropertyManager propertyManager = new PropertyManager(logger, fileIO, propertiesFileLoader);
     private final ElementIndexPreProcessor elementIndexPreProcessor = new ElementIndexPreProcessor();
-    private final ReportJsonPostProcessor jsonPro = new ReportJsonPostProcessor();
-    private final ElementJsonPostProcessor eJsonPro = new ElementJsonPostProcessor(propertyManager, fileIO, logger);
+    private final SymbolTable symbolTable = new SymbolTable();
+    private final ReportJsonPostProcessor jsonPro = new ReportJsonPostProcessor(symbolTable);
+    private final ThumbnailGenerator thumbnailGenerator = new ThumbnailGenerator();
+    private final AttachmentWriter attachmentWriter = new AttachmentWriter(fileIO, propertyManager, thumbnailGenerator);
+    private final ElementJsonPostProcessor eJsonPro = new ElementJsonPostProcessor(propertyManager, attachmentWriter, thumbnailGenerator);
     private final JsonPojoConverter jsonPojoConverter = new JsonPojoConverter(jsonPro, eJsonPro);
+    private final ReportCache reportCache = new ReportCache(propertyManager);
+    private final JsonFileParser jsonFileParser = new JsonFileParser(fileIO, jsonPojoConverter, reportCache, attachmentWriter);
     private final CustomCssRenderer customCssRenderer = new CustomCssRenderer(propertyManager);
     private final TemplateConfiguration templateConfiguration = new TemplateConfiguration();
     private final TemplateEngine templateEngine = new TemplateEngine(templateConfiguration);
@@ -70,14 +82,17 @@ public class CluecumberReportGradleTask extends DefaultTask {
     private final AllTagsPageRenderer allTagsPageRenderer = new AllTagsPageRenderer(chartJsonConverter, chartConfiguration);
     private final AllStepsPageRenderer allStepsPageRenderer = new AllStepsPageRenderer(chartJsonConverter, chartConfiguration);
 
-    private final ScenarioDetailsPageRenderer scenarioDetailsPageRenderer = new ScenarioDetailsPageRenderer(chartJsonConverter, chartConfiguration, propertyManager);
-    private final ScenarioVisitor scenarioVisitor = new ScenarioVisitor(fileIO,templateEngine,propertyManager,allScenariosPageRenderer,scenarioDetailsPageRenderer);
-    private final FeatureVisitor featureVisitor = new FeatureVisitor(fileIO,templateEngine,propertyManager,allFeaturePageRenderer,allScenariosPageRenderer);
-    private final TagVisitor tagVisitor = new TagVisitor(fileIO,templateEngine,propertyManager,allTagsPageRenderer,allScenariosPageRenderer);
-    private final StepVisitor stepVisitor = new StepVisitor(fileIO,templateEngine,propertyManager,allStepsPageRenderer,allScenariosPageRenderer);
+    private final ScenarioDetailsPageRenderer scenarioDetailsPageRenderer = new ScenarioDetailsPageRenderer(chartJsonConverter, chartConfiguration, propertyManager, fileIO);
+    private final PageWriter pageWriter = new PageWriter(fileIO, propertyManager);
+    private final ScenarioVisitor scenarioVisitor = new ScenarioVisitor(pageWriter,templateEngine,propertyManager,allScenariosPageRenderer,scenarioDetailsPageRenderer);
+    private final FeatureVisitor featureVisitor = new FeatureVisitor(pageWriter,templateEngine,propertyManager,allFeaturePageRenderer,allScenariosPageRenderer);
+    private final TagVisitor tagVisitor = new TagVisitor(pageWriter,templateEngine,propertyManager,allTagsPageRenderer,allScenariosPageRenderer);
+    private final StepVisitor stepVisitor = new StepVisitor(pageWriter,templateEngine,propertyManager,allStepsPageRenderer,allScenariosPageRenderer);
 
     private final VisitorDirectory visitorDirectory = new VisitorDirectory(scenarioVisitor,featureVisitor,tagVisitor,stepVisitor);
-    private final ReportGenerator reportGenerator = new ReportGenerator(fileIO, templateEngine, propertyManager, fileSystemManager, customCssRenderer,visitorDirectory);
+    private final SinglePageReportWriter singlePageReportWriter = new SinglePageReportWriter(fileIO, propertyManager);
+    private final ReportGenerator reportGenerator = new ReportGenerator(fileIO, templateEngine, propertyManager, fileSystemManager, customCssRenderer,visitorDirectory, attachmentWriter, pageWriter, singlePageReportWriter);
+    private final JsonDirectoryWatcher jsonDirectoryWatcher = new JsonDirectoryWatcher();
 
     /**
      * Skip Cluecumber report generation.
@@ -279,6 +294,123 @@ public class CluecumberReportGradleTask extends DefaultTask {
         this.customPageTitle = customPageTitle;
     }
 
+    /**
+     * Number of threads used to parse the Cucumber JSON files (default: 1).
+     * The generated report is identical regardless of this setting.
+     */
+    @Input @Optional
+    private int numberOfJsonParsingThreads = 1;
+
+    public int getNumberOfJsonParsingThreads() {
+        return numberOfJsonParsingThreads;
+    }
+
+    public void setNumberOfJsonParsingThreads(int numberOfJsonParsingThreads) {
+        this.numberOfJsonParsingThreads = numberOfJsonParsingThreads;
+    }
+
+    /**
+     * Directory in which parsed JSON files are cached between runs (default: no caching).
+     * Only JSON files that changed since the last run are parsed again.
+     */
+    @Input @Optional
+    private String parsedJsonCacheDirectory = "";
+
+    public String getParsedJsonCacheDirectory() {
+        return parsedJsonCacheDirectory;
+    }
+
+    public void setParsedJsonCacheDirectory(String parsedJsonCacheDirectory) {
+        this.parsedJsonCacheDirectory = parsedJsonCacheDirectory;
+    }
+
+    /**
+     * Keep watching the source JSON directory after the report was generated (default: false).
+     * Only the pages affected by changed JSON files are rendered again.
+     */
+    @Input @Optional
+    private boolean watchSourceJsonReportDirectory = false;
+
+    public boolean getWatchSourceJsonReportDirectory() {
+        return watchSourceJsonReportDirectory;
+    }
+
+    public void setWatchSourceJsonReportDirectory(boolean watchSourceJsonReportDirectory) {
+        this.watchSourceJsonReportDirectory = watchSourceJsonReportDirectory;
+    }
+
+    /**
+     * Number of threads used to write attachment files while the JSON files are parsed (default: 1).
+     */
+    @Input @Optional
+    private int numberOfAttachmentWritingThreads = 1;
+
+    public int getNumberOfAttachmentWritingThreads() {
+        return numberOfAttachmentWritingThreads;
+    }
+
+    public void setNumberOfAttachmentWritingThreads(int numberOfAttachmentWritingThreads) {
+        this.numberOfAttachmentWritingThreads = numberOfAttachmentWritingThreads;
+    }
+
+    /**
+     * Maximum size in kilobytes of text, HTML, XML and JSON attachments that are embedded into scenario pages (default: 1024).
+     * Larger attachments are only loaded from their files when they are opened.
+     */
+    @Input @Optional
+    private int maximumInlineTextAttachmentSize = 1024;
+
+    public int getMaximumInlineTextAttachmentSize() {
+        return maximumInlineTextAttachmentSize;
+    }
+
+    public void setMaximumInlineTextAttachmentSize(int maximumInlineTextAttachmentSize) {
+        this.maximumInlineTextAttachmentSize = maximumInlineTextAttachmentSize;
+    }
+
+    /**
+     * Number of threads used to aggregate the scenario and step results for the summary pages (default: 1).
+     */
+    @Input @Optional
+    private int numberOfAggregationThreads = 1;
+
+    public int getNumberOfAggregationThreads() {
+        return numberOfAggregationThreads;
+    }
+
+    public void setNumberOfAggregationThreads(int numberOfAggregationThreads) {
+        this.numberOfAggregationThreads = numberOfAggregationThreads;
+    }
+
+    /**
+     * Number of threads used to render and write the report pages (default: 1).
+     */
+    @Input @Optional
+    private int numberOfRenderingThreads = 1;
+
+    public int getNumberOfRenderingThreads() {
+        return numberOfRenderingThreads;
+    }
+
+    public void setNumberOfRenderingThreads(int numberOfRenderingThreads) {
+        this.numberOfRenderingThreads = numberOfRenderingThreads;
+    }
+
+    /**
+     * Write a single report page that renders the report from data files instead of a page per scenario,
+     * tag, step and feature (default: false).
+     */
+    @Input @Optional
+    private boolean singlePageReport = false;
+
+    public boolean isSinglePageReport() {
+        return singlePageReport;
+    }
+
+    public void setSinglePageReport(boolean singlePageReport) {
+        this.singlePageReport = singlePageReport;
+    }
+
     /**
      * Optional log level to control what information is logged in the console.
      * Allowed values: default, compact, minimal, off
@@ -304,10 +436,10 @@ public class CluecumberReportGradleTask extends DefaultTask {
         final CluecumberReportPluginCore cluecumberReportPluginCore = new CluecumberReportPluginCore(
                 propertyManager,
                 fileSystemManager,
-                fileIO,
-                jsonPojoConverter,
+                jsonFileParser,
                 elementIndexPreProcessor,
-                reportGenerator
+                reportGenerator,
+                jsonDirectoryWatcher
         );
 
         logger.initialize(ilogger,logLevel);
@@ -328,7 +460,15 @@ public class CluecumberReportGradleTask extends DefaultTask {
                 customStatusColorPassed,
                 customStatusColorFailed,
                 customStatusColorSkipped,
-                customPageTitle
+                customPageTitle,
+                numberOfJsonParsingThreads,
+                parsedJsonCacheDirectory,
+                watchSourceJsonReportDirectory,
+                numberOfAttachmentWritingThreads,
+                maximumInlineTextAttachmentSize,
+                numberOfAggregationThreads,
+                numberOfRenderingThreads,
+                singlePageReport
         );
     }
 }
@@ -19,9 +19,9 @@ package com.trivago.cluecumber;
 import com.trivago.cluecumber.logging.CluecumberLogger;
 import com.trivago.cluecumberCore.CluecumberReportPluginCore;
 import com.trivago.cluecumberCore.exceptions.CluecumberPluginException;
-import com.trivago.cluecumberCore.filesystem.FileIO;
 import com.trivago.cluecumberCore.filesystem.FileSystemManager;
-import com.trivago.cluecumberCore.json.JsonPojoConverter;
+import com.trivago.cluecumberCore.filesystem.JsonDirectoryWatcher;
+import com.trivago.cluecumberCore.json.JsonFileParser;
 import com.trivago.cluecumberCore.json.processors.ElementIndexPreProcessor;
 import com.trivago.cluecumberCore.logging.ICluecumberLogger;
 import com.trivago.cluecumberCore.properties.PropertyManager;
@@ -41,8 +41,7 @@ public final class CluecumberReportPlugin extends AbstractMojo {
 
     private final PropertyManager propertyManager;
     private final FileSystemManager fileSystemManager;
-    private final FileIO fileIO;
-    private final JsonPojoConverter jsonPojoConverter;
+    private final JsonFileParser jsonFileParser;
     private final ElementIndexPreProcessor elementIndexPreProcessor;
     private final ReportGenerator reportGenerator;
     private final CluecumberReportPluginCore cluecumberReportPluginCore;
@@ -131,6 +130,59 @@ public final class CluecumberReportPlugin extends AbstractMojo {
     @Parameter(property = "reporting.customPageTitle")
     private String customPageTitle;
 
+    /**
+     * Number of threads used to parse the Cucumber JSON files (default: 1).
+     * The generated report is identical regardless of this setting.
+     */
+    @Parameter(property = "reporting.numberOfJsonParsingThreads", defaultValue = "1")
+    private int numberOfJsonParsingThreads;
+
+    /**
+     * Directory in which parsed JSON files are cached between runs (default: no caching).
+     * Only JSON files that changed since the last run are parsed again.
+     */
+    @Parameter(property = "reporting.parsedJsonCacheDirectory")
+    private String parsedJsonCacheDirectory = "";
+
+    /**
+     * Keep watching the source JSON directory after the report was generated (default: false).
+     * Only the pages affected by changed JSON files are rendered again.
+     */
+    @Parameter(property = "reporting.watchSourceJsonReportDirectory", defaultValue = "false")
+    private boolean watchSourceJsonReportDirectory;
+
+    /**
+     * Number of threads used to write attachment files while the JSON files are parsed (default: 1).
+     */
+    @Parameter(property = "reporting.numberOfAttachmentWritingThreads", defaultValue = "1")
+    private int numberOfAttachmentWritingThreads;
+
+    /**
+     * Maximum size in kilobytes of text, HTML, XML and JSON attachments that are embedded into scenario pages (default: 1024).
+     * Larger attachments are only loaded from their files when they are opened.
+     */
+    @Parameter(property = "reporting.maximumInlineTextAttachmentSize", defaultValue = "1024")
+    private int maximumInlineTextAttachmentSize;
+
+    /**
+     * Number of threads used to aggregate the scenario and step results for the summary pages (default: 1).
+     */
+    @Parameter(property = "reporting.numberOfAggregationThreads", defaultValue = "1")
+    private int numberOfAggregationThreads;
+
+    /**
+     * Number of threads used to render and write the report pages (default: 1).
+     */
+    @Parameter(property = "reporting.numberOfRenderingThreads", defaultValue = "1")
+    private int numberOfRenderingThreads;
+
+    /**
+     * Write a single report page that renders the report from data files instead of a page per scenario,
+     * tag, step and feature (default: false).
+     */
+    @Parameter(property = "reporting.singlePageReport", defaultValue = "false")
+    private boolean singlePageReport;
+
     /**
      * Optional log level to control what information is logged in the console.
      * Allowed values: default, compact, minimal, off
@@ -148,23 +200,22 @@ public final class CluecumberReportPlugin extends AbstractMojo {
     public CluecumberReportPlugin(
             final PropertyManager propertyManager,
             final FileSystemManager fileSystemManager,
-            final FileIO fileIO,
-            final JsonPojoConverter jsonPojoConverter,
+            final JsonFileParser jsonFileParser,
             final ElementIndexPreProcessor elementIndexPreProcessor,
-            final ReportGenerator reportGenerator) {
+            final ReportGenerator reportGenerator,
+            final JsonDirectoryWatcher jsonDirectoryWatcher) {
         this.propertyManager = propertyManager;
         this.fileSystemManager = fileSystemManager;
-        this.fileIO = fileIO;
-        this.jsonPojoConverter = jsonPojoConverter;
+        this.jsonFileParser = jsonFileParser;
         this.elementIndexPreProcessor = elementIndexPreProcessor;
         this.reportGenerator = reportGenerator;
         this.cluecumberReportPluginCore = new CluecumberReportPluginCore(
                 propertyManager,
                 fileSystemManager,
-                fileIO,
-                jsonPojoConverter,
+                jsonFileParser,
                 elementIndexPreProcessor,
-                reportGenerator
+                reportGenerator,
+                jsonDirectoryWatcher
                 );
     }
 
@@ -190,7 +241,15 @@ public final class CluecumberReportPlugin extends AbstractMojo {
                 customStatusColorPassed,
                 customStatusColorFailed,
                 customStatusColorSkipped,
-                customPageTitle
+                customPageTitle,
+                numberOfJsonParsingThreads,
+                parsedJsonCacheDirectory,
+                watchSourceJsonReportDirectory,
+                numberOfAttachmentWritingThreads,
+                maximumInlineTextAttachmentSize,
+                numberOfAggregationThreads,
+                numberOfRenderingThreads,
+                singlePageReport
         );
     }
 }
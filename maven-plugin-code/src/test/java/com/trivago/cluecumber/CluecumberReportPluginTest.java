@@ -2,9 +2,9 @@ package com.trivago.cluecumber;
 
 import com.trivago.cluecumberCore.CluecumberReportPluginCore;
 import com.trivago.cluecumberCore.exceptions.CluecumberPluginException;
-import com.trivago.cluecumberCore.filesystem.FileIO;
 import com.trivago.cluecumberCore.filesystem.FileSystemManager;
-import com.trivago.cluecumberCore.json.JsonPojoConverter;
+import com.trivago.cluecumberCore.filesystem.JsonDirectoryWatcher;
+import com.trivago.cluecumberCore.json.JsonFileParser;
 import com.trivago.cluecumberCore.json.processors.ElementIndexPreProcessor;
 import com.trivago.cluecumberCore.logging.LoggerUtils;
 import com.trivago.cluecumberCore.properties.PropertyManager;
@@ -14,9 +14,11 @@ import org.junit.Test;
 
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -24,8 +26,7 @@ import static org.mockito.Mockito.when;
 public class CluecumberReportPluginTest {
 
     private CluecumberReportPlugin cluecumberReportPlugin;
-    private JsonPojoConverter jsonPojoConverter;
-    private FileIO fileIO;
+    private JsonFileParser jsonFileParser;
     private CluecumberReportPluginCore cluecumberReportPluginCore;
 
     @Before
@@ -39,18 +40,17 @@ public class CluecumberReportPluginTest {
         fileList.add(path);
         when(fileSystemManager.getJsonFilePaths(anyString())).thenReturn(fileList);
 
-        fileIO = mock(FileIO.class);
-        jsonPojoConverter = mock(JsonPojoConverter.class);
+        jsonFileParser = mock(JsonFileParser.class);
         ElementIndexPreProcessor elementIndexPostProcessor = mock(ElementIndexPreProcessor.class);
         ReportGenerator reportGenerator = mock(ReportGenerator.class);
 
         cluecumberReportPlugin = new CluecumberReportPlugin(
                 propertyManager,
                 fileSystemManager,
-                fileIO,
-                jsonPojoConverter,
+                jsonFileParser,
                 elementIndexPostProcessor,
-                reportGenerator);
+                reportGenerator,
+                mock(JsonDirectoryWatcher.class));
     }
 
     @Test
@@ -60,9 +60,8 @@ public class CluecumberReportPluginTest {
 
     @Test
     public void noErrorOnUnparsableJsonTest() throws CluecumberPluginException {
-        when(fileIO.readContentFromFile(any())).thenReturn("json");
-        long endTime = 0;
-        when(jsonPojoConverter.convertJsonToReportPojos("json")).thenThrow(new CluecumberPluginException("failure"));
+        // Unparsable JSON files are skipped by the parser
+        when(jsonFileParser.parseJsonFiles(any(), anyInt(), any())).thenReturn(Collections.emptyList());
         cluecumberReportPlugin.execute();
     }
 }
@@ -16,20 +16,23 @@ package com.trivago.cluecumberCore;/*
 
 import com.trivago.cluecumberCore.constants.PluginSettings;
 import com.trivago.cluecumberCore.exceptions.CluecumberPluginException;
-import com.trivago.cluecumberCore.filesystem.FileIO;
 import com.trivago.cluecumberCore.filesystem.FileSystemManager;
-import com.trivago.cluecumberCore.json.JsonPojoConverter;
+import com.trivago.cluecumberCore.filesystem.JsonDirectoryWatcher;
+import com.trivago.cluecumberCore.json.JsonFileParser;
 import com.trivago.cluecumberCore.json.pojo.Report;
 import com.trivago.cluecumberCore.json.processors.ElementIndexPreProcessor;
 import com.trivago.cluecumberCore.logging.ICluecumberLogger;
 import com.trivago.cluecumberCore.logging.LoggerUtils;
 import com.trivago.cluecumberCore.properties.PropertyManager;
+import com.trivago.cluecumberCore.rendering.ReportChangeTracker;
 import com.trivago.cluecumberCore.rendering.ReportGenerator;
 import com.trivago.cluecumberCore.rendering.pages.pojos.pagecollections.AllScenariosPageCollection;
+import com.trivago.cluecumberCore.rendering.pages.visitors.PageSelection;
 
 import java.nio.file.Path;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Set;
 
 import static com.trivago.cluecumberCore.logging.LoggerUtils.CluecumberLogLevel.COMPACT;
 import static com.trivago.cluecumberCore.logging.LoggerUtils.CluecumberLogLevel.DEFAULT;
@@ -41,26 +44,26 @@ public class CluecumberReportPluginCore {
 
     private final PropertyManager propertyManager;
     private final FileSystemManager fileSystemManager;
-    private final FileIO fileIO;
-    private final JsonPojoConverter jsonPojoConverter;
+    private final JsonFileParser jsonFileParser;
     private final ElementIndexPreProcessor elementIndexPreProcessor;
     private final ReportGenerator reportGenerator;
+    private final JsonDirectoryWatcher jsonDirectoryWatcher;
 
 
     public CluecumberReportPluginCore(
             final PropertyManager propertyManager,
             final FileSystemManager fileSystemManager,
-            final FileIO fileIO,
-            final JsonPojoConverter jsonPojoConverter,
+            final JsonFileParser jsonFileParser,
             final ElementIndexPreProcessor elementIndexPreProcessor,
-            final ReportGenerator reportGenerator
+            final ReportGenerator reportGenerator,
+            final JsonDirectoryWatcher jsonDirectoryWatcher
     ) {
         this.propertyManager = propertyManager;
         this.fileSystemManager = fileSystemManager;
-        this.fileIO = fileIO;
-        this.jsonPojoConverter = jsonPojoConverter;
+        this.jsonFileParser = jsonFileParser;
         this.elementIndexPreProcessor = elementIndexPreProcessor;
         this.reportGenerator = reportGenerator;
+        this.jsonDirectoryWatcher = jsonDirectoryWatcher;
     }
 
     /**
@@ -83,7 +86,15 @@ public class CluecumberReportPluginCore {
                          String customStatusColorPassed,
                          String customStatusColorFailed,
                          String customStatusColorSkipped,
-                         String customPageTitle) throws CluecumberPluginException {
+                         String customPageTitle,
+                         int numberOfJsonParsingThreads,
+                         String parsedJsonCacheDirectory,
+                         boolean watchSourceJsonReportDirectory,
+                         int numberOfAttachmentWritingThreads,
+                         int maximumInlineTextAttachmentSize,
+                         int numberOfAggregationThreads,
+                         int numberOfRenderingThreads,
+                         boolean singlePageReport) throws CluecumberPluginException {
 
         LoggerUtils.initialize(ilogger, logLevel);
 
@@ -113,6 +124,14 @@ public class CluecumberReportPluginCore {
             propertyManager.setCustomStatusColorFailed(customStatusColorFailed);
             propertyManager.setCustomStatusColorSkipped(customStatusColorSkipped);
             propertyManager.setCustomPageTitle(customPageTitle);
+            propertyManager.setNumberOfJsonParsingThreads(numberOfJsonParsingThreads);
+            propertyManager.setParsedJsonCacheDirectory(parsedJsonCacheDirectory);
+            propertyManager.setWatchSourceJsonReportDirectory(watchSourceJsonReportDirectory);
+            propertyManager.setNumberOfAttachmentWritingThreads(numberOfAttachmentWritingThreads);
+            propertyManager.setMaximumInlineTextAttachmentSize(maximumInlineTextAttachmentSize);
+            propertyManager.setNumberOfAggregationThreads(numberOfAggregationThreads);
+            propertyManager.setNumberOfRenderingThreads(numberOfRenderingThreads);
+            propertyManager.setSinglePageReport(singlePageReport);
         } catch (Exception e) {
             throw new CluecumberPluginException(e.getMessage());
         }
@@ -121,18 +140,7 @@ public class CluecumberReportPluginCore {
         // Create attachment directory here since they are handled during json generation.
         fileSystemManager.createDirectory(propertyManager.getGeneratedHtmlReportDirectory() + "/attachments");
 
-        AllScenariosPageCollection allScenariosPageCollection = new AllScenariosPageCollection(propertyManager.getCustomPageTitle());
-        List<Path> jsonFilePaths = fileSystemManager.getJsonFilePaths(propertyManager.getSourceJsonReportDirectory());
-        for (Path jsonFilePath : jsonFilePaths) {
-            String jsonString = fileIO.readContentFromFile(jsonFilePath.toString());
-            try {
-                Report[] reports = jsonPojoConverter.convertJsonToReportPojos(jsonString);
-                allScenariosPageCollection.addReports(reports);
-            } catch (CluecumberPluginException e) {
-                LoggerUtils.warn("Could not parse JSON in file '" + jsonFilePath.toString() + "': " + e.getMessage());
-            }
-        }
-        elementIndexPreProcessor.addScenarioIndices(allScenariosPageCollection.getReports());
+        AllScenariosPageCollection allScenariosPageCollection = createPageCollection(null);
         reportGenerator.generateReport(allScenariosPageCollection);
         LoggerUtils.info(
                 "=> Cluecumber Report: " + propertyManager.getGeneratedHtmlReportDirectory() + "/" +
@@ -141,6 +149,52 @@ public class CluecumberReportPluginCore {
                 COMPACT,
                 LoggerUtils.CluecumberLogLevel.MINIMAL
         );
+
+        if (propertyManager.isWatchSourceJsonReportDirectory()) {
+            ReportChangeTracker reportChangeTracker = new ReportChangeTracker();
+            reportChangeTracker.getChangedPages(allScenariosPageCollection.getReports());
+            jsonDirectoryWatcher.watch(propertyManager.getSourceJsonReportDirectory(),
+                    changedJsonFiles -> updateReport(changedJsonFiles, reportChangeTracker));
+        }
+    }
+
+    /**
+     * Render the pages that are affected by changed JSON files.
+     *
+     * @param changedJsonFiles    The absolute paths of the changed JSON files.
+     * @param reportChangeTracker The {@link ReportChangeTracker} that knows the currently rendered scenarios.
+     */
+    private void updateReport(final Set<Path> changedJsonFiles, final ReportChangeTracker reportChangeTracker) {
+        try {
+            AllScenariosPageCollection allScenariosPageCollection = createPageCollection(changedJsonFiles);
+            PageSelection pageSelection = reportChangeTracker.getChangedPages(allScenariosPageCollection.getReports());
+            reportGenerator.generateChangedPages(allScenariosPageCollection, pageSelection);
+        } catch (CluecumberPluginException | RuntimeException e) {
+            // Keep watching since the JSON files might still be written.
+            LoggerUtils.warn("Could not update the report: " + e.getMessage());
+            return;
+        }
+        LoggerUtils.info(String.format("=> Updated Cluecumber Report after changes in %d JSON files.",
+                changedJsonFiles.size()), DEFAULT, COMPACT, LoggerUtils.CluecumberLogLevel.MINIMAL);
+    }
+
+    /**
+     * Parse the JSON files and prepare them for rendering.
+     *
+     * @param changedJsonFiles The absolute paths of the changed JSON files or null if all files should be read.
+     * @return The {@link AllScenariosPageCollection} containing all reports.
+     * @throws CluecumberPluginException In case the JSON files cannot be read.
+     */
+    private AllScenariosPageCollection createPageCollection(final Set<Path> changedJsonFiles)
+            throws CluecumberPluginException {
+        AllScenariosPageCollection allScenariosPageCollection = new AllScenariosPageCollection(propertyManager.getCustomPageTitle());
+        List<Path> jsonFilePaths = fileSystemManager.getJsonFilePaths(propertyManager.getSourceJsonReportDirectory());
+        List<Report> reports = jsonFileParser.parseJsonFiles(
+                jsonFilePaths, propertyManager.getNumberOfJsonParsingThreads(), changedJsonFiles);
+        allScenariosPageCollection.addReports(reports.toArray(new Report[0]));
+        elementIndexPreProcessor.addScenarioIndices(allScenariosPageCollection.getReports());
+        allScenariosPageCollection.aggregate(propertyManager.getNumberOfAggregationThreads());
+        return allScenariosPageCollection;
     }
 }
 
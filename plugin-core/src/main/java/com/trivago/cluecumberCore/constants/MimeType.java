@@ -18,6 +18,9 @@ package com.trivago.cluecumberCore.constants;
 
 import com.google.gson.annotations.SerializedName;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Enum to get all MimeTypes for embedding's.
  */
@@ -50,6 +53,14 @@ public enum MimeType {
 	PDF ("application/pdf"),
 	UNKNOWN ("unknown");
 	
+    private static final Map<String, MimeType> MIME_TYPES_BY_CONTENT_TYPE = new HashMap<>();
+
+    static {
+        for (MimeType mimeType : values()) {
+            MIME_TYPES_BY_CONTENT_TYPE.put(mimeType.contentType, mimeType);
+        }
+    }
+
     private final String contentType;
     
     MimeType(String contentType) {
@@ -58,5 +69,15 @@ public enum MimeType {
  
     public String getContentType() {
         return contentType;
-    }    
+    }
+
+    /**
+     * Get the MimeType matching a content type as found in the Cucumber JSON.
+     *
+     * @param contentType The content type string, e.g. 'image/png'.
+     * @return The matching MimeType or UNKNOWN if the content type is not supported.
+     */
+    public static MimeType fromContentType(final String contentType) {
+        return MIME_TYPES_BY_CONTENT_TYPE.getOrDefault(contentType, UNKNOWN);
+    }
 }
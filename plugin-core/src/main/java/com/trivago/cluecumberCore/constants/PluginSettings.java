@@ -51,6 +51,11 @@ public class PluginSettings {
     public final static String FEATURE_SUMMARY_PAGE_PATH = "feature-summary";
     public static final String FEATURE_SCENARIOS_PAGE_PATH = "feature-scenarios";
     public static final String FEATURE_SCENARIOS_PAGE_FRAGMENT = "/" + FEATURE_SCENARIOS_PAGE_PATH + "/feature_";
+
+    public static final String SINGLE_PAGE_TEMPLATE_PATH = "/single-page";
+    public static final String SINGLE_PAGE_DATA_DIRECTORY = "data";
+    public static final String SINGLE_PAGE_REPORT_DATA_FILE = "report.js";
+    public static final String SINGLE_PAGE_SCENARIO_DATA_FILE_PREFIX = "scenarios_";
     
     public PluginSettings() {
     }
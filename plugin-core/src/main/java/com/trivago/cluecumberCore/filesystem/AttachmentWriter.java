@@ -0,0 +1,189 @@
+/*
+ * Copyright 2019 trivago N.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.trivago.cluecumberCore.filesystem;
+
+import com.trivago.cluecumberCore.exceptions.CluecumberPluginException;
+import com.trivago.cluecumberCore.exceptions.filesystem.FileCreationException;
+import com.trivago.cluecumberCore.logging.LoggerUtils;
+import com.trivago.cluecumberCore.properties.PropertyManager;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Writes attachment files on background threads so JSON parsing does not wait for disk I/O.
+ * The number of pending writes is bounded, if the limit is reached the submitting thread waits (backpressure).
+ * Each target file is only written once until {@link #awaitCompletion()} is called.
+ * Thumbnails of image attachments are created by the same threads, so they are generated in parallel.
+ * Failed writes are logged as warnings and do not stop the report generation.
+ */
+@Singleton
+public class AttachmentWriter {
+
+    // Number of writes that may be queued per writer thread before submitting threads are blocked.
+    private static final int PENDING_WRITES_PER_THREAD = 8;
+
+    private final FileIO fileIO;
+    private final PropertyManager propertyManager;
+    private final ThumbnailGenerator thumbnailGenerator;
+    private final Set<String> scheduledTargetPaths = ConcurrentHashMap.newKeySet();
+
+    private ExecutorService executorService;
+    private Semaphore pendingWrites;
+    private int maximumPendingWrites;
+
+    @Inject
+    public AttachmentWriter(
+            final FileIO fileIO,
+            final PropertyManager propertyManager,
+            final ThumbnailGenerator thumbnailGenerator
+    ) {
+        this.fileIO = fileIO;
+        this.propertyManager = propertyManager;
+        this.thumbnailGenerator = thumbnailGenerator;
+    }
+
+    /**
+     * Write attachment content to a file unless that file already exists.
+     *
+     * @param content       The decoded attachment content.
+     * @param targetPath    The complete path of the attachment file.
+     * @param thumbnailPath The complete path of the thumbnail to create or null if no thumbnail is needed.
+     */
+    public void writeFile(final byte[] content, final String targetPath, final String thumbnailPath) {
+        if (!scheduledTargetPaths.add(targetPath)) {
+            return;
+        }
+        submit(targetPath, () -> {
+            if (!fileIO.isExistingFile(targetPath)) {
+                fileIO.writeContentToFile(content, targetPath);
+            }
+            createThumbnail(targetPath, thumbnailPath);
+        });
+    }
+
+    /**
+     * Move a temporary file to its attachment file. If the attachment file already exists, the temporary file is deleted.
+     *
+     * @param sourcePath    The complete path of the temporary file.
+     * @param targetPath    The complete path of the attachment file.
+     * @param thumbnailPath The complete path of the thumbnail to create or null if no thumbnail is needed.
+     */
+    public void moveFile(final String sourcePath, final String targetPath, final String thumbnailPath) {
+        if (!scheduledTargetPaths.add(targetPath)) {
+            submit(targetPath, () -> fileIO.deleteFile(sourcePath));
+            return;
+        }
+        submit(targetPath, () -> {
+            if (fileIO.isExistingFile(targetPath)) {
+                fileIO.deleteFile(sourcePath);
+            } else {
+                fileIO.moveFile(sourcePath, targetPath);
+            }
+            createThumbnail(targetPath, thumbnailPath);
+        });
+    }
+
+    /**
+     * Wait until all submitted writes are finished and stop the writer threads.
+     *
+     * @throws CluecumberPluginException In case waiting is interrupted.
+     */
+    public synchronized void awaitCompletion() throws CluecumberPluginException {
+        if (executorService == null) {
+            return;
+        }
+        try {
+            pendingWrites.acquire(maximumPendingWrites);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CluecumberPluginException("Writing attachments was interrupted.");
+        }
+        executorService.shutdown();
+        executorService = null;
+        scheduledTargetPaths.clear();
+    }
+
+    private void createThumbnail(final String targetPath, final String thumbnailPath) throws FileCreationException {
+        if (thumbnailPath == null || fileIO.isExistingFile(thumbnailPath)) {
+            return;
+        }
+        try {
+            thumbnailGenerator.createThumbnail(targetPath, thumbnailPath);
+        } catch (FileCreationException | RuntimeException e) {
+            // The embedding already refers to the thumbnail, so the original image has to be available there.
+            LoggerUtils.warn("Could not create thumbnail " + thumbnailPath + ", using the original image instead.");
+            fileIO.copyFile(targetPath, thumbnailPath);
+        }
+    }
+
+    private synchronized void submit(final String targetPath, final AttachmentTask task) {
+        if (executorService == null) {
+            int threads = Math.max(1, propertyManager.getNumberOfAttachmentWritingThreads());
+            maximumPendingWrites = threads * PENDING_WRITES_PER_THREAD;
+            pendingWrites = new Semaphore(maximumPendingWrites);
+            executorService = Executors.newFixedThreadPool(threads, new WriterThreadFactory());
+        }
+        try {
+            pendingWrites.acquire();
+        } catch (InterruptedException e) {
+            // Keep the interrupt for the caller and write the attachment on this thread instead.
+            Thread.currentThread().interrupt();
+            run(targetPath, task);
+            return;
+        }
+        Semaphore permits = pendingWrites;
+        executorService.execute(() -> {
+            try {
+                run(targetPath, task);
+            } finally {
+                permits.release();
+            }
+        });
+    }
+
+    private void run(final String targetPath, final AttachmentTask task) {
+        try {
+            task.run();
+        } catch (FileCreationException | RuntimeException e) {
+            LoggerUtils.warn("Could not process attachment " + targetPath + " (" + e.getMessage()
+                    + ") but will continue report generation...");
+        }
+    }
+
+    private interface AttachmentTask {
+        void run() throws FileCreationException;
+    }
+
+    private static class WriterThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            Thread thread = new Thread(runnable, "cluecumber-attachments-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
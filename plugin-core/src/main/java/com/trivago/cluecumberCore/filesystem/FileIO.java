@@ -16,16 +16,25 @@
 
 package com.trivago.cluecumberCore.filesystem;
 
+import com.trivago.cluecumberCore.exceptions.CluecumberPluginException;
 import com.trivago.cluecumberCore.exceptions.filesystem.FileCreationException;
 import com.trivago.cluecumberCore.exceptions.filesystem.MissingFileException;
 
 import javax.inject.Singleton;
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.PrintStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
 
 import static java.nio.file.Files.readAllBytes;
 
@@ -34,21 +43,66 @@ import static java.nio.file.Files.readAllBytes;
  */
 @Singleton
 public class FileIO {
+    private final ThreadLocal<Utf8FileWriter> fileWriters = ThreadLocal.withInitial(Utf8FileWriter::new);
+
     /**
-     * Write string content to a file.
+     * Write string content to a file as UTF-8.
      *
      * @param content  the string content to be written.
      * @param filePath the complete path to the target file.
      * @throws FileCreationException a {@link FileCreationException} in case the file cannot be created.
      */
     public void writeContentToFile(final String content, final String filePath) throws FileCreationException {
-        try (PrintStream ps = new PrintStream(filePath)) {
+        try (PrintStream ps = new PrintStream(filePath, StandardCharsets.UTF_8.name())) {
             ps.println(content);
         } catch (IOException e) {
             throw new FileCreationException(filePath);
         }
     }
 
+    /**
+     * Stream content to a file as UTF-8 without holding the complete content in memory.
+     * The buffers of the writer are reused for all files written by the same thread.
+     * If the content cannot be written completely, the file is deleted.
+     *
+     * @param contentWriter the {@link ContentWriter} that writes the content.
+     * @param filePath      the complete path to the target file.
+     * @throws CluecumberPluginException a {@link FileCreationException} in case the file cannot be written
+     *                                   or the exception of the {@link ContentWriter}.
+     */
+    public void writeContentToFile(final ContentWriter contentWriter, final String filePath)
+            throws CluecumberPluginException {
+        Utf8FileWriter fileWriter = fileWriters.get();
+        if (fileWriter.isOpen()) {
+            // Only the case if a file is written while this thread is still writing another one.
+            fileWriter = new Utf8FileWriter();
+        }
+        Path path;
+        try {
+            path = Paths.get(filePath);
+            fileWriter.open(path);
+        } catch (IOException | RuntimeException e) {
+            throw new FileCreationException(filePath);
+        }
+        try (Writer writer = fileWriter) {
+            contentWriter.write(writer);
+        } catch (IOException e) {
+            deleteIncompleteFile(path);
+            throw new FileCreationException(filePath);
+        } catch (CluecumberPluginException | RuntimeException e) {
+            deleteIncompleteFile(path);
+            throw e;
+        }
+    }
+
+    private void deleteIncompleteFile(final Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            // The original failure is more relevant than the remaining file.
+        }
+    }
+
     /**
      * Write byte array content to a file.
      *
@@ -81,6 +135,89 @@ public class FileIO {
         }
     }
 
+    /**
+     * Read byte content from the beginning of a file.
+     *
+     * @param filePath             the complete path to the source file.
+     * @param maximumNumberOfBytes the maximum number of bytes to read.
+     * @return the file contents as a byte array, at most maximumNumberOfBytes long.
+     * @throws MissingFileException a {@link MissingFileException} in case the file does not exist.
+     */
+    public byte[] readBytesFromFile(final String filePath, final int maximumNumberOfBytes) throws MissingFileException {
+        try (InputStream inputStream = Files.newInputStream(Paths.get(filePath))) {
+            byte[] buffer = new byte[(int) Math.min(maximumNumberOfBytes, Files.size(Paths.get(filePath)))];
+            int length = 0;
+            int read;
+            while (length < buffer.length && (read = inputStream.read(buffer, length, buffer.length - length)) != -1) {
+                length += read;
+            }
+            return length == buffer.length ? buffer : Arrays.copyOf(buffer, length);
+        } catch (IOException e) {
+            throw new MissingFileException(filePath);
+        }
+    }
+
+    /**
+     * Move a file, replacing the target if it already exists.
+     *
+     * @param sourcePath the complete path to the source file.
+     * @param targetPath the complete path to the target file.
+     * @throws FileCreationException a {@link FileCreationException} in case the file cannot be moved.
+     */
+    public void moveFile(final String sourcePath, final String targetPath) throws FileCreationException {
+        try {
+            Files.move(Paths.get(sourcePath), Paths.get(targetPath), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new FileCreationException(targetPath);
+        }
+    }
+
+    /**
+     * Copy a file, replacing the target if it already exists.
+     *
+     * @param sourcePath the complete path to the source file.
+     * @param targetPath the complete path to the target file.
+     * @throws FileCreationException a {@link FileCreationException} in case the file cannot be copied.
+     */
+    public void copyFile(final String sourcePath, final String targetPath) throws FileCreationException {
+        try {
+            Files.copy(Paths.get(sourcePath), Paths.get(targetPath), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new FileCreationException(targetPath);
+        }
+    }
+
+    /**
+     * Delete a file if it exists.
+     *
+     * @param filePath the complete path to the file.
+     * @throws FileCreationException a {@link FileCreationException} in case the file cannot be deleted.
+     */
+    public void deleteFile(final String filePath) throws FileCreationException {
+        try {
+            Files.deleteIfExists(Paths.get(filePath));
+        } catch (IOException e) {
+            throw new FileCreationException(filePath);
+        }
+    }
+
+    /**
+     * Open a buffered UTF-8 reader on a file so its content can be consumed as a stream.
+     * The caller is responsible for closing the returned reader.
+     *
+     * @param filePath the complete path to the source file.
+     * @return the {@link Reader} for the file contents.
+     * @throws MissingFileException a {@link MissingFileException} in case the file does not exist.
+     */
+    public Reader getReaderForFile(final String filePath) throws MissingFileException {
+        try {
+            return new BufferedReader(
+                    new InputStreamReader(Files.newInputStream(Paths.get(filePath)), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new MissingFileException(filePath);
+        }
+    }
+
     /**
      * Check if a file exists.
      *
@@ -91,4 +228,12 @@ public class FileIO {
         File file = new File(filePath);
         return file.exists() && file.isFile();
     }
+
+    /**
+     * Writes content to a {@link Writer}.
+     */
+    @FunctionalInterface
+    public interface ContentWriter {
+        void write(Writer writer) throws CluecumberPluginException, IOException;
+    }
 }
@@ -64,6 +64,20 @@ public class FileSystemManager {
         }
     }
 
+    /**
+     * Deletes a file if it exists.
+     *
+     * @param fileName Name of file.
+     * @throws CluecumberPluginException see {@link CluecumberPluginException}.
+     */
+    public void deleteFile(final String fileName) throws CluecumberPluginException {
+        try {
+            Files.deleteIfExists(Paths.get(fileName));
+        } catch (IOException e) {
+            throw new CluecumberPluginException("Unable to delete file " + fileName);
+        }
+    }
+
     /**
      * Export a resource embedded into a Jar file to the local file path.
      *
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2019 trivago N.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.trivago.cluecumberCore.filesystem;
+
+import com.trivago.cluecumberCore.exceptions.CluecumberPluginException;
+import com.trivago.cluecumberCore.logging.LoggerUtils;
+
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.trivago.cluecumberCore.logging.LoggerUtils.CluecumberLogLevel.DEFAULT;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/**
+ * Watches a directory tree for created, changed and deleted JSON files.
+ */
+@Singleton
+public class JsonDirectoryWatcher {
+
+    /**
+     * Time without further file events after which a batch of changes is considered complete.
+     * Cucumber writes its JSON files in several steps so reacting to the first event would read incomplete files.
+     */
+    private static final long QUIET_PERIOD_MILLISECONDS = 500;
+
+    /**
+     * Receives the JSON files that changed in the watched directory.
+     */
+    public interface JsonFileChangeListener {
+        /**
+         * Called once per batch of file events.
+         *
+         * @param changedJsonFiles The absolute paths of all created, changed and deleted JSON files.
+         * @throws CluecumberPluginException In case the changes cannot be processed.
+         */
+        void onChange(Set<Path> changedJsonFiles) throws CluecumberPluginException;
+    }
+
+    /**
+     * Watch a directory including its sub directories until the current thread is interrupted.
+     *
+     * @param sourcePath The directory to watch.
+     * @param listener   The {@link JsonFileChangeListener} that is called after JSON files changed.
+     * @throws CluecumberPluginException In case the directory cannot be watched.
+     */
+    public void watch(final String sourcePath, final JsonFileChangeListener listener)
+            throws CluecumberPluginException {
+        try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+            registerDirectoryTree(watchService, Paths.get(sourcePath));
+            LoggerUtils.info("Watching " + sourcePath + " for changed JSON files. Stop the build to end watching.",
+                    DEFAULT);
+            while (!Thread.currentThread().isInterrupted()) {
+                Set<Path> changedJsonFiles = new TreeSet<>();
+                WatchKey watchKey = watchService.take();
+                while (watchKey != null) {
+                    collectChangedJsonFiles(watchService, watchKey, changedJsonFiles);
+                    watchKey = watchService.poll(QUIET_PERIOD_MILLISECONDS, TimeUnit.MILLISECONDS);
+                }
+                if (!changedJsonFiles.isEmpty()) {
+                    listener.onChange(changedJsonFiles);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            throw new CluecumberPluginException("Unable to watch JSON files in " + sourcePath + ": " + e.getMessage());
+        }
+    }
+
+    private void collectChangedJsonFiles(final WatchService watchService, final WatchKey watchKey,
+                                         final Set<Path> changedJsonFiles) {
+        Path directory = (Path) watchKey.watchable();
+        for (WatchEvent<?> event : watchKey.pollEvents()) {
+            if (event.kind() == OVERFLOW) {
+                // Events were lost so every JSON file has to be considered changed.
+                addJsonFiles(directory, changedJsonFiles);
+                continue;
+            }
+            Path path = directory.resolve((Path) event.context()).toAbsolutePath().normalize();
+            if (event.kind() == ENTRY_CREATE && Files.isDirectory(path)) {
+                try {
+                    registerDirectoryTree(watchService, path);
+                } catch (IOException | UncheckedIOException e) {
+                    // The directory can already be gone again, e.g. if it only existed temporarily.
+                    LoggerUtils.warn("Could not watch directory " + path + ": " + e.getMessage());
+                }
+                addJsonFiles(path, changedJsonFiles);
+            } else if (path.toString().toLowerCase().endsWith(".json")) {
+                changedJsonFiles.add(path);
+            }
+        }
+        watchKey.reset();
+    }
+
+    private void addJsonFiles(final Path root, final Set<Path> changedJsonFiles) {
+        try {
+            changedJsonFiles.addAll(getJsonFiles(root));
+        } catch (IOException | UncheckedIOException e) {
+            LoggerUtils.warn("Could not read JSON files in " + root + ": " + e.getMessage());
+        }
+    }
+
+    private void registerDirectoryTree(final WatchService watchService, final Path root) throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path directory : paths.filter(Files::isDirectory).collect(Collectors.toList())) {
+                directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+            }
+        }
+    }
+
+    private List<Path> getJsonFiles(final Path root) throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            return paths.filter(Files::isRegularFile)
+                    .filter(p -> p.toString().toLowerCase().endsWith(".json"))
+                    .map(p -> p.toAbsolutePath().normalize())
+                    .collect(Collectors.toList());
+        }
+    }
+}
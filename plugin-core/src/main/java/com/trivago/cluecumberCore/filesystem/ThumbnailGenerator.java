@@ -0,0 +1,155 @@
+/*
+ * Copyright 2019 trivago N.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.trivago.cluecumberCore.filesystem;
+
+import com.trivago.cluecumberCore.exceptions.filesystem.FileCreationException;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.FileImageInputStream;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import javax.inject.Singleton;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+
+/**
+ * Creates downscaled preview images of PNG, JPEG, GIF and BMP attachments.
+ * This class is stateless and can be used by multiple threads at once.
+ */
+@Singleton
+public class ThumbnailGenerator {
+
+    // Thumbnails fit into a square of this size in pixels.
+    static final int MAXIMUM_THUMBNAIL_SIZE = 480;
+
+    /**
+     * Check if an image is larger than the thumbnail size. Only the image header is read.
+     *
+     * @param imageData The encoded image.
+     * @return true if a thumbnail should be created, false if the original image can be shown as its own preview.
+     */
+    public boolean needsThumbnail(final byte[] imageData) {
+        try (ImageInputStream input = new MemoryCacheImageInputStream(new ByteArrayInputStream(imageData))) {
+            return exceedsThumbnailSize(input);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Check if an image file is larger than the thumbnail size. Only the image header is read.
+     *
+     * @param imagePath The complete path to the image.
+     * @return true if a thumbnail should be created, false if the original image can be shown as its own preview.
+     */
+    public boolean needsThumbnail(final String imagePath) {
+        try (ImageInputStream input = new FileImageInputStream(new File(imagePath))) {
+            return exceedsThumbnailSize(input);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private boolean exceedsThumbnailSize(final ImageInputStream input) {
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+        if (!readers.hasNext()) {
+            // Images that cannot be decoded cannot be scaled either.
+            return false;
+        }
+        ImageReader reader = readers.next();
+        try {
+            reader.setInput(input, true, true);
+            return reader.getWidth(0) > MAXIMUM_THUMBNAIL_SIZE || reader.getHeight(0) > MAXIMUM_THUMBNAIL_SIZE;
+        } catch (IOException | RuntimeException e) {
+            return false;
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    /**
+     * Create a thumbnail in the same image format as the original image.
+     * It should only be called for images that {@link #needsThumbnail(String) need a thumbnail}.
+     * If the image cannot be scaled after all, it is copied so that the referenced thumbnail still exists.
+     *
+     * @param imagePath     The complete path to the original image.
+     * @param thumbnailPath The complete path to the thumbnail, its file extension determines the image format.
+     * @throws FileCreationException In case the image cannot be read or the thumbnail cannot be written.
+     */
+    public void createThumbnail(final String imagePath, final String thumbnailPath) throws FileCreationException {
+        Path image = Paths.get(imagePath);
+        Path thumbnail = Paths.get(thumbnailPath);
+        try {
+            BufferedImage original = ImageIO.read(image.toFile());
+            if (original == null
+                    || (original.getWidth() <= MAXIMUM_THUMBNAIL_SIZE && original.getHeight() <= MAXIMUM_THUMBNAIL_SIZE)) {
+                Files.copy(image, thumbnail, StandardCopyOption.REPLACE_EXISTING);
+                return;
+            }
+            String formatName = thumbnailPath.substring(thumbnailPath.lastIndexOf('.') + 1);
+            boolean keepTransparency = original.getColorModel().hasAlpha()
+                    && (formatName.equalsIgnoreCase("png") || formatName.equalsIgnoreCase("gif"));
+            if (!ImageIO.write(scale(original, keepTransparency), formatName, thumbnail.toFile())) {
+                Files.copy(image, thumbnail, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException | RuntimeException e) {
+            throw new FileCreationException(thumbnailPath);
+        }
+    }
+
+    /**
+     * Scale an image down in steps of at most one half, so that bilinear filtering does not skip pixels.
+     *
+     * @param original         The original image.
+     * @param keepTransparency If false, the thumbnail has no alpha channel (required for JPEG and BMP).
+     * @return The scaled image.
+     */
+    private BufferedImage scale(final BufferedImage original, final boolean keepTransparency) {
+        double factor = Math.min(
+                (double) MAXIMUM_THUMBNAIL_SIZE / original.getWidth(),
+                (double) MAXIMUM_THUMBNAIL_SIZE / original.getHeight());
+        int targetWidth = Math.max(1, (int) Math.round(original.getWidth() * factor));
+        int targetHeight = Math.max(1, (int) Math.round(original.getHeight() * factor));
+        int imageType = keepTransparency ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+        BufferedImage scaled = original;
+        int width = original.getWidth();
+        int height = original.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage step = new BufferedImage(width, height, imageType);
+            Graphics2D graphics = step.createGraphics();
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(scaled, 0, 0, width, height, null);
+            graphics.dispose();
+            scaled = step;
+        } while (width > targetWidth || height > targetHeight);
+        return scaled;
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2019 trivago N.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.trivago.cluecumberCore.filesystem;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A buffered writer that encodes its characters as UTF-8 into a file.
+ * In contrast to a {@link java.io.BufferedWriter} on top of an {@link java.io.OutputStreamWriter}, the buffers and the
+ * encoder are kept when the writer is closed, so the same instance can write one file after another.
+ * Instances are not thread-safe.
+ */
+class Utf8FileWriter extends Writer {
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final CharBuffer characters = CharBuffer.allocate(BUFFER_SIZE);
+    private final ByteBuffer bytes = ByteBuffer.allocate((int) (BUFFER_SIZE * encoder.maxBytesPerChar()));
+
+    private FileChannel channel;
+
+    /**
+     * Start writing a new file, replacing its content if it already exists.
+     *
+     * @param path The path of the file.
+     * @throws IOException In case the file cannot be opened.
+     */
+    void open(final Path path) throws IOException {
+        encoder.reset();
+        characters.clear();
+        bytes.clear();
+        channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+    }
+
+    boolean isOpen() {
+        return channel != null;
+    }
+
+    @Override
+    public void write(final int character) throws IOException {
+        if (!characters.hasRemaining()) {
+            encodeCharacters(false);
+        }
+        characters.put((char) character);
+    }
+
+    @Override
+    public void write(final char[] buffer, final int offset, final int length) throws IOException {
+        int position = offset;
+        int end = offset + length;
+        while (position < end) {
+            int count = Math.min(end - position, characters.remaining());
+            characters.put(buffer, position, count);
+            position += count;
+            if (!characters.hasRemaining()) {
+                encodeCharacters(false);
+            }
+        }
+    }
+
+    @Override
+    public void write(final String string, final int offset, final int length) throws IOException {
+        int position = offset;
+        int end = offset + length;
+        while (position < end) {
+            int count = Math.min(end - position, characters.remaining());
+            characters.put(string, position, position + count);
+            position += count;
+            if (!characters.hasRemaining()) {
+                encodeCharacters(false);
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        encodeCharacters(false);
+        writeBytes();
+    }
+
+    /**
+     * Write all remaining characters and close the file. The writer can be opened again afterwards.
+     *
+     * @throws IOException In case the remaining characters cannot be written.
+     */
+    @Override
+    public void close() throws IOException {
+        if (channel == null) {
+            return;
+        }
+        try {
+            encodeCharacters(true);
+            while (encoder.flush(bytes).isOverflow()) {
+                writeBytes();
+            }
+            writeBytes();
+        } finally {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private void encodeCharacters(final boolean endOfInput) throws IOException {
+        characters.flip();
+        while (encoder.encode(characters, bytes, endOfInput) == CoderResult.OVERFLOW) {
+            writeBytes();
+        }
+        // An incomplete surrogate pair stays in the buffer until its second half is written.
+        characters.compact();
+    }
+
+    private void writeBytes() throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        bytes.clear();
+    }
+}
@@ -0,0 +1,291 @@
+/*
+ * Copyright 2019 trivago N.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.trivago.cluecumberCore.json;
+
+import com.trivago.cluecumberCore.exceptions.CluecumberPluginException;
+import com.trivago.cluecumberCore.exceptions.filesystem.MissingFileException;
+import com.trivago.cluecumberCore.filesystem.AttachmentWriter;
+import com.trivago.cluecumberCore.filesystem.FileIO;
+import com.trivago.cluecumberCore.json.cache.JsonFileFingerprint;
+import com.trivago.cluecumberCore.json.cache.ReportCache;
+import com.trivago.cluecumberCore.json.pojo.Report;
+import com.trivago.cluecumberCore.logging.LoggerUtils;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.Reader;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.trivago.cluecumberCore.logging.LoggerUtils.CluecumberLogLevel.DEFAULT;
+
+/**
+ * Parses Cucumber JSON files into {@link Report} objects, optionally using multiple threads.
+ * Files are deserialized concurrently but post processed strictly in the given file order,
+ * so feature indices are identical to a single threaded run.
+ * If the {@link ReportCache} is enabled, unchanged files are taken from the cache instead of being parsed.
+ * Parsing ends once all attachment files are written, then newly parsed files are stored in the cache.
+ * When the JSON directory is watched, the reports of files that did not change are reused from the previous run.
+ */
+@Singleton
+public class JsonFileParser {
+
+    private final FileIO fileIO;
+    private final JsonPojoConverter jsonPojoConverter;
+    private final ReportCache reportCache;
+    private final AttachmentWriter attachmentWriter;
+
+    private Map<Path, Report[]> previouslyParsedFiles = new HashMap<>();
+    private Map<Path, Report[]> parsedFiles = new HashMap<>();
+    private Map<JsonFileFingerprint, Report[]> uncachedFiles = new LinkedHashMap<>();
+
+    @Inject
+    public JsonFileParser(
+            final FileIO fileIO,
+            final JsonPojoConverter jsonPojoConverter,
+            final ReportCache reportCache,
+            final AttachmentWriter attachmentWriter
+    ) {
+        this.fileIO = fileIO;
+        this.jsonPojoConverter = jsonPojoConverter;
+        this.reportCache = reportCache;
+        this.attachmentWriter = attachmentWriter;
+    }
+
+    /**
+     * Parse all given JSON files. Files that cannot be parsed are skipped with a warning.
+     *
+     * @param jsonFilePaths The JSON files in the order in which they should be processed.
+     * @param threads       The number of parser threads. A value of 1 parses all files on the calling thread.
+     * @return The list of {@link Report} objects in file order.
+     * @throws CluecumberPluginException In case a file cannot be opened or parsing is interrupted.
+     */
+    public List<Report> parseJsonFiles(final List<Path> jsonFilePaths, final int threads)
+            throws CluecumberPluginException {
+        return parseJsonFiles(jsonFilePaths, threads, null);
+    }
+
+    /**
+     * Parse all given JSON files again after some of them changed.
+     * The reports of all other files are taken over from the previous call.
+     *
+     * @param jsonFilePaths    The JSON files in the order in which they should be processed.
+     * @param threads          The number of parser threads. A value of 1 parses all files on the calling thread.
+     * @param changedJsonFiles The absolute paths of the changed JSON files or null if all files should be read.
+     * @return The list of {@link Report} objects in file order.
+     * @throws CluecumberPluginException In case a file cannot be opened or parsing is interrupted.
+     */
+    public List<Report> parseJsonFiles(final List<Path> jsonFilePaths, final int threads,
+                                       final Set<Path> changedJsonFiles) throws CluecumberPluginException {
+        jsonPojoConverter.resetFeatureIndices();
+        parsedFiles = new HashMap<>();
+        uncachedFiles = new LinkedHashMap<>();
+        List<Report> reports = new ArrayList<>();
+        int reusedFiles;
+        if (threads <= 1 || jsonFilePaths.size() <= 1) {
+            reusedFiles = parseSerially(jsonFilePaths, changedJsonFiles, reports);
+        } else {
+            reusedFiles = parseInParallel(jsonFilePaths, threads, changedJsonFiles, reports);
+        }
+        previouslyParsedFiles = parsedFiles;
+        attachmentWriter.awaitCompletion();
+        jsonPojoConverter.deleteUnusedSpooledFiles();
+        storeUncachedFiles();
+        if (changedJsonFiles != null) {
+            LoggerUtils.info(String.format("Reused %d of %d JSON files from the previous run.",
+                    reusedFiles, jsonFilePaths.size()), DEFAULT);
+        } else if (reportCache.isEnabled()) {
+            reportCache.removeUnusedEntries();
+            LoggerUtils.info(String.format("Reused %d of %d JSON files from the parsed JSON cache.",
+                    reusedFiles, jsonFilePaths.size()), DEFAULT);
+        }
+        return reports;
+    }
+
+    private int parseSerially(final List<Path> jsonFilePaths, final Set<Path> changedJsonFiles,
+                              final List<Report> reports) throws CluecumberPluginException {
+        int reusedFiles = 0;
+        for (Path jsonFilePath : jsonFilePaths) {
+            Report[] fileReports = getUnchangedReports(jsonFilePath, changedJsonFiles);
+            JsonFileFingerprint fingerprint = null;
+            if (fileReports == null) {
+                fingerprint = getFingerprint(jsonFilePath);
+                fileReports = fingerprint != null ? reportCache.load(fingerprint) : null;
+            }
+            if (fileReports != null) {
+                reusePostProcessedReports(jsonFilePath, fileReports, reports);
+                reusedFiles++;
+                continue;
+            }
+            Reader jsonReader = fileIO.getReaderForFile(jsonFilePath.toString());
+            try {
+                fileReports = jsonPojoConverter.convertJsonToReportPojos(jsonReader);
+                addParsedReports(jsonFilePath, fingerprint, fileReports, reports);
+            } catch (CluecumberPluginException e) {
+                logParseWarning(jsonFilePath, e);
+            }
+        }
+        return reusedFiles;
+    }
+
+    private int parseInParallel(final List<Path> jsonFilePaths, final int threads,
+                                final Set<Path> changedJsonFiles, final List<Report> reports)
+            throws CluecumberPluginException {
+        int reusedFiles = 0;
+        ExecutorService executorService = Executors.newFixedThreadPool(threads, new ParserThreadFactory());
+        // At most this many parsed but not yet post processed files are kept in memory.
+        int maximumPendingFiles = threads * 2;
+        Deque<Future<ParsedJsonFile>> pendingFiles = new ArrayDeque<>();
+        try {
+            int nextFileIndex = 0;
+            for (Path jsonFilePath : jsonFilePaths) {
+                while (nextFileIndex < jsonFilePaths.size() && pendingFiles.size() < maximumPendingFiles) {
+                    Path nextFilePath = jsonFilePaths.get(nextFileIndex++);
+                    pendingFiles.add(executorService.submit(() -> readJsonFile(nextFilePath, changedJsonFiles)));
+                }
+                ParsedJsonFile parsedJsonFile;
+                try {
+                    parsedJsonFile = pendingFiles.remove().get();
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof MissingFileException) {
+                        throw (MissingFileException) cause;
+                    }
+                    logParseWarning(jsonFilePath, cause);
+                    continue;
+                }
+                if (parsedJsonFile.postProcessed) {
+                    reusePostProcessedReports(jsonFilePath, parsedJsonFile.reports, reports);
+                    reusedFiles++;
+                    continue;
+                }
+                jsonPojoConverter.postProcessReportPojos(parsedJsonFile.reports);
+                addParsedReports(jsonFilePath, parsedJsonFile.fingerprint, parsedJsonFile.reports, reports);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CluecumberPluginException("JSON parsing was interrupted.");
+        } finally {
+            executorService.shutdownNow();
+        }
+        return reusedFiles;
+    }
+
+    private ParsedJsonFile readJsonFile(final Path jsonFilePath, final Set<Path> changedJsonFiles)
+            throws CluecumberPluginException {
+        Report[] unchangedReports = getUnchangedReports(jsonFilePath, changedJsonFiles);
+        if (unchangedReports != null) {
+            return new ParsedJsonFile(null, unchangedReports, true);
+        }
+        JsonFileFingerprint fingerprint = getFingerprint(jsonFilePath);
+        Report[] cachedReports = fingerprint != null ? reportCache.load(fingerprint) : null;
+        if (cachedReports != null) {
+            return new ParsedJsonFile(fingerprint, cachedReports, true);
+        }
+        Reader jsonReader = fileIO.getReaderForFile(jsonFilePath.toString());
+        return new ParsedJsonFile(fingerprint, jsonPojoConverter.convertJsonToUnprocessedReportPojos(jsonReader), false);
+    }
+
+    /**
+     * Get the reports of a file from the previous call if the file did not change since then.
+     *
+     * @param jsonFilePath     The JSON file.
+     * @param changedJsonFiles The absolute paths of the changed JSON files or null if all files should be read.
+     * @return The {@link Report} array or null.
+     */
+    private Report[] getUnchangedReports(final Path jsonFilePath, final Set<Path> changedJsonFiles) {
+        if (changedJsonFiles == null || changedJsonFiles.contains(jsonFilePath.toAbsolutePath().normalize())) {
+            return null;
+        }
+        return previouslyParsedFiles.get(jsonFilePath);
+    }
+
+    private JsonFileFingerprint getFingerprint(final Path jsonFilePath) throws MissingFileException {
+        return reportCache.isEnabled() ? reportCache.getFingerprint(jsonFilePath) : null;
+    }
+
+    private void reusePostProcessedReports(final Path jsonFilePath, final Report[] fileReports,
+                                           final List<Report> reports) {
+        jsonPojoConverter.reusePostProcessedReportPojos(fileReports);
+        parsedFiles.put(jsonFilePath, fileReports);
+        reports.addAll(Arrays.asList(fileReports));
+    }
+
+    private void addParsedReports(final Path jsonFilePath, final JsonFileFingerprint fingerprint,
+                                  final Report[] fileReports, final List<Report> reports) {
+        if (fileReports == null) {
+            return;
+        }
+        parsedFiles.put(jsonFilePath, fileReports);
+        if (fingerprint != null) {
+            uncachedFiles.put(fingerprint, fileReports);
+        }
+        reports.addAll(Arrays.asList(fileReports));
+    }
+
+    /**
+     * Store newly parsed files in the {@link ReportCache}.
+     * Cache entries reference their attachment files, so this is only done after all attachments are written.
+     */
+    private void storeUncachedFiles() {
+        for (Map.Entry<JsonFileFingerprint, Report[]> uncachedFile : uncachedFiles.entrySet()) {
+            reportCache.store(uncachedFile.getKey(), uncachedFile.getValue());
+        }
+        uncachedFiles = new LinkedHashMap<>();
+    }
+
+    private void logParseWarning(final Path jsonFilePath, final Throwable throwable) {
+        LoggerUtils.warn("Could not parse JSON in file '" + jsonFilePath.toString() + "': " + throwable.getMessage());
+    }
+
+    private static class ParsedJsonFile {
+        private final JsonFileFingerprint fingerprint;
+        private final Report[] reports;
+        private final boolean postProcessed;
+
+        ParsedJsonFile(final JsonFileFingerprint fingerprint, final Report[] reports, final boolean postProcessed) {
+            this.fingerprint = fingerprint;
+            this.reports = reports;
+            this.postProcessed = postProcessed;
+        }
+    }
+
+    private static class ParserThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            Thread thread = new Thread(runnable, "cluecumber-json-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -16,43 +16,161 @@
 
 package com.trivago.cluecumberCore.json;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonParseException;
-import com.trivago.cluecumberCore.constants.MimeType;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.trivago.cluecumberCore.exceptions.CluecumberPluginException;
+import com.trivago.cluecumberCore.json.adapters.EmbeddingDataSpoolingReader;
+import com.trivago.cluecumberCore.json.adapters.ReportTypeAdapter;
 import com.trivago.cluecumberCore.json.pojo.Element;
 import com.trivago.cluecumberCore.json.pojo.Report;
 import com.trivago.cluecumberCore.json.processors.ElementJsonPostProcessor;
 import com.trivago.cluecumberCore.json.processors.ReportJsonPostProcessor;
-import io.gsonfire.GsonFireBuilder;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
 
 @Singleton
 public class JsonPojoConverter {
 
-    private final Gson gsonParserWithProcessors;
+    private final ReportJsonPostProcessor reportJsonPostProcessor;
+    private final ElementJsonPostProcessor elementJsonPostProcessor;
+    private final ReportTypeAdapter reportTypeAdapterWithProcessors;
+    private final ReportTypeAdapter reportTypeAdapter;
 
     @Inject
     public JsonPojoConverter(
             final ReportJsonPostProcessor reportJsonPostProcessor,
             final ElementJsonPostProcessor elementJsonPostProcessor
     ) {
-        GsonFireBuilder builder = new GsonFireBuilder()
-                .registerPostProcessor(Report.class, reportJsonPostProcessor)
-                .registerPostProcessor(Element.class, elementJsonPostProcessor)
-                .enumDefaultValue(MimeType.class, MimeType.UNKNOWN);
-        gsonParserWithProcessors = builder.createGson();
+        this.reportJsonPostProcessor = reportJsonPostProcessor;
+        this.elementJsonPostProcessor = elementJsonPostProcessor;
+        reportTypeAdapterWithProcessors = new ReportTypeAdapter(reportJsonPostProcessor, elementJsonPostProcessor);
+        reportTypeAdapter = new ReportTypeAdapter(null, null);
     }
 
+    /**
+     * Convert a complete Cucumber JSON string to {@link Report} objects.
+     *
+     * @param json The JSON string.
+     * @return The {@link Report} array or null if the JSON is empty.
+     * @throws CluecumberPluginException In case the JSON cannot be parsed.
+     */
     public Report[] convertJsonToReportPojos(final String json) throws CluecumberPluginException {
-        Report[] reports;
-        try {
-            reports = gsonParserWithProcessors.fromJson(json, Report[].class);
-        } catch (JsonParseException e) {
+        return convertJsonToReportPojos(new StringReader(json));
+    }
+
+    /**
+     * Convert Cucumber JSON to {@link Report} objects while streaming it from a reader.
+     * Only one report is deserialized at a time so the raw JSON never has to be held in memory completely.
+     * The reader is closed after processing.
+     *
+     * @param reader The {@link Reader} providing the JSON.
+     * @return The {@link Report} array or null if the JSON is empty.
+     * @throws CluecumberPluginException In case the JSON cannot be parsed.
+     */
+    public Report[] convertJsonToReportPojos(final Reader reader) throws CluecumberPluginException {
+        return convertJsonToReportPojos(reader, reportTypeAdapterWithProcessors);
+    }
+
+    /**
+     * Convert Cucumber JSON to {@link Report} objects without running the report and element post processors.
+     * This is thread safe and has to be followed by {@link #postProcessReportPojos(Report[])}.
+     *
+     * @param reader The {@link Reader} providing the JSON.
+     * @return The {@link Report} array or null if the JSON is empty.
+     * @throws CluecumberPluginException In case the JSON cannot be parsed.
+     */
+    public Report[] convertJsonToUnprocessedReportPojos(final Reader reader) throws CluecumberPluginException {
+        return convertJsonToReportPojos(reader, reportTypeAdapter);
+    }
+
+    /**
+     * Run the post processors on unprocessed {@link Report} objects in the same order as during regular parsing.
+     * Calling this for the parsed files in a fixed order yields the same result as parsing them one after another.
+     *
+     * @param reports The {@link Report} array returned by {@link #convertJsonToUnprocessedReportPojos(Reader)}.
+     */
+    public void postProcessReportPojos(final Report[] reports) {
+        if (reports == null) {
+            return;
+        }
+        for (Report report : reports) {
+            for (Element element : report.getElements()) {
+                elementJsonPostProcessor.postDeserialize(element, null, null);
+            }
+            reportJsonPostProcessor.postDeserialize(report, null, null);
+        }
+    }
+
+    /**
+     * Reset the feature indices before a new set of JSON files is converted.
+     */
+    public void resetFeatureIndices() {
+        reportJsonPostProcessor.resetFeatureIndices();
+    }
+
+    /**
+     * Take over {@link Report} objects that were post processed in an earlier run instead of parsing their JSON again.
+     * Only their feature indices and symbol ids have to be updated since attachment filenames do not depend on the parsing order.
+     *
+     * @param reports The post processed {@link Report} array.
+     */
+    public void reusePostProcessedReportPojos(final Report[] reports) {
+        for (Report report : reports) {
+            reportJsonPostProcessor.updateIds(report);
+        }
+    }
+
+    /**
+     * Delete spooled attachment data that no embedding refers to.
+     * This must only be called once all attachment files are written.
+     */
+    public void deleteUnusedSpooledFiles() {
+        EmbeddingDataSpoolingReader.deleteAllSpooledFiles(elementJsonPostProcessor.getAttachmentDirectory());
+    }
+
+    private Report[] convertJsonToReportPojos(final Reader reader, final ReportTypeAdapter adapter) throws CluecumberPluginException {
+        List<Report> reports = new ArrayList<>();
+        EmbeddingDataSpoolingReader spoolingReader =
+                new EmbeddingDataSpoolingReader(reader, elementJsonPostProcessor.getAttachmentDirectory());
+        try (JsonReader jsonReader = new JsonReader(spoolingReader)) {
+            jsonReader.setLenient(true);
+            try {
+                if (jsonReader.peek() == JsonToken.NULL) {
+                    return null;
+                }
+            } catch (EOFException e) {
+                // Empty JSON files do not contain any reports.
+                return null;
+            }
+            jsonReader.beginArray();
+            while (jsonReader.hasNext()) {
+                Report report = adapter.read(jsonReader);
+                if (report != null) {
+                    reports.add(report);
+                }
+            }
+            jsonReader.endArray();
+            if (jsonReader.peek() != JsonToken.END_DOCUMENT) {
+                deleteSpooledFiles(spoolingReader);
+                throw new CluecumberPluginException("JSON document was not fully consumed.");
+            }
+        } catch (IOException | IllegalStateException | NumberFormatException e) {
+            deleteSpooledFiles(spoolingReader);
             throw new CluecumberPluginException(e.getMessage());
         }
-        return reports;
+        return reports.toArray(new Report[0]);
+    }
+
+    private void deleteSpooledFiles(final EmbeddingDataSpoolingReader spoolingReader) throws CluecumberPluginException {
+        // Spooled files of elements that were already post processed may still be moved by the attachment writer.
+        elementJsonPostProcessor.awaitAttachmentFiles();
+        spoolingReader.deleteSpooledFiles();
     }
 }
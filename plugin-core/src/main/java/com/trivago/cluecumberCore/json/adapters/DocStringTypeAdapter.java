@@ -0,0 +1,47 @@
+/*
+ * Copyright 2019 trivago N.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.trivago.cluecumberCore.json.adapters;
+
+import com.google.gson.stream.JsonReader;
+import com.trivago.cluecumberCore.json.pojo.DocString;
+
+import java.io.IOException;
+
+class DocStringTypeAdapter extends PojoTypeAdapter<DocString> {
+
+    @Override
+    DocString createPojo() {
+        return new DocString();
+    }
+
+    @Override
+    boolean readProperty(final JsonReader reader, final String name, final DocString docString) throws IOException {
+        switch (name) {
+            case "content_type":
+                docString.setContentType(readString(reader));
+                return true;
+            case "line":
+                docString.setLine(reader.nextInt());
+                return true;
+            case "value":
+                docString.setValue(readString(reader));
+                return true;
+            default:
+                return false;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2019 trivago N.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.trivago.cluecumberCore.json.adapters;
+
+import com.google.gson.stream.JsonReader;
+import com.trivago.cluecumberCore.json.pojo.Element;
+import com.trivago.cluecumberCore.json.processors.ElementJsonPostProcessor;
+
+import java.io.IOException;
+
+class ElementTypeAdapter extends PojoTypeAdapter<Element> {
+
+    private final ElementJsonPostProcessor elementJsonPostProcessor;
+    private final ResultMatchTypeAdapter resultMatchTypeAdapter;
+    private final StepTypeAdapter stepTypeAdapter;
+    private final TagTypeAdapter tagTypeAdapter;
+
+    /**
+     * Constructor.
+     *
+     * @param elementJsonPostProcessor The post processor to run on each element or null to skip post processing.
+     * @param resultMatchTypeAdapter   The shared {@link ResultMatchTypeAdapter}.
+     * @param tagTypeAdapter           The shared {@link TagTypeAdapter}.
+     */
+    ElementTypeAdapter(
+            final ElementJsonPostProcessor elementJsonPostProcessor,
+            final ResultMatchTypeAdapter resultMatchTypeAdapter,
+            final TagTypeAdapter tagTypeAdapter
+    ) {
+        this.elementJsonPostProcessor = elementJsonPostProcessor;
+        this.resultMatchTypeAdapter = resultMatchTypeAdapter;
+        this.stepTypeAdapter = new StepTypeAdapter(resultMatchTypeAdapter);
+        this.tagTypeAdapter = tagTypeAdapter;
+    }
+
+    @Override
+    Element createPojo() {
+        return new Element();
+    }
+
+    @Override
+    boolean readProperty(final JsonReader reader, final String name, final Element element) throws IOException {
+        switch (name) {
+            case "before":
+                element.setBefore(readList(reader, resultMatchTypeAdapter));
+                return true;
+            case "line":
+                element.setLine(reader.nextInt());
+                return true;
+            case "name":
+                element.setName(readString(reader));
+                return true;
+            case "description":
+                element.setDescription(readString(reader));
+                return true;
+            case "id":
+                element.setId(readString(reader));
+                return true;
+            case "after":
+                element.setAfter(readList(reader, resultMatchTypeAdapter));
+                return true;
+            case "type":
+                element.setType(readString(reader));
+                return true;
+            case "keyword":
+                element.setKeyword(readString(reader));
+                return true;
+            case "steps":
+                element.setSteps(readList(reader, stepTypeAdapter));
+                return true;
+            case "tags":
+                element.setTags(readList(reader, tagTypeAdapter));
+                return true;
+            case "start_timestamp":
+                element.setStartTimestamp(readString(reader));
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    void postProcess(final Element element) {
+        if (elementJsonPostProcessor != null) {
+            elementJsonPostProcessor.postDeserialize(element, null, null);
+        }
+    }
+}
@@ -0,0 +1,354 @@
+/*
+ * Copyright 2019 trivago N.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.trivago.cluecumberCore.json.adapters;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Passes Cucumber JSON through to the JSON parser but decodes the Base64 "data" values of all embeddings
+ * straight into spool files while reading them. The SHA-256 hash of the decoded content is calculated on the way.
+ * The parser only sees a short reference to the spool file and the hash
+ * so attachment content never has to be held in memory as a string.
+ */
+public class EmbeddingDataSpoolingReader extends Reader {
+
+    /**
+     * Prefix of the string value that replaces the Base64 data.
+     * It is followed by the hexadecimal content hash, a {@link #SPOOLED_DATA_SEPARATOR} and the spool file name.
+     */
+    public static final String SPOOLED_DATA_PREFIX = "#spooled:";
+    public static final char SPOOLED_DATA_SEPARATOR = ':';
+
+    private static final String DATA_KEY = "data";
+    private static final String EMBEDDINGS_KEY = "embeddings";
+    // Has to be a multiple of 4 so that every chunk except the last one decodes to whole bytes.
+    private static final int BASE64_CHUNK_SIZE = 16384;
+    private static final String SPOOL_FILE_PREFIX = "spool";
+    private static final String SPOOL_FILE_SUFFIX = ".tmp";
+
+    private enum State {
+        JSON, STRING, AFTER_STRING, AFTER_COLON, DATA
+    }
+
+    private enum Container {
+        OBJECT, ARRAY, EMBEDDINGS, EMBEDDING
+    }
+
+    private final Reader reader;
+    private final Path spoolDirectory;
+    private final List<Path> spooledFiles = new ArrayList<>();
+
+    private final char[] inputBuffer = new char[8192];
+    private int inputPosition;
+    private int inputLength;
+    private final StringBuilder replacement = new StringBuilder();
+    private int replacementPosition;
+
+    private State state = State.JSON;
+    private final Deque<Container> containers = new ArrayDeque<>();
+    private final char[] key = new char[EMBEDDINGS_KEY.length()];
+    private int keyLength;
+    private boolean escaped;
+    private int remainingUnicodeDigits;
+    private int unicodeCharacter;
+
+    private FileChannel spoolChannel;
+    private MessageDigest contentDigest;
+    private final byte[] base64Chunk = new byte[BASE64_CHUNK_SIZE];
+    private int base64ChunkLength;
+    private int paddingLength;
+
+    /**
+     * @param reader         The {@link Reader} providing the JSON.
+     * @param spoolDirectory The directory for spool files or null if the JSON should be passed through unchanged.
+     */
+    public EmbeddingDataSpoolingReader(final Reader reader, final Path spoolDirectory) {
+        this.reader = reader;
+        this.spoolDirectory = spoolDirectory;
+    }
+
+    /**
+     * Delete all spool files written so far. This is used if the JSON turns out to be invalid.
+     */
+    public void deleteSpooledFiles() {
+        for (Path spooledFile : spooledFiles) {
+            try {
+                Files.deleteIfExists(spooledFile);
+            } catch (IOException e) {
+                // The file is overwritten or ignored in the next run.
+            }
+        }
+        spooledFiles.clear();
+    }
+
+    /**
+     * Delete all spool files in a directory, e.g. those of embeddings whose attachment file already existed.
+     * This must only be called after all spooled embeddings were moved.
+     *
+     * @param spoolDirectory The directory for spool files or null.
+     */
+    public static void deleteAllSpooledFiles(final Path spoolDirectory) {
+        if (spoolDirectory == null || !Files.isDirectory(spoolDirectory)) {
+            return;
+        }
+        try (DirectoryStream<Path> spooledFiles =
+                     Files.newDirectoryStream(spoolDirectory, SPOOL_FILE_PREFIX + "*" + SPOOL_FILE_SUFFIX)) {
+            for (Path spooledFile : spooledFiles) {
+                Files.deleteIfExists(spooledFile);
+            }
+        } catch (IOException e) {
+            // The files are deleted in the next run.
+        }
+    }
+
+    @Override
+    public int read(final char[] buffer, final int offset, final int length) throws IOException {
+        int written = 0;
+        while (written < length) {
+            if (replacementPosition < replacement.length()) {
+                buffer[offset + written++] = replacement.charAt(replacementPosition++);
+                continue;
+            }
+            if (inputPosition == inputLength) {
+                if (written > 0 && !reader.ready()) {
+                    break;
+                }
+                inputLength = reader.read(inputBuffer, 0, inputBuffer.length);
+                inputPosition = 0;
+                if (inputLength <= 0) {
+                    inputLength = 0;
+                    break;
+                }
+            }
+            char character = inputBuffer[inputPosition++];
+            if (process(character)) {
+                buffer[offset + written++] = character;
+            }
+        }
+        return written == 0 && length > 0 ? -1 : written;
+    }
+
+    /**
+     * Process the next JSON character. Only the "data" values of objects inside of an "embeddings" array are spooled.
+     *
+     * @param character The character.
+     * @return true if the character should be passed to the JSON parser.
+     * @throws IOException In case the spool file cannot be written or the data is not valid Base64.
+     */
+    private boolean process(final char character) throws IOException {
+        switch (state) {
+            case STRING:
+                if (escaped) {
+                    escaped = false;
+                    keyLength = -1;
+                } else if (character == '\\') {
+                    escaped = true;
+                    keyLength = -1;
+                } else if (character == '"') {
+                    state = State.AFTER_STRING;
+                } else if (keyLength >= 0 && keyLength < key.length) {
+                    key[keyLength++] = character;
+                } else {
+                    keyLength = -1;
+                }
+                return true;
+            case AFTER_STRING:
+                if (Character.isWhitespace(character)) {
+                    return true;
+                }
+                if (character == ':') {
+                    state = State.AFTER_COLON;
+                    return true;
+                }
+                state = State.JSON;
+                return process(character);
+            case AFTER_COLON:
+                if (Character.isWhitespace(character)) {
+                    return true;
+                }
+                state = State.JSON;
+                if (character == '[' && isKey(EMBEDDINGS_KEY)) {
+                    containers.push(Container.EMBEDDINGS);
+                    return true;
+                }
+                if (character == '"' && isKey(DATA_KEY) && containers.peek() == Container.EMBEDDING
+                        && startSpooling()) {
+                    state = State.DATA;
+                    return false;
+                }
+                return process(character);
+            case DATA:
+                spool(character);
+                return false;
+            default:
+                switch (character) {
+                    case '"':
+                        state = State.STRING;
+                        keyLength = 0;
+                        escaped = false;
+                        break;
+                    case '{':
+                        containers.push(
+                                containers.peek() == Container.EMBEDDINGS ? Container.EMBEDDING : Container.OBJECT);
+                        break;
+                    case '[':
+                        containers.push(Container.ARRAY);
+                        break;
+                    case '}':
+                    case ']':
+                        containers.poll();
+                        break;
+                    default:
+                        break;
+                }
+                return true;
+        }
+    }
+
+    private boolean isKey(final String name) {
+        if (keyLength != name.length()) {
+            return false;
+        }
+        for (int i = 0; i < keyLength; i++) {
+            if (key[i] != name.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean startSpooling() {
+        if (spoolDirectory == null) {
+            return false;
+        }
+        try {
+            Path spooledFile = Files.createTempFile(spoolDirectory, SPOOL_FILE_PREFIX, SPOOL_FILE_SUFFIX);
+            spooledFiles.add(spooledFile);
+            spoolChannel = FileChannel.open(spooledFile, StandardOpenOption.WRITE);
+            contentDigest = MessageDigest.getInstance("SHA-256");
+        } catch (IOException | NoSuchAlgorithmException e) {
+            // Fall back to passing the data to the parser.
+            return false;
+        }
+        escaped = false;
+        remainingUnicodeDigits = 0;
+        base64ChunkLength = 0;
+        paddingLength = 0;
+        return true;
+    }
+
+    private void spool(final char character) throws IOException {
+        if (remainingUnicodeDigits > 0) {
+            unicodeCharacter = unicodeCharacter * 16 + Character.digit(character, 16);
+            if (--remainingUnicodeDigits == 0) {
+                addBase64Character((char) unicodeCharacter);
+            }
+        } else if (escaped) {
+            escaped = false;
+            if (character == 'u') {
+                remainingUnicodeDigits = 4;
+                unicodeCharacter = 0;
+            } else if (character == '/') {
+                addBase64Character(character);
+            } else if (character != 'r' && character != 'n') {
+                // Only line breaks as added by MIME encoders are skipped.
+                throw new IOException("Embedding data contains the invalid escape sequence \\" + character + ".");
+            }
+        } else if (character == '\\') {
+            escaped = true;
+        } else if (character == '"') {
+            finishSpooling();
+        } else {
+            addBase64Character(character);
+        }
+    }
+
+    private void addBase64Character(final char character) throws IOException {
+        if (character == '=') {
+            paddingLength++;
+            return;
+        }
+        if (paddingLength > 0) {
+            throw new IOException("Embedding data contains the character '" + character + "' after its padding.");
+        }
+        if ((character >= 'A' && character <= 'Z') || (character >= 'a' && character <= 'z')
+                || (character >= '0' && character <= '9') || character == '+' || character == '/') {
+            base64Chunk[base64ChunkLength++] = (byte) character;
+            if (base64ChunkLength == base64Chunk.length) {
+                writeBase64Chunk();
+            }
+            return;
+        }
+        throw new IOException("Embedding data contains the invalid Base64 character '" + character + "'.");
+    }
+
+    private void writeBase64Chunk() throws IOException {
+        ByteBuffer bytes;
+        try {
+            bytes = Base64.getDecoder().decode(ByteBuffer.wrap(base64Chunk, 0, base64ChunkLength));
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Embedding data is not valid Base64: " + e.getMessage());
+        }
+        contentDigest.update(bytes.duplicate());
+        while (bytes.hasRemaining()) {
+            spoolChannel.write(bytes);
+        }
+        base64ChunkLength = 0;
+    }
+
+    private void finishSpooling() throws IOException {
+        // A single remaining character cannot encode a whole byte and the padding has to complete the last group.
+        if (base64ChunkLength % 4 == 1 || (paddingLength > 0 && (base64ChunkLength + paddingLength) % 4 != 0)) {
+            throw new IOException("Embedding data is not valid Base64: wrong length or padding.");
+        }
+        writeBase64Chunk();
+        spoolChannel.close();
+        spoolChannel = null;
+        Path spooledFile = spooledFiles.get(spooledFiles.size() - 1);
+        replacement.setLength(0);
+        replacement.append('"').append(SPOOLED_DATA_PREFIX);
+        for (byte hashByte : contentDigest.digest()) {
+            replacement.append(String.format("%02x", hashByte));
+        }
+        replacement.append(SPOOLED_DATA_SEPARATOR).append(spooledFile.getFileName()).append('"');
+        replacementPosition = 0;
+        state = State.JSON;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (spoolChannel != null) {
+            spoolChannel.close();
+            spoolChannel = null;
+        }
+        reader.close();
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2019 trivago N.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.trivago.cluecumberCore.json.adapters;
+
+import com.google.gson.stream.JsonReader;
+import com.trivago.cluecumberCore.constants.MimeType;
+import com.trivago.cluecumberCore.json.pojo.Embedding;
+
+import java.io.IOException;
+
+class EmbeddingTypeAdapter extends PojoTypeAdapter<Embedding> {
+
+    @Override
+    Embedding createPojo() {
+        return new Embedding();
+    }
+
+    @Override
+    boolean readProperty(final JsonReader reader, final String name, final Embedding embedding) throws IOException {
+        switch (name) {
+            case "data":
+                String data = readString(reader);
+                if (data != null && data.startsWith(EmbeddingDataSpoolingReader.SPOOLED_DATA_PREFIX)) {
+                    int separatorIndex = data.indexOf(EmbeddingDataSpoolingReader.SPOOLED_DATA_SEPARATOR,
+                            EmbeddingDataSpoolingReader.SPOOLED_DATA_PREFIX.length());
+                    embedding.setContentHash(
+                            data.substring(EmbeddingDataSpoolingReader.SPOOLED_DATA_PREFIX.length(), separatorIndex));
+                    embedding.setSpooledDataFile(data.substring(separatorIndex + 1));
+                } else {
+                    embedding.setData(data);
+                }
+                return true;
+            case "mime_type":
+                embedding.setMimeType(MimeType.fromContentType(readString(reader)));
+                return true;
+            case "name":
+                embedding.setName(readString(reader));
+                return true;
+            default:
+                return false;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2019 trivago N.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.trivago.cluecumberCore.json.adapters;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Base class for the streaming type adapters of the Cucumber JSON pojos.
+ * It replaces Gson's reflective binding: unknown properties are skipped and
+ * properties that are null in the JSON keep the default value of the pojo.
+ * The pojos are only read, so the adapters read directly from a {@link JsonReader}
+ * instead of being registered as Gson type adapters.
+ *
+ * @param <T> The pojo type.
+ */
+abstract class PojoTypeAdapter<T> {
+
+    /**
+     * Read a pojo or null from the JSON.
+     *
+     * @param reader The {@link JsonReader} positioned at the pojo.
+     * @return The pojo or null if the JSON value is null.
+     * @throws IOException In case the JSON cannot be read.
+     */
+    public T read(final JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        T pojo = createPojo();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (reader.peek() == JsonToken.NULL || !readProperty(reader, name, pojo)) {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        postProcess(pojo);
+        return pojo;
+    }
+
+    /**
+     * Create a pojo with its default values.
+     *
+     * @return The new pojo.
+     */
+    abstract T createPojo();
+
+    /**
+     * Read a single non-null property into the pojo.
+     *
+     * @param reader The {@link JsonReader} positioned at the property value.
+     * @param name   The property name.
+     * @param pojo   The pojo to fill.
+     * @return false if the property is unknown and its value still has to be skipped.
+     * @throws IOException In case the JSON cannot be read.
+     */
+    abstract boolean readProperty(JsonReader reader, String name, T pojo) throws IOException;
+
+    /**
+     * Hook that is called after a pojo was read completely.
+     *
+     * @param pojo The pojo.
+     */
+    void postProcess(final T pojo) {
+    }
+
+    static String readString(final JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.BOOLEAN) {
+            return Boolean.toString(reader.nextBoolean());
+        }
+        return reader.nextString();
+    }
+
+    static <E> List<E> readList(final JsonReader reader, final PojoTypeAdapter<E> elementAdapter) throws IOException {
+        List<E> list = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            list.add(elementAdapter.read(reader));
+        }
+        reader.endArray();
+        return list;
+    }
+
+    static List<String> readStringList(final JsonReader reader) throws IOException {
+        List<String> list = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                list.add(null);
+            } else {
+                list.add(readString(reader));
+            }
+        }
+        reader.endArray();
+        return list;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2019 trivago N.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.trivago.cluecumberCore.json.adapters;
+
+import com.google.gson.stream.JsonReader;
+import com.trivago.cluecumberCore.json.pojo.Report;
+import com.trivago.cluecumberCore.json.processors.ElementJsonPostProcessor;
+import com.trivago.cluecumberCore.json.processors.ReportJsonPostProcessor;
+
+import java.io.IOException;
+
+/**
+ * Streaming type adapter for a complete Cucumber feature report including all nested pojos.
+ * Each element is post processed as soon as it was read, the report itself after all of its elements.
+ */
+public class ReportTypeAdapter extends PojoTypeAdapter<Report> {
+
+    private final ReportJsonPostProcessor reportJsonPostProcessor;
+    private final ElementTypeAdapter elementTypeAdapter;
+    private final TagTypeAdapter tagTypeAdapter = new TagTypeAdapter();
+
+    /**
+     * Constructor.
+     *
+     * @param reportJsonPostProcessor  The post processor to run on each report or null to skip post processing.
+     * @param elementJsonPostProcessor The post processor to run on each element or null to skip post processing.
+     */
+    public ReportTypeAdapter(
+            final ReportJsonPostProcessor reportJsonPostProcessor,
+            final ElementJsonPostProcessor elementJsonPostProcessor
+    ) {
+        this.reportJsonPostProcessor = reportJsonPostProcessor;
+        this.elementTypeAdapter =
+                new ElementTypeAdapter(elementJsonPostProcessor, new ResultMatchTypeAdapter(), tagTypeAdapter);
+    }
+
+    @Override
+    Report createPojo() {
+        return new Report();
+    }
+
+    @Override
+    boolean readProperty(final JsonReader reader, final String name, final Report report) throws IOException {
+        switch (name) {
+            case "line":
+                report.setLine(reader.nextInt());
+                return true;
+            case "elements":
+                report.setElements(readList(reader, elementTypeAdapter));
+                return true;
+            case "name":
+                report.setName(readString(reader));
+                return true;
+            case "description":
+                report.setDescription(readString(reader));
+                return true;
+            case "id":
+                report.setId(readString(reader));
+                return true;
+            case "keyword":
+                report.setKeyword(readString(reader));
+                return true;
+            case "uri":
+                report.setUri(readString(reader));
+                return true;
+            case "tags":
+                report.setTags(readList(reader, tagTypeAdapter));
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    void postProcess(final Report report) {
+        if (reportJsonPostProcessor != null) {
+            reportJsonPostProcessor.postDeserialize(report, null, null);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2019 trivago N.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.trivago.cluecumberCore.json.adapters;
+
+import com.google.gson.stream.JsonReader;
+import com.trivago.cluecumberCore.json.pojo.ResultMatch;
+
+import java.io.IOException;
+
+class ResultMatchTypeAdapter extends PojoTypeAdapter<ResultMatch> {
+
+    private final ResultTypeAdapter resultTypeAdapter = new ResultTypeAdapter();
+    private final MatchTypeAdapter matchTypeAdapter = new MatchTypeAdapter();
+    private final EmbeddingTypeAdapter embeddingTypeAdapter = new EmbeddingTypeAdapter();
+
+    @Override
+    ResultMatch createPojo() {
+        return new ResultMatch();
+    }
+
+    @Override
+    boolean readProperty(final JsonReader reader, final String name, final ResultMatch resultMatch)
+            throws IOException {
+        switch (name) {
+            case "result":
+                resultMatch.setResult(resultTypeAdapter.read(reader));
+                return true;
+            case "match":
+                resultMatch.setMatch(matchTypeAdapter.read(reader));
+                return true;
+            case "output":
+                resultMatch.setOutput(readStringList(reader));
+                return true;
+            case "embeddings":
+                resultMatch.setEmbeddings(readList(reader, embeddingTypeAdapter));
+                return true;
+            default:
+                return false;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2019 trivago N.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.trivago.cluecumberCore.json.adapters;
+
+import com.google.gson.stream.JsonReader;
+import com.trivago.cluecumberCore.json.pojo.Result;
+
+import java.io.IOException;
+
+class ResultTypeAdapter extends PojoTypeAdapter<Result> {
+
+    @Override
+    Result createPojo() {
+        return new Result();
+    }
+
+    @Override
+    boolean readProperty(final JsonReader reader, final String name, final Result result) throws IOException {
+        switch (name) {
+            case "duration":
+                result.setDuration(reader.nextLong());
+                return true;
+            case "status":
+                result.setStatus(readString(reader));
+                return true;
+            case "error_message":
+                result.setErrorMessage(readString(reader));
+                return true;
+            default:
+                return false;
+        }
+    }
+}
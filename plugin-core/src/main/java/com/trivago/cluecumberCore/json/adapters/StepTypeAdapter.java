@@ -0,0 +1,68 @@
+/*
+ * Copyright 2019 trivago N.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.trivago.cluecumberCore.json.adapters;
+
+import com.google.gson.stream.JsonReader;
+import com.trivago.cluecumberCore.json.pojo.Step;
+
+import java.io.IOException;
+
+class StepTypeAdapter extends PojoTypeAdapter<Step> {
+
+    private final ResultMatchTypeAdapter resultMatchTypeAdapter;
+    private final RowTypeAdapter rowTypeAdapter = new RowTypeAdapter();
+    private final DocStringTypeAdapter docStringTypeAdapter = new DocStringTypeAdapter();
+
+    StepTypeAdapter(final ResultMatchTypeAdapter resultMatchTypeAdapter) {
+        this.resultMatchTypeAdapter = resultMatchTypeAdapter;
+    }
+
+    @Override
+    Step createPojo() {
+        return new Step();
+    }
+
+    @Override
+    boolean readProperty(final JsonReader reader, final String name, final Step step) throws IOException {
+        switch (name) {
+            case "before":
+                step.setBefore(readList(reader, resultMatchTypeAdapter));
+                return true;
+            case "line":
+                step.setLine(reader.nextInt());
+                return true;
+            case "name":
+                step.setName(readString(reader));
+                return true;
+            case "keyword":
+                step.setKeyword(readString(reader));
+                return true;
+            case "rows":
+                step.setRows(readList(reader, rowTypeAdapter));
+                return true;
+            case "after":
+                step.setAfter(readList(reader, resultMatchTypeAdapter));
+                return true;
+            case "doc_string":
+                step.setDocString(docStringTypeAdapter.read(reader));
+                return true;
+            default:
+                // A step is a result match with additional properties.
+                return resultMatchTypeAdapter.readProperty(reader, name, step);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2019 trivago N.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.trivago.cluecumberCore.json.adapters;
+
+import com.google.gson.stream.JsonReader;
+import com.trivago.cluecumberCore.json.pojo.Tag;
+
+import java.io.IOException;
+
+class TagTypeAdapter extends PojoTypeAdapter<Tag> {
+
+    @Override
+    Tag createPojo() {
+        return new Tag();
+    }
+
+    @Override
+    boolean readProperty(final JsonReader reader, final String name, final Tag tag) throws IOException {
+        if ("name".equals(name)) {
+            tag.setName(readString(reader));
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2019 trivago N.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.trivago.cluecumberCore.json.cache;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+/**
+ * Identifies the state of a JSON file by its path, size and modification time.
+ * The content hash is only computed when it is needed, so unchanged files do not have to be read.
+ */
+public class JsonFileFingerprint {
+
+    /**
+     * Modification times that are not older than this when they are read are not trusted,
+     * since the file could still change within the timestamp resolution of the file system.
+     */
+    private static final long MODIFICATION_TIME_RESOLUTION_MILLIS = 2000;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path path;
+    private final long size;
+    private final long lastModified;
+    private final long readTime;
+    private byte[] contentHash;
+
+    JsonFileFingerprint(final Path path, final long size, final long lastModified, final long readTime) {
+        this.path = path;
+        this.size = size;
+        this.lastModified = lastModified;
+        this.readTime = readTime;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    long getSize() {
+        return size;
+    }
+
+    long getLastModified() {
+        return lastModified;
+    }
+
+    long getReadTime() {
+        return readTime;
+    }
+
+    synchronized byte[] getContentHash() throws IOException {
+        if (contentHash == null) {
+            MessageDigest messageDigest = ReportCache.createMessageDigest();
+            byte[] buffer = new byte[BUFFER_SIZE];
+            try (InputStream inputStream = Files.newInputStream(path)) {
+                int bytesRead;
+                while ((bytesRead = inputStream.read(buffer)) != -1) {
+                    messageDigest.update(buffer, 0, bytesRead);
+                }
+            }
+            contentHash = messageDigest.digest();
+        }
+        return contentHash;
+    }
+
+    /**
+     * Check if the file still has the stored state. The content hash is only compared
+     * if the size and modification time alone cannot tell.
+     *
+     * @param size         The stored size.
+     * @param lastModified The stored modification time.
+     * @param readTime     The time at which the stored size and modification time were read.
+     * @param contentHash  The stored content hash.
+     * @return true if the file is unchanged.
+     * @throws IOException In case the file cannot be read.
+     */
+    boolean matches(final long size, final long lastModified, final long readTime, final byte[] contentHash)
+            throws IOException {
+        if (this.size != size) {
+            return false;
+        }
+        if (this.lastModified == lastModified && lastModified < readTime - MODIFICATION_TIME_RESOLUTION_MILLIS) {
+            return true;
+        }
+        return Arrays.equals(getContentHash(), contentHash);
+    }
+}
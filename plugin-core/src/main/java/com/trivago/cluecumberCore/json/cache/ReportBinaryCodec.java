@@ -0,0 +1,323 @@
+/*
+ * Copyright 2019 trivago N.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.trivago.cluecumberCore.json.cache;
+
+import com.trivago.cluecumberCore.constants.MimeType;
+import com.trivago.cluecumberCore.json.pojo.Argument;
+import com.trivago.cluecumberCore.json.pojo.DocString;
+import com.trivago.cluecumberCore.json.pojo.Element;
+import com.trivago.cluecumberCore.json.pojo.Embedding;
+import com.trivago.cluecumberCore.json.pojo.Match;
+import com.trivago.cluecumberCore.json.pojo.Report;
+import com.trivago.cluecumberCore.json.pojo.Result;
+import com.trivago.cluecumberCore.json.pojo.ResultMatch;
+import com.trivago.cluecumberCore.json.pojo.Row;
+import com.trivago.cluecumberCore.json.pojo.Step;
+import com.trivago.cluecumberCore.json.pojo.Tag;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact binary representation of post processed {@link Report} objects.
+ * Every property that is set during parsing and post processing is written in a fixed order,
+ * so the format version in {@link ReportCache} has to change whenever a pojo gets new properties.
+ */
+class ReportBinaryCodec {
+
+    private static final int NULL_LENGTH = -1;
+
+    void writeReports(final DataOutput out, final Report[] reports) throws IOException {
+        out.writeInt(reports.length);
+        for (Report report : reports) {
+            writeReport(out, report);
+        }
+    }
+
+    Report[] readReports(final DataInput in) throws IOException {
+        Report[] reports = new Report[in.readInt()];
+        for (int i = 0; i < reports.length; i++) {
+            reports[i] = readReport(in);
+        }
+        return reports;
+    }
+
+    private void writeReport(final DataOutput out, final Report report) throws IOException {
+        out.writeInt(report.getLine());
+        writeString(out, report.getName());
+        writeString(out, report.getDescription());
+        writeString(out, report.getId());
+        writeString(out, report.getKeyword());
+        writeString(out, report.getUri());
+        writeList(out, report.getTags(), this::writeTag);
+        writeList(out, report.getElements(), this::writeElement);
+    }
+
+    private Report readReport(final DataInput in) throws IOException {
+        Report report = new Report();
+        report.setLine(in.readInt());
+        report.setName(readString(in));
+        report.setDescription(readString(in));
+        report.setId(readString(in));
+        report.setKeyword(readString(in));
+        report.setUri(readString(in));
+        report.setTags(readList(in, this::readTag));
+        report.setElements(readList(in, this::readElement));
+        return report;
+    }
+
+    private void writeElement(final DataOutput out, final Element element) throws IOException {
+        out.writeInt(element.getLine());
+        writeString(out, element.getFeatureName());
+        writeString(out, element.getName());
+        writeString(out, element.getDescription());
+        writeString(out, element.getId());
+        writeString(out, element.getType());
+        writeString(out, element.getKeyword());
+        writeString(out, element.getStartTimestamp());
+        out.writeBoolean(element.isFailOnPendingOrUndefined());
+        writeList(out, element.getTags(), this::writeTag);
+        writeList(out, element.getBefore(), this::writeResultMatch);
+        writeList(out, element.getSteps(), this::writeStep);
+        writeList(out, element.getAfter(), this::writeResultMatch);
+    }
+
+    private Element readElement(final DataInput in) throws IOException {
+        Element element = new Element();
+        element.setLine(in.readInt());
+        element.setFeatureName(readString(in));
+        element.setName(readString(in));
+        element.setDescription(readString(in));
+        element.setId(readString(in));
+        element.setType(readString(in));
+        element.setKeyword(readString(in));
+        element.setStartTimestamp(readString(in));
+        element.setFailOnPendingOrUndefined(in.readBoolean());
+        element.setTags(readList(in, this::readTag));
+        element.setBefore(readList(in, this::readResultMatch));
+        element.setSteps(readList(in, this::readStep));
+        element.setAfter(readList(in, this::readResultMatch));
+        element.updateSummary();
+        return element;
+    }
+
+    private void writeStep(final DataOutput out, final Step step) throws IOException {
+        writeResultMatchProperties(out, step);
+        out.writeInt(step.getLine());
+        writeString(out, step.getName());
+        writeString(out, step.getKeyword());
+        writeList(out, step.getRows(), this::writeRow);
+        writeNullable(out, step.getDocString(), this::writeDocString);
+        writeList(out, step.getBefore(), this::writeResultMatch);
+        writeList(out, step.getAfter(), this::writeResultMatch);
+    }
+
+    private Step readStep(final DataInput in) throws IOException {
+        Step step = new Step();
+        readResultMatchProperties(in, step);
+        step.setLine(in.readInt());
+        step.setName(readString(in));
+        step.setKeyword(readString(in));
+        step.setRows(readList(in, this::readRow));
+        step.setDocString(readNullable(in, this::readDocString));
+        step.setBefore(readList(in, this::readResultMatch));
+        step.setAfter(readList(in, this::readResultMatch));
+        return step;
+    }
+
+    private void writeResultMatch(final DataOutput out, final ResultMatch resultMatch) throws IOException {
+        writeResultMatchProperties(out, resultMatch);
+    }
+
+    private ResultMatch readResultMatch(final DataInput in) throws IOException {
+        ResultMatch resultMatch = new ResultMatch();
+        readResultMatchProperties(in, resultMatch);
+        return resultMatch;
+    }
+
+    private void writeResultMatchProperties(final DataOutput out, final ResultMatch resultMatch) throws IOException {
+        writeResult(out, resultMatch.getResult());
+        writeMatch(out, resultMatch.getMatch());
+        writeList(out, resultMatch.getOutput(), this::writeString);
+        writeList(out, resultMatch.getEmbeddings(), this::writeEmbedding);
+    }
+
+    private void readResultMatchProperties(final DataInput in, final ResultMatch resultMatch) throws IOException {
+        resultMatch.setResult(readResult(in));
+        resultMatch.setMatch(readMatch(in));
+        resultMatch.setOutput(readList(in, this::readString));
+        resultMatch.setEmbeddings(readList(in, this::readEmbedding));
+    }
+
+    private void writeResult(final DataOutput out, final Result result) throws IOException {
+        out.writeLong(result.getDuration());
+        writeString(out, result.getStatus());
+        writeString(out, result.getErrorMessage());
+    }
+
+    private Result readResult(final DataInput in) throws IOException {
+        Result result = new Result();
+        result.setDuration(in.readLong());
+        result.setStatus(readString(in));
+        result.setErrorMessage(readString(in));
+        return result;
+    }
+
+    private void writeMatch(final DataOutput out, final Match match) throws IOException {
+        writeString(out, match.getLocation());
+        writeList(out, match.getArguments(), this::writeArgument);
+    }
+
+    private Match readMatch(final DataInput in) throws IOException {
+        Match match = new Match();
+        match.setLocation(readString(in));
+        match.setArguments(readList(in, this::readArgument));
+        return match;
+    }
+
+    private void writeArgument(final DataOutput out, final Argument argument) throws IOException {
+        writeString(out, argument.getVal());
+        out.writeInt(argument.getOffset());
+    }
+
+    private Argument readArgument(final DataInput in) throws IOException {
+        Argument argument = new Argument();
+        argument.setVal(readString(in));
+        argument.setOffset(in.readInt());
+        return argument;
+    }
+
+    private void writeRow(final DataOutput out, final Row row) throws IOException {
+        writeList(out, row.getCells(), this::writeString);
+    }
+
+    private Row readRow(final DataInput in) throws IOException {
+        Row row = new Row();
+        row.setCells(readList(in, this::readString));
+        return row;
+    }
+
+    private void writeDocString(final DataOutput out, final DocString docString) throws IOException {
+        writeString(out, docString.getContentType());
+        out.writeInt(docString.getLine());
+        writeString(out, docString.getValue());
+    }
+
+    private DocString readDocString(final DataInput in) throws IOException {
+        DocString docString = new DocString();
+        docString.setContentType(readString(in));
+        docString.setLine(in.readInt());
+        docString.setValue(readString(in));
+        return docString;
+    }
+
+    private void writeTag(final DataOutput out, final Tag tag) throws IOException {
+        writeString(out, tag.getName());
+    }
+
+    private Tag readTag(final DataInput in) throws IOException {
+        Tag tag = new Tag();
+        tag.setName(readString(in));
+        return tag;
+    }
+
+    private void writeEmbedding(final DataOutput out, final Embedding embedding) throws IOException {
+        writeString(out, embedding.getData());
+        out.writeInt(embedding.getMimeType().ordinal());
+        writeString(out, embedding.getName());
+        writeString(out, embedding.getFilename());
+        out.writeBoolean(embedding.hasThumbnail());
+    }
+
+    private Embedding readEmbedding(final DataInput in) throws IOException {
+        Embedding embedding = new Embedding();
+        embedding.setData(readString(in));
+        embedding.setMimeType(MimeType.values()[in.readInt()]);
+        embedding.setName(readString(in));
+        embedding.setFilename(readString(in));
+        embedding.setThumbnail(in.readBoolean());
+        return embedding;
+    }
+
+    private void writeString(final DataOutput out, final String string) throws IOException {
+        if (string == null) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private String readString(final DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private <T> void writeNullable(final DataOutput out, final T value, final Writer<T> writer) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            writer.write(out, value);
+        }
+    }
+
+    private <T> T readNullable(final DataInput in, final Reader<T> reader) throws IOException {
+        return in.readBoolean() ? reader.read(in) : null;
+    }
+
+    private <T> void writeList(final DataOutput out, final List<T> list, final Writer<T> writer) throws IOException {
+        if (list == null) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+        out.writeInt(list.size());
+        for (T value : list) {
+            writeNullable(out, value, writer);
+        }
+    }
+
+    private <T> List<T> readList(final DataInput in, final Reader<T> reader) throws IOException {
+        int size = in.readInt();
+        if (size == NULL_LENGTH) {
+            return null;
+        }
+        List<T> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(readNullable(in, reader));
+        }
+        return list;
+    }
+
+    @FunctionalInterface
+    private interface Writer<T> {
+        void write(DataOutput out, T value) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface Reader<T> {
+        T read(DataInput in) throws IOException;
+    }
+}
@@ -0,0 +1,275 @@
+/*
+ * Copyright 2019 trivago N.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.trivago.cluecumberCore.json.cache;
+
+import com.trivago.cluecumberCore.exceptions.filesystem.MissingFileException;
+import com.trivago.cluecumberCore.json.pojo.Element;
+import com.trivago.cluecumberCore.json.pojo.Embedding;
+import com.trivago.cluecumberCore.json.pojo.Report;
+import com.trivago.cluecumberCore.json.pojo.ResultMatch;
+import com.trivago.cluecumberCore.json.pojo.Step;
+import com.trivago.cluecumberCore.logging.LoggerUtils;
+import com.trivago.cluecumberCore.properties.PropertyManager;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * On-disk cache of post processed {@link Report} objects, one entry per JSON file.
+ * An entry is only valid for the exact file state described by its {@link JsonFileFingerprint},
+ * for the same report settings and as long as the attachment files it references are unchanged.
+ * Lookups are thread safe.
+ */
+@Singleton
+public class ReportCache {
+
+    private static final int MAGIC_NUMBER = 0x434C5543;
+    private static final int FORMAT_VERSION = 4;
+    private static final String ENTRY_FILE_EXTENSION = ".bin";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final PropertyManager propertyManager;
+    private final ReportBinaryCodec reportBinaryCodec = new ReportBinaryCodec();
+    private final Set<String> usedEntries = ConcurrentHashMap.newKeySet();
+
+    @Inject
+    public ReportCache(final PropertyManager propertyManager) {
+        this.propertyManager = propertyManager;
+    }
+
+    /**
+     * Check if the cache is switched on via the parsedJsonCacheDirectory property.
+     *
+     * @return true if the cache is enabled.
+     */
+    public boolean isEnabled() {
+        String cacheDirectory = propertyManager.getParsedJsonCacheDirectory();
+        return cacheDirectory != null && !cacheDirectory.trim().isEmpty();
+    }
+
+    /**
+     * Determine the current state of a JSON file.
+     *
+     * @param jsonFilePath The path to the JSON file.
+     * @return The {@link JsonFileFingerprint} of the file.
+     * @throws MissingFileException In case the file cannot be read.
+     */
+    public JsonFileFingerprint getFingerprint(final Path jsonFilePath) throws MissingFileException {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(jsonFilePath, BasicFileAttributes.class);
+            return new JsonFileFingerprint(jsonFilePath, attributes.size(),
+                    attributes.lastModifiedTime().toMillis(), System.currentTimeMillis());
+        } catch (IOException e) {
+            throw new MissingFileException(jsonFilePath.toString());
+        }
+    }
+
+    /**
+     * Load the cached reports of a JSON file.
+     * If there is no valid cache entry, the content hash of the file is computed
+     * so that a later {@link #store(JsonFileFingerprint, Report[])} describes the file before it was parsed.
+     *
+     * @param fingerprint The current {@link JsonFileFingerprint} of the file.
+     * @return The {@link Report} array or null if there is no valid cache entry.
+     */
+    public Report[] load(final JsonFileFingerprint fingerprint) {
+        Report[] reports = loadEntry(fingerprint);
+        if (reports == null) {
+            try {
+                fingerprint.getContentHash();
+            } catch (IOException e) {
+                // The file will fail again when it is parsed.
+            }
+        }
+        return reports;
+    }
+
+    private Report[] loadEntry(final JsonFileFingerprint fingerprint) {
+        Path entryPath = getEntryPath(fingerprint);
+        if (!Files.isRegularFile(entryPath)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(entryPath), BUFFER_SIZE))) {
+            if (in.readInt() != MAGIC_NUMBER || in.readInt() != FORMAT_VERSION
+                    || !in.readUTF().equals(getSettings()) || !in.readUTF().equals(fingerprint.getPath().toString())) {
+                return null;
+            }
+            long size = in.readLong();
+            long lastModified = in.readLong();
+            long readTime = in.readLong();
+            byte[] contentHash = new byte[in.readInt()];
+            in.readFully(contentHash);
+            if (!fingerprint.matches(size, lastModified, readTime, contentHash)) {
+                return null;
+            }
+            int numberOfAttachmentFiles = in.readInt();
+            for (int i = 0; i < numberOfAttachmentFiles; i++) {
+                Path attachmentPath = getAttachmentDirectory().resolve(in.readUTF());
+                long attachmentSize = in.readLong();
+                long attachmentLastModified = in.readLong();
+                if (!Files.isRegularFile(attachmentPath)
+                        || Files.size(attachmentPath) != attachmentSize
+                        || Files.getLastModifiedTime(attachmentPath).toMillis() != attachmentLastModified) {
+                    return null;
+                }
+            }
+            Report[] reports = reportBinaryCodec.readReports(in);
+            usedEntries.add(entryPath.getFileName().toString());
+            return reports;
+        } catch (IOException | RuntimeException e) {
+            // Unreadable entries are treated like missing ones and overwritten later.
+            return null;
+        }
+    }
+
+    /**
+     * Store the post processed reports of a JSON file. Failures are logged but do not stop the report generation.
+     *
+     * @param fingerprint   The {@link JsonFileFingerprint} of the file before it was parsed.
+     * @param reports     The {@link Report} array to store.
+     */
+    public void store(final JsonFileFingerprint fingerprint, final Report[] reports) {
+        Path entryPath = getEntryPath(fingerprint);
+        try {
+            Files.createDirectories(entryPath.getParent());
+            Path temporaryPath = Files.createTempFile(entryPath.getParent(), "entry", ".tmp");
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporaryPath), BUFFER_SIZE))) {
+                out.writeInt(MAGIC_NUMBER);
+                out.writeInt(FORMAT_VERSION);
+                out.writeUTF(getSettings());
+                out.writeUTF(fingerprint.getPath().toString());
+                out.writeLong(fingerprint.getSize());
+                out.writeLong(fingerprint.getLastModified());
+                out.writeLong(fingerprint.getReadTime());
+                byte[] contentHash = fingerprint.getContentHash();
+                out.writeInt(contentHash.length);
+                out.write(contentHash);
+                List<String> attachmentFilenames = getAttachmentFilenames(reports);
+                out.writeInt(attachmentFilenames.size());
+                for (String attachmentFilename : attachmentFilenames) {
+                    Path attachmentPath = getAttachmentDirectory().resolve(attachmentFilename);
+                    out.writeUTF(attachmentFilename);
+                    out.writeLong(Files.size(attachmentPath));
+                    out.writeLong(Files.getLastModifiedTime(attachmentPath).toMillis());
+                }
+                reportBinaryCodec.writeReports(out, reports);
+            } catch (IOException e) {
+                Files.deleteIfExists(temporaryPath);
+                throw e;
+            }
+            Files.move(temporaryPath, entryPath, StandardCopyOption.REPLACE_EXISTING);
+            usedEntries.add(entryPath.getFileName().toString());
+        } catch (IOException e) {
+            LoggerUtils.warn("Could not cache parsed JSON file '" + fingerprint.getPath() + "': " + e.getMessage());
+        }
+    }
+
+    /**
+     * Delete all entries that were neither loaded nor stored since the cache was created,
+     * e.g. entries of JSON files that no longer exist.
+     */
+    public void removeUnusedEntries() {
+        Path cacheDirectory = Paths.get(propertyManager.getParsedJsonCacheDirectory());
+        if (!Files.isDirectory(cacheDirectory)) {
+            return;
+        }
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(cacheDirectory, "*" + ENTRY_FILE_EXTENSION)) {
+            for (Path entry : entries) {
+                if (!usedEntries.contains(entry.getFileName().toString())) {
+                    Files.deleteIfExists(entry);
+                }
+            }
+        } catch (IOException e) {
+            LoggerUtils.warn("Could not clean up parsed JSON cache: " + e.getMessage());
+        }
+    }
+
+    private Path getEntryPath(final JsonFileFingerprint fingerprint) {
+        byte[] pathHash = createMessageDigest().digest(
+                fingerprint.getPath().toAbsolutePath().normalize().toString().getBytes(StandardCharsets.UTF_8));
+        StringBuilder entryName = new StringBuilder();
+        for (byte pathHashByte : pathHash) {
+            entryName.append(String.format("%02x", pathHashByte));
+        }
+        return Paths.get(propertyManager.getParsedJsonCacheDirectory(), entryName + ENTRY_FILE_EXTENSION);
+    }
+
+    private Path getAttachmentDirectory() {
+        return Paths.get(propertyManager.getGeneratedHtmlReportDirectory(), "attachments");
+    }
+
+    /**
+     * The settings that influence post processing. Entries created with other settings are not reused.
+     *
+     * @return The settings string.
+     */
+    private String getSettings() {
+        return "failScenariosOnPendingOrUndefinedSteps=" + propertyManager.isFailScenariosOnPendingOrUndefinedSteps()
+                + ";generatedHtmlReportDirectory=" + propertyManager.getGeneratedHtmlReportDirectory();
+    }
+
+    private List<String> getAttachmentFilenames(final Report[] reports) {
+        List<String> attachmentFilenames = new ArrayList<>();
+        for (Report report : reports) {
+            for (Element element : report.getElements()) {
+                List<ResultMatch> resultMatches = new ArrayList<>(element.getBefore());
+                for (Step step : element.getSteps()) {
+                    resultMatches.addAll(step.getBefore());
+                    resultMatches.add(step);
+                    resultMatches.addAll(step.getAfter());
+                }
+                resultMatches.addAll(element.getAfter());
+                for (ResultMatch resultMatch : resultMatches) {
+                    for (Embedding embedding : resultMatch.getEmbeddings()) {
+                        if (embedding.getFilename() != null) {
+                            attachmentFilenames.add(embedding.getFilename());
+                        }
+                    }
+                }
+            }
+        }
+        return attachmentFilenames;
+    }
+
+    static MessageDigest createMessageDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available.", e);
+        }
+    }
+}
@@ -20,11 +20,15 @@ import com.google.gson.annotations.SerializedName;
 import com.trivago.cluecumberCore.constants.Status;
 import com.trivago.cluecumberCore.rendering.pages.renderering.RenderingUtils;
 
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 public class Element {
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
     private List<ResultMatch> before = new ArrayList<>();
     private int line;
     private String featureName = "";
@@ -42,6 +46,10 @@ public class Element {
     private transient int featureIndex = 0;
     private transient int scenarioIndex = 0;
     private transient boolean failOnPendingOrUndefined = false;
+    private transient ElementSummary summary;
+    private transient long startEpochNanoseconds = NO_TIMESTAMP;
+    // The zone of the start timestamp, so start and end times keep the offset of the JSON report.
+    private transient ZoneId startZone = ZoneOffset.UTC;
 
     public List<Tag> getTags() {
         return tags;
@@ -57,35 +65,62 @@ public class Element {
 
     public void setStartTimestamp(final String startTimestamp) {
         this.startTimestamp = startTimestamp;
+        ZonedDateTime startDateTime = RenderingUtils.convertTimestampToZonedDateTime(startTimestamp);
+        if (startDateTime != null) {
+            startEpochNanoseconds = RenderingUtils.convertZonedDateTimeToEpochNanoseconds(startDateTime);
+            startZone = startDateTime.getZone();
+        } else {
+            startEpochNanoseconds = NO_TIMESTAMP;
+            startZone = ZoneOffset.UTC;
+        }
+    }
+
+    public boolean hasStartTimestamp() {
+        return startEpochNanoseconds != NO_TIMESTAMP;
+    }
+
+    /**
+     * Get the start time that was parsed when the start timestamp was set.
+     *
+     * @return The nanoseconds since the epoch (only valid if {@link #hasStartTimestamp()} is true).
+     */
+    public long getStartEpochNanoseconds() {
+        return startEpochNanoseconds;
+    }
+
+    /**
+     * Get the end time based on the start time and the total duration.
+     *
+     * @return The nanoseconds since the epoch (only valid if {@link #hasStartTimestamp()} is true).
+     */
+    public long returnEndEpochNanoseconds() {
+        return startEpochNanoseconds + getTotalDuration();
     }
 
     public ZonedDateTime getStartDateTime() {
-        return RenderingUtils.convertTimestampToZonedDateTime(startTimestamp);
+        return hasStartTimestamp() ?
+                RenderingUtils.convertEpochNanosecondsToZonedDateTime(startEpochNanoseconds, startZone) : null;
     }
 
     public ZonedDateTime getEndDateTime() {
-        ZonedDateTime startDateTime = getStartDateTime();
-        if (startDateTime != null) {
-            return getStartDateTime().plusNanos(getTotalDuration());
-        } else {
-            return null;
-        }
+        return hasStartTimestamp() ?
+                RenderingUtils.convertEpochNanosecondsToZonedDateTime(returnEndEpochNanoseconds(), startZone) : null;
     }
 
     public String getStartDateString() {
-        return RenderingUtils.convertZonedDateTimeToDateString(getStartDateTime());
+        return hasStartTimestamp() ? RenderingUtils.convertEpochNanosecondsToDateString(startEpochNanoseconds) : "";
     }
 
     public String getStartTimeString() {
-        return RenderingUtils.convertZonedDateTimeToTimeString(getStartDateTime());
+        return hasStartTimestamp() ? RenderingUtils.convertEpochNanosecondsToTimeString(startEpochNanoseconds) : "";
     }
 
     public String getEndDateString() {
-        return RenderingUtils.convertZonedDateTimeToDateString(getEndDateTime());
+        return hasStartTimestamp() ? RenderingUtils.convertEpochNanosecondsToDateString(returnEndEpochNanoseconds()) : "";
     }
 
     public String getEndTimeString() {
-        return RenderingUtils.convertZonedDateTimeToTimeString(getEndDateTime());
+        return hasStartTimestamp() ? RenderingUtils.convertEpochNanosecondsToTimeString(returnEndEpochNanoseconds()) : "";
     }
 
     public List<ResultMatch> getBefore() {
@@ -94,6 +129,7 @@ public class Element {
 
     public void setBefore(final List<ResultMatch> before) {
         this.before = before;
+        summary = null;
     }
 
     public int getLine() {
@@ -134,6 +170,7 @@ public class Element {
 
     public void setAfter(final List<ResultMatch> after) {
         this.after = after;
+        summary = null;
     }
 
     public String getType() {
@@ -158,6 +195,7 @@ public class Element {
 
     public void setSteps(final List<Step> steps) {
         this.steps = steps;
+        summary = null;
     }
 
     public boolean isScenario() {
@@ -177,73 +215,29 @@ public class Element {
     }
 
     public Status getStatus() {
-        int totalSteps = steps.size();
-
-        if (totalSteps == 0) {
-            return Status.SKIPPED;
-        }
-
-        // If any hooks fail, report the scenario as failed
-        for (ResultMatch beforeHook : before) {
-            if (beforeHook.isFailed()) {
-                return Status.FAILED;
-            }
-        }
-        for (ResultMatch afterHook : after) {
-            if (afterHook.isFailed()) {
-                return Status.FAILED;
-            }
-        }
-
-        // If all steps have the same status, return this as the scenario status.
-        for (Status status : Status.BASIC_STATES) {
-            int stepsWithCertainStatusCount = 0;
-            for (Step step : steps) {
-                if (step.getConsolidatedStatus() == status) {
-                    stepsWithCertainStatusCount++;
-                }
-
-                // If any step hooks fail, report scenario as failed.
-                for (ResultMatch beforeStepHook : step.getBefore()) {
-                    if (beforeStepHook.isFailed()) {
-                        return Status.FAILED;
-                    }
-                }
-                for (ResultMatch afterStepHook : step.getAfter()) {
-                    if (afterStepHook.isFailed()) {
-                        return Status.FAILED;
-                    }
-                }
-            }
-
-            if (totalSteps == stepsWithCertainStatusCount) {
-                if (status == Status.SKIPPED) {
-                    if (failOnPendingOrUndefined) {
-                        return Status.FAILED;
-                    }
-                }
-                return status;
-            }
-        }
-
-        // If at least one step passed and the other steps are skipped, return passed (or failed if failOnPendingOrUndefined is true).
-        if (getTotalNumberOfPassedSteps() >= 0 &&
-                (getTotalNumberOfSkippedSteps() + getTotalNumberOfPassedSteps()) == getTotalNumberOfSteps()) {
-            if (failOnPendingOrUndefined) {
-                return Status.FAILED;
-            }
-            return Status.PASSED;
-        }
-
-        // If all steps are skipped return skipped (or failed if failOnPendingOrUndefined is true).
-        if (getTotalNumberOfSkippedSteps() == totalSteps) {
-            if (failOnPendingOrUndefined) {
-                return Status.FAILED;
-            }
-            return Status.SKIPPED;
+        return getSummary().getStatus();
+    }
+
+    /**
+     * Get the status, step count and duration summary of this element.
+     * It is computed once and reused until the hooks, steps or the pending handling change.
+     *
+     * @return The {@link ElementSummary}.
+     */
+    public ElementSummary getSummary() {
+        ElementSummary currentSummary = summary;
+        if (currentSummary == null) {
+            currentSummary = ElementSummary.of(before, steps, after, failOnPendingOrUndefined);
+            summary = currentSummary;
         }
+        return currentSummary;
+    }
 
-        return Status.FAILED;
+    /**
+     * Compute the summary of this element from its current state, e.g. after post processing.
+     */
+    public void updateSummary() {
+        summary = ElementSummary.of(before, steps, after, failOnPendingOrUndefined);
     }
 
     public int getScenarioIndex() {
@@ -255,30 +249,23 @@ public class Element {
     }
 
     public int getTotalNumberOfSteps() {
-        return getSteps().size();
+        return getSummary().getTotalNumberOfSteps();
     }
 
     public int getTotalNumberOfPassedSteps() {
-        return getNumberOfStepsWithStatus(Status.PASSED);
+        return getSummary().getTotalNumberOfPassedSteps();
     }
 
     public int getTotalNumberOfFailedSteps() {
-        return getNumberOfStepsWithStatus(Status.FAILED);
+        return getSummary().getTotalNumberOfFailedSteps();
     }
 
     public int getTotalNumberOfSkippedSteps() {
-        return getNumberOfStepsWithStatus(Status.SKIPPED);
-    }
-
-    private int getNumberOfStepsWithStatus(final Status status) {
-        return (int) getSteps().stream().filter(step -> step.getConsolidatedStatus() == status).count();
+        return getSummary().getTotalNumberOfSkippedSteps();
     }
 
     public long getTotalDuration() {
-        long totalDurationNanoseconds = before.stream().mapToLong(beforeStep -> beforeStep.getResult().getDuration()).sum();
-        totalDurationNanoseconds += steps.stream().mapToLong(Step::getTotalDuration).sum();
-        totalDurationNanoseconds += after.stream().mapToLong(afterStep -> afterStep.getResult().getDuration()).sum();
-        return totalDurationNanoseconds;
+        return getSummary().getTotalDuration();
     }
 
     public String returnTotalDurationString() {
@@ -317,6 +304,18 @@ public class Element {
         return resultMatches;
     }
 
+    public List<Embedding> getAllEmbeddings() {
+        List<Embedding> embeddings = new ArrayList<>();
+        getBefore().forEach(before -> embeddings.addAll(before.getEmbeddings()));
+        for (Step step : getSteps()) {
+            step.getBefore().forEach(before -> embeddings.addAll(before.getEmbeddings()));
+            embeddings.addAll(step.getEmbeddings());
+            step.getAfter().forEach(after -> embeddings.addAll(after.getEmbeddings()));
+        }
+        getAfter().forEach(after -> embeddings.addAll(after.getEmbeddings()));
+        return embeddings;
+    }
+
     public void setFeatureName(final String featureName) {
         this.featureName = featureName;
     }
@@ -333,7 +332,12 @@ public class Element {
         return featureIndex;
     }
 
+    public boolean isFailOnPendingOrUndefined() {
+        return failOnPendingOrUndefined;
+    }
+
     public void setFailOnPendingOrUndefined(final boolean failOnPendingOrUndefined) {
         this.failOnPendingOrUndefined = failOnPendingOrUndefined;
+        summary = null;
     }
 }
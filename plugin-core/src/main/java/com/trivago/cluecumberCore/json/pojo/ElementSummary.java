@@ -0,0 +1,164 @@
+/*
+ * Copyright 2019 trivago N.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.trivago.cluecumberCore.json.pojo;
+
+import com.trivago.cluecumberCore.constants.Status;
+
+import java.util.List;
+
+/**
+ * Immutable status, step count and duration summary of an {@link Element}.
+ * It is computed in a single pass over hooks and steps so that pages and templates
+ * do not have to walk the steps again every time a status or count is requested.
+ */
+public final class ElementSummary {
+    private final Status status;
+    private final int totalNumberOfSteps;
+    private final int totalNumberOfPassedSteps;
+    private final int totalNumberOfFailedSteps;
+    private final int totalNumberOfSkippedSteps;
+    private final long totalDuration;
+
+    private ElementSummary(
+            final Status status,
+            final int totalNumberOfSteps,
+            final int totalNumberOfPassedSteps,
+            final int totalNumberOfFailedSteps,
+            final int totalNumberOfSkippedSteps,
+            final long totalDuration
+    ) {
+        this.status = status;
+        this.totalNumberOfSteps = totalNumberOfSteps;
+        this.totalNumberOfPassedSteps = totalNumberOfPassedSteps;
+        this.totalNumberOfFailedSteps = totalNumberOfFailedSteps;
+        this.totalNumberOfSkippedSteps = totalNumberOfSkippedSteps;
+        this.totalDuration = totalDuration;
+    }
+
+    /**
+     * Summarize the given element parts.
+     *
+     * @param before                   The before hooks of the element.
+     * @param steps                    The steps of the element.
+     * @param after                    The after hooks of the element.
+     * @param failOnPendingOrUndefined true if pending or undefined steps should fail the element.
+     * @return The {@link ElementSummary}.
+     */
+    static ElementSummary of(
+            final List<ResultMatch> before,
+            final List<Step> steps,
+            final List<ResultMatch> after,
+            final boolean failOnPendingOrUndefined
+    ) {
+        boolean hookFailed = false;
+        long totalDuration = 0;
+        for (ResultMatch beforeHook : before) {
+            hookFailed |= beforeHook.isFailed();
+            totalDuration += beforeHook.getResult().getDuration();
+        }
+
+        int passed = 0;
+        int failed = 0;
+        int skipped = 0;
+        for (Step step : steps) {
+            Status stepStatus = step.getConsolidatedStatus();
+            if (stepStatus == Status.PASSED) {
+                passed++;
+            } else if (stepStatus == Status.SKIPPED) {
+                skipped++;
+            } else {
+                failed++;
+            }
+            for (ResultMatch beforeStepHook : step.getBefore()) {
+                hookFailed |= beforeStepHook.isFailed();
+                totalDuration += beforeStepHook.getResult().getDuration();
+            }
+            totalDuration += step.getResult().getDuration();
+            for (ResultMatch afterStepHook : step.getAfter()) {
+                hookFailed |= afterStepHook.isFailed();
+                totalDuration += afterStepHook.getResult().getDuration();
+            }
+        }
+
+        for (ResultMatch afterHook : after) {
+            hookFailed |= afterHook.isFailed();
+            totalDuration += afterHook.getResult().getDuration();
+        }
+
+        int totalSteps = steps.size();
+        Status status = getStatus(totalSteps, passed, failed, skipped, hookFailed, failOnPendingOrUndefined);
+        return new ElementSummary(status, totalSteps, passed, failed, skipped, totalDuration);
+    }
+
+    private static Status getStatus(
+            final int totalSteps,
+            final int passed,
+            final int failed,
+            final int skipped,
+            final boolean hookFailed,
+            final boolean failOnPendingOrUndefined
+    ) {
+        if (totalSteps == 0) {
+            return Status.SKIPPED;
+        }
+
+        // If any hooks fail, report the scenario as failed
+        if (hookFailed || failed == totalSteps) {
+            return Status.FAILED;
+        }
+
+        if (passed == totalSteps) {
+            return Status.PASSED;
+        }
+
+        // If all steps are skipped return skipped (or failed if failOnPendingOrUndefined is true).
+        if (skipped == totalSteps) {
+            return failOnPendingOrUndefined ? Status.FAILED : Status.SKIPPED;
+        }
+
+        // If at least one step passed and the other steps are skipped, return passed (or failed if failOnPendingOrUndefined is true).
+        if (passed + skipped == totalSteps) {
+            return failOnPendingOrUndefined ? Status.FAILED : Status.PASSED;
+        }
+
+        return Status.FAILED;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public int getTotalNumberOfSteps() {
+        return totalNumberOfSteps;
+    }
+
+    public int getTotalNumberOfPassedSteps() {
+        return totalNumberOfPassedSteps;
+    }
+
+    public int getTotalNumberOfFailedSteps() {
+        return totalNumberOfFailedSteps;
+    }
+
+    public int getTotalNumberOfSkippedSteps() {
+        return totalNumberOfSkippedSteps;
+    }
+
+    public long getTotalDuration() {
+        return totalDuration;
+    }
+}
@@ -18,19 +18,20 @@ package com.trivago.cluecumberCore.json.pojo;
 
 import com.google.gson.annotations.SerializedName;
 import com.trivago.cluecumberCore.constants.MimeType;
-import org.codehaus.plexus.util.Base64;
 
 import java.nio.charset.StandardCharsets;
 
 public class Embedding {
 
     private String data;
-    private String decodedData;
     @SerializedName("mime_type")
     private MimeType mimeType = MimeType.UNKNOWN;
     private String name = "";
 
     private transient String filename;
+    private transient String spooledDataFile;
+    private transient String contentHash;
+    private transient boolean thumbnail;
 
     public String getData() {
         return data;
@@ -40,17 +41,47 @@ public class Embedding {
         this.data = data;
     }
 
-    public String getDecodedData() {
-        return decodedData;
+    /**
+     * Name of the file in the attachment directory that already contains the decoded data.
+     * It is only set between parsing and post processing of streamed JSON.
+     *
+     * @return The spool file name or null if the data is available as Base64 string.
+     */
+    public String getSpooledDataFile() {
+        return spooledDataFile;
     }
 
-    public void encodeData(final String data) {
-        decodedData = new String(Base64.decodeBase64(data.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8);
+    public void setSpooledDataFile(final String spooledDataFile) {
+        this.spooledDataFile = spooledDataFile;
+    }
+
+    /**
+     * Hexadecimal SHA-256 hash of the decoded data that was calculated while it was written to the spool file.
+     *
+     * @return The content hash or null if the data is available as Base64 string.
+     */
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(final String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    /**
+     * Convert the decoded attachment data into the text that is shown in the report without changing this embedding.
+     *
+     * @param dataBytes The decoded attachment data.
+     * @return The text with escaped XML tags or single quotes instead of double quotes in HTML.
+     */
+    public String returnDisplayText(final byte[] dataBytes) {
+        String text = new String(dataBytes, StandardCharsets.UTF_8);
         if (mimeType == MimeType.XML || mimeType == MimeType.APPLICATION_XML) {
-            decodedData = decodedData.replaceAll("<", "&lt;").replaceAll(">", "&gt;");
+            return text.replaceAll("<", "&lt;").replaceAll(">", "&gt;");
         } else if (mimeType == MimeType.HTML) {
-            decodedData = decodedData.replaceAll("\"", "'");
+            return text.replaceAll("\"", "'");
         }
+        return text;
     }
 
     public MimeType getMimeType() {
@@ -87,6 +118,58 @@ public class Embedding {
                 mimeType == MimeType.SVG_XML;
     }
 
+    /**
+     * Check if a downscaled thumbnail can be created for this attachment.
+     *
+     * @return true for PNG, GIF, BMP and JPEG attachments.
+     */
+    public boolean isRasterImage() {
+        return mimeType == MimeType.PNG ||
+                mimeType == MimeType.GIF ||
+                mimeType == MimeType.BMP ||
+                mimeType == MimeType.JPEG ||
+                mimeType == MimeType.JPG;
+    }
+
+    /**
+     * Check if a downscaled thumbnail file exists for this attachment.
+     *
+     * @return true for raster images that are larger than the thumbnail size.
+     */
+    public boolean hasThumbnail() {
+        return thumbnail;
+    }
+
+    public void setThumbnail(final boolean thumbnail) {
+        this.thumbnail = thumbnail;
+    }
+
+    /**
+     * Name of the file in the attachment directory that is shown on the scenario page.
+     *
+     * @return The thumbnail file name if there is a thumbnail, otherwise the attachment file name.
+     */
+    public String getThumbnailFilename() {
+        if (filename == null || !thumbnail) {
+            return filename;
+        }
+        int extensionStart = filename.lastIndexOf('.');
+        return filename.substring(0, extensionStart) + "_thumbnail" + filename.substring(extensionStart);
+    }
+
+    /**
+     * Check if the attachment is shown as text in the report.
+     *
+     * @return true for HTML, XML, JSON and plain text attachments.
+     */
+    public boolean isText() {
+        return mimeType == MimeType.HTML ||
+                mimeType == MimeType.TXT ||
+                mimeType == MimeType.XML ||
+                mimeType == MimeType.JSON ||
+                mimeType == MimeType.APPLICATION_XML;
+    }
+
     public boolean isPlainText() {
         return mimeType.getContentType().equalsIgnoreCase("text/plain");
     }
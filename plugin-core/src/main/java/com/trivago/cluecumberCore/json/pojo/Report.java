@@ -19,7 +19,7 @@ package com.trivago.cluecumberCore.json.pojo;
 import java.util.ArrayList;
 import java.util.List;
 
-public class Report implements Cloneable {
+public class Report {
     private int line;
     private List<Element> elements = new ArrayList<>();
     private String name = "";
@@ -110,9 +110,4 @@ public class Report implements Cloneable {
         }
         return totalDurationNanoseconds;
     }
-
-    @Override
-    public Object clone() throws CloneNotSupportedException {
-        return super.clone();
-    }
 }
@@ -24,6 +24,7 @@ public class Result {
 
     private long duration = 0;
     private String status = Status.UNDEFINED.toString();
+    private transient Status normalizedStatus = Status.UNDEFINED;
 
     @SerializedName("error_message")
     private String errorMessage = "";
@@ -42,6 +43,25 @@ public class Result {
 
     public void setStatus(final String status) {
         this.status = status;
+        normalizedStatus = normalizeStatus(status);
+    }
+
+    /**
+     * Get the {@link Status} that was derived from the status string when it was set.
+     *
+     * @return The {@link Status}.
+     */
+    public Status getNormalizedStatus() {
+        // Unknown states are not normalized so they fail while rendering just like before.
+        return normalizedStatus != null ? normalizedStatus : Status.fromString(status);
+    }
+
+    private static Status normalizeStatus(final String status) {
+        try {
+            return Status.fromString(status);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return null;
+        }
     }
 
     public boolean hasErrorMessage() {
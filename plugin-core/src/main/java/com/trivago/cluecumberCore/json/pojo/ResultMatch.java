@@ -19,9 +19,14 @@ package com.trivago.cluecumberCore.json.pojo;
 import com.trivago.cluecumberCore.constants.Status;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class ResultMatch {
+    // Shared instances for missing results and matches so that getters do not allocate. They cannot be modified.
+    private static final Result MISSING_RESULT = new MissingResult();
+    private static final Match MISSING_MATCH = new MissingMatch();
+
     private Result result;
     private Match match;
 
@@ -29,7 +34,7 @@ public class ResultMatch {
     private List<Embedding> embeddings = new ArrayList<>();
 
     public Result getResult() {
-        return result != null ? result : new Result();
+        return result != null ? result : MISSING_RESULT;
     }
 
     public void setResult(final Result result) {
@@ -37,7 +42,7 @@ public class ResultMatch {
     }
 
     public Match getMatch() {
-        return match != null ? match : new Match();
+        return match != null ? match : MISSING_MATCH;
     }
 
     public void setMatch(final Match match) {
@@ -77,7 +82,7 @@ public class ResultMatch {
     }
 
     public Status getStatus() {
-        return Status.fromString(getResult().getStatus());
+        return getResult().getNormalizedStatus();
     }
 
     public String getStatusString() {
@@ -114,4 +119,38 @@ public class ResultMatch {
     public String getConsolidatedStatusString() {
         return getConsolidatedStatus().getStatusString();
     }
+
+    private static final class MissingResult extends Result {
+        @Override
+        public void setDuration(final long duration) {
+            throw new UnsupportedOperationException("The missing result cannot be modified.");
+        }
+
+        @Override
+        public void setStatus(final String status) {
+            throw new UnsupportedOperationException("The missing result cannot be modified.");
+        }
+
+        @Override
+        public void setErrorMessage(final String errorMessage) {
+            throw new UnsupportedOperationException("The missing result cannot be modified.");
+        }
+    }
+
+    private static final class MissingMatch extends Match {
+        @Override
+        public void setLocation(final String location) {
+            throw new UnsupportedOperationException("The missing match cannot be modified.");
+        }
+
+        @Override
+        public List<Argument> getArguments() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public void setArguments(final List<Argument> arguments) {
+            throw new UnsupportedOperationException("The missing match cannot be modified.");
+        }
+    }
 }
@@ -35,6 +35,8 @@ public class Step extends ResultMatch {
     @SerializedName("doc_string")
     private DocString docString;
 
+    private transient int glueMethodId = -1;
+
     public List<ResultMatch> getBefore() {
         return before;
     }
@@ -116,9 +118,13 @@ public class Step extends ResultMatch {
     }
 
     public long getTotalDuration() {
-        long totalDurationNanoseconds = before.stream().mapToLong(beforeStep -> beforeStep.getResult().getDuration()).sum();
-        totalDurationNanoseconds += getResult().getDuration();
-        totalDurationNanoseconds += after.stream().mapToLong(afterStep -> afterStep.getResult().getDuration()).sum();
+        long totalDurationNanoseconds = getResult().getDuration();
+        for (ResultMatch beforeStep : before) {
+            totalDurationNanoseconds += beforeStep.getResult().getDuration();
+        }
+        for (ResultMatch afterStep : after) {
+            totalDurationNanoseconds += afterStep.getResult().getDuration();
+        }
         return totalDurationNanoseconds;
     }
 
@@ -126,8 +132,16 @@ public class Step extends ResultMatch {
         return RenderingUtils.convertNanosecondsToTimeString(getTotalDuration());
     }
 
+    public int getGlueMethodId() {
+        return glueMethodId;
+    }
+
+    public void setGlueMethodId(final int glueMethodId) {
+        this.glueMethodId = glueMethodId;
+    }
+
     public String getUrlFriendlyName() {
-        return Integer.toString(hashCode()).replace("-", "0");
+        return Integer.toString(glueMethodId);
     }
 
     @Override
@@ -16,13 +16,13 @@
 
 package com.trivago.cluecumberCore.json.pojo;
 
-import com.trivago.cluecumberCore.rendering.pages.renderering.RenderingUtils;
-
 import java.util.Objects;
 
 public class Tag {
     private String name;
 
+    private transient int id = -1;
+
     public String getName() {
         return name;
     }
@@ -31,8 +31,16 @@ public class Tag {
         this.name = name;
     }
 
+    public int getId() {
+        return id;
+    }
+
+    public void setId(final int id) {
+        this.id = id;
+    }
+
     public String getUrlFriendlyName() {
-        return RenderingUtils.escapeHTML(getName()).replace("@", "");
+        return Integer.toString(id);
     }
 
     @Override
@@ -18,13 +18,13 @@ package com.trivago.cluecumberCore.json.processors;
 
 import com.google.gson.Gson;
 import com.google.gson.JsonElement;
-import com.trivago.cluecumberCore.exceptions.filesystem.FileCreationException;
-import com.trivago.cluecumberCore.filesystem.FileIO;
+import com.trivago.cluecumberCore.exceptions.CluecumberPluginException;
+import com.trivago.cluecumberCore.filesystem.AttachmentWriter;
+import com.trivago.cluecumberCore.filesystem.ThumbnailGenerator;
 import com.trivago.cluecumberCore.json.pojo.Element;
 import com.trivago.cluecumberCore.json.pojo.Embedding;
 import com.trivago.cluecumberCore.json.pojo.ResultMatch;
 import com.trivago.cluecumberCore.json.pojo.Step;
-import com.trivago.cluecumberCore.logging.LoggerUtils;
 import com.trivago.cluecumberCore.properties.PropertyManager;
 import io.gsonfire.PostProcessor;
 import org.codehaus.plexus.util.Base64;
@@ -32,32 +32,54 @@ import org.codehaus.plexus.util.Base64;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.List;
 
 @Singleton
 public class ElementJsonPostProcessor implements PostProcessor<Element> {
 
     private final PropertyManager propertyManager;
-    private final FileIO fileIO;
-    private final LoggerUtils logger;
-
-    private int attachmentIndex = 1;
+    private final AttachmentWriter attachmentWriter;
+    private final ThumbnailGenerator thumbnailGenerator;
 
     @Inject
     public ElementJsonPostProcessor(
             final PropertyManager propertyManager,
-            final FileIO fileIO,
-            final LoggerUtils logger
+            final AttachmentWriter attachmentWriter,
+            final ThumbnailGenerator thumbnailGenerator
     ) {
         this.propertyManager = propertyManager;
-        this.fileIO = fileIO;
-        this.logger = logger;
+        this.attachmentWriter = attachmentWriter;
+        this.thumbnailGenerator = thumbnailGenerator;
     }
 
     @Override
     public void postDeserialize(final Element element, final JsonElement jsonElement, final Gson gson) {
         element.setFailOnPendingOrUndefined(propertyManager.isFailScenariosOnPendingOrUndefinedSteps());
         processAttachments(element.getSteps(), element.getAfter());
+        element.updateSummary();
+    }
+
+    /**
+     * Get the directory into which attachments are written.
+     *
+     * @return The attachment directory or null if no report directory is set.
+     */
+    public Path getAttachmentDirectory() {
+        String reportDirectory = propertyManager.getGeneratedHtmlReportDirectory();
+        return reportDirectory != null ? Paths.get(reportDirectory, "attachments") : null;
+    }
+
+    /**
+     * Wait until all attachment files of the processed elements are written.
+     *
+     * @throws CluecumberPluginException In case waiting is interrupted.
+     */
+    public void awaitAttachmentFiles() throws CluecumberPluginException {
+        attachmentWriter.awaitCompletion();
     }
 
     /**
@@ -86,32 +108,58 @@ public class ElementJsonPostProcessor implements PostProcessor<Element> {
      * @param embeddings The {@link Embedding} list.
      */
     private void processEmbedding(final List<Embedding> embeddings) {
-        embeddings.forEach(embedding -> {
-            String filename = saveEmbeddingToFileAndGetFilename(embedding);
-            embedding.setFilename(filename);
-            attachmentIndex++;
-        });
+        embeddings.forEach(this::saveEmbeddingToFile);
     }
 
     /**
-     * Saves attachments to a file and returns the filename.
+     * Hands attachments to the {@link AttachmentWriter} and stores their filename.
+     * The filename is derived from the content so identical attachments are only stored once.
+     * Raster images that are larger than the thumbnail size additionally get a thumbnail,
+     * smaller ones are shown as their own preview.
      *
      * @param embedding The {@link Embedding} to process.
-     * @return The filename to the processed image.
      */
-    private String saveEmbeddingToFileAndGetFilename(final Embedding embedding) {        
-        String fileEnding = "." + embedding.getFileEnding();
+    private void saveEmbeddingToFile(final Embedding embedding) {
+        String attachmentDirectory = propertyManager.getGeneratedHtmlReportDirectory() + "/attachments/";
+        if (embedding.getSpooledDataFile() != null) {
+            // The data was already decoded into a spool file while parsing so it only has to be renamed.
+            embedding.setFilename(getAttachmentFilename(embedding.getContentHash(), embedding));
+            String spooledDataPath = attachmentDirectory + embedding.getSpooledDataFile();
+            embedding.setThumbnail(embedding.isRasterImage() && thumbnailGenerator.needsThumbnail(spooledDataPath));
+            embedding.setSpooledDataFile(null);
+            embedding.setContentHash(null);
+            attachmentWriter.moveFile(spooledDataPath, attachmentDirectory + embedding.getFilename(),
+                    getThumbnailPath(attachmentDirectory, embedding));
+            embedding.setData("");
+            return;
+        }
         byte[] dataBytes = Base64.decodeBase64(embedding.getData().getBytes(StandardCharsets.UTF_8));
-        String filename = String.format("attachment%03d%s", attachmentIndex, fileEnding);
+        embedding.setFilename(getAttachmentFilename(getContentHash(dataBytes), embedding));
+        embedding.setThumbnail(embedding.isRasterImage() && thumbnailGenerator.needsThumbnail(dataBytes));
+        attachmentWriter.writeFile(dataBytes, attachmentDirectory + embedding.getFilename(),
+                getThumbnailPath(attachmentDirectory, embedding));
+        // Clear attachment data to reduce memory, text attachments are read from the file while rendering
+        embedding.setData("");
+    }
+
+    private String getThumbnailPath(final String attachmentDirectory, final Embedding embedding) {
+        return embedding.hasThumbnail() ? attachmentDirectory + embedding.getThumbnailFilename() : null;
+    }
+
+    private String getAttachmentFilename(final String contentHash, final Embedding embedding) {
+        return "attachment_" + contentHash + "." + embedding.getFileEnding();
+    }
+
+    private String getContentHash(final byte[] dataBytes) {
+        StringBuilder contentHash = new StringBuilder();
         try {
-            fileIO.writeContentToFile(dataBytes, propertyManager.getGeneratedHtmlReportDirectory() + "/attachments/" + filename);
-        } catch (FileCreationException e) {
-            logger.warn("Could not process image " + filename + " but will continue report generation...");
+            for (byte hashByte : MessageDigest.getInstance("SHA-256").digest(dataBytes)) {
+                contentHash.append(String.format("%02x", hashByte));
+            }
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available.", e);
         }
-        embedding.encodeData(embedding.getData());
-        // Clear attachment data to reduce memory
-        embedding.setData("");
-        return filename;
+        return contentHash.toString();
     }
 
     @Override
@@ -20,6 +20,7 @@ import com.google.gson.Gson;
 import com.google.gson.JsonElement;
 import com.trivago.cluecumberCore.json.pojo.Element;
 import com.trivago.cluecumberCore.json.pojo.Report;
+import com.trivago.cluecumberCore.json.pojo.Step;
 import com.trivago.cluecumberCore.json.pojo.Tag;
 import io.gsonfire.PostProcessor;
 
@@ -33,11 +34,11 @@ import java.util.stream.Stream;
 @Singleton
 public class ReportJsonPostProcessor implements PostProcessor<Report> {
 
-    private final List<String> featureUris;
+    private final SymbolTable symbolTable;
 
     @Inject
-    public ReportJsonPostProcessor() {
-        featureUris = new ArrayList<>();
+    public ReportJsonPostProcessor(final SymbolTable symbolTable) {
+        this.symbolTable = symbolTable;
     }
 
     @Override
@@ -45,6 +46,28 @@ public class ReportJsonPostProcessor implements PostProcessor<Report> {
         addFeatureIndex(report);
         addFeatureInformationToScenarios(report);
         mergeBackgroundScenarios(report);
+        addSymbolIds(report);
+    }
+
+    /**
+     * Assign the feature index and symbol ids to a report that was already post processed in an earlier run.
+     * Feature indices depend on the order of all parsed reports so they cannot be reused.
+     *
+     * @param report The post processed {@link Report}.
+     */
+    public void updateIds(final Report report) {
+        addFeatureIndex(report);
+        for (Element element : report.getElements()) {
+            element.setFeatureIndex(report.getFeatureIndex());
+        }
+        addSymbolIds(report);
+    }
+
+    /**
+     * Forget all assigned feature indices so that a new set of reports starts again at index 0.
+     */
+    public void resetFeatureIndices() {
+        symbolTable.resetFeatureIds();
     }
 
     private void addFeatureInformationToScenarios(final Report report) {
@@ -72,6 +95,8 @@ public class ReportJsonPostProcessor implements PostProcessor<Report> {
             } else {
                 if (currentBackgroundElement != null) {
                     element.getSteps().addAll(0, currentBackgroundElement.getSteps());
+                    // The summary was computed before the background steps were added
+                    element.updateSummary();
                 }
                 cleanedUpElements.add(element);
             }
@@ -82,11 +107,21 @@ public class ReportJsonPostProcessor implements PostProcessor<Report> {
     private void addFeatureIndex(final Report report) {
         if (report == null) return;
 
-        String featureName = report.getName();
-        if (!featureUris.contains(featureName)) {
-            featureUris.add(featureName);
+        report.setFeatureIndex(symbolTable.getFeatureId(report.getName()));
+    }
+
+    private void addSymbolIds(final Report report) {
+        for (Tag tag : report.getTags()) {
+            tag.setId(symbolTable.getTagId(tag.getName()));
+        }
+        for (Element element : report.getElements()) {
+            for (Tag tag : element.getTags()) {
+                tag.setId(symbolTable.getTagId(tag.getName()));
+            }
+            for (Step step : element.getSteps()) {
+                step.setGlueMethodId(symbolTable.getGlueMethodId(step.getGlueMethodName()));
+            }
         }
-        report.setFeatureIndex(featureUris.indexOf(featureName));
     }
 
     @Override
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2019 trivago N.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.trivago.cluecumberCore.json.processors;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Assigns dense int ids to feature names, tag names and glue methods while reports are ingested.
+ * Ids are handed out in the order in which the names are first seen, so a fixed ingestion order yields the same ids.
+ */
+@Singleton
+public class SymbolTable {
+
+    private final Map<String, Integer> featureIds = new HashMap<>();
+    private final Map<String, Integer> tagIds = new HashMap<>();
+    private final Map<String, Integer> glueMethodIds = new HashMap<>();
+
+    @Inject
+    public SymbolTable() {
+    }
+
+    /**
+     * Get the id of a feature name.
+     *
+     * @param featureName The feature name.
+     * @return The feature id, starting at 0.
+     */
+    public synchronized int getFeatureId(final String featureName) {
+        return getId(featureIds, featureName);
+    }
+
+    /**
+     * Get the id of a tag name.
+     *
+     * @param tagName The tag name.
+     * @return The tag id, starting at 0.
+     */
+    public synchronized int getTagId(final String tagName) {
+        return getId(tagIds, tagName);
+    }
+
+    /**
+     * Get the id of a glue method.
+     *
+     * @param glueMethodName The glue method name of a step.
+     * @return The glue method id, starting at 0.
+     */
+    public synchronized int getGlueMethodId(final String glueMethodName) {
+        return getId(glueMethodIds, glueMethodName);
+    }
+
+    /**
+     * Forget the feature ids so that a new set of reports starts again at id 0.
+     * Tag and glue method ids are kept so that the pages of tags and steps keep their names
+     * when the report is updated incrementally.
+     */
+    public synchronized void resetFeatureIds() {
+        featureIds.clear();
+    }
+
+    public synchronized int getNumberOfTags() {
+        return tagIds.size();
+    }
+
+    public synchronized int getNumberOfGlueMethods() {
+        return glueMethodIds.size();
+    }
+
+    private static int getId(final Map<String, Integer> ids, final String name) {
+        Integer id = ids.get(name);
+        if (id == null) {
+            id = ids.size();
+            ids.put(name, id);
+        }
+        return id;
+    }
+}
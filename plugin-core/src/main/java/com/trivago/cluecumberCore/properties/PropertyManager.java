@@ -56,6 +56,14 @@ public class PropertyManager {
     private String customStatusColorFailed = "#dc3545";
     private String customStatusColorSkipped = "#ffc107";
     private String customPageTitle = "Cluecumber Report";
+    private int numberOfJsonParsingThreads = 1;
+    private String parsedJsonCacheDirectory;
+    private boolean watchSourceJsonReportDirectory;
+    private int numberOfAttachmentWritingThreads = 1;
+    private int maximumInlineTextAttachmentSize = 1024;
+    private int numberOfAggregationThreads = 1;
+    private int numberOfRenderingThreads = 1;
+    private boolean singlePageReport;
 
     @Inject
     public PropertyManager(
@@ -202,6 +210,90 @@ public class PropertyManager {
         }
     }
 
+    public int getNumberOfJsonParsingThreads() {
+        return numberOfJsonParsingThreads;
+    }
+
+    public void setNumberOfJsonParsingThreads(final int numberOfJsonParsingThreads)
+            throws WrongOrMissingPropertyException {
+        if (numberOfJsonParsingThreads < 1) {
+            throw new WrongOrMissingPropertyException("numberOfJsonParsingThreads");
+        }
+        this.numberOfJsonParsingThreads = numberOfJsonParsingThreads;
+    }
+
+    public String getParsedJsonCacheDirectory() {
+        return parsedJsonCacheDirectory;
+    }
+
+    public void setParsedJsonCacheDirectory(final String parsedJsonCacheDirectory) {
+        this.parsedJsonCacheDirectory = parsedJsonCacheDirectory;
+    }
+
+    public boolean isWatchSourceJsonReportDirectory() {
+        return watchSourceJsonReportDirectory;
+    }
+
+    public void setWatchSourceJsonReportDirectory(final boolean watchSourceJsonReportDirectory) {
+        this.watchSourceJsonReportDirectory = watchSourceJsonReportDirectory;
+    }
+
+    public int getNumberOfAttachmentWritingThreads() {
+        return numberOfAttachmentWritingThreads;
+    }
+
+    public void setNumberOfAttachmentWritingThreads(final int numberOfAttachmentWritingThreads)
+            throws WrongOrMissingPropertyException {
+        if (numberOfAttachmentWritingThreads < 1) {
+            throw new WrongOrMissingPropertyException("numberOfAttachmentWritingThreads");
+        }
+        this.numberOfAttachmentWritingThreads = numberOfAttachmentWritingThreads;
+    }
+
+    public int getMaximumInlineTextAttachmentSize() {
+        return maximumInlineTextAttachmentSize;
+    }
+
+    public void setMaximumInlineTextAttachmentSize(final int maximumInlineTextAttachmentSize)
+            throws WrongOrMissingPropertyException {
+        if (maximumInlineTextAttachmentSize < 0) {
+            throw new WrongOrMissingPropertyException("maximumInlineTextAttachmentSize");
+        }
+        this.maximumInlineTextAttachmentSize = maximumInlineTextAttachmentSize;
+    }
+
+    public int getNumberOfAggregationThreads() {
+        return numberOfAggregationThreads;
+    }
+
+    public void setNumberOfAggregationThreads(final int numberOfAggregationThreads)
+            throws WrongOrMissingPropertyException {
+        if (numberOfAggregationThreads < 1) {
+            throw new WrongOrMissingPropertyException("numberOfAggregationThreads");
+        }
+        this.numberOfAggregationThreads = numberOfAggregationThreads;
+    }
+
+    public int getNumberOfRenderingThreads() {
+        return numberOfRenderingThreads;
+    }
+
+    public void setNumberOfRenderingThreads(final int numberOfRenderingThreads)
+            throws WrongOrMissingPropertyException {
+        if (numberOfRenderingThreads < 1) {
+            throw new WrongOrMissingPropertyException("numberOfRenderingThreads");
+        }
+        this.numberOfRenderingThreads = numberOfRenderingThreads;
+    }
+
+    public boolean isSinglePageReport() {
+        return singlePageReport;
+    }
+
+    public void setSinglePageReport(final boolean singlePageReport) {
+        this.singlePageReport = singlePageReport;
+    }
+
     public void logProperties() {
         logger.info("- source JSON report directory     : " + sourceJsonReportDirectory, DEFAULT, COMPACT);
         logger.info("- generated HTML report directory  : " + generatedHtmlReportDirectory, DEFAULT, COMPACT);
@@ -227,6 +319,20 @@ public class PropertyManager {
         logger.info("- expand step hooks                : " + expandStepHooks, DEFAULT);
         logger.info("- expand doc strings               : " + expandDocStrings, DEFAULT);
         logger.info("- page title                       : " + customPageTitle, DEFAULT);
+        logger.info("- JSON parsing threads             : " + numberOfJsonParsingThreads, DEFAULT);
+        logger.info("- attachment writing threads       : " + numberOfAttachmentWritingThreads, DEFAULT);
+        logger.info("- max. inline text attachment (KB) : " + maximumInlineTextAttachmentSize, DEFAULT);
+        logger.info("- aggregation threads              : " + numberOfAggregationThreads, DEFAULT);
+        logger.info("- rendering threads                : " + numberOfRenderingThreads, DEFAULT);
+        if (isSet(parsedJsonCacheDirectory)) {
+            logger.info("- parsed JSON cache directory      : " + parsedJsonCacheDirectory, DEFAULT);
+        }
+        if (watchSourceJsonReportDirectory) {
+            logger.info("- watch source JSON directory      : " + watchSourceJsonReportDirectory, DEFAULT);
+        }
+        if (singlePageReport) {
+            logger.info("- single page report               : " + singlePageReport, DEFAULT);
+        }
 
         if (isSet(customCssFile)) {
             logger.info("- custom CSS file                  : " + customCssFile, DEFAULT);
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2019 trivago N.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.trivago.cluecumberCore.rendering;
+
+import com.trivago.cluecumberCore.constants.PluginSettings;
+import com.trivago.cluecumberCore.json.pojo.Element;
+import com.trivago.cluecumberCore.json.pojo.Report;
+import com.trivago.cluecumberCore.json.pojo.Step;
+import com.trivago.cluecumberCore.json.pojo.Tag;
+import com.trivago.cluecumberCore.rendering.pages.visitors.PageSelection;
+
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Remembers which scenarios were rendered with which scenario and feature index
+ * in order to find the pages that have to be rendered again after the reports changed.
+ */
+public class ReportChangeTracker {
+    private Map<Element, RenderedScenario> renderedScenarios = new IdentityHashMap<>();
+    private Set<String> renderedPages = new HashSet<>();
+
+    /**
+     * Compare the given reports with the ones passed to the previous call.
+     * Scenarios that were parsed again or moved to another index select their own detail page
+     * and all feature, tag and step pages that list them before and after the change.
+     * Scenario, feature, tag and step pages that no longer belong to the reports are selected for removal.
+     *
+     * @param reports The {@link Report} list that is about to be rendered.
+     * @return The {@link PageSelection} of pages that changed since the previous call.
+     */
+    public PageSelection getChangedPages(final List<Report> reports) {
+        PageSelection pageSelection = new PageSelection();
+        Map<Element, RenderedScenario> currentScenarios = new IdentityHashMap<>();
+        Set<String> currentPages = new HashSet<>();
+        for (Report report : reports) {
+            for (Element element : report.getElements()) {
+                addPages(currentPages, element);
+                RenderedScenario currentScenario =
+                        new RenderedScenario(element.getScenarioIndex(), element.getFeatureIndex());
+                currentScenarios.put(element, currentScenario);
+                RenderedScenario previousScenario = renderedScenarios.remove(element);
+                if (currentScenario.equals(previousScenario)) {
+                    continue;
+                }
+                pageSelection.addScenario(element);
+                pageSelection.addPagesListing(element, currentScenario.featureIndex);
+                if (previousScenario != null) {
+                    pageSelection.addPagesListing(element, previousScenario.featureIndex);
+                }
+            }
+        }
+        // Scenarios that disappeared have to be removed from the pages that listed them.
+        renderedScenarios.forEach((element, renderedScenario) ->
+                pageSelection.addPagesListing(element, renderedScenario.featureIndex));
+        renderedScenarios = currentScenarios;
+        for (String renderedPage : renderedPages) {
+            if (!currentPages.contains(renderedPage)) {
+                pageSelection.addRemovedPage(renderedPage);
+            }
+        }
+        renderedPages = currentPages;
+        return pageSelection;
+    }
+
+    /**
+     * Add the paths of all pages that show a scenario, relative to the report directory.
+     *
+     * @param pages   The page paths.
+     * @param element The {@link Element} of the scenario.
+     */
+    private void addPages(final Set<String> pages, final Element element) {
+        pages.add(returnPagePath(PluginSettings.SCENARIO_DETAIL_PAGE_FRAGMENT,
+                String.valueOf(element.getScenarioIndex())));
+        pages.add(returnPagePath(PluginSettings.FEATURE_SCENARIOS_PAGE_FRAGMENT,
+                String.valueOf(element.getFeatureIndex())));
+        for (Tag tag : element.getTags()) {
+            pages.add(returnPagePath(PluginSettings.TAG_SCENARIO_PAGE_FRAGMENT, tag.getUrlFriendlyName()));
+        }
+        for (Step step : element.getSteps()) {
+            pages.add(returnPagePath(PluginSettings.STEP_SCENARIO_PAGE_FRAGMENT, step.getUrlFriendlyName()));
+        }
+    }
+
+    private String returnPagePath(final String pageFragment, final String pageName) {
+        return PluginSettings.PAGES_DIRECTORY + pageFragment + pageName + PluginSettings.HTML_FILE_EXTENSION;
+    }
+
+    private static class RenderedScenario {
+        private final int scenarioIndex;
+        private final int featureIndex;
+
+        RenderedScenario(final int scenarioIndex, final int featureIndex) {
+            this.scenarioIndex = scenarioIndex;
+            this.featureIndex = featureIndex;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            RenderedScenario that = (RenderedScenario) o;
+            return scenarioIndex == that.scenarioIndex && featureIndex == that.featureIndex;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * scenarioIndex + featureIndex;
+        }
+    }
+}
@@ -19,14 +19,18 @@ package com.trivago.cluecumberCore.rendering;
 import com.trivago.cluecumberCore.constants.PluginSettings;
 import com.trivago.cluecumberCore.exceptions.CluecumberPluginException;
 import com.trivago.cluecumberCore.exceptions.filesystem.PathCreationException;
+import com.trivago.cluecumberCore.filesystem.AttachmentWriter;
 import com.trivago.cluecumberCore.filesystem.FileIO;
 import com.trivago.cluecumberCore.filesystem.FileSystemManager;
 import com.trivago.cluecumberCore.properties.PropertyManager;
 import com.trivago.cluecumberCore.rendering.pages.pojos.pagecollections.AllScenariosPageCollection;
 import com.trivago.cluecumberCore.rendering.pages.renderering.CustomCssRenderer;
 import com.trivago.cluecumberCore.rendering.pages.templates.TemplateEngine;
+import com.trivago.cluecumberCore.rendering.pages.visitors.PageSelection;
 import com.trivago.cluecumberCore.rendering.pages.visitors.PageVisitor;
+import com.trivago.cluecumberCore.rendering.pages.visitors.PageWriter;
 import com.trivago.cluecumberCore.rendering.pages.visitors.VisitorDirectory;
+import com.trivago.cluecumberCore.rendering.singlepage.SinglePageReportWriter;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -38,6 +42,9 @@ public class ReportGenerator {
     private final TemplateEngine templateEngine;
     private final PropertyManager propertyManager;
     private final FileSystemManager fileSystemManager;
+    private final AttachmentWriter attachmentWriter;
+    private final PageWriter pageWriter;
+    private final SinglePageReportWriter singlePageReportWriter;
 
     private CustomCssRenderer customCssRenderer;
     private List<PageVisitor> visitors;
@@ -49,31 +56,78 @@ public class ReportGenerator {
             final PropertyManager propertyManager,
             final FileSystemManager fileSystemManager,
             final CustomCssRenderer customCssRenderer,
-            final VisitorDirectory visitorDirectory
+            final VisitorDirectory visitorDirectory,
+            final AttachmentWriter attachmentWriter,
+            final PageWriter pageWriter,
+            final SinglePageReportWriter singlePageReportWriter
     ) {
         this.fileIO = fileIO;
         this.templateEngine = templateEngine;
         this.propertyManager = propertyManager;
         this.fileSystemManager = fileSystemManager;
         this.customCssRenderer = customCssRenderer;
+        this.attachmentWriter = attachmentWriter;
+        this.pageWriter = pageWriter;
+        this.singlePageReportWriter = singlePageReportWriter;
 
         visitors = visitorDirectory.getVisitors();
     }
 
     /**
-     * Generate the full report.
+     * Generate the full report once all attachment files are written.
+     * The pages of all visitors may be rendered concurrently, this returns after all of them are written.
+     * A single page report only consists of the report page and its data files.
      *
      * @param allScenariosPageCollection {{@link AllScenariosPageCollection}.
      * @throws CluecumberPluginException In case of error.
      */
     public void generateReport(final AllScenariosPageCollection allScenariosPageCollection) throws CluecumberPluginException {
+        attachmentWriter.awaitCompletion();
         String reportDirectory = propertyManager.getGeneratedHtmlReportDirectory();
-        createDirectories(reportDirectory);
+        if (propertyManager.isSinglePageReport()) {
+            fileSystemManager.createDirectory(reportDirectory + "/" + PluginSettings.SINGLE_PAGE_DATA_DIRECTORY);
+        } else {
+            createDirectories(reportDirectory);
+        }
         copyStaticReportAssets(reportDirectory);
         copyCustomCss(reportDirectory);
+        if (propertyManager.isSinglePageReport()) {
+            copySinglePageAssets(reportDirectory);
+            singlePageReportWriter.writeReportData(allScenariosPageCollection);
+            return;
+        }
+        templateEngine.clearLayoutFragments();
         for (PageVisitor visitor : visitors) {
             allScenariosPageCollection.accept(visitor);
         }
+        pageWriter.awaitCompletion();
+    }
+
+    /**
+     * Render only the selected pages and all summary pages of a report that was generated before
+     * and delete the pages that no longer belong to it.
+     * Directories, static assets and custom CSS are left untouched.
+     * The data files of a single page report are always written completely.
+     *
+     * @param allScenariosPageCollection {{@link AllScenariosPageCollection}.
+     * @param pageSelection              The {@link PageSelection} of changed pages.
+     * @throws CluecumberPluginException In case of error.
+     */
+    public void generateChangedPages(final AllScenariosPageCollection allScenariosPageCollection,
+                                     final PageSelection pageSelection) throws CluecumberPluginException {
+        attachmentWriter.awaitCompletion();
+        if (propertyManager.isSinglePageReport()) {
+            singlePageReportWriter.writeReportData(allScenariosPageCollection);
+            return;
+        }
+        templateEngine.clearLayoutFragments();
+        for (PageVisitor visitor : visitors) {
+            visitor.visit(allScenariosPageCollection, pageSelection);
+        }
+        pageWriter.awaitCompletion();
+        for (String removedPage : pageSelection.getRemovedPages()) {
+            fileSystemManager.deleteFile(propertyManager.getGeneratedHtmlReportDirectory() + "/" + removedPage);
+        }
     }
 
     /**
@@ -143,6 +197,20 @@ public class ReportGenerator {
         copyFileFromJarToReportDirectory("/js/jquery.fancybox.min.js");
     }
 
+    /**
+     * Copy the report page and the script of the single page report to the specified target directory.
+     *
+     * @throws CluecumberPluginException The {@link CluecumberPluginException}.
+     */
+    private void copySinglePageAssets(final String reportDirectory) throws CluecumberPluginException {
+        fileSystemManager.copyResourceFromJar(
+                PluginSettings.BASE_TEMPLATE_PATH + PluginSettings.SINGLE_PAGE_TEMPLATE_PATH + "/index.html",
+                reportDirectory + "/" + PluginSettings.SCENARIO_SUMMARY_PAGE_PATH + PluginSettings.HTML_FILE_EXTENSION);
+        fileSystemManager.copyResourceFromJar(
+                PluginSettings.BASE_TEMPLATE_PATH + PluginSettings.SINGLE_PAGE_TEMPLATE_PATH + "/cluecumber-report.js",
+                reportDirectory + "/js/cluecumber-report.js");
+    }
+
     /**
      * Copy a specific resource from the jar file to the report directory.
      *
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2019 trivago N.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.trivago.cluecumberCore.rendering.pages.pojos;
+
+import java.util.Arrays;
+
+/**
+ * Mergeable sketch of a distribution of durations that estimates quantiles with a relative error of 1%.
+ * Durations are counted in logarithmically sized buckets, so its size only depends on the range of the durations
+ * and not on their number.
+ */
+public class QuantileSketch {
+    private static final double RELATIVE_ACCURACY = 0.01;
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+
+    private long[] bucketCounts = new long[0];
+    private int firstBucket;
+    private long zeroCount;
+    private long count;
+
+    public void add(final long nanoseconds) {
+        count++;
+        if (nanoseconds <= 0) {
+            zeroCount++;
+            return;
+        }
+        addToBucket((int) Math.ceil(Math.log(nanoseconds) / LOG_GAMMA), 1);
+    }
+
+    /**
+     * Add all durations of another sketch.
+     *
+     * @param sketch The {@link QuantileSketch} to add.
+     */
+    public void merge(final QuantileSketch sketch) {
+        count += sketch.count;
+        zeroCount += sketch.zeroCount;
+        for (int i = 0; i < sketch.bucketCounts.length; i++) {
+            if (sketch.bucketCounts[i] > 0) {
+                addToBucket(sketch.firstBucket + i, sketch.bucketCounts[i]);
+            }
+        }
+    }
+
+    private void addToBucket(final int bucket, final long bucketCount) {
+        if (bucketCounts.length == 0) {
+            bucketCounts = new long[1];
+            firstBucket = bucket;
+        } else if (bucket < firstBucket) {
+            long[] counts = new long[bucketCounts.length + firstBucket - bucket];
+            System.arraycopy(bucketCounts, 0, counts, firstBucket - bucket, bucketCounts.length);
+            bucketCounts = counts;
+            firstBucket = bucket;
+        } else if (bucket >= firstBucket + bucketCounts.length) {
+            bucketCounts = Arrays.copyOf(bucketCounts, bucket - firstBucket + 1);
+        }
+        bucketCounts[bucket - firstBucket] += bucketCount;
+    }
+
+    /**
+     * Estimate the duration below which a certain share of all durations lies.
+     *
+     * @param quantile The quantile between 0 and 1, e.g. 0.95.
+     * @return The estimated duration in nanoseconds or 0 if the sketch is empty.
+     */
+    public long getQuantile(final double quantile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) (Math.max(0, Math.min(1, quantile)) * (count - 1));
+        long countedDurations = zeroCount;
+        if (rank < countedDurations) {
+            return 0;
+        }
+        int bucket = 0;
+        while (bucket < bucketCounts.length - 1) {
+            countedDurations += bucketCounts[bucket];
+            if (countedDurations > rank) {
+                break;
+            }
+            bucket++;
+        }
+        // The center of a bucket is within the relative accuracy of all durations in it.
+        return Math.round(2 * Math.pow(GAMMA, firstBucket + bucket) / (GAMMA + 1));
+    }
+}
@@ -18,58 +18,97 @@ package com.trivago.cluecumberCore.rendering.pages.pojos;
 
 import com.trivago.cluecumberCore.rendering.pages.renderering.RenderingUtils;
 
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.List;
-import java.util.Optional;
-
+/**
+ * Streaming statistics of the durations of a step.
+ * Only the count, sum, extremes and a {@link QuantileSketch} are kept instead of every single duration.
+ */
 public class Times {
-    private List<FeatureTime> times = new ArrayList<>();
-
-    public void addTime(final long nanoseconds, final int featureIndex) {
-        times.add(new FeatureTime(nanoseconds, featureIndex));
-    }
+    private long count;
+    private long totalTime;
+    private long minimumTime;
+    private int minimumTimeScenarioIndex = -1;
+    private long maximumTime;
+    private int maximumTimeScenarioIndex = -1;
+    private final QuantileSketch quantileSketch = new QuantileSketch();
 
-    private FeatureTime getMinimumFeatureTime() {
-        Optional<FeatureTime> featureTime = times.stream().min(Comparator.comparingLong(ft -> ft.time));
-        return featureTime.orElseGet(() -> new FeatureTime(0, -1));
+    public void addTime(final long nanoseconds, final int scenarioIndex) {
+        if (count == 0 || nanoseconds < minimumTime) {
+            minimumTime = nanoseconds;
+            minimumTimeScenarioIndex = scenarioIndex;
+        }
+        if (count == 0 || nanoseconds > maximumTime) {
+            maximumTime = nanoseconds;
+            maximumTimeScenarioIndex = scenarioIndex;
+        }
+        count++;
+        totalTime += nanoseconds;
+        quantileSketch.add(nanoseconds);
     }
 
-    private FeatureTime getMaximumFeatureTime() {
-        Optional<FeatureTime> featureTime = times.stream().max(Comparator.comparingLong(ft -> ft.time));
-        return featureTime.orElseGet(() -> new FeatureTime(0, -1));
+    /**
+     * Add the durations of times that were recorded after the ones of this instance.
+     * On equal extremes, the earlier recorded scenario is kept.
+     *
+     * @param otherTimes The following {@link Times}.
+     */
+    public void addTimes(final Times otherTimes) {
+        if (otherTimes.count == 0) {
+            return;
+        }
+        if (count == 0 || otherTimes.minimumTime < minimumTime) {
+            minimumTime = otherTimes.minimumTime;
+            minimumTimeScenarioIndex = otherTimes.minimumTimeScenarioIndex;
+        }
+        if (count == 0 || otherTimes.maximumTime > maximumTime) {
+            maximumTime = otherTimes.maximumTime;
+            maximumTimeScenarioIndex = otherTimes.maximumTimeScenarioIndex;
+        }
+        count += otherTimes.count;
+        totalTime += otherTimes.totalTime;
+        quantileSketch.merge(otherTimes.quantileSketch);
     }
 
     public String getMinimumTimeString() {
-        return RenderingUtils.convertNanosecondsToTimeString(getMinimumFeatureTime().time);
+        return RenderingUtils.convertNanosecondsToTimeString(minimumTime);
     }
 
     public int getMinimumTimeScenarioIndex() {
-        return getMinimumFeatureTime().scenarioIndex;
+        return minimumTimeScenarioIndex;
     }
 
     public String getMaximumTimeString() {
-        return RenderingUtils.convertNanosecondsToTimeString(getMaximumFeatureTime().time);
+        return RenderingUtils.convertNanosecondsToTimeString(maximumTime);
     }
 
     public int getMaximumTimeScenarioIndex() {
-        return getMaximumFeatureTime().scenarioIndex;
+        return maximumTimeScenarioIndex;
     }
 
     public String getAverageTimeString() {
-        return RenderingUtils.convertNanosecondsToTimeString(
-                (long) times.stream().mapToLong(v -> v.time).average().orElse(0)
-        );
+        return RenderingUtils.convertNanosecondsToTimeString(count > 0 ? (long) ((double) totalTime / count) : 0);
     }
 
-    class FeatureTime {
-        private final long time;
-        private final int scenarioIndex;
-
-        FeatureTime(final long time, final int scenarioIndex) {
-            this.time = time;
-            this.scenarioIndex = scenarioIndex;
+    /**
+     * Get the estimated duration that a certain percentage of all durations does not exceed.
+     *
+     * @param percentile The percentile, e.g. 95.
+     * @return The estimated duration in nanoseconds within the minimum and maximum time.
+     */
+    public long getPercentileTime(final int percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        if (percentile <= 0) {
+            return minimumTime;
+        }
+        if (percentile >= 100) {
+            return maximumTime;
         }
+        long percentileTime = quantileSketch.getQuantile(percentile / 100.0);
+        return Math.max(minimumTime, Math.min(maximumTime, percentileTime));
     }
-}
 
+    public String getPercentileTimeString(final int percentile) {
+        return RenderingUtils.convertNanosecondsToTimeString(getPercentileTime(percentile));
+    }
+}
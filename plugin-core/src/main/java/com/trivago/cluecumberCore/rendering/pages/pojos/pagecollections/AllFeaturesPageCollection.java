@@ -21,7 +21,6 @@ import com.trivago.cluecumberCore.json.pojo.Report;
 import com.trivago.cluecumberCore.rendering.pages.pojos.Feature;
 import com.trivago.cluecumberCore.rendering.pages.pojos.ResultCount;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -31,8 +30,13 @@ public class AllFeaturesPageCollection extends SummaryPageCollection {
     private int totalNumberOfScenarios;
 
     public AllFeaturesPageCollection(final List<Report> reports, final String pageTitle) {
+        this(new ReportAggregation(reports), pageTitle);
+    }
+
+    public AllFeaturesPageCollection(final ReportAggregation aggregation, final String pageTitle) {
         super(pageTitle);
-        calculateFeatureResultCounts(reports);
+        resultCounts = aggregation.getFeatureResultCounts();
+        totalNumberOfScenarios = aggregation.getNumberOfElements();
     }
 
     /**
@@ -64,24 +68,6 @@ public class AllFeaturesPageCollection extends SummaryPageCollection {
         return getNumberOfResultsWithStatus(resultCounts.values(), Status.SKIPPED);
     }
 
-    /**
-     * Calculate the numbers of failures, successes and skips per feature.
-     *
-     * @param reports The {@link Report} list.
-     */
-    private void calculateFeatureResultCounts(final List<Report> reports) {
-        if (reports == null) return;
-        resultCounts = new HashMap<>();
-        totalNumberOfScenarios = 0;
-        reports.forEach(report -> {
-            Feature feature = new Feature(report.getName(), report.getFeatureIndex());
-            ResultCount featureResultCount = this.resultCounts.getOrDefault(feature, new ResultCount());
-            totalNumberOfScenarios += report.getElements().size();
-            report.getElements().forEach(element -> updateResultCount(featureResultCount, element.getStatus()));
-            this.resultCounts.put(feature, featureResultCount);
-        });
-    }
-
     public int getTotalNumberOfScenarios() {
         return totalNumberOfScenarios;
     }
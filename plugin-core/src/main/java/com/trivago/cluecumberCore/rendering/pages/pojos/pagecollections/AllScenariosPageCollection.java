@@ -24,15 +24,20 @@ import com.trivago.cluecumberCore.json.pojo.Step;
 import com.trivago.cluecumberCore.json.pojo.Tag;
 import com.trivago.cluecumberCore.rendering.pages.pojos.CustomParameter;
 import com.trivago.cluecumberCore.rendering.pages.pojos.Feature;
+import com.trivago.cluecumberCore.rendering.pages.pojos.ResultCount;
 import com.trivago.cluecumberCore.rendering.pages.renderering.RenderingUtils;
 import com.trivago.cluecumberCore.rendering.pages.visitors.PageVisitor;
 import com.trivago.cluecumberCore.rendering.pages.visitors.Visitable;
 
-import java.time.ZonedDateTime;
-import java.time.temporal.ChronoUnit;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.function.Predicate;
 
 public class AllScenariosPageCollection extends PageCollection implements Visitable {
     private List<Report> reports = new ArrayList<>();
@@ -40,6 +45,14 @@ public class AllScenariosPageCollection extends PageCollection implements Visita
     private Tag tagFilter;
     private Feature featureFilter;
     private Step stepFilter;
+    // Element subsets of filtered views by report, reports without an entry show all of their elements.
+    private Map<Report, List<Element>> filteredElements = new IdentityHashMap<>();
+    private ReportAggregation aggregation;
+    private ResultCount scenarioResultCount;
+    private int numberOfScenarios;
+    private boolean hasTimestamps;
+    private long earliestStartEpochNanoseconds;
+    private long latestEndEpochNanoseconds;
 
     public AllScenariosPageCollection(final String pageTitle) {
         super(pageTitle);
@@ -51,6 +64,9 @@ public class AllScenariosPageCollection extends PageCollection implements Visita
 
     public void clearReports() {
         reports = new ArrayList<>();
+        filteredElements = new IdentityHashMap<>();
+        scenarioResultCount = null;
+        aggregation = null;
     }
 
     public void addReports(final Report[] reportList) {
@@ -62,11 +78,139 @@ public class AllScenariosPageCollection extends PageCollection implements Visita
 
     private void addReports(final List<Report> reportList) {
         this.reports.addAll(reportList);
+        scenarioResultCount = null;
+        aggregation = null;
+    }
+
+    /**
+     * Get the elements of a report that are shown in this collection.
+     *
+     * @param report A {@link Report} of this collection.
+     * @return The shown {@link Element} list.
+     */
+    public List<Element> getElements(final Report report) {
+        List<Element> elements = filteredElements.get(report);
+        return elements != null ? elements : report.getElements();
+    }
+
+    /**
+     * Create a page collection that only shows the matching reports and elements of this collection.
+     * The reports are shared and not copied, filtered element lists are read only index lists into their elements.
+     *
+     * @param reportFilter  The filter for reports.
+     * @param elementFilter The filter for elements of matching reports.
+     * @return The filtered {@link AllScenariosPageCollection}.
+     */
+    public AllScenariosPageCollection createFilteredView(
+            final Predicate<Report> reportFilter, final Predicate<Element> elementFilter) {
+        AllScenariosPageCollection view = createEmptyView();
+        for (Report report : reports) {
+            if (!reportFilter.test(report)) {
+                continue;
+            }
+            List<Element> elements = getElements(report);
+            int[] indices = new int[elements.size()];
+            int numberOfMatches = 0;
+            for (int i = 0; i < elements.size(); i++) {
+                if (elementFilter.test(elements.get(i))) {
+                    indices[numberOfMatches++] = i;
+                }
+            }
+            if (numberOfMatches > 0) {
+                view.addFilteredReport(report, elements, indices, numberOfMatches);
+            }
+        }
+        return view;
+    }
+
+    /**
+     * Create a page collection that only shows the elements at the given positions of the membership index.
+     * Only the reports containing these elements are visited.
+     *
+     * @param positions The element positions in the {@link ScenarioMembershipIndex} of this collection.
+     * @return The filtered {@link AllScenariosPageCollection}.
+     */
+    public AllScenariosPageCollection createFilteredView(final BitSet positions) {
+        AllScenariosPageCollection view = createEmptyView();
+        ScenarioMembershipIndex index = getMembershipIndex();
+        int position = positions.nextSetBit(0);
+        while (position >= 0) {
+            int reportPosition = index.getReportPosition(position);
+            Report report = index.getReport(reportPosition);
+            int reportStart = index.getReportStart(reportPosition);
+            int reportEnd = index.getReportStart(reportPosition + 1);
+            List<Element> elements = getElements(report);
+            int[] indices = new int[elements.size()];
+            int numberOfMatches = 0;
+            while (position >= 0 && position < reportEnd) {
+                indices[numberOfMatches++] = position - reportStart;
+                position = positions.nextSetBit(position + 1);
+            }
+            view.addFilteredReport(report, elements, indices, numberOfMatches);
+        }
+        return view;
+    }
+
+    private AllScenariosPageCollection createEmptyView() {
+        AllScenariosPageCollection view = new AllScenariosPageCollection(getPageTitle());
+        view.setExpandBeforeAfterHooks(isExpandBeforeAfterHooks());
+        view.setExpandStepHooks(isExpandStepHooks());
+        view.setExpandDocStrings(isExpandDocStrings());
+        view.setCustomParameters(customParameters);
+        return view;
+    }
+
+    private void addFilteredReport(
+            final Report report, final List<Element> elements, final int[] indices, final int numberOfMatches) {
+        reports.add(report);
+        if (numberOfMatches < elements.size() || elements != report.getElements()) {
+            filteredElements.put(report, new ElementIndexList(elements, indices, numberOfMatches));
+        }
+    }
+
+    /**
+     * Create a page collection that shows the same elements as this collection and shares its aggregation.
+     *
+     * @return The unfiltered {@link AllScenariosPageCollection}.
+     */
+    public AllScenariosPageCollection createUnfilteredView() {
+        AllScenariosPageCollection view = createEmptyView();
+        view.reports.addAll(reports);
+        view.filteredElements.putAll(filteredElements);
+        view.aggregation = getAggregation();
+        return view;
+    }
+
+    /**
+     * Get the suite, feature, tag and step aggregation of the shown elements.
+     * It is computed in a single pass and reused until the reports change.
+     *
+     * @return The {@link ReportAggregation}.
+     */
+    public ReportAggregation getAggregation() {
+        if (aggregation == null) {
+            aggregation = new ReportAggregation(reports, this::getElements);
+        }
+        return aggregation;
+    }
+
+    /**
+     * Compute the aggregation of the shown elements on several threads.
+     *
+     * @param threads The number of threads.
+     * @throws CluecumberPluginException In case the aggregation is interrupted.
+     */
+    public void aggregate(final int threads) throws CluecumberPluginException {
+        aggregation = ReportAggregation.aggregateInParallel(reports, this::getElements, threads);
+    }
+
+    public ScenarioMembershipIndex getMembershipIndex() {
+        return getAggregation().getMembershipIndex();
     }
 
     public int getTotalNumberOfScenarios() {
-        return reports.stream().map(Report::getElements).
-                mapToInt(elements -> (int) elements.stream().filter(Element::isScenario).count()).sum();
+        calculateScenarioSummary();
+        return numberOfScenarios;
     }
 
     public boolean hasFailedScenarios() {
@@ -82,85 +226,114 @@ public class AllScenariosPageCollection extends PageCollection implements Visita
     }
 
     public int getTotalNumberOfPassedScenarios() {
-        return getNumberOfScenariosWithStatus(Status.PASSED);
+        return calculateScenarioSummary().getPassed();
     }
 
     public int getTotalNumberOfFailedScenarios() {
-        return getNumberOfScenariosWithStatus(Status.FAILED);
+        return calculateScenarioSummary().getFailed();
     }
 
     public int getTotalNumberOfSkippedScenarios() {
-        return getNumberOfScenariosWithStatus(Status.SKIPPED);
+        return calculateScenarioSummary().getSkipped();
+    }
+
+    /**
+     * Count the elements by their summarized status and determine the suite start and end once.
+     * The results of an existing aggregation are used, filtered views count their elements directly.
+     * The results are reused until the reports change.
+     *
+     * @return The {@link ResultCount} of all elements.
+     */
+    private ResultCount calculateScenarioSummary() {
+        if (scenarioResultCount != null) {
+            return scenarioResultCount;
+        }
+        if (aggregation != null) {
+            numberOfScenarios = aggregation.getNumberOfScenarios();
+            hasTimestamps = aggregation.hasTimestamps();
+            earliestStartEpochNanoseconds = aggregation.getEarliestStartEpochNanoseconds();
+            latestEndEpochNanoseconds = aggregation.getLatestEndEpochNanoseconds();
+            scenarioResultCount = aggregation.getScenarioResultCount();
+            return scenarioResultCount;
+        }
+        ResultCount resultCount = new ResultCount();
+        int scenarios = 0;
+        hasTimestamps = false;
+        for (Report report : reports) {
+            for (Element element : getElements(report)) {
+                if (element.isScenario()) {
+                    scenarios++;
+                }
+                Status status = element.getStatus();
+                if (status == Status.PASSED) {
+                    resultCount.addPassed(1);
+                } else if (status == Status.FAILED) {
+                    resultCount.addFailed(1);
+                } else if (status == Status.SKIPPED) {
+                    resultCount.addSkipped(1);
+                }
+                if (element.hasStartTimestamp()) {
+                    updateSuiteTimes(element.getStartEpochNanoseconds(), element.returnEndEpochNanoseconds());
+                }
+            }
+        }
+        numberOfScenarios = scenarios;
+        scenarioResultCount = resultCount;
+        return resultCount;
     }
 
-    private int getNumberOfScenariosWithStatus(final Status status) {
-        return reports.stream().mapToInt(
-                report -> (int) report.getElements().stream().filter(
-                        element -> element.getStatus().equals(status)
-                ).count()).sum();
+    private void updateSuiteTimes(final long startEpochNanoseconds, final long endEpochNanoseconds) {
+        if (!hasTimestamps) {
+            earliestStartEpochNanoseconds = startEpochNanoseconds;
+            latestEndEpochNanoseconds = endEpochNanoseconds;
+            hasTimestamps = true;
+            return;
+        }
+        earliestStartEpochNanoseconds = Math.min(earliestStartEpochNanoseconds, startEpochNanoseconds);
+        latestEndEpochNanoseconds = Math.max(latestEndEpochNanoseconds, endEpochNanoseconds);
     }
 
     public long getTotalDuration() {
-        return reports.stream().mapToLong(Report::getTotalDuration).sum();
+        long totalDuration = 0;
+        for (Report report : reports) {
+            List<Element> elements = filteredElements.get(report);
+            if (elements == null) {
+                totalDuration += report.getTotalDuration();
+                continue;
+            }
+            for (Element element : elements) {
+                totalDuration += element.getTotalDuration();
+            }
+        }
+        return totalDuration;
     }
 
     public String getTotalDurationString() {
-        ZonedDateTime earliestStartDateTime = getEarliestStartDateTime();
-        ZonedDateTime latestEndDateTime = getLatestEndDateTime();
+        calculateScenarioSummary();
 
         // Return total runtime if no timestamps exist...
-        if (earliestStartDateTime == null || latestEndDateTime == null) {
+        if (!hasTimestamps) {
             return RenderingUtils.convertNanosecondsToTimeString(getTotalDuration());
         }
 
         // ...else return the calculated runtime.
-        return RenderingUtils.convertNanosecondsToTimeString(
-                ChronoUnit.NANOS.between(earliestStartDateTime, latestEndDateTime)
-        );
-    }
-
-    private ZonedDateTime getEarliestStartDateTime() {
-        ZonedDateTime earliestStartDateTime = null;
-        for (Report report : reports) {
-            for (Element element : report.getElements()) {
-                ZonedDateTime currentStartDateTime = element.getStartDateTime();
-                if (currentStartDateTime != null &&
-                        (earliestStartDateTime == null || currentStartDateTime.isBefore(earliestStartDateTime))) {
-                    earliestStartDateTime = currentStartDateTime;
-                }
-            }
-        }
-        return earliestStartDateTime;
-    }
-
-    private ZonedDateTime getLatestEndDateTime() {
-        ZonedDateTime latestEndDateTime = null;
-        for (Report report : reports) {
-            for (Element element : report.getElements()) {
-                ZonedDateTime currentEndDateTime = element.getEndDateTime();
-                if (currentEndDateTime != null &&
-                        (latestEndDateTime == null || currentEndDateTime.isAfter(latestEndDateTime))) {
-                    latestEndDateTime = currentEndDateTime;
-                }
-            }
-        }
-        return latestEndDateTime;
+        return RenderingUtils.convertNanosecondsToTimeString(latestEndEpochNanoseconds - earliestStartEpochNanoseconds);
     }
 
     public String returnStartDateTimeString() {
-        ZonedDateTime earliestStartDateTime = getEarliestStartDateTime();
-        if (earliestStartDateTime != null) {
-            return RenderingUtils.convertZonedDateTimeToDateString(earliestStartDateTime) + " " +
-                    RenderingUtils.convertZonedDateTimeToTimeString(earliestStartDateTime);
+        calculateScenarioSummary();
+        if (hasTimestamps) {
+            return RenderingUtils.convertEpochNanosecondsToDateString(earliestStartEpochNanoseconds) + " " +
+                    RenderingUtils.convertEpochNanosecondsToTimeString(earliestStartEpochNanoseconds);
         }
         return "";
     }
 
     public String returnEndDateTimeString() {
-        ZonedDateTime latestEndDateTime = getLatestEndDateTime();
-        if (latestEndDateTime != null) {
-            return RenderingUtils.convertZonedDateTimeToDateString(latestEndDateTime) + " " +
-                    RenderingUtils.convertZonedDateTimeToTimeString(latestEndDateTime);
+        calculateScenarioSummary();
+        if (hasTimestamps) {
+            return RenderingUtils.convertEpochNanosecondsToDateString(latestEndEpochNanoseconds) + " " +
+                    RenderingUtils.convertEpochNanosecondsToTimeString(latestEndEpochNanoseconds);
         }
         return "";
     }
@@ -201,23 +374,36 @@ public class AllScenariosPageCollection extends PageCollection implements Visita
         this.stepFilter = stepFilter;
     }
 
-    @Override
-    public Object clone() throws CloneNotSupportedException {
-        final AllScenariosPageCollection clone = (AllScenariosPageCollection) super.clone();
-        clone.setFeatureFilter(null);
-        clone.setStepFilter(null);
-        clone.setTagFilter(null);
-        clone.clearReports();
-        List<Report> clonedReports = new ArrayList<>();
-        for (Report r : getReports()) {
-            clonedReports.add((Report) r.clone());
-        }
-        clone.addReports(clonedReports);
-        return clone;
-    }
-
     @Override
     public void accept(final PageVisitor visitor) throws CluecumberPluginException {
         visitor.visit(this);
     }
+
+    /**
+     * Read only list of the elements at certain indices of an element list.
+     */
+    private static final class ElementIndexList extends AbstractList<Element> implements RandomAccess {
+        private final List<Element> elements;
+        private final int[] indices;
+        private final int size;
+
+        ElementIndexList(final List<Element> elements, final int[] indices, final int size) {
+            this.elements = elements;
+            this.indices = indices;
+            this.size = size;
+        }
+
+        @Override
+        public Element get(final int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return elements.get(indices[index]);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
 }
@@ -16,23 +16,36 @@
 
 package com.trivago.cluecumberCore.rendering.pages.pojos.pagecollections;
 
+import com.trivago.cluecumberCore.json.pojo.Element;
 import com.trivago.cluecumberCore.json.pojo.Report;
 import com.trivago.cluecumberCore.json.pojo.Step;
 import com.trivago.cluecumberCore.rendering.pages.pojos.ResultCount;
 import com.trivago.cluecumberCore.rendering.pages.pojos.Times;
 
-import java.util.HashMap;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 public class AllStepsPageCollection extends ScenarioSummaryPageCollection {
-    private Map<Step, ResultCount> stepResultCounts = new HashMap<>();
-    private Map<Step, Times> stepTimes = new HashMap<>();
+    private Map<Step, ResultCount> stepResultCounts;
+    private Map<Step, Times> stepTimes;
 
-    public AllStepsPageCollection(List<Report> reports, final String pageTitle) {
+    public AllStepsPageCollection(final List<Report> reports, final String pageTitle) {
+        this(new ReportAggregation(reports), pageTitle);
+    }
+
+    public AllStepsPageCollection(final ReportAggregation aggregation, final String pageTitle) {
         super(pageTitle);
-        calculateStepResultCounts(reports);
+        stepResultCounts = aggregation.getStepResultCounts();
+        stepTimes = aggregation.getStepTimes();
+        ScenarioMembershipIndex membershipIndex = aggregation.getMembershipIndex();
+        BitSet elementsWithSteps = aggregation.getElementsWithSteps();
+        for (int position = elementsWithSteps.nextSetBit(0); position >= 0;
+             position = elementsWithSteps.nextSetBit(position + 1)) {
+            Element element = membershipIndex.getElement(position);
+            addScenarioIndexByStatus(element.getStatus(), element.getScenarioIndex());
+        }
     }
 
     /**
@@ -72,26 +85,7 @@ public class AllStepsPageCollection extends ScenarioSummaryPageCollection {
         return stepTimes.get(step).getAverageTimeString();
     }
 
-    /**
-     * Calculate the numbers of failures, successes and skips per step.
-     *
-     * @param reports The {@link Report} list.
-     */
-    private void calculateStepResultCounts(final List<Report> reports) {
-        if (reports == null) return;
-        reports.forEach(report -> report.getElements().forEach(element -> {
-            int scenarioIndex = element.getScenarioIndex();
-            element.getSteps().forEach(step -> {
-                ResultCount stepResultCount = stepResultCounts.getOrDefault(step, new ResultCount());
-                updateResultCount(stepResultCount, step.getStatus());
-                stepResultCounts.put(step, stepResultCount);
-                addScenarioIndexByStatus(element.getStatus(), element.getScenarioIndex());
-                Times stepTimes = this.stepTimes.getOrDefault(step, new Times());
-                if (!step.isSkipped()) {
-                    stepTimes.addTime(step.getResult().getDuration(), scenarioIndex);
-                }
-                this.stepTimes.put(step, stepTimes);
-            });
-        }));
+    public String getPercentileTimeFromStep(final Step step, final int percentile) {
+        return stepTimes.get(step).getPercentileTimeString(percentile);
     }
 }
@@ -16,10 +16,13 @@
 
 package com.trivago.cluecumberCore.rendering.pages.pojos.pagecollections;
 
+import com.trivago.cluecumberCore.constants.Status;
+import com.trivago.cluecumberCore.json.pojo.Element;
 import com.trivago.cluecumberCore.json.pojo.Report;
 import com.trivago.cluecumberCore.json.pojo.Tag;
 import com.trivago.cluecumberCore.rendering.pages.pojos.ResultCount;
 
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -28,9 +31,13 @@ import java.util.Set;
 public class AllTagsPageCollection extends ScenarioSummaryPageCollection {
     private Map<Tag, ResultCount> tagResultCounts = new HashMap<>();
 
-    public AllTagsPageCollection(List<Report> reports, final String pageTitle) {
+    public AllTagsPageCollection(final List<Report> reports, final String pageTitle) {
+        this(new ReportAggregation(reports).getMembershipIndex(), pageTitle);
+    }
+
+    public AllTagsPageCollection(final ScenarioMembershipIndex membershipIndex, final String pageTitle) {
         super(pageTitle);
-        calculateTagResultCounts(reports);
+        calculateTagResultCounts(membershipIndex);
     }
 
     /**
@@ -51,17 +58,25 @@ public class AllTagsPageCollection extends ScenarioSummaryPageCollection {
     }
 
     /**
-     * Calculate the numbers of failures, successes and skips per tag name.
+     * Calculate the numbers of failures, successes and skips per tag from the tag memberships.
      *
-     * @param reports The {@link Report} list.
+     * @param membershipIndex The {@link ScenarioMembershipIndex} of the reports.
      */
-    private void calculateTagResultCounts(final List<Report> reports) {
-        if (reports == null) return;
-        reports.forEach(report -> report.getElements().forEach(element -> element.getTags().forEach(tag -> {
-            ResultCount tagResultCount = tagResultCounts.getOrDefault(tag, new ResultCount());
-            updateResultCount(tagResultCount, element.getStatus());
+    private void calculateTagResultCounts(final ScenarioMembershipIndex membershipIndex) {
+        BitSet taggedElements = new BitSet();
+        for (Tag tag : membershipIndex.getIndexedTags()) {
+            BitSet members = membershipIndex.getElementsWithTag(tag.getId());
+            ResultCount tagResultCount = new ResultCount();
+            tagResultCount.addPassed(membershipIndex.countElementsWithStatus(members, Status.PASSED));
+            tagResultCount.addFailed(membershipIndex.countElementsWithStatus(members, Status.FAILED));
+            tagResultCount.addSkipped(membershipIndex.countElementsWithStatus(members, Status.SKIPPED));
             tagResultCounts.put(tag, tagResultCount);
+            taggedElements.or(members);
+        }
+        for (int position = taggedElements.nextSetBit(0); position >= 0;
+             position = taggedElements.nextSetBit(position + 1)) {
+            Element element = membershipIndex.getElement(position);
             addScenarioIndexByStatus(element.getStatus(), element.getScenarioIndex());
-        })));
+        }
     }
 }
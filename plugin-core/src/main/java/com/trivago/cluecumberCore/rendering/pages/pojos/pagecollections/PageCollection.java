@@ -18,7 +18,7 @@ package com.trivago.cluecumberCore.rendering.pages.pojos.pagecollections;
 
 import com.trivago.cluecumberCore.rendering.pages.pojos.ReportDetails;
 
-public class PageCollection implements Cloneable {
+public class PageCollection {
     private final ReportDetails reportDetails;
     private final String pageTitle;
     private boolean expandBeforeAfterHooks;
@@ -0,0 +1,397 @@
+/*
+ * Copyright 2019 trivago N.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.trivago.cluecumberCore.rendering.pages.pojos.pagecollections;
+
+import com.trivago.cluecumberCore.constants.Status;
+import com.trivago.cluecumberCore.exceptions.CluecumberPluginException;
+import com.trivago.cluecumberCore.json.pojo.Element;
+import com.trivago.cluecumberCore.json.pojo.Report;
+import com.trivago.cluecumberCore.json.pojo.Step;
+import com.trivago.cluecumberCore.rendering.pages.pojos.Feature;
+import com.trivago.cluecumberCore.rendering.pages.pojos.ResultCount;
+import com.trivago.cluecumberCore.rendering.pages.pojos.Times;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * The result of a single pass over all elements and steps of the reports.
+ * It fills the suite, feature and step accumulators and the {@link ScenarioMembershipIndex} for the tag,
+ * feature and step pages together, so the summary page collections do not have to walk the reports again.
+ */
+public class ReportAggregation {
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final ScenarioMembershipIndex membershipIndex;
+    private final ResultCount scenarioResultCount = new ResultCount();
+    private int numberOfScenarios;
+    private int numberOfElements;
+    private boolean hasTimestamps;
+    private long earliestStartEpochNanoseconds;
+    private long latestEndEpochNanoseconds;
+    // Accumulated by feature index and glue method id. The order lists keep the ids in the order of first appearance,
+    // so merging chunks keeps the order of a serial pass.
+    private final List<Feature> featuresByIndex = new ArrayList<>();
+    private final List<ResultCount> featureResultCountsByIndex = new ArrayList<>();
+    private final List<Integer> featureOrder = new ArrayList<>();
+    private final List<Step> stepsById = new ArrayList<>();
+    private final List<ResultCount> stepResultCountsById = new ArrayList<>();
+    private final List<Times> stepTimesById = new ArrayList<>();
+    private final List<Integer> stepOrder = new ArrayList<>();
+    private final BitSet elementsWithSteps = new BitSet();
+    private Map<Feature, ResultCount> featureResultCounts = Collections.emptyMap();
+    private Map<Step, ResultCount> stepResultCounts = Collections.emptyMap();
+    private Map<Step, Times> stepTimes = Collections.emptyMap();
+
+    /**
+     * Aggregate all elements of the given reports.
+     *
+     * @param reports The {@link Report} list.
+     */
+    public ReportAggregation(final List<Report> reports) {
+        this(reports != null ? reports : Collections.emptyList(), Report::getElements);
+    }
+
+    /**
+     * Aggregate the elements of the given reports.
+     *
+     * @param reports          The {@link Report} list.
+     * @param elementsOfReport The function that returns the aggregated elements of a report.
+     */
+    ReportAggregation(final List<Report> reports, final Function<Report, List<Element>> elementsOfReport) {
+        this(reports, elementsOfReport, 0);
+        complete();
+    }
+
+    /**
+     * Aggregate a chunk of the reports without completing the aggregation, so following chunks can be merged.
+     *
+     * @param reports          The {@link Report} list of this chunk.
+     * @param elementsOfReport The function that returns the aggregated elements of a report.
+     * @param firstPosition    The position of the first element of this chunk.
+     */
+    private ReportAggregation(final List<Report> reports, final Function<Report, List<Element>> elementsOfReport,
+                              final int firstPosition) {
+        membershipIndex = new ScenarioMembershipIndex(firstPosition);
+        for (Report report : reports) {
+            membershipIndex.addReport(report);
+            List<Element> elements = elementsOfReport.apply(report);
+            ResultCount featureResultCount = getFeatureResultCount(report);
+            for (Element element : elements) {
+                Status status = element.getStatus();
+                int position = membershipIndex.addElement(element, report.getFeatureIndex(), status);
+                addElement(element, status);
+                if (featureResultCount != null) {
+                    addResult(featureResultCount, status);
+                }
+                addSteps(element, position);
+            }
+        }
+    }
+
+    /**
+     * Get the result count of the feature of a report and add the feature on its first appearance.
+     *
+     * @param report The {@link Report}.
+     * @return The feature {@link ResultCount} or null if the report has no feature index (it was not post processed).
+     */
+    private ResultCount getFeatureResultCount(final Report report) {
+        int featureIndex = report.getFeatureIndex();
+        if (featureIndex < 0) {
+            return null;
+        }
+        ResultCount featureResultCount = getById(featureResultCountsByIndex, featureIndex);
+        if (featureResultCount == null) {
+            featureResultCount = new ResultCount();
+            setById(featuresByIndex, featureIndex, new Feature(report.getName(), featureIndex));
+            setById(featureResultCountsByIndex, featureIndex, featureResultCount);
+            featureOrder.add(featureIndex);
+        }
+        return featureResultCount;
+    }
+
+    /**
+     * Aggregate chunks of the reports on several threads and merge the chunk results in report order.
+     * The result is the same as the one of a single threaded aggregation.
+     *
+     * @param reports          The {@link Report} list.
+     * @param elementsOfReport The function that returns the aggregated elements of a report.
+     * @param threads          The number of threads.
+     * @return The {@link ReportAggregation}.
+     * @throws CluecumberPluginException In case the aggregation is interrupted.
+     */
+    static ReportAggregation aggregateInParallel(
+            final List<Report> reports, final Function<Report, List<Element>> elementsOfReport, final int threads)
+            throws CluecumberPluginException {
+        int numberOfChunks = Math.min(reports.size(), threads * CHUNKS_PER_THREAD);
+        if (threads < 2 || numberOfChunks < 2) {
+            return new ReportAggregation(reports, elementsOfReport);
+        }
+        ExecutorService executorService = Executors.newFixedThreadPool(threads, new AggregationThreadFactory());
+        List<Future<ReportAggregation>> chunks = new ArrayList<>();
+        try {
+            int firstPosition = 0;
+            for (int chunk = 0; chunk < numberOfChunks; chunk++) {
+                List<Report> chunkReports = reports.subList(
+                        chunk * reports.size() / numberOfChunks, (chunk + 1) * reports.size() / numberOfChunks);
+                int chunkFirstPosition = firstPosition;
+                chunks.add(executorService.submit(
+                        () -> new ReportAggregation(chunkReports, elementsOfReport, chunkFirstPosition)));
+                for (Report report : chunkReports) {
+                    firstPosition += elementsOfReport.apply(report).size();
+                }
+            }
+            ReportAggregation aggregation = chunks.get(0).get();
+            for (int chunk = 1; chunk < numberOfChunks; chunk++) {
+                aggregation.merge(chunks.get(chunk).get());
+            }
+            aggregation.complete();
+            return aggregation;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new CluecumberPluginException("Could not aggregate the reports: " + e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CluecumberPluginException("Report aggregation was interrupted.");
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Add the results of the directly following chunk of reports.
+     *
+     * @param following The {@link ReportAggregation} of the following chunk.
+     */
+    private void merge(final ReportAggregation following) {
+        membershipIndex.merge(following.membershipIndex);
+        addResults(scenarioResultCount, following.scenarioResultCount);
+        numberOfScenarios += following.numberOfScenarios;
+        numberOfElements += following.numberOfElements;
+        if (following.hasTimestamps) {
+            updateSuiteTimes(following.earliestStartEpochNanoseconds, following.latestEndEpochNanoseconds);
+        }
+        for (int featureIndex : following.featureOrder) {
+            ResultCount followingResultCount = following.featureResultCountsByIndex.get(featureIndex);
+            ResultCount featureResultCount = getById(featureResultCountsByIndex, featureIndex);
+            if (featureResultCount == null) {
+                setById(featuresByIndex, featureIndex, following.featuresByIndex.get(featureIndex));
+                setById(featureResultCountsByIndex, featureIndex, followingResultCount);
+                featureOrder.add(featureIndex);
+            } else {
+                addResults(featureResultCount, followingResultCount);
+            }
+        }
+        for (int glueMethodId : following.stepOrder) {
+            ResultCount followingResultCount = following.stepResultCountsById.get(glueMethodId);
+            ResultCount stepResultCount = getById(stepResultCountsById, glueMethodId);
+            if (stepResultCount == null) {
+                setById(stepsById, glueMethodId, following.stepsById.get(glueMethodId));
+                setById(stepResultCountsById, glueMethodId, followingResultCount);
+                setById(stepTimesById, glueMethodId, following.stepTimesById.get(glueMethodId));
+                stepOrder.add(glueMethodId);
+            } else {
+                addResults(stepResultCount, followingResultCount);
+                stepTimesById.get(glueMethodId).addTimes(following.stepTimesById.get(glueMethodId));
+            }
+        }
+        elementsWithSteps.or(following.elementsWithSteps);
+    }
+
+    /**
+     * Create the feature and step maps, they are filled in the order of first appearance.
+     */
+    private void complete() {
+        featureResultCounts = new HashMap<>();
+        for (int featureIndex : featureOrder) {
+            featureResultCounts.put(featuresByIndex.get(featureIndex), featureResultCountsByIndex.get(featureIndex));
+        }
+        stepResultCounts = new HashMap<>();
+        stepTimes = new HashMap<>();
+        for (int glueMethodId : stepOrder) {
+            Step step = stepsById.get(glueMethodId);
+            stepResultCounts.put(step, stepResultCountsById.get(glueMethodId));
+            stepTimes.put(step, stepTimesById.get(glueMethodId));
+        }
+    }
+
+    private static <T> T getById(final List<T> values, final int id) {
+        return id < values.size() ? values.get(id) : null;
+    }
+
+    private static <T> void setById(final List<T> values, final int id, final T value) {
+        while (values.size() <= id) {
+            values.add(null);
+        }
+        values.set(id, value);
+    }
+
+    private void addElement(final Element element, final Status status) {
+        numberOfElements++;
+        if (element.isScenario()) {
+            numberOfScenarios++;
+        }
+        addResult(scenarioResultCount, status);
+        if (element.hasStartTimestamp()) {
+            updateSuiteTimes(element.getStartEpochNanoseconds(), element.returnEndEpochNanoseconds());
+        }
+    }
+
+    private void updateSuiteTimes(final long startEpochNanoseconds, final long endEpochNanoseconds) {
+        if (!hasTimestamps) {
+            earliestStartEpochNanoseconds = startEpochNanoseconds;
+            latestEndEpochNanoseconds = endEpochNanoseconds;
+            hasTimestamps = true;
+            return;
+        }
+        earliestStartEpochNanoseconds = Math.min(earliestStartEpochNanoseconds, startEpochNanoseconds);
+        latestEndEpochNanoseconds = Math.max(latestEndEpochNanoseconds, endEpochNanoseconds);
+    }
+
+    private void addSteps(final Element element, final int position) {
+        List<Step> steps = element.getSteps();
+        if (steps.isEmpty()) {
+            return;
+        }
+        elementsWithSteps.set(position);
+        for (Step step : steps) {
+            int glueMethodId = step.getGlueMethodId();
+            if (glueMethodId < 0) {
+                // Steps without a glue method id were not post processed.
+                continue;
+            }
+            ResultCount stepResultCount = getById(stepResultCountsById, glueMethodId);
+            Times times = getById(stepTimesById, glueMethodId);
+            if (stepResultCount == null) {
+                stepResultCount = new ResultCount();
+                times = new Times();
+                setById(stepsById, glueMethodId, step);
+                setById(stepResultCountsById, glueMethodId, stepResultCount);
+                setById(stepTimesById, glueMethodId, times);
+                stepOrder.add(glueMethodId);
+            }
+            addResult(stepResultCount, step.getStatus());
+            if (!step.isSkipped()) {
+                times.addTime(step.getResult().getDuration(), element.getScenarioIndex());
+            }
+        }
+    }
+
+    private static void addResult(final ResultCount resultCount, final Status status) {
+        if (status == Status.PASSED) {
+            resultCount.addPassed(1);
+        } else if (status == Status.FAILED) {
+            resultCount.addFailed(1);
+        } else if (status == Status.SKIPPED) {
+            resultCount.addSkipped(1);
+        }
+    }
+
+    private static void addResults(final ResultCount resultCount, final ResultCount addedResultCount) {
+        resultCount.addPassed(addedResultCount.getPassed());
+        resultCount.addFailed(addedResultCount.getFailed());
+        resultCount.addSkipped(addedResultCount.getSkipped());
+    }
+
+    public ScenarioMembershipIndex getMembershipIndex() {
+        return membershipIndex;
+    }
+
+    /**
+     * Get the result counts of all aggregated elements.
+     *
+     * @return The {@link ResultCount} by element status.
+     */
+    public ResultCount getScenarioResultCount() {
+        return scenarioResultCount;
+    }
+
+    /**
+     * Get the number of aggregated elements that are scenarios (excluding backgrounds).
+     *
+     * @return The number of scenarios.
+     */
+    public int getNumberOfScenarios() {
+        return numberOfScenarios;
+    }
+
+    /**
+     * Get the number of all aggregated elements.
+     *
+     * @return The number of elements including backgrounds.
+     */
+    public int getNumberOfElements() {
+        return numberOfElements;
+    }
+
+    public boolean hasTimestamps() {
+        return hasTimestamps;
+    }
+
+    public long getEarliestStartEpochNanoseconds() {
+        return earliestStartEpochNanoseconds;
+    }
+
+    public long getLatestEndEpochNanoseconds() {
+        return latestEndEpochNanoseconds;
+    }
+
+    public Map<Feature, ResultCount> getFeatureResultCounts() {
+        return featureResultCounts;
+    }
+
+    public Map<Step, ResultCount> getStepResultCounts() {
+        return stepResultCounts;
+    }
+
+    public Map<Step, Times> getStepTimes() {
+        return stepTimes;
+    }
+
+    /**
+     * Get the positions of all elements that have at least one step.
+     *
+     * @return The element positions in the {@link ScenarioMembershipIndex}.
+     */
+    public BitSet getElementsWithSteps() {
+        return elementsWithSteps;
+    }
+
+    static class AggregationThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            Thread thread = new Thread(runnable, "cluecumber-aggregation-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
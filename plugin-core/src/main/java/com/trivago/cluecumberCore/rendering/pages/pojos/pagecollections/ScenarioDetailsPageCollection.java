@@ -17,9 +17,15 @@
 package com.trivago.cluecumberCore.rendering.pages.pojos.pagecollections;
 
 import com.trivago.cluecumberCore.json.pojo.Element;
+import com.trivago.cluecumberCore.json.pojo.Embedding;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
 
 public class ScenarioDetailsPageCollection extends PageCollection {
     private final Element element;
+    // Embeddings of background steps are shared between scenarios, so loaded texts are kept per page.
+    private final Map<Embedding, String> attachmentTexts = new IdentityHashMap<>();
 
     public ScenarioDetailsPageCollection(final Element element, final String pageTitle) {
         super(pageTitle);
@@ -29,4 +35,22 @@ public class ScenarioDetailsPageCollection extends PageCollection {
     public Element getElement() {
         return element;
     }
+
+    public void addAttachmentText(final Embedding embedding, final String text) {
+        attachmentTexts.put(embedding, text);
+    }
+
+    /**
+     * Check if the text of an attachment was loaded to be shown inline on this page.
+     *
+     * @param embedding The {@link Embedding}.
+     * @return true if the text was loaded.
+     */
+    public boolean hasAttachmentText(final Embedding embedding) {
+        return attachmentTexts.containsKey(embedding);
+    }
+
+    public String getAttachmentText(final Embedding embedding) {
+        return attachmentTexts.get(embedding);
+    }
 }
@@ -0,0 +1,261 @@
+/*
+ * Copyright 2019 trivago N.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.trivago.cluecumberCore.rendering.pages.pojos.pagecollections;
+
+import com.trivago.cluecumberCore.constants.Status;
+import com.trivago.cluecumberCore.json.pojo.Element;
+import com.trivago.cluecumberCore.json.pojo.Report;
+import com.trivago.cluecumberCore.json.pojo.Step;
+import com.trivago.cluecumberCore.json.pojo.Tag;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Inverted index from feature indices, tag ids and glue method ids to the elements that contain them.
+ * It is filled by the {@link ReportAggregation} pass.
+ * Every element of the indexed reports gets a position in report order, the members of a feature, tag
+ * or glue method are stored as a {@link BitSet} of these positions.
+ * Tags and steps without an id assigned while parsing are not indexed.
+ * The returned bitsets are shared and must not be modified.
+ */
+public class ScenarioMembershipIndex {
+    private static final BitSet NO_MEMBERS = new BitSet();
+
+    private final List<Report> indexedReports = new ArrayList<>();
+    private final List<Element> indexedElements = new ArrayList<>();
+    // The position of the first element of every report followed by the number of elements.
+    private int[] reportStarts = new int[16];
+    private final List<BitSet> featureMembers = new ArrayList<>();
+    private final List<BitSet> tagMembers = new ArrayList<>();
+    private final List<BitSet> glueMethodMembers = new ArrayList<>();
+    private final List<Tag> tagsById = new ArrayList<>();
+    private final BitSet passedElements = new BitSet();
+    private final BitSet failedElements = new BitSet();
+    private final BitSet skippedElements = new BitSet();
+    private final int firstPosition;
+
+    ScenarioMembershipIndex() {
+        this(0);
+    }
+
+    /**
+     * Create an index whose elements start at a certain position, e.g. for a chunk of the reports.
+     *
+     * @param firstPosition The position of the first element.
+     */
+    ScenarioMembershipIndex(final int firstPosition) {
+        this.firstPosition = firstPosition;
+        reportStarts[0] = firstPosition;
+    }
+
+    void addReport(final Report report) {
+        indexedReports.add(report);
+        ensureReportStartCapacity();
+        reportStarts[indexedReports.size()] = firstPosition + indexedElements.size();
+    }
+
+    private void ensureReportStartCapacity() {
+        if (reportStarts.length <= indexedReports.size()) {
+            reportStarts = Arrays.copyOf(reportStarts, Math.max(reportStarts.length * 2, indexedReports.size() + 1));
+        }
+    }
+
+    /**
+     * Add an element of the last added report.
+     *
+     * @param element      The {@link Element}.
+     * @param featureIndex The feature index of the report.
+     * @param status       The status of the element.
+     * @return The position of the element.
+     */
+    int addElement(final Element element, final int featureIndex, final Status status) {
+        int position = firstPosition + indexedElements.size();
+        addMember(featureMembers, featureIndex, position);
+        for (Tag tag : element.getTags()) {
+            if (tag.getId() < 0) {
+                continue;
+            }
+            addMember(tagMembers, tag.getId(), position);
+            while (tagsById.size() <= tag.getId()) {
+                tagsById.add(null);
+            }
+            if (tagsById.get(tag.getId()) == null) {
+                tagsById.set(tag.getId(), tag);
+            }
+        }
+        for (Step step : element.getSteps()) {
+            addMember(glueMethodMembers, step.getGlueMethodId(), position);
+        }
+        if (status == Status.PASSED) {
+            passedElements.set(position);
+        } else if (status == Status.FAILED) {
+            failedElements.set(position);
+        } else if (status == Status.SKIPPED) {
+            skippedElements.set(position);
+        }
+        indexedElements.add(element);
+        reportStarts[indexedReports.size()] = firstPosition + indexedElements.size();
+        return position;
+    }
+
+    /**
+     * Append the index of the directly following elements.
+     *
+     * @param following The {@link ScenarioMembershipIndex} whose first position is the end of this index.
+     */
+    void merge(final ScenarioMembershipIndex following) {
+        for (int i = 0; i < following.indexedReports.size(); i++) {
+            indexedReports.add(following.indexedReports.get(i));
+            ensureReportStartCapacity();
+            reportStarts[indexedReports.size()] = following.reportStarts[i + 1];
+        }
+        indexedElements.addAll(following.indexedElements);
+        mergeMembers(featureMembers, following.featureMembers);
+        mergeMembers(tagMembers, following.tagMembers);
+        mergeMembers(glueMethodMembers, following.glueMethodMembers);
+        for (int id = 0; id < following.tagsById.size(); id++) {
+            if (id >= tagsById.size()) {
+                tagsById.add(following.tagsById.get(id));
+            } else if (tagsById.get(id) == null) {
+                tagsById.set(id, following.tagsById.get(id));
+            }
+        }
+        passedElements.or(following.passedElements);
+        failedElements.or(following.failedElements);
+        skippedElements.or(following.skippedElements);
+    }
+
+    private static void mergeMembers(final List<BitSet> members, final List<BitSet> followingMembers) {
+        for (int id = 0; id < followingMembers.size(); id++) {
+            BitSet followingBitSet = followingMembers.get(id);
+            if (id >= members.size()) {
+                members.add(followingBitSet);
+            } else if (members.get(id) == null) {
+                members.set(id, followingBitSet);
+            } else if (followingBitSet != null) {
+                members.get(id).or(followingBitSet);
+            }
+        }
+    }
+
+    private static void addMember(final List<BitSet> members, final int id, final int position) {
+        if (id < 0) {
+            return;
+        }
+        while (members.size() <= id) {
+            members.add(null);
+        }
+        BitSet bitSet = members.get(id);
+        if (bitSet == null) {
+            bitSet = new BitSet();
+            members.set(id, bitSet);
+        }
+        bitSet.set(position);
+    }
+
+    private static BitSet membersOf(final List<BitSet> members, final int id) {
+        BitSet bitSet = id >= 0 && id < members.size() ? members.get(id) : null;
+        return bitSet != null ? bitSet : NO_MEMBERS;
+    }
+
+    public BitSet getElementsOfFeature(final int featureIndex) {
+        return membersOf(featureMembers, featureIndex);
+    }
+
+    public BitSet getElementsWithTag(final int tagId) {
+        return membersOf(tagMembers, tagId);
+    }
+
+    public BitSet getElementsWithGlueMethod(final int glueMethodId) {
+        return membersOf(glueMethodMembers, glueMethodId);
+    }
+
+    /**
+     * Get the first indexed tag of every tag id in the order of their ids.
+     *
+     * @return The {@link Tag} list.
+     */
+    public List<Tag> getIndexedTags() {
+        List<Tag> tags = new ArrayList<>();
+        for (Tag tag : tagsById) {
+            if (tag != null) {
+                tags.add(tag);
+            }
+        }
+        return tags;
+    }
+
+    public Element getElement(final int position) {
+        return indexedElements.get(position - firstPosition);
+    }
+
+    /**
+     * Get the report that contains the element at a position.
+     *
+     * @param position The element position.
+     * @return The position of the {@link Report} in the indexed report list.
+     */
+    public int getReportPosition(final int position) {
+        int reportPosition = Arrays.binarySearch(reportStarts, 0, indexedReports.size(), position);
+        if (reportPosition < 0) {
+            return -reportPosition - 2;
+        }
+        // Skip reports without elements that start at the same position.
+        while (reportStarts[reportPosition + 1] == position) {
+            reportPosition++;
+        }
+        return reportPosition;
+    }
+
+    public Report getReport(final int reportPosition) {
+        return indexedReports.get(reportPosition);
+    }
+
+    public int getReportStart(final int reportPosition) {
+        return reportStarts[reportPosition];
+    }
+
+    /**
+     * Count the members that have a certain status.
+     *
+     * @param members The element positions.
+     * @param status  The {@link Status} of the elements.
+     * @return The number of members with this status.
+     */
+    public int countElementsWithStatus(final BitSet members, final Status status) {
+        BitSet elementsWithStatus;
+        if (status == Status.PASSED) {
+            elementsWithStatus = passedElements;
+        } else if (status == Status.FAILED) {
+            elementsWithStatus = failedElements;
+        } else if (status == Status.SKIPPED) {
+            elementsWithStatus = skippedElements;
+        } else {
+            return 0;
+        }
+        int count = 0;
+        for (int position = members.nextSetBit(0); position >= 0; position = members.nextSetBit(position + 1)) {
+            if (elementsWithStatus.get(position)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -29,6 +29,7 @@ import freemarker.template.Template;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -48,12 +49,13 @@ public class AllFeaturesPageRenderer extends PageRenderer {
         this.chartConfiguration = chartConfiguration;
     }
 
-    public String getRenderedContent(
-            final AllFeaturesPageCollection allFeaturesPageCollection, final Template template)
+    public void renderContent(
+            final AllFeaturesPageCollection allFeaturesPageCollection, final Template template,
+            final Writer writer)
             throws CluecumberPluginException {
 
         addChartJsonToReportDetails(allFeaturesPageCollection);
-        return processedContent(template, allFeaturesPageCollection);
+        processContent(template, allFeaturesPageCollection, writer);
     }
 
     private void addChartJsonToReportDetails(final AllFeaturesPageCollection allFeaturesPageCollection) {
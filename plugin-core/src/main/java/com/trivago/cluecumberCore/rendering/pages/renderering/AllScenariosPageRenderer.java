@@ -19,8 +19,6 @@ package com.trivago.cluecumberCore.rendering.pages.renderering;
 import com.trivago.cluecumberCore.constants.ChartConfiguration;
 import com.trivago.cluecumberCore.constants.Status;
 import com.trivago.cluecumberCore.exceptions.CluecumberPluginException;
-import com.trivago.cluecumberCore.json.pojo.Element;
-import com.trivago.cluecumberCore.json.pojo.Report;
 import com.trivago.cluecumberCore.json.pojo.Step;
 import com.trivago.cluecumberCore.json.pojo.Tag;
 import com.trivago.cluecumberCore.properties.PropertyManager;
@@ -33,10 +31,10 @@ import freemarker.template.Template;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @Singleton
 public class AllScenariosPageRenderer extends PageRenderer {
@@ -55,67 +53,54 @@ public class AllScenariosPageRenderer extends PageRenderer {
         this.chartConfiguration = chartConfiguration;
     }
 
-    public String getRenderedContent(
-            final AllScenariosPageCollection allScenariosPageCollection, final Template template)
+    public void renderContent(
+            final AllScenariosPageCollection allScenariosPageCollection, final Template template,
+            final Writer writer)
             throws CluecumberPluginException {
 
-        AllScenariosPageCollection allScenariosPageCollectionClone = getAllScenariosPageCollectionClone(allScenariosPageCollection);
-        addChartJsonToReportDetails(allScenariosPageCollectionClone);
-        addCustomParametersToReportDetails(allScenariosPageCollectionClone);
-        return processedContent(template, allScenariosPageCollectionClone);
+        AllScenariosPageCollection allScenariosPageView = allScenariosPageCollection.createUnfilteredView();
+        addChartJsonToReportDetails(allScenariosPageView);
+        addCustomParametersToReportDetails(allScenariosPageView);
+        processContent(template, allScenariosPageView, writer);
     }
 
-    public String getRenderedContentByTagFilter(
+    public void renderContentByTagFilter(
             final AllScenariosPageCollection allScenariosPageCollection,
             final Template template,
-            final Tag tag) throws CluecumberPluginException {
-
-        AllScenariosPageCollection allScenariosPageCollectionClone = getAllScenariosPageCollectionClone(allScenariosPageCollection);
-        allScenariosPageCollectionClone.setTagFilter(tag);
-        allScenariosPageCollectionClone.getReports().forEach(report -> {
-            List<Element> elements = report.getElements()
-                    .stream()
-                    .filter(element -> element.getTags().contains(tag))
-                    .collect(Collectors.toList());
-            report.setElements(elements);
-        });
-        addChartJsonToReportDetails(allScenariosPageCollectionClone);
-        return processedContent(template, allScenariosPageCollectionClone);
+            final Tag tag,
+            final Writer writer) throws CluecumberPluginException {
+
+        AllScenariosPageCollection allScenariosPageView = allScenariosPageCollection.createFilteredView(
+                allScenariosPageCollection.getMembershipIndex().getElementsWithTag(tag.getId()));
+        allScenariosPageView.setTagFilter(tag);
+        addChartJsonToReportDetails(allScenariosPageView);
+        processContent(template, allScenariosPageView, writer);
     }
 
-    public String getRenderedContentByStepFilter(
+    public void renderContentByStepFilter(
             final AllScenariosPageCollection allScenariosPageCollection,
             final Template template,
-            final Step step) throws CluecumberPluginException {
-
-        AllScenariosPageCollection allScenariosPageCollectionClone = getAllScenariosPageCollectionClone(allScenariosPageCollection);
-        allScenariosPageCollectionClone.setStepFilter(step);
-        allScenariosPageCollectionClone.getReports().forEach(report -> {
-            List<Element> elements = report.getElements()
-                    .stream()
-                    .filter(element -> element.getSteps().contains(step))
-                    .collect(Collectors.toList());
-            report.setElements(elements);
-        });
-        addChartJsonToReportDetails(allScenariosPageCollectionClone);
-        return processedContent(template, allScenariosPageCollectionClone);
+            final Step step,
+            final Writer writer) throws CluecumberPluginException {
+
+        AllScenariosPageCollection allScenariosPageView = allScenariosPageCollection.createFilteredView(
+                allScenariosPageCollection.getMembershipIndex().getElementsWithGlueMethod(step.getGlueMethodId()));
+        allScenariosPageView.setStepFilter(step);
+        addChartJsonToReportDetails(allScenariosPageView);
+        processContent(template, allScenariosPageView, writer);
     }
 
-    public String getRenderedContentByFeatureFilter(
+    public void renderContentByFeatureFilter(
             final AllScenariosPageCollection allScenariosPageCollection,
             final Template template,
-            final Feature feature) throws CluecumberPluginException {
-
-        AllScenariosPageCollection allScenariosPageCollectionClone = getAllScenariosPageCollectionClone(allScenariosPageCollection);
-        allScenariosPageCollectionClone.setFeatureFilter(feature);
-        Report[] reportArray = allScenariosPageCollectionClone.getReports()
-                .stream()
-                .filter(report -> report.getFeatureIndex() == feature.getIndex())
-                .toArray(Report[]::new);
-        allScenariosPageCollectionClone.clearReports();
-        allScenariosPageCollectionClone.addReports(reportArray);
-        addChartJsonToReportDetails(allScenariosPageCollectionClone);
-        return processedContent(template, allScenariosPageCollectionClone);
+            final Feature feature,
+            final Writer writer) throws CluecumberPluginException {
+
+        AllScenariosPageCollection allScenariosPageView = allScenariosPageCollection.createFilteredView(
+                allScenariosPageCollection.getMembershipIndex().getElementsOfFeature(feature.getIndex()));
+        allScenariosPageView.setFeatureFilter(feature);
+        addChartJsonToReportDetails(allScenariosPageView);
+        processContent(template, allScenariosPageView, writer);
     }
 
     private void addChartJsonToReportDetails(final AllScenariosPageCollection allScenariosPageCollection) {
@@ -147,15 +132,4 @@ public class AllScenariosPageRenderer extends PageRenderer {
 
         allScenariosPageCollection.setCustomParameters(customParameters);
     }
-
-    private AllScenariosPageCollection getAllScenariosPageCollectionClone(
-            final AllScenariosPageCollection allScenariosPageCollection) throws CluecumberPluginException {
-        AllScenariosPageCollection clone;
-        try {
-            clone = (AllScenariosPageCollection) allScenariosPageCollection.clone();
-        } catch (CloneNotSupportedException e) {
-            throw new CluecumberPluginException("Clone of AllScenariosPageCollection not supported: " + e.getMessage());
-        }
-        return clone;
-    }
 }
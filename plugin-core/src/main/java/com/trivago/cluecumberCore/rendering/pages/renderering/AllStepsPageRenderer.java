@@ -12,6 +12,7 @@ import com.trivago.cluecumberCore.rendering.pages.pojos.pagecollections.AllSteps
 import freemarker.template.Template;
 
 import javax.inject.Inject;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -30,12 +31,13 @@ public class AllStepsPageRenderer extends PageRenderer {
         this.chartConfiguration = chartConfiguration;
     }
 
-    public String getRenderedContent(
-            final AllStepsPageCollection allStepsPageCollection, final Template template)
+    public void renderContent(
+            final AllStepsPageCollection allStepsPageCollection, final Template template,
+            final Writer writer)
             throws CluecumberPluginException {
 
         addChartJsonToReportDetails(allStepsPageCollection);
-        return processedContent(template, allStepsPageCollection);
+        processContent(template, allStepsPageCollection, writer);
     }
 
     private void addChartJsonToReportDetails(final AllStepsPageCollection allTagsPageCollection) {
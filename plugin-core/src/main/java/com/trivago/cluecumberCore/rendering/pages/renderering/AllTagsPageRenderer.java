@@ -29,6 +29,7 @@ import freemarker.template.Template;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -47,12 +48,13 @@ public class AllTagsPageRenderer extends PageRenderer {
         this.chartConfiguration = chartConfiguration;
     }
 
-    public String getRenderedContent(
-            final AllTagsPageCollection allTagsPageCollection, final Template template)
+    public void renderContent(
+            final AllTagsPageCollection allTagsPageCollection, final Template template,
+            final Writer writer)
             throws CluecumberPluginException {
 
         addChartJsonToReportDetails(allTagsPageCollection);
-        return processedContent(template, allTagsPageCollection);
+        processContent(template, allTagsPageCollection, writer);
     }
 
     private void addChartJsonToReportDetails(final AllTagsPageCollection allTagsPageCollection) {
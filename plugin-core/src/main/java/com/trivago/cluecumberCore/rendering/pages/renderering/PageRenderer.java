@@ -25,7 +25,6 @@ import freemarker.template.TemplateException;
 
 import javax.inject.Inject;
 import java.io.IOException;
-import java.io.StringWriter;
 import java.io.Writer;
 
 public class PageRenderer {
@@ -38,23 +37,20 @@ public class PageRenderer {
     }
 
     /**
-     * Return the completely rendered template content using a page collection.
+     * Render the template content using a page collection.
      *
      * @param template       The Freemarker template.
      * @param pageCollection The page collection to take the data from.
-     * @return The fully rendered content.
+     * @param writer         The {@link Writer} that receives the rendered content.
      * @throws CluecumberPluginException In case of a rendering error.
      */
-    public String processedContent(final Template template, final PageCollection pageCollection)
+    public void processContent(final Template template, final PageCollection pageCollection, final Writer writer)
             throws CluecumberPluginException {
-
-        Writer stringWriter = new StringWriter();
         try {
-            template.process(pageCollection, stringWriter);
+            template.process(pageCollection, writer);
         } catch (TemplateException | IOException e) {
             throw new CluecumberPluginException("Could not render page content: " + e.getMessage());
         }
-        return stringWriter.toString();
     }
 
     String convertChartToJson(final Chart chart) {
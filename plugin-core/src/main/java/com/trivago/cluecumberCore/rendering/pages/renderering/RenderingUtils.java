@@ -17,6 +17,7 @@
 package com.trivago.cluecumberCore.rendering.pages.renderering;
 
 import java.time.Duration;
+import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
@@ -26,6 +27,11 @@ import java.util.stream.IntStream;
 
 public class RenderingUtils {
     private static final int MICROSECOND_FACTOR = 1000000;
+    private static final long NANOSECONDS_PER_SECOND = 1000000000L;
+    private static final DateTimeFormatter DATE_FORMATTER =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd").withZone(ZoneId.systemDefault());
+    private static final DateTimeFormatter TIME_FORMATTER =
+            DateTimeFormatter.ofPattern("HH:mm:ss").withZone(ZoneId.systemDefault());
     private static final Pattern URL_PATTERN = Pattern.compile("(file.*)|((ftp|http|https)://(\\w+:?\\w*@)?(\\S+)(:[0-9]+)?(/|/([\\w#!:.?+=&%@\\-/]))?)");
 
     /**
@@ -117,10 +123,44 @@ public class RenderingUtils {
         }
     }
 
+    /**
+     * Return the nanoseconds since the epoch of a {@link ZonedDateTime}.
+     *
+     * @param zonedDateTime the {@link ZonedDateTime}.
+     * @return the nanoseconds since 1970-01-01T00:00:00Z.
+     */
+    public static long convertZonedDateTimeToEpochNanoseconds(final ZonedDateTime zonedDateTime) {
+        Instant instant = zonedDateTime.toInstant();
+        return instant.getEpochSecond() * NANOSECONDS_PER_SECOND + instant.getNano();
+    }
+
+    /**
+     * Return a {@link ZonedDateTime} in the given zone from nanoseconds since the epoch.
+     *
+     * @param epochNanoseconds the nanoseconds since 1970-01-01T00:00:00Z.
+     * @param zone             the zone or offset of the result, e.g. the one of the original timestamp.
+     * @return the converted {@link ZonedDateTime}.
+     */
+    public static ZonedDateTime convertEpochNanosecondsToZonedDateTime(final long epochNanoseconds, final ZoneId zone) {
+        return toInstant(epochNanoseconds).atZone(zone);
+    }
+
+    public static String convertEpochNanosecondsToDateString(final long epochNanoseconds) {
+        return DATE_FORMATTER.format(toInstant(epochNanoseconds));
+    }
+
+    public static String convertEpochNanosecondsToTimeString(final long epochNanoseconds) {
+        return TIME_FORMATTER.format(toInstant(epochNanoseconds));
+    }
+
+    private static Instant toInstant(final long epochNanoseconds) {
+        return Instant.ofEpochSecond(Math.floorDiv(epochNanoseconds, NANOSECONDS_PER_SECOND),
+                Math.floorMod(epochNanoseconds, NANOSECONDS_PER_SECOND));
+    }
+
     public static String convertZonedDateTimeToDateString(final ZonedDateTime startDateTime) {
         try {
-            return startDateTime.withZoneSameInstant(ZoneId.systemDefault()).
-                    format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+            return DATE_FORMATTER.format(startDateTime);
         } catch (Exception ignored) {
         }
         return "";
@@ -128,8 +168,7 @@ public class RenderingUtils {
 
     public static String convertZonedDateTimeToTimeString(final ZonedDateTime startDateTime) {
         try {
-            return startDateTime.withZoneSameInstant(ZoneId.systemDefault()).
-                    format(DateTimeFormatter.ofPattern("HH:mm:ss"));
+            return TIME_FORMATTER.format(startDateTime);
         } catch (Exception ignored) {
         }
         return "";
@@ -19,9 +19,13 @@ package com.trivago.cluecumberCore.rendering.pages.renderering;
 import com.trivago.cluecumberCore.constants.ChartConfiguration;
 import com.trivago.cluecumberCore.constants.Status;
 import com.trivago.cluecumberCore.exceptions.CluecumberPluginException;
+import com.trivago.cluecumberCore.exceptions.filesystem.MissingFileException;
+import com.trivago.cluecumberCore.filesystem.FileIO;
 import com.trivago.cluecumberCore.json.pojo.Element;
+import com.trivago.cluecumberCore.json.pojo.Embedding;
 import com.trivago.cluecumberCore.json.pojo.ResultMatch;
 import com.trivago.cluecumberCore.json.pojo.Step;
+import com.trivago.cluecumberCore.logging.LoggerUtils;
 import com.trivago.cluecumberCore.properties.PropertyManager;
 import com.trivago.cluecumberCore.rendering.pages.charts.ChartJsonConverter;
 import com.trivago.cluecumberCore.rendering.pages.charts.StackedBarChartBuilder;
@@ -31,6 +35,7 @@ import freemarker.template.Template;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -41,27 +46,63 @@ import java.util.stream.Collectors;
 public class ScenarioDetailsPageRenderer extends PageRenderer {
     private final ChartConfiguration chartConfiguration;
     private PropertyManager propertyManager;
+    private final FileIO fileIO;
 
     @Inject
     public ScenarioDetailsPageRenderer(
             final ChartJsonConverter chartJsonConverter,
             final ChartConfiguration chartConfiguration,
-            final PropertyManager propertyManager) {
+            final PropertyManager propertyManager,
+            final FileIO fileIO) {
         super(chartJsonConverter);
         this.chartConfiguration = chartConfiguration;
         this.propertyManager = propertyManager;
+        this.fileIO = fileIO;
     }
 
-    public String getRenderedContent(
+    public void renderContent(
             final ScenarioDetailsPageCollection scenarioDetailsPageCollection,
-            final Template template) throws CluecumberPluginException {
+            final Template template,
+            final Writer writer) throws CluecumberPluginException {
 
         scenarioDetailsPageCollection.setExpandBeforeAfterHooks(propertyManager.isExpandBeforeAfterHooks());
         scenarioDetailsPageCollection.setExpandStepHooks(propertyManager.isExpandStepHooks());
         scenarioDetailsPageCollection.setExpandDocStrings(propertyManager.isExpandDocStrings());
 
         addChartJsonToReportDetails(scenarioDetailsPageCollection);
-        return processedContent(template, scenarioDetailsPageCollection);
+        loadTextAttachments(scenarioDetailsPageCollection);
+        processContent(template, scenarioDetailsPageCollection, writer);
+    }
+
+    /**
+     * Read the text attachments of a scenario from their attachment files and add them to its page.
+     * Attachments larger than the configured inline size are not loaded, the page only references their files.
+     *
+     * @param scenarioDetailsPageCollection The {@link ScenarioDetailsPageCollection} of the scenario.
+     */
+    private void loadTextAttachments(final ScenarioDetailsPageCollection scenarioDetailsPageCollection) {
+        int maximumInlineBytes = (int) Math.min(Integer.MAX_VALUE - 1,
+                propertyManager.getMaximumInlineTextAttachmentSize() * 1024L);
+        if (maximumInlineBytes == 0) {
+            return;
+        }
+        for (Embedding embedding : scenarioDetailsPageCollection.getElement().getAllEmbeddings()) {
+            if (!embedding.isText() || embedding.getFilename() == null
+                    || scenarioDetailsPageCollection.hasAttachmentText(embedding)) {
+                continue;
+            }
+            String attachmentPath =
+                    propertyManager.getGeneratedHtmlReportDirectory() + "/attachments/" + embedding.getFilename();
+            try {
+                byte[] dataBytes = fileIO.readBytesFromFile(attachmentPath, maximumInlineBytes + 1);
+                if (dataBytes.length > maximumInlineBytes) {
+                    continue;
+                }
+                scenarioDetailsPageCollection.addAttachmentText(embedding, embedding.returnDisplayText(dataBytes));
+            } catch (MissingFileException e) {
+                LoggerUtils.warn("Could not read attachment " + embedding.getFilename() + ": " + e.getMessage());
+            }
+        }
     }
 
     private void addChartJsonToReportDetails(final ScenarioDetailsPageCollection scenarioDetailsPageCollection) {
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2019 trivago N.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.trivago.cluecumberCore.rendering.pages.templates;
+
+import freemarker.core.Environment;
+import freemarker.template.TemplateBooleanModel;
+import freemarker.template.TemplateDirectiveBody;
+import freemarker.template.TemplateDirectiveModel;
+import freemarker.template.TemplateException;
+import freemarker.template.TemplateModel;
+import freemarker.template.TemplateModelException;
+import freemarker.template.TemplateNumberModel;
+import freemarker.template.TemplateScalarModel;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The template directive that renders shared layout fragments only once.
+ * The output of its nested content is reused for all pages that call it with the same parameters,
+ * so the parameters have to contain all values that the nested content depends on, e.g.
+ * {@code <@layoutFragment name="navigation" highlight=highlight>...</@layoutFragment>}.
+ */
+public class LayoutFragments implements TemplateDirectiveModel {
+
+    private final Map<String, String> fragments = new ConcurrentHashMap<>();
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public void execute(final Environment environment, final Map params, final TemplateModel[] loopVars,
+                        final TemplateDirectiveBody body) throws TemplateException, IOException {
+        if (body == null) {
+            throw new TemplateModelException("The layout fragment directive needs nested content.");
+        }
+        String key = createKey(params);
+        String fragment = fragments.get(key);
+        if (fragment == null) {
+            StringWriter writer = new StringWriter();
+            body.render(writer);
+            fragment = writer.toString();
+            fragments.putIfAbsent(key, fragment);
+        }
+        environment.getOut().write(fragment);
+    }
+
+    /**
+     * Remove all rendered fragments, e.g. before a report is generated again.
+     */
+    public void clear() {
+        fragments.clear();
+    }
+
+    private String createKey(final Map<?, ?> params) throws TemplateModelException {
+        if (!params.containsKey("name")) {
+            throw new TemplateModelException("The layout fragment directive needs a name parameter.");
+        }
+        StringBuilder key = new StringBuilder();
+        for (Map.Entry<?, ?> param : new TreeMap<>(params).entrySet()) {
+            key.append(param.getKey()).append('=').append(toKeyValue((TemplateModel) param.getValue())).append('\u0000');
+        }
+        return key.toString();
+    }
+
+    private String toKeyValue(final TemplateModel value) throws TemplateModelException {
+        if (value instanceof TemplateScalarModel) {
+            return ((TemplateScalarModel) value).getAsString();
+        }
+        if (value instanceof TemplateBooleanModel) {
+            return String.valueOf(((TemplateBooleanModel) value).getAsBoolean());
+        }
+        if (value instanceof TemplateNumberModel) {
+            return String.valueOf(((TemplateNumberModel) value).getAsNumber());
+        }
+        throw new TemplateModelException("Layout fragment parameters must be strings, numbers or booleans.");
+    }
+}
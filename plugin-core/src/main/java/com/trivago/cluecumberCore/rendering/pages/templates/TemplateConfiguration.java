@@ -19,6 +19,7 @@ package com.trivago.cluecumberCore.rendering.pages.templates;
 import com.trivago.cluecumberCore.constants.PluginSettings;
 import com.trivago.cluecumberCore.exceptions.CluecumberPluginException;
 import freemarker.template.Configuration;
+import freemarker.template.DefaultObjectWrapperBuilder;
 import freemarker.template.Template;
 import freemarker.template.TemplateExceptionHandler;
 
@@ -26,15 +27,28 @@ import javax.inject.Singleton;
 
 @Singleton
 public class TemplateConfiguration {
+    private final LayoutFragments layoutFragments = new LayoutFragments();
     private Configuration cfg;
 
     public void init(final String basePath) {
         cfg = new Configuration(Configuration.VERSION_2_3_29);
         cfg.setClassForTemplateLoading(this.getClass(), basePath);
         cfg.setDefaultEncoding("UTF-8");
+        DefaultObjectWrapperBuilder objectWrapperBuilder = new DefaultObjectWrapperBuilder(Configuration.VERSION_2_3_29);
+        // Scenarios, steps and hooks are accessed many times per page, so their template models are reused.
+        objectWrapperBuilder.setUseModelCache(true);
+        cfg.setObjectWrapper(objectWrapperBuilder.build());
         cfg.setTemplateExceptionHandler(TemplateExceptionHandler.RETHROW_HANDLER);
         cfg.setWhitespaceStripping(true);
         cfg.setLogTemplateExceptions(false);
+        cfg.setSharedVariable("layoutFragment", layoutFragments);
+    }
+
+    /**
+     * Remove the shared layout fragments that were rendered for a previous report.
+     */
+    public void clearLayoutFragments() {
+        layoutFragments.clear();
     }
 
     public Template getTemplate(final String templateName) throws CluecumberPluginException {
@@ -62,4 +62,11 @@ public class TemplateEngine {
     public freemarker.template.Template getTemplate(final Template template) throws CluecumberPluginException {
         return templateConfiguration.getTemplate(template.fileName);
     }
+
+    /**
+     * Remove the shared layout fragments that were rendered for a previous report.
+     */
+    public void clearLayoutFragments() {
+        templateConfiguration.clearLayoutFragments();
+    }
 }
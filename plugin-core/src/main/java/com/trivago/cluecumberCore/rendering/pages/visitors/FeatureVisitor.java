@@ -2,7 +2,6 @@ package com.trivago.cluecumberCore.rendering.pages.visitors;
 
 import com.trivago.cluecumberCore.constants.PluginSettings;
 import com.trivago.cluecumberCore.exceptions.CluecumberPluginException;
-import com.trivago.cluecumberCore.filesystem.FileIO;
 import com.trivago.cluecumberCore.properties.PropertyManager;
 import com.trivago.cluecumberCore.rendering.pages.pojos.Feature;
 import com.trivago.cluecumberCore.rendering.pages.pojos.pagecollections.AllFeaturesPageCollection;
@@ -20,7 +19,7 @@ import static com.trivago.cluecumberCore.rendering.pages.templates.TemplateEngin
 @Singleton
 public class FeatureVisitor implements PageVisitor {
 
-    private final FileIO fileIO;
+    private final PageWriter pageWriter;
     private final TemplateEngine templateEngine;
     private final PropertyManager propertyManager;
     private final AllFeaturesPageRenderer allFeaturesPageRenderer;
@@ -28,13 +27,13 @@ public class FeatureVisitor implements PageVisitor {
 
     @Inject
     public FeatureVisitor(
-            final FileIO fileIO,
+            final PageWriter pageWriter,
             final TemplateEngine templateEngine,
             final PropertyManager propertyManager,
             final AllFeaturesPageRenderer allFeaturesPageRenderer,
             final AllScenariosPageRenderer allScenariosPageRenderer
     ) {
-        this.fileIO = fileIO;
+        this.pageWriter = pageWriter;
         this.templateEngine = templateEngine;
         this.propertyManager = propertyManager;
         this.allFeaturesPageRenderer = allFeaturesPageRenderer;
@@ -42,24 +41,29 @@ public class FeatureVisitor implements PageVisitor {
     }
 
     @Override
-    public void visit(final AllScenariosPageCollection allScenariosPageCollection) throws CluecumberPluginException {
+    public void visit(final AllScenariosPageCollection allScenariosPageCollection, final PageSelection pageSelection)
+            throws CluecumberPluginException {
         AllFeaturesPageCollection allFeaturesPageCollection =
-                new AllFeaturesPageCollection(allScenariosPageCollection.getReports(), propertyManager.getCustomPageTitle());
+                new AllFeaturesPageCollection(allScenariosPageCollection.getAggregation(), propertyManager.getCustomPageTitle());
 
         // All features summary page
-        fileIO.writeContentToFile(
-                allFeaturesPageRenderer.getRenderedContent(allFeaturesPageCollection,
-                        templateEngine.getTemplate(ALL_FEATURES)),
+        pageWriter.writePage(writer ->
+                allFeaturesPageRenderer.renderContent(allFeaturesPageCollection,
+                        templateEngine.getTemplate(ALL_FEATURES), writer),
                 propertyManager.getGeneratedHtmlReportDirectory() + "/" + PluginSettings.PAGES_DIRECTORY + "/" +
                         PluginSettings.FEATURE_SUMMARY_PAGE_PATH + PluginSettings.HTML_FILE_EXTENSION);
 
         // Scenarios by feature pages
         for (Feature feature : allFeaturesPageCollection.getFeatures()) {
-            fileIO.writeContentToFile(
-                    allScenariosPageRenderer.getRenderedContentByFeatureFilter(
+            if (!pageSelection.includesFeature(feature)) {
+                continue;
+            }
+            pageWriter.writePage(writer ->
+                    allScenariosPageRenderer.renderContentByFeatureFilter(
                             allScenariosPageCollection,
                             templateEngine.getTemplate(ALL_SCENARIOS),
-                            feature
+                            feature,
+                            writer
                     ),
                     propertyManager.getGeneratedHtmlReportDirectory() + "/" +
                             PluginSettings.PAGES_DIRECTORY + PluginSettings.FEATURE_SCENARIOS_PAGE_FRAGMENT +
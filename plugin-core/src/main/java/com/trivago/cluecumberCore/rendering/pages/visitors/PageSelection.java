@@ -0,0 +1,114 @@
+/*
+ * Copyright 2019 trivago N.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.trivago.cluecumberCore.rendering.pages.visitors;
+
+import com.trivago.cluecumberCore.json.pojo.Element;
+import com.trivago.cluecumberCore.json.pojo.Step;
+import com.trivago.cluecumberCore.json.pojo.Tag;
+import com.trivago.cluecumberCore.rendering.pages.pojos.Feature;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The scenario, feature, tag and step pages that have to be rendered by the {@link PageVisitor}s.
+ * Summary pages do not depend on a selection and are always rendered.
+ * Pages that no longer belong to the report are selected for removal.
+ */
+public class PageSelection {
+    /**
+     * Selects every page of the report.
+     */
+    public static final PageSelection ALL_PAGES = new PageSelection(true);
+
+    private final boolean allPages;
+    private final Set<Element> scenarios = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final BitSet featureIndices = new BitSet();
+    private final BitSet tagIds = new BitSet();
+    private final BitSet glueMethodIds = new BitSet();
+    private final List<String> removedPages = new ArrayList<>();
+
+    public PageSelection() {
+        this(false);
+    }
+
+    private PageSelection(final boolean allPages) {
+        this.allPages = allPages;
+    }
+
+    /**
+     * Select the detail page of a scenario.
+     *
+     * @param element The {@link Element} of the scenario.
+     */
+    public void addScenario(final Element element) {
+        scenarios.add(element);
+    }
+
+    /**
+     * Select all feature, tag and step pages that list a scenario.
+     *
+     * @param element      The {@link Element} of the scenario.
+     * @param featureIndex The index of the feature page that lists the scenario.
+     */
+    public void addPagesListing(final Element element, final int featureIndex) {
+        featureIndices.set(featureIndex);
+        for (Tag tag : element.getTags()) {
+            tagIds.set(tag.getId());
+        }
+        for (Step step : element.getSteps()) {
+            glueMethodIds.set(step.getGlueMethodId());
+        }
+    }
+
+    /**
+     * Select a previously rendered page for removal.
+     *
+     * @param pagePath The path of the page, relative to the report directory.
+     */
+    public void addRemovedPage(final String pagePath) {
+        removedPages.add(pagePath);
+    }
+
+    public List<String> getRemovedPages() {
+        return removedPages;
+    }
+
+    public boolean includesScenario(final Element element) {
+        return allPages || scenarios.contains(element);
+    }
+
+    public boolean includesFeature(final Feature feature) {
+        return allPages || featureIndices.get(feature.getIndex());
+    }
+
+    public boolean includesTag(final Tag tag) {
+        return allPages || tagIds.get(tag.getId());
+    }
+
+    public boolean includesStep(final Step step) {
+        return allPages || glueMethodIds.get(step.getGlueMethodId());
+    }
+
+    public boolean isEmpty() {
+        return !allPages && scenarios.isEmpty() && featureIndices.isEmpty() && removedPages.isEmpty();
+    }
+}
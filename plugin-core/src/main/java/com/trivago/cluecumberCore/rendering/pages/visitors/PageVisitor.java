@@ -4,5 +4,10 @@ import com.trivago.cluecumberCore.exceptions.CluecumberPluginException;
 import com.trivago.cluecumberCore.rendering.pages.pojos.pagecollections.AllScenariosPageCollection;
 
 public interface PageVisitor {
-    void visit(final AllScenariosPageCollection pageCollection) throws CluecumberPluginException;
+    default void visit(final AllScenariosPageCollection pageCollection) throws CluecumberPluginException {
+        visit(pageCollection, PageSelection.ALL_PAGES);
+    }
+
+    void visit(final AllScenariosPageCollection pageCollection, final PageSelection pageSelection)
+            throws CluecumberPluginException;
 }
@@ -0,0 +1,143 @@
+package com.trivago.cluecumberCore.rendering.pages.visitors;
+
+import com.trivago.cluecumberCore.exceptions.CluecumberPluginException;
+import com.trivago.cluecumberCore.filesystem.FileIO;
+import com.trivago.cluecumberCore.properties.PropertyManager;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Renders pages and streams them to their files, either directly or on worker threads.
+ * With more than one rendering thread, pages of all visitors are rendered concurrently until {@link #awaitCompletion()}
+ * is called. Every page only depends on read-only report data and is written to its own file, so the generated report
+ * does not depend on the order in which the pages are finished.
+ * If pages fail, the failure of the page that was submitted first is reported.
+ */
+@Singleton
+public class PageWriter {
+
+    // Number of pages that may be queued per rendering thread before submitting threads are blocked.
+    private static final int PENDING_PAGES_PER_THREAD = 4;
+
+    private final FileIO fileIO;
+    private final PropertyManager propertyManager;
+    // Guards the failure fields separately, so workers never wait for a thread that waits for them.
+    private final Object failureLock = new Object();
+
+    private ExecutorService executorService;
+    private Semaphore pendingPages;
+    private int maximumPendingPages;
+    private long submittedPages;
+    private long firstFailedPage;
+    private CluecumberPluginException firstFailure;
+
+    @Inject
+    public PageWriter(final FileIO fileIO, final PropertyManager propertyManager) {
+        this.fileIO = fileIO;
+        this.propertyManager = propertyManager;
+    }
+
+    /**
+     * Render a page and write it to a file.
+     * With a single rendering thread this happens immediately, otherwise on one of the rendering threads.
+     *
+     * @param contentWriter The {@link FileIO.ContentWriter} that renders the content.
+     * @param filePath      The complete path of the target file.
+     * @throws CluecumberPluginException In case the page cannot be rendered or written (single rendering thread only).
+     */
+    public void writePage(final FileIO.ContentWriter contentWriter, final String filePath)
+            throws CluecumberPluginException {
+        int threads = propertyManager.getNumberOfRenderingThreads();
+        if (threads <= 1) {
+            fileIO.writeContentToFile(contentWriter, filePath);
+            return;
+        }
+        submit(threads, contentWriter, filePath);
+    }
+
+    /**
+     * Wait until all submitted pages are written and stop the rendering threads.
+     *
+     * @throws CluecumberPluginException The failure of the first submitted page that could not be written.
+     */
+    public void awaitCompletion() throws CluecumberPluginException {
+        CluecumberPluginException failure;
+        synchronized (this) {
+            if (executorService == null) {
+                return;
+            }
+            try {
+                pendingPages.acquire(maximumPendingPages);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CluecumberPluginException("Rendering pages was interrupted.");
+            } finally {
+                executorService.shutdownNow();
+                executorService = null;
+            }
+            submittedPages = 0;
+        }
+        synchronized (failureLock) {
+            failure = firstFailure;
+            firstFailure = null;
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private synchronized void submit(final int threads, final FileIO.ContentWriter contentWriter, final String filePath)
+            throws CluecumberPluginException {
+        if (executorService == null) {
+            maximumPendingPages = threads * PENDING_PAGES_PER_THREAD;
+            pendingPages = new Semaphore(maximumPendingPages);
+            executorService = Executors.newFixedThreadPool(threads, new RenderingThreadFactory());
+        }
+        try {
+            pendingPages.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CluecumberPluginException("Rendering pages was interrupted.");
+        }
+        long pageNumber = submittedPages++;
+        Semaphore permits = pendingPages;
+        executorService.execute(() -> {
+            try {
+                fileIO.writeContentToFile(contentWriter, filePath);
+            } catch (CluecumberPluginException e) {
+                recordFailure(pageNumber, e);
+            } catch (RuntimeException e) {
+                recordFailure(pageNumber, new CluecumberPluginException(
+                        "Could not render page " + filePath + ": " + e.getMessage()));
+            } finally {
+                permits.release();
+            }
+        });
+    }
+
+    private void recordFailure(final long pageNumber, final CluecumberPluginException failure) {
+        synchronized (failureLock) {
+            if (firstFailure == null || pageNumber < firstFailedPage) {
+                firstFailure = failure;
+                firstFailedPage = pageNumber;
+            }
+        }
+    }
+
+    private static class RenderingThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            Thread thread = new Thread(runnable, "cluecumber-rendering-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -2,7 +2,6 @@ package com.trivago.cluecumberCore.rendering.pages.visitors;
 
 import com.trivago.cluecumberCore.constants.PluginSettings;
 import com.trivago.cluecumberCore.exceptions.CluecumberPluginException;
-import com.trivago.cluecumberCore.filesystem.FileIO;
 import com.trivago.cluecumberCore.json.pojo.Element;
 import com.trivago.cluecumberCore.json.pojo.Report;
 import com.trivago.cluecumberCore.properties.PropertyManager;
@@ -20,7 +19,7 @@ import static com.trivago.cluecumberCore.rendering.pages.templates.TemplateEngin
 @Singleton
 public class ScenarioVisitor implements PageVisitor {
 
-    private final FileIO fileIO;
+    private final PageWriter pageWriter;
     private final TemplateEngine templateEngine;
     private final PropertyManager propertyManager;
     private final AllScenariosPageRenderer allScenariosPageRenderer;
@@ -28,13 +27,13 @@ public class ScenarioVisitor implements PageVisitor {
 
     @Inject
     public ScenarioVisitor(
-            final FileIO fileIO,
+            final PageWriter pageWriter,
             final TemplateEngine templateEngine,
             final PropertyManager propertyManager,
             final AllScenariosPageRenderer allScenariosPageRenderer,
             final ScenarioDetailsPageRenderer scenarioDetailsPageRenderer
     ) {
-        this.fileIO = fileIO;
+        this.pageWriter = pageWriter;
         this.templateEngine = templateEngine;
         this.propertyManager = propertyManager;
         this.allScenariosPageRenderer = allScenariosPageRenderer;
@@ -42,32 +41,36 @@ public class ScenarioVisitor implements PageVisitor {
     }
 
     @Override
-    public void visit(final AllScenariosPageCollection allScenariosPageCollection) throws CluecumberPluginException {
+    public void visit(final AllScenariosPageCollection allScenariosPageCollection, final PageSelection pageSelection)
+            throws CluecumberPluginException {
         // All scenarios page
-        fileIO.writeContentToFile(
-                allScenariosPageRenderer.getRenderedContent(allScenariosPageCollection,
-                        templateEngine.getTemplate(ALL_SCENARIOS)),
+        pageWriter.writePage(writer ->
+                allScenariosPageRenderer.renderContent(allScenariosPageCollection,
+                        templateEngine.getTemplate(ALL_SCENARIOS), writer),
                 propertyManager.getGeneratedHtmlReportDirectory() + "/" +
                         PluginSettings.SCENARIO_SUMMARY_PAGE_PATH + PluginSettings.HTML_FILE_EXTENSION);
 
         // Scenario sequence page
-        fileIO.writeContentToFile(
-                allScenariosPageRenderer.getRenderedContent(
+        pageWriter.writePage(writer ->
+                allScenariosPageRenderer.renderContent(
                         allScenariosPageCollection,
-                        templateEngine.getTemplate(SCENARIO_SEQUENCE)
+                        templateEngine.getTemplate(SCENARIO_SEQUENCE),
+                        writer
                 ),
                 propertyManager.getGeneratedHtmlReportDirectory() + "/" + PluginSettings.PAGES_DIRECTORY + "/" +
                         PluginSettings.SCENARIO_SEQUENCE_PAGE_PATH + PluginSettings.HTML_FILE_EXTENSION);
 
         // Scenario detail pages
-        ScenarioDetailsPageCollection scenarioDetailsPageCollection;
         for (Report report : allScenariosPageCollection.getReports()) {
             for (Element element : report.getElements()) {
-                scenarioDetailsPageCollection = new ScenarioDetailsPageCollection(element, propertyManager.getCustomPageTitle());
-                fileIO.writeContentToFile(
-                        scenarioDetailsPageRenderer.getRenderedContent(
-                                scenarioDetailsPageCollection,
-                                templateEngine.getTemplate(SCENARIO_DETAILS)
+                if (!pageSelection.includesScenario(element)) {
+                    continue;
+                }
+                pageWriter.writePage(writer ->
+                        scenarioDetailsPageRenderer.renderContent(
+                                new ScenarioDetailsPageCollection(element, propertyManager.getCustomPageTitle()),
+                                templateEngine.getTemplate(SCENARIO_DETAILS),
+                                writer
                         ),
                         propertyManager.getGeneratedHtmlReportDirectory() + "/" +
                                 PluginSettings.PAGES_DIRECTORY + PluginSettings.SCENARIO_DETAIL_PAGE_FRAGMENT +
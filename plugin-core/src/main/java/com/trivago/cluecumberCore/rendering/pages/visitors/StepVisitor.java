@@ -2,7 +2,6 @@ package com.trivago.cluecumberCore.rendering.pages.visitors;
 
 import com.trivago.cluecumberCore.constants.PluginSettings;
 import com.trivago.cluecumberCore.exceptions.CluecumberPluginException;
-import com.trivago.cluecumberCore.filesystem.FileIO;
 import com.trivago.cluecumberCore.json.pojo.Step;
 import com.trivago.cluecumberCore.properties.PropertyManager;
 import com.trivago.cluecumberCore.rendering.pages.pojos.pagecollections.AllScenariosPageCollection;
@@ -20,7 +19,7 @@ import static com.trivago.cluecumberCore.rendering.pages.templates.TemplateEngin
 @Singleton
 public class StepVisitor implements PageVisitor {
 
-    private final FileIO fileIO;
+    private final PageWriter pageWriter;
     private final TemplateEngine templateEngine;
     private final PropertyManager propertyManager;
     private final AllStepsPageRenderer allStepsPageRenderer;
@@ -28,13 +27,13 @@ public class StepVisitor implements PageVisitor {
 
     @Inject
     public StepVisitor(
-            final FileIO fileIO,
+            final PageWriter pageWriter,
             final TemplateEngine templateEngine,
             final PropertyManager propertyManager,
             final AllStepsPageRenderer allStepsPageRenderer,
             final AllScenariosPageRenderer allScenariosPageRenderer
     ) {
-        this.fileIO = fileIO;
+        this.pageWriter = pageWriter;
         this.templateEngine = templateEngine;
         this.propertyManager = propertyManager;
         this.allStepsPageRenderer = allStepsPageRenderer;
@@ -42,25 +41,30 @@ public class StepVisitor implements PageVisitor {
     }
 
     @Override
-    public void visit(final AllScenariosPageCollection allScenariosPageCollection) throws CluecumberPluginException {
+    public void visit(final AllScenariosPageCollection allScenariosPageCollection, final PageSelection pageSelection)
+            throws CluecumberPluginException {
         AllStepsPageCollection allStepsPageCollection = new AllStepsPageCollection(
-                allScenariosPageCollection.getReports(), propertyManager.getCustomPageTitle()
+                allScenariosPageCollection.getAggregation(), propertyManager.getCustomPageTitle()
         );
 
         // All steps page
-        fileIO.writeContentToFile(
-                allStepsPageRenderer.getRenderedContent(
+        pageWriter.writePage(writer ->
+                allStepsPageRenderer.renderContent(
                         allStepsPageCollection,
-                        templateEngine.getTemplate(ALL_STEPS)
+                        templateEngine.getTemplate(ALL_STEPS),
+                        writer
                 ),
                 propertyManager.getGeneratedHtmlReportDirectory() + "/" + PluginSettings.PAGES_DIRECTORY + "/" +
                         PluginSettings.STEP_SUMMARY_PAGE_PATH + PluginSettings.HTML_FILE_EXTENSION);
 
         // Scenarios by step pages
         for (Step step : allStepsPageCollection.getSteps()) {
-            fileIO.writeContentToFile(
-                    allScenariosPageRenderer.getRenderedContentByStepFilter(
-                            allScenariosPageCollection, templateEngine.getTemplate(ALL_SCENARIOS), step),
+            if (!pageSelection.includesStep(step)) {
+                continue;
+            }
+            pageWriter.writePage(writer ->
+                    allScenariosPageRenderer.renderContentByStepFilter(
+                            allScenariosPageCollection, templateEngine.getTemplate(ALL_SCENARIOS), step, writer),
                     propertyManager.getGeneratedHtmlReportDirectory() + "/" +
                             PluginSettings.PAGES_DIRECTORY + PluginSettings.STEP_SCENARIO_PAGE_FRAGMENT +
                             step.getUrlFriendlyName() + PluginSettings.HTML_FILE_EXTENSION);
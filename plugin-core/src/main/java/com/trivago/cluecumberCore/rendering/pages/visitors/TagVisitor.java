@@ -2,7 +2,6 @@ package com.trivago.cluecumberCore.rendering.pages.visitors;
 
 import com.trivago.cluecumberCore.constants.PluginSettings;
 import com.trivago.cluecumberCore.exceptions.CluecumberPluginException;
-import com.trivago.cluecumberCore.filesystem.FileIO;
 import com.trivago.cluecumberCore.json.pojo.Tag;
 import com.trivago.cluecumberCore.properties.PropertyManager;
 import com.trivago.cluecumberCore.rendering.pages.pojos.pagecollections.AllScenariosPageCollection;
@@ -20,7 +19,7 @@ import static com.trivago.cluecumberCore.rendering.pages.templates.TemplateEngin
 @Singleton
 public class TagVisitor implements PageVisitor {
 
-    private final FileIO fileIO;
+    private final PageWriter pageWriter;
     private final TemplateEngine templateEngine;
     private final PropertyManager propertyManager;
     private final AllTagsPageRenderer allTagsPageRenderer;
@@ -28,13 +27,13 @@ public class TagVisitor implements PageVisitor {
 
     @Inject
     public TagVisitor(
-            final FileIO fileIO,
+            final PageWriter pageWriter,
             final TemplateEngine templateEngine,
             final PropertyManager propertyManager,
             final AllTagsPageRenderer allTagsPageRenderer,
             final AllScenariosPageRenderer allScenariosPageRenderer
     ) {
-        this.fileIO = fileIO;
+        this.pageWriter = pageWriter;
         this.templateEngine = templateEngine;
         this.propertyManager = propertyManager;
         this.allTagsPageRenderer = allTagsPageRenderer;
@@ -42,25 +41,30 @@ public class TagVisitor implements PageVisitor {
     }
 
     @Override
-    public void visit(final AllScenariosPageCollection allScenariosPageCollection) throws CluecumberPluginException {
+    public void visit(final AllScenariosPageCollection allScenariosPageCollection, final PageSelection pageSelection)
+            throws CluecumberPluginException {
         AllTagsPageCollection allTagsPageCollection = new AllTagsPageCollection(
-                allScenariosPageCollection.getReports(), propertyManager.getCustomPageTitle()
+                allScenariosPageCollection.getAggregation().getMembershipIndex(), propertyManager.getCustomPageTitle()
         );
 
         // All tags page
-        fileIO.writeContentToFile(
-                allTagsPageRenderer.getRenderedContent(
+        pageWriter.writePage(writer ->
+                allTagsPageRenderer.renderContent(
                         allTagsPageCollection,
-                        templateEngine.getTemplate(ALL_TAGS)
+                        templateEngine.getTemplate(ALL_TAGS),
+                        writer
                 ),
                 propertyManager.getGeneratedHtmlReportDirectory() + "/" + PluginSettings.PAGES_DIRECTORY + "/" +
                         PluginSettings.TAG_SUMMARY_PAGE_PATH + PluginSettings.HTML_FILE_EXTENSION);
 
         // Scenarios by tag pages
         for (Tag tag : allTagsPageCollection.getTags()) {
-            fileIO.writeContentToFile(
-                    allScenariosPageRenderer.getRenderedContentByTagFilter(
-                            allScenariosPageCollection, templateEngine.getTemplate(ALL_SCENARIOS), tag),
+            if (!pageSelection.includesTag(tag)) {
+                continue;
+            }
+            pageWriter.writePage(writer ->
+                    allScenariosPageRenderer.renderContentByTagFilter(
+                            allScenariosPageCollection, templateEngine.getTemplate(ALL_SCENARIOS), tag, writer),
                     propertyManager.getGeneratedHtmlReportDirectory() + "/" +
                             PluginSettings.PAGES_DIRECTORY + PluginSettings.TAG_SCENARIO_PAGE_FRAGMENT +
                             tag.getUrlFriendlyName() + PluginSettings.HTML_FILE_EXTENSION);
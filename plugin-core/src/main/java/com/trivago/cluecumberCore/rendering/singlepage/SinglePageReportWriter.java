@@ -0,0 +1,343 @@
+/*
+ * Copyright 2019 trivago N.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.trivago.cluecumberCore.rendering.singlepage;
+
+import com.google.gson.stream.JsonWriter;
+import com.trivago.cluecumberCore.constants.PluginSettings;
+import com.trivago.cluecumberCore.constants.Status;
+import com.trivago.cluecumberCore.exceptions.CluecumberPluginException;
+import com.trivago.cluecumberCore.filesystem.FileIO;
+import com.trivago.cluecumberCore.json.pojo.Element;
+import com.trivago.cluecumberCore.json.pojo.Embedding;
+import com.trivago.cluecumberCore.json.pojo.Report;
+import com.trivago.cluecumberCore.json.pojo.ResultMatch;
+import com.trivago.cluecumberCore.json.pojo.Row;
+import com.trivago.cluecumberCore.json.pojo.Step;
+import com.trivago.cluecumberCore.json.pojo.Tag;
+import com.trivago.cluecumberCore.properties.PropertyManager;
+import com.trivago.cluecumberCore.rendering.pages.pojos.Feature;
+import com.trivago.cluecumberCore.rendering.pages.pojos.ReportDetails;
+import com.trivago.cluecumberCore.rendering.pages.pojos.ResultCount;
+import com.trivago.cluecumberCore.rendering.pages.pojos.Times;
+import com.trivago.cluecumberCore.rendering.pages.pojos.pagecollections.AllScenariosPageCollection;
+import com.trivago.cluecumberCore.rendering.pages.pojos.pagecollections.ReportAggregation;
+import com.trivago.cluecumberCore.rendering.pages.pojos.pagecollections.ScenarioMembershipIndex;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the data files of the single page report.
+ * The report summary with all scenarios, tags, steps and features is written to one data file,
+ * the details of the scenarios are written to data files of {@value #SCENARIOS_PER_DATA_FILE} scenarios each
+ * that the report page loads when a scenario is opened.
+ * The data files are JavaScript files so they can be loaded by a report that is opened from the file system.
+ */
+@Singleton
+public class SinglePageReportWriter {
+    static final int SCENARIOS_PER_DATA_FILE = 500;
+    private static final int[] PERCENTILES = {50, 95, 99};
+
+    private final FileIO fileIO;
+    private final PropertyManager propertyManager;
+
+    @Inject
+    public SinglePageReportWriter(final FileIO fileIO, final PropertyManager propertyManager) {
+        this.fileIO = fileIO;
+        this.propertyManager = propertyManager;
+    }
+
+    /**
+     * Write the report data and all scenario detail data files.
+     *
+     * @param allScenariosPageCollection The aggregated {@link AllScenariosPageCollection}.
+     * @throws CluecumberPluginException In case a data file cannot be written.
+     */
+    public void writeReportData(final AllScenariosPageCollection allScenariosPageCollection)
+            throws CluecumberPluginException {
+        List<Element> elements = new ArrayList<>();
+        List<Report> reportsOfElements = new ArrayList<>();
+        for (Report report : allScenariosPageCollection.getReports()) {
+            for (Element element : report.getElements()) {
+                elements.add(element);
+                reportsOfElements.add(report);
+            }
+        }
+
+        String dataDirectory = propertyManager.getGeneratedHtmlReportDirectory() + "/" +
+                PluginSettings.SINGLE_PAGE_DATA_DIRECTORY;
+        fileIO.writeContentToFile(writer -> writeSummary(allScenariosPageCollection, elements, reportsOfElements, writer),
+                dataDirectory + "/" + PluginSettings.SINGLE_PAGE_REPORT_DATA_FILE);
+
+        for (int chunk = 0; chunk * SCENARIOS_PER_DATA_FILE < elements.size(); chunk++) {
+            int start = chunk * SCENARIOS_PER_DATA_FILE;
+            List<Element> chunkElements =
+                    elements.subList(start, Math.min(elements.size(), start + SCENARIOS_PER_DATA_FILE));
+            final int chunkIndex = chunk;
+            fileIO.writeContentToFile(writer -> writeScenarioDetails(chunkIndex, chunkElements, writer),
+                    dataDirectory + "/" + PluginSettings.SINGLE_PAGE_SCENARIO_DATA_FILE_PREFIX + chunk + ".js");
+        }
+    }
+
+    private void writeSummary(final AllScenariosPageCollection allScenariosPageCollection,
+                              final List<Element> elements, final List<Report> reportsOfElements,
+                              final Writer writer) throws IOException {
+        ReportAggregation aggregation = allScenariosPageCollection.getAggregation();
+        ScenarioMembershipIndex membershipIndex = aggregation.getMembershipIndex();
+        ReportDetails reportDetails = allScenariosPageCollection.getReportDetails();
+
+        writer.write("cluecumberReport = ");
+        JsonWriter json = new JsonWriter(writer);
+        json.beginObject();
+        json.name("title").value(propertyManager.getCustomPageTitle());
+        json.name("generator").value(reportDetails.getGeneratorName());
+        json.name("date").value(reportDetails.getDate());
+        json.name("start").value(allScenariosPageCollection.returnStartDateTimeString());
+        json.name("end").value(allScenariosPageCollection.returnEndDateTimeString());
+        json.name("runtime").value(allScenariosPageCollection.getTotalDurationString());
+        json.name("scenariosPerDataFile").value(SCENARIOS_PER_DATA_FILE);
+
+        json.name("colors").beginObject();
+        json.name("passed").value(propertyManager.getCustomStatusColorPassed());
+        json.name("failed").value(propertyManager.getCustomStatusColorFailed());
+        json.name("skipped").value(propertyManager.getCustomStatusColorSkipped());
+        json.endObject();
+
+        json.name("expand").beginObject();
+        json.name("hooks").value(propertyManager.isExpandBeforeAfterHooks());
+        json.name("stepHooks").value(propertyManager.isExpandStepHooks());
+        json.name("docStrings").value(propertyManager.isExpandDocStrings());
+        json.endObject();
+
+        writeCustomParameters(json);
+
+        json.name("scenarios").beginArray();
+        for (int position = 0; position < elements.size(); position++) {
+            writeScenario(elements.get(position), reportsOfElements.get(position), json);
+        }
+        json.endArray();
+
+        json.name("features").beginArray();
+        for (Map.Entry<Feature, ResultCount> entry : aggregation.getFeatureResultCounts().entrySet()) {
+            json.beginObject();
+            json.name("name").value(entry.getKey().getName());
+            json.name("index").value(entry.getKey().getIndex());
+            writeResultCount(entry.getValue(), json);
+            json.endObject();
+        }
+        json.endArray();
+
+        json.name("tags").beginArray();
+        for (Tag tag : membershipIndex.getIndexedTags()) {
+            BitSet members = membershipIndex.getElementsWithTag(tag.getId());
+            json.beginObject();
+            json.name("name").value(tag.getName());
+            writeResultCount(membershipIndex, members, json);
+            writePositions(members, json);
+            json.endObject();
+        }
+        json.endArray();
+
+        json.name("steps").beginArray();
+        Map<Step, Times> stepTimes = aggregation.getStepTimes();
+        for (Map.Entry<Step, ResultCount> entry : aggregation.getStepResultCounts().entrySet()) {
+            Step step = entry.getKey();
+            Times times = stepTimes.get(step);
+            json.beginObject();
+            json.name("name").value(step.returnNameWithArgumentPlaceholders());
+            json.name("glue").value(step.getGlueMethodName());
+            writeResultCount(entry.getValue(), json);
+            json.name("minimum").value(times.getMinimumTimeString());
+            json.name("minimumScenario").value(times.getMinimumTimeScenarioIndex());
+            json.name("maximum").value(times.getMaximumTimeString());
+            json.name("maximumScenario").value(times.getMaximumTimeScenarioIndex());
+            json.name("average").value(times.getAverageTimeString());
+            json.name("percentiles").beginArray();
+            for (int percentile : PERCENTILES) {
+                json.value(times.getPercentileTimeString(percentile));
+            }
+            json.endArray();
+            writePositions(membershipIndex.getElementsWithGlueMethod(step.getGlueMethodId()), json);
+            json.endObject();
+        }
+        json.endArray();
+
+        json.endObject();
+        json.flush();
+        writer.write(";\n");
+    }
+
+    private void writeCustomParameters(final JsonWriter json) throws IOException {
+        json.name("parameters").beginArray();
+        Map<String, String> customParameters = propertyManager.getCustomParameters();
+        if (customParameters != null) {
+            for (Map.Entry<String, String> customParameter : customParameters.entrySet()) {
+                String value = customParameter.getValue();
+                if (value == null || value.trim().isEmpty()) {
+                    continue;
+                }
+                json.beginObject();
+                json.name("key").value(customParameter.getKey().replace("_", " "));
+                json.name("value").value(value.trim());
+                json.endObject();
+            }
+        }
+        json.endArray();
+    }
+
+    private void writeScenario(final Element element, final Report report, final JsonWriter json)
+            throws IOException {
+        json.beginObject();
+        json.name("index").value(element.getScenarioIndex());
+        json.name("name").value(element.getName());
+        json.name("feature").value(report.getFeatureIndex());
+        json.name("featureName").value(report.getName());
+        json.name("uri").value(report.getUri());
+        json.name("status").value(element.getStatus().getStatusString());
+        json.name("startDate").value(element.getStartDateString());
+        json.name("startTime").value(element.getStartTimeString());
+        json.name("startOrder").value(element.getStartTimestamp());
+        json.name("duration").value(element.returnTotalDurationString());
+        json.name("durationOrder").value(element.getTotalDuration());
+        json.endObject();
+    }
+
+    private void writeResultCount(final ResultCount resultCount, final JsonWriter json) throws IOException {
+        json.name("passed").value(resultCount.getPassed());
+        json.name("failed").value(resultCount.getFailed());
+        json.name("skipped").value(resultCount.getSkipped());
+    }
+
+    private void writeResultCount(final ScenarioMembershipIndex membershipIndex, final BitSet members,
+                                  final JsonWriter json) throws IOException {
+        json.name("passed").value(membershipIndex.countElementsWithStatus(members, Status.PASSED));
+        json.name("failed").value(membershipIndex.countElementsWithStatus(members, Status.FAILED));
+        json.name("skipped").value(membershipIndex.countElementsWithStatus(members, Status.SKIPPED));
+    }
+
+    private void writePositions(final BitSet members, final JsonWriter json) throws IOException {
+        json.name("scenarios").beginArray();
+        for (int position = members.nextSetBit(0); position >= 0; position = members.nextSetBit(position + 1)) {
+            json.value(position);
+        }
+        json.endArray();
+    }
+
+    private void writeScenarioDetails(final int chunk, final List<Element> elements, final Writer writer)
+            throws IOException {
+        writer.write("cluecumberScenarios(" + chunk + ", ");
+        JsonWriter json = new JsonWriter(writer);
+        json.beginArray();
+        for (Element element : elements) {
+            json.beginObject();
+            json.name("description").value(element.getDescription());
+            json.name("tags").beginArray();
+            for (Tag tag : element.getTags()) {
+                json.value(tag.getName());
+            }
+            json.endArray();
+            json.name("startDate").value(element.getStartDateString());
+            json.name("startTime").value(element.getStartTimeString());
+            json.name("endDate").value(element.getEndDateString());
+            json.name("endTime").value(element.getEndTimeString());
+            json.name("passedSteps").value(element.getTotalNumberOfPassedSteps());
+            json.name("failedSteps").value(element.getTotalNumberOfFailedSteps());
+            json.name("skippedSteps").value(element.getTotalNumberOfSkippedSteps());
+            writeHooks("before", element.getBefore(), json);
+            json.name("steps").beginArray();
+            for (Step step : element.getSteps()) {
+                json.beginObject();
+                json.name("keyword").value(step.getKeyword());
+                json.name("name").value(step.returnNameWithArguments());
+                writeResultMatch(step, json);
+                if (!step.getRows().isEmpty()) {
+                    json.name("rows").beginArray();
+                    for (Row row : step.getRows()) {
+                        json.beginArray();
+                        for (String cell : row.getCells()) {
+                            json.value(cell);
+                        }
+                        json.endArray();
+                    }
+                    json.endArray();
+                }
+                if (step.getDocString() != null) {
+                    json.name("docString").value(step.getDocString().returnWithClickableLinks());
+                }
+                writeHooks("before", step.getBefore(), json);
+                writeHooks("after", step.getAfter(), json);
+                json.endObject();
+            }
+            json.endArray();
+            writeHooks("after", element.getAfter(), json);
+            json.endObject();
+        }
+        json.endArray();
+        json.flush();
+        writer.write(");\n");
+    }
+
+    private void writeHooks(final String name, final List<ResultMatch> hooks, final JsonWriter json)
+            throws IOException {
+        if (hooks.isEmpty()) {
+            return;
+        }
+        json.name(name).beginArray();
+        for (ResultMatch hook : hooks) {
+            json.beginObject();
+            writeResultMatch(hook, json);
+            json.endObject();
+        }
+        json.endArray();
+    }
+
+    private void writeResultMatch(final ResultMatch resultMatch, final JsonWriter json) throws IOException {
+        json.name("glue").value(resultMatch.getGlueMethodName());
+        json.name("status").value(resultMatch.getConsolidatedStatusString());
+        json.name("duration").value(resultMatch.getResult().returnDurationString());
+        if (resultMatch.getResult().hasErrorMessage()) {
+            json.name("error").value(resultMatch.getResult().returnErrorMessageWithClickableLinks());
+        }
+        if (resultMatch.hasOutputs()) {
+            json.name("output").beginArray();
+            for (String output : resultMatch.returnEscapedOutputs()) {
+                json.value(output);
+            }
+            json.endArray();
+        }
+        if (!resultMatch.getEmbeddings().isEmpty()) {
+            json.name("attachments").beginArray();
+            for (Embedding embedding : resultMatch.getEmbeddings()) {
+                json.beginObject();
+                json.name("name").value(embedding.getName());
+                json.name("file").value(embedding.getFilename());
+                if (embedding.isImage()) {
+                    json.name("thumbnail").value(embedding.getThumbnailFilename());
+                } else if (embedding.isText()) {
+                    json.name("text").value(true);
+                }
+                json.endObject();
+            }
+            json.endArray();
+        }
+    }
+}
@@ -35,12 +35,16 @@ limitations under the License.
     <base href="${base}">
     <head title="${title}">
         <title>${title}</title>
-        <#include "../snippets/common_headers.ftl">
-        <#include "../snippets/css.ftl">
+        <@layoutFragment name="head" pageTitle=pageTitle generatorName=reportDetails.generatorName>
+            <#include "../snippets/common_headers.ftl">
+            <#include "../snippets/css.ftl">
+        </@layoutFragment>
         <#include "../snippets/js.ftl">
     </head>
     <body>
-    <@navigation.build highlight=highlight />
+    <@layoutFragment name="navigation" highlight=highlight date=reportDetails.date>
+        <@navigation.build highlight=highlight />
+    </@layoutFragment>
     <main role="main" class="container">
         <div class="cluecumber-template">
             <div class="pb-2 mt-4 mb-2 border-bottom">
@@ -61,7 +65,9 @@ limitations under the License.
             <#nested>
         </div>
     </main>
-    <#include "../snippets/footer.ftl">
+    <@layoutFragment name="footer" generatorName=reportDetails.generatorName date=reportDetails.date>
+        <#include "../snippets/footer.ftl">
+    </@layoutFragment>
     </body>
     </html>
 </#macro>
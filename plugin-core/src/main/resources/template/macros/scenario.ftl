@@ -86,9 +86,11 @@ limitations under the License.
                                 </#if>
                                 <#assign tooltipText = "${tooltipText}${report.uri}">
 
-                                <#list report.elements as element>
-                                    <#if (skippedRequested && element.skipped) || (failedRequested && element.failed) || (passedRequested && element.passed) || allRequested>
-                                        <tr class="table-row-${element.status.statusString}">
+                                <#list getElements(report) as element>
+                                    <#assign summary = element.summary>
+                                    <#assign elementStatus = summary.status.statusString>
+                                    <#if allRequested || elementStatus == status>
+                                        <tr class="table-row-${elementStatus}">
                                             <#if allRequested>
                                                 <td class="text-right">${element.scenarioIndex}</td>
                                             </#if>
@@ -105,11 +107,11 @@ limitations under the License.
                                                 ${element.startDateString}<br>${element.startTimeString}
                                             </td>
                                             <td class="text-right small"
-                                                data-order="${element.totalDuration}">
+                                                data-order="${summary.totalDuration}">
                                                 <span class="nobr">${element.returnTotalDurationString()}</span>
                                             </td>
                                             <#if allRequested>
-                                                <td class="text-center"><@common.status status=element.status.statusString/></td>
+                                                <td class="text-center"><@common.status status=elementStatus/></td>
                                             </#if>
                                         </tr>
                                     </#if>
@@ -134,15 +136,24 @@ limitations under the License.
                 <div class="w-100 text-left m-auto">
                     <#if attachment.image>
                         <a class="grouped_elements" rel="images" href="attachments/${attachment.filename}">
-                            <img src="attachments/${attachment.filename}" style="max-width: 100%"
+                            <img src="attachments/${attachment.thumbnailFilename}" loading="lazy" style="max-width: 100%"
                                  alt="Attachment ${attachment.filename}"/>
                         </a>
+                    <#elseif attachment.text && !hasAttachmentText(attachment)>
+                        <#assign externalAttachmentIndex = (externalAttachmentIndex!0) + 1>
+                        <button class="btn btn-outline-secondary btn-sm collapsed" type="button" data-toggle="collapse"
+                                aria-expanded="false" data-target="#externalAttachment${externalAttachmentIndex?c}">
+                            Show attachment
+                        </button>
+                        <div id="externalAttachment${externalAttachmentIndex?c}" class="collapse externalAttachment">
+                            <iframe data-src="attachments/${attachment.filename}" width="100%" height="500"></iframe>
+                        </div>
                     <#elseif attachment.mimeType == "HTML">
                         <iframe src="attachments/${attachment.filename}"
-                                srcdoc="${attachment.decodedData}" width="100%" height="1"
+                                srcdoc="${getAttachmentText(attachment)}" width="100%" height="1"
                                 onload="resizeIframe(this);"></iframe>
                     <#elseif attachment.mimeType == "TXT" || attachment.mimeType == "XML" || attachment.mimeType == "JSON" || attachment.mimeType == "APPLICATION_XML">
-                        <pre class="embedding-content small">${attachment.decodedData}</pre>
+                        <pre class="embedding-content small">${getAttachmentText(attachment)}</pre>
                     <#else>
                         <embed src="attachments/${attachment.filename}" width="100%" height="500"/>
                     </#if>
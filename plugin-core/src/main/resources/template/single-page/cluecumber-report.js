@@ -0,0 +1,494 @@
+/*
+ * Copyright 2019 trivago N.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+// Renders the single page report from the data in data/report.js.
+// Scenario details are loaded from the data/scenarios_<n>.js files when a scenario is opened.
+(function () {
+    "use strict";
+
+    var report = window.cluecumberReport;
+    var STATUSES = ["failed", "skipped", "passed"];
+    var scenarioDataFiles = {};
+    var attachmentCount = 0;
+    var positionsByScenarioIndex = {};
+
+    report.scenarios.forEach(function (scenario, position) {
+        positionsByScenarioIndex[scenario.index] = position;
+    });
+
+    // Called by the scenario data files.
+    window.cluecumberScenarios = function (dataFile, scenarios) {
+        var callbacks = scenarioDataFiles[dataFile];
+        scenarioDataFiles[dataFile] = scenarios;
+        callbacks.forEach(function (callback) {
+            callback(scenarios);
+        });
+    };
+
+    function loadScenarioDetails(position, callback) {
+        var dataFile = Math.floor(position / report.scenariosPerDataFile);
+        var offset = position % report.scenariosPerDataFile;
+        var loaded = scenarioDataFiles[dataFile];
+        if (loaded === undefined) {
+            scenarioDataFiles[dataFile] = [function (scenarios) {
+                callback(scenarios[offset]);
+            }];
+            var script = document.createElement("script");
+            script.src = "data/scenarios_" + dataFile + ".js";
+            document.head.appendChild(script);
+        } else if (typeof loaded[0] === "function") {
+            loaded.push(function (scenarios) {
+                callback(scenarios[offset]);
+            });
+        } else {
+            callback(loaded[offset]);
+        }
+    }
+
+    function escapeHtml(text) {
+        return String(text === undefined || text === null ? "" : text)
+            .replace(/&/g, "&amp;").replace(/</g, "&lt;").replace(/>/g, "&gt;")
+            .replace(/"/g, "&quot;").replace(/'/g, "&#39;");
+    }
+
+    function status(statusString) {
+        var icon = STATUSES.indexOf(statusString) >= 0 ? statusString : "passed";
+        return '<i class="color-' + icon + ' cluecumber-icon icon-' + icon + '" data-toggle="tooltip" title="' +
+            statusString + '"><span style="display:none">' + statusString + '</span></i>';
+    }
+
+    function pluralize(word, count) {
+        return count > 1 ? word + "s" : word;
+    }
+
+    function card(width, title, body, classes) {
+        return '<div class="col-sm-' + width + ' ' + (classes || '') + ' h-auto" data-cluecumber-item="card">' +
+            '<div class="card h-100">' +
+            (title ? '<div class="card-header">' + title + '</div>' : '') +
+            '<div class="card-body">' + body + '</div></div></div>';
+    }
+
+    function chartCard(title) {
+        return card(6, title, '<div id="canvas-holder" class="w-100 text-center" style="min-height: 15rem;" ' +
+            'data-cluecumber-item="chart"><canvas id="chart-area" class="w-100"></canvas></div>');
+    }
+
+    function drawChart(passed, failed, skipped) {
+        var canvas = document.getElementById("chart-area");
+        if (canvas === null) {
+            return;
+        }
+        new Chart(canvas.getContext("2d"), {
+            type: "pie",
+            data: {
+                labels: ["passed", "failed", "skipped"],
+                datasets: [{
+                    data: [passed, failed, skipped],
+                    backgroundColor: [report.colors.passed, report.colors.failed, report.colors.skipped]
+                }]
+            },
+            options: {responsive: true}
+        });
+    }
+
+    function countStatuses(positions) {
+        var counts = {passed: 0, failed: 0, skipped: 0};
+        positions.forEach(function (position) {
+            counts[report.scenarios[position].status]++;
+        });
+        return counts;
+    }
+
+    function showPage(highlight, title, headline, preheadline, body) {
+        document.title = report.title + " - " + title;
+        $(".nav-link").each(function () {
+            $(this).toggleClass("text-white", $(this).data("highlight") === highlight);
+        });
+        var header = '<div class="pb-2 mt-4 mb-2 border-bottom">' +
+            (preheadline ? '<h5>' + preheadline + '</h5>' : '') +
+            (headline ? '<h3>' + headline + '</h3>' : '') + '</div>';
+        $("#report-content").html(header + body);
+        window.scrollTo(0, 0);
+    }
+
+    function activate() {
+        $('[data-toggle="tooltip"]').tooltip();
+        $("a.grouped_elements").fancybox();
+    }
+
+    function dataTable(id, data, columns, order) {
+        $("#" + id).on("draw.dt", function () {
+            $('[data-toggle="tooltip"]').tooltip();
+        }).DataTable({
+            data: data,
+            columns: columns,
+            order: order || [],
+            deferRender: true,
+            oLanguage: {sSearch: "Search:"},
+            pageLength: 25,
+            responsive: true
+        });
+    }
+
+    function tableCard(title, id, headers, classes) {
+        var head = headers.map(function (header) {
+            return '<th class="text-left">' + header + '</th>';
+        }).join("");
+        return '<div class="row" data-cluecumber-item="scenario-summary-table"><div class="col-sm-12"><div class="card">' +
+            '<div class="card-header ' + (classes || '') + '">' + title + '</div><div class="card-body">' +
+            '<table id="' + id + '" class="table table-hover"><thead><tr>' + head + '</tr></thead></table>' +
+            '</div></div></div></div>';
+    }
+
+    function scenarioLink(position) {
+        return '<a href="#scenario/' + position + '" style="word-break: break-all">' +
+            escapeHtml(report.scenarios[position].name) + '</a>';
+    }
+
+    function scenarioRow(position, withSequence) {
+        var scenario = report.scenarios[position];
+        var tooltip = escapeHtml(scenario.uri);
+        var row = [
+            '<span data-toggle="tooltip" title="' + tooltip + '"><a href="#feature/' + scenario.feature + '">' +
+            escapeHtml(scenario.featureName) + '</a></span>',
+            scenarioLink(position),
+            {display: scenario.startDate + '<br>' + scenario.startTime, order: scenario.startOrder},
+            {display: '<span class="nobr">' + scenario.duration + '</span>', order: scenario.durationOrder}
+        ];
+        if (withSequence) {
+            row.unshift(scenario.index);
+            row.push(status(scenario.status));
+        }
+        return row;
+    }
+
+    var orderedColumn = {
+        render: {_: "display", sort: "order"}
+    };
+
+    function renderScenarioList(highlight, title, headline, positions, sequence) {
+        var counts = countStatuses(positions);
+        var summary = card(3, "Test Suite Summary", '<ul class="list-group list-group-flush">' +
+            '<li class="list-group-item">' + positions.length + ' ' + pluralize("Scenario", positions.length) + '</li>' +
+            '<li class="list-group-item">' + STATUSES.map(function (statusString) {
+                return counts[statusString] + ' ' + statusString + ' ' + status(statusString);
+            }).join("<br>") + '</li></ul>');
+        var time = card(3, "Test Suite Time", '<ul class="list-group list-group-flush">' +
+            (report.start ? '<li class="list-group-item">Started on:<br>' + report.start + '</li>' : '') +
+            (report.end ? '<li class="list-group-item">Ended on:<br>' + report.end + '</li>' : '') +
+            '<li class="list-group-item">Test Runtime:<br>' + report.runtime + '</li></ul>');
+        var parameters = "";
+        if (highlight === "scenario_summary" && positions.length === report.scenarios.length &&
+            report.parameters.length > 0) {
+            parameters = '<div class="row">' + card(12, "", '<table class="table table-fit"><tbody>' +
+                report.parameters.map(function (parameter) {
+                    var value = /^[a-z]+:\/\//i.test(parameter.value) ?
+                        '<a href="' + escapeHtml(parameter.value) + '" target="_blank" style="word-break: break-all;">' +
+                        escapeHtml(parameter.value) + '</a>' : escapeHtml(parameter.value);
+                    return '<tr><td class="text-left text-nowrap"><strong>' + escapeHtml(parameter.key) +
+                        ':</strong></td><td class="text-left wrap">' + value + '</td></tr>';
+                }).join("") + '</tbody></table>', "customParameters") + '</div>';
+        }
+        var tables = "";
+        var tableRows = {};
+        if (sequence) {
+            tables = tableCard("Scenario Sequence (" + positions.length + ")", "results_all",
+                ["#", "Feature", "Scenario", "Started", "Duration", "Status"]);
+            tableRows.all = positions.slice().sort(function (first, second) {
+                return report.scenarios[first].index - report.scenarios[second].index;
+            }).map(function (position) {
+                return scenarioRow(position, true);
+            });
+        } else {
+            STATUSES.forEach(function (statusString) {
+                if (counts[statusString] === 0) {
+                    return;
+                }
+                tables += tableCard(counts[statusString] + " " + pluralize(statusString + " Scenario", counts[statusString]) +
+                    " " + status(statusString), "results_" + statusString, ["Feature", "Scenario", "Started", "Duration"],
+                    "border-color-" + statusString);
+                tableRows[statusString] = positions.filter(function (position) {
+                    return report.scenarios[position].status === statusString;
+                }).map(function (position) {
+                    return scenarioRow(position, false);
+                });
+            });
+        }
+        showPage(highlight, title, headline, "", parameters +
+            '<div class="row">' + chartCard("Scenario Results") + time + summary + '</div>' + tables);
+        Object.keys(tableRows).forEach(function (key) {
+            var columns = sequence ?
+                [null, null, null, orderedColumn, orderedColumn, null] : [null, null, orderedColumn, orderedColumn];
+            dataTable("results_" + key, tableRows[key], columns.map(function (column) {
+                return column || {};
+            }), sequence ? [[0, "asc"]] : []);
+        });
+        drawChart(counts.passed, counts.failed, counts.skipped);
+        activate();
+    }
+
+    function renderSummaryTable(highlight, title, firstColumn, items, linkPrefix, extraColumns) {
+        var headers = [firstColumn, "Scenarios", "passed", "failed", "skipped"].concat(
+            (extraColumns || []).map(function (column) {
+                return column.title;
+            }));
+        var rows = items.map(function (item, id) {
+            var link = '<a href="#' + linkPrefix + '/' + (item.index !== undefined ? item.index : id) + '">' +
+                escapeHtml(item.name) + '</a>';
+            return [link, item.passed + item.failed + item.skipped, item.passed, item.failed, item.skipped].concat(
+                (extraColumns || []).map(function (column) {
+                    return column.value(item);
+                }));
+        });
+        var totals = items.reduce(function (sum, item) {
+            sum.passed += item.passed;
+            sum.failed += item.failed;
+            sum.skipped += item.skipped;
+            return sum;
+        }, {passed: 0, failed: 0, skipped: 0});
+        showPage(highlight, title, title, "", '<div class="row">' + chartCard(title) + card(6, title,
+            '<ul class="list-group list-group-flush"><li class="list-group-item">' + items.length + ' ' +
+            pluralize(firstColumn, items.length) + '</li></ul>') + '</div>' +
+            tableCard(title, "summary_table", headers));
+        dataTable("summary_table", rows);
+        drawChart(totals.passed, totals.failed, totals.skipped);
+        activate();
+    }
+
+    function scenarioTimeLink(label, scenarioIndex) {
+        var position = positionsByScenarioIndex[scenarioIndex];
+        return position === undefined ? label : '<a href="#scenario/' + position + '">' + label + '</a>';
+    }
+
+    function renderResultMatch(resultMatch, counter, label) {
+        var html = '<div class="row row_' + resultMatch.status + ' table-row-' + resultMatch.status + '">' +
+            '<div class="col-1 text-left small">' + counter + '</div>' +
+            '<div class="col-8 text-left">' + label + '</div>' +
+            '<div class="col-2 text-left small"><span class="nobr">' + resultMatch.duration + '</span></div>' +
+            '<div class="col-1 text-right">' + status(resultMatch.status) + '</div>';
+        if (resultMatch.rows) {
+            html += '<div class="row w-100 p-3 m-0 scenarioDataTable"><div class="w-100 text-left border border-dark ' +
+                'table-responsive"><table class="table table-hover small table-striped text-left pb-0">' +
+                resultMatch.rows.map(function (row) {
+                    return '<tr>' + row.map(function (cell) {
+                        return '<td>' + cell + '</td>';
+                    }).join("") + '</tr>';
+                }).join("") + '</table></div></div>';
+        }
+        if (resultMatch.docString !== undefined) {
+            html += '<div class="scenarioDocstring collapse"><div class="row w-100 p-3 m-0"><div class="w-100 ' +
+                'text-left border"><pre class="text-secondary small p-2">' + resultMatch.docString +
+                '</pre></div></div></div>';
+        }
+        if (resultMatch.error) {
+            html += '<div class="row w-100 p-3 m-0 scenarioErrorMessage"><div class="w-100 text-left border ' +
+                'border-danger"><pre class="text-danger small p-2">' + resultMatch.error + '</pre></div></div>';
+        }
+        if (resultMatch.output) {
+            html += '<div class="row w-100 p-3 m-0 scenarioOutput"><div class="w-100 text-left small p-2">' +
+                resultMatch.output.join("<br>") + '</div></div>';
+        }
+        (resultMatch.attachments || []).forEach(function (attachment) {
+            html += '<div class="row w-100 p-3 m-0"><div class="w-100 text-left m-auto border">' +
+                (attachment.name ? '<div class="w-100 p-1 m-0 border-bottom small text-left">' +
+                    escapeHtml(attachment.name) + '</div>' : '');
+            if (attachment.thumbnail) {
+                html += '<a class="grouped_elements" rel="images" href="attachments/' + attachment.file + '">' +
+                    '<img src="attachments/' + attachment.thumbnail + '" loading="lazy" style="max-width: 100%" ' +
+                    'alt="Attachment ' + attachment.file + '"/></a>';
+            } else if (attachment.text) {
+                attachmentCount++;
+                html += '<a class="btn btn-link" data-toggle="collapse" href="#attachment_' + attachmentCount +
+                    '">Show attachment</a><div class="collapse externalAttachment" id="attachment_' + attachmentCount +
+                    '"><iframe data-src="attachments/' + attachment.file + '" width="100%" height="500"></iframe></div>';
+            } else {
+                html += '<embed src="attachments/' + attachment.file + '" width="100%" height="500"/>';
+            }
+            html += '</div></div>';
+        });
+        return html + '</div>';
+    }
+
+    function renderHooks(title, hooks, classes) {
+        if (!hooks) {
+            return "";
+        }
+        return '<div class="row">' + card(12, title, '<li class="list-group-item">' +
+            hooks.map(function (hook, index) {
+                return renderResultMatch(hook, (index + 1) + ".", '<i>' + hook.glue + '</i>');
+            }).join("") + '</li>', classes) + '</div>';
+    }
+
+    function renderStepHooks(hooks) {
+        return (hooks || []).map(function (hook) {
+            return '<div class="stepHook collapse">' + renderResultMatch(hook, "", '<i>' + hook.glue + '</i>') +
+                '</div>';
+        }).join("");
+    }
+
+    function renderScenario(position) {
+        var scenario = report.scenarios[position];
+        if (scenario === undefined) {
+            renderScenarioList("scenario_summary", "All Scenarios", "All Scenarios", allPositions(), false);
+            return;
+        }
+        showPage("", "Scenario Detail", escapeHtml(scenario.name), "", '<div class="text-center">Loading...</div>');
+        loadScenarioDetails(position, function (details) {
+            var stepIndex = 0;
+            var steps = details.steps.map(function (step) {
+                stepIndex++;
+                return renderStepHooks(step.before) +
+                    renderResultMatch(step, stepIndex + ".", '<span data-toggle="tooltip" title="' + step.glue + '">' +
+                        step.keyword + ' ' + step.name + '</span>') +
+                    renderStepHooks(step.after);
+            }).join("");
+            var hasStepHooks = details.steps.some(function (step) {
+                return step.before || step.after;
+            });
+            var hasDocStrings = details.steps.some(function (step) {
+                return step.docString !== undefined;
+            });
+            var buttons = (details.before || details.after ? '<button class="btn btn-outline-secondary m-1" ' +
+                'data-cluecumber-item="before-after-hooks-button" data-toggle="collapse" data-target=".scenarioHook">' +
+                'Hooks</button>' : '') +
+                (hasStepHooks ? '<button class="btn btn-outline-secondary m-1" data-cluecumber-item="step-hooks-button" ' +
+                    'data-toggle="collapse" data-target=".stepHook">Step Hooks</button>' : '') +
+                (hasDocStrings ? '<button class="btn btn-outline-secondary m-1" ' +
+                    'data-cluecumber-item="doc-strings-button" data-toggle="collapse" data-target=".scenarioDocstring">' +
+                    'Doc Strings</button>' : '');
+            var info = '<ul class="list-group list-group-flush">' +
+                (details.startDate ? '<li class="list-group-item">Started on:<br>' + details.startDate + ' ' +
+                    details.startTime + '</li><li class="list-group-item">Ended on:<br>' + details.endDate + ' ' +
+                    details.endTime + '</li>' : '') +
+                '<li class="list-group-item">Duration:<br>' + scenario.duration + '</li></ul>';
+            var tags = details.tags.map(function (tag) {
+                var tagId = tagIdsByName[tag];
+                return tagId === undefined ? escapeHtml(tag) :
+                    '<a href="#tag/' + tagId + '">' + escapeHtml(tag) + '</a>';
+            }).join(" ");
+            showPage("", "Scenario Detail", escapeHtml(scenario.name),
+                '<a href="#feature/' + scenario.feature + '">' + escapeHtml(scenario.featureName) + '</a>',
+                (details.description ? '<h5>' + escapeHtml(details.description) + '</h5>' : '') +
+                '<div class="row">' + chartCard("Step Results") +
+                card(3, "Scenario Info", info + (tags ? '<div class="p-2">' + tags + '</div>' : '')) +
+                card(3, "Step Summary", details.passedSteps + ' passed ' + status("passed") + '<br>' +
+                    details.failedSteps + ' failed ' + status("failed") + '<br>' +
+                    details.skippedSteps + ' skipped ' + status("skipped") +
+                    (buttons ? '<div class="pt-2">' + buttons + '</div>' : '')) + '</div>' +
+                renderHooks("Before Hooks", details.before, "scenarioHook collapse") +
+                (steps ? '<div class="row">' + card(12, "Steps", '<li class="list-group-item">' + steps + '</li>') +
+                    '</div>' : '') +
+                renderHooks("After Hooks", details.after, "scenarioHook collapse"));
+            drawChart(details.passedSteps, details.failedSteps, details.skippedSteps);
+            $(".externalAttachment").on("show.bs.collapse", function () {
+                $(this).find("iframe[data-src]").each(function (index, iframe) {
+                    iframe.src = iframe.getAttribute("data-src");
+                    iframe.removeAttribute("data-src");
+                });
+            });
+            if (report.expand.hooks) {
+                $(".scenarioHook").addClass("show");
+            }
+            if (report.expand.stepHooks) {
+                $(".stepHook").addClass("show");
+            }
+            if (report.expand.docStrings) {
+                $(".scenarioDocstring").addClass("show");
+            }
+            activate();
+        });
+    }
+
+    var tagIdsByName = {};
+    report.tags.forEach(function (tag, id) {
+        tagIdsByName[tag.name] = id;
+    });
+
+    function allPositions() {
+        return report.scenarios.map(function (scenario, position) {
+            return position;
+        });
+    }
+
+    function route() {
+        var hash = window.location.hash.replace(/^#/, "");
+        var separator = hash.indexOf("/");
+        var view = separator >= 0 ? hash.substring(0, separator) : hash;
+        var id = separator >= 0 ? parseInt(hash.substring(separator + 1), 10) : -1;
+        switch (view) {
+            case "sequence":
+                renderScenarioList("scenario_sequence", "Scenario Sequence", "Scenario Sequence", allPositions(), true);
+                break;
+            case "tags":
+                renderSummaryTable("tag_summary", "All Tags", "Tag", report.tags, "tag");
+                break;
+            case "tag":
+                var tag = report.tags[id] || {name: "", scenarios: []};
+                renderScenarioList("tag_summary", "Tag Scenarios", "Tag " + escapeHtml(tag.name), tag.scenarios, false);
+                break;
+            case "steps":
+                renderSummaryTable("step_summary", "All Steps", "Step", report.steps, "step", [
+                    {title: "Minimum Time", value: function (step) {
+                        return scenarioTimeLink(step.minimum, step.minimumScenario);
+                    }},
+                    {title: "Maximum Time", value: function (step) {
+                        return scenarioTimeLink(step.maximum, step.maximumScenario);
+                    }},
+                    {title: "Average Time", value: function (step) {
+                        return step.average;
+                    }},
+                    {title: "P50", value: function (step) {
+                        return step.percentiles[0];
+                    }},
+                    {title: "P95", value: function (step) {
+                        return step.percentiles[1];
+                    }},
+                    {title: "P99", value: function (step) {
+                        return step.percentiles[2];
+                    }}
+                ]);
+                break;
+            case "step":
+                var step = report.steps[id] || {name: "", scenarios: []};
+                renderScenarioList("step_summary", "Step Scenarios", "Step " + escapeHtml(step.name), step.scenarios,
+                    false);
+                break;
+            case "features":
+                renderSummaryTable("feature_summary", "All Features", "Feature", report.features, "feature");
+                break;
+            case "feature":
+                var featurePositions = allPositions().filter(function (position) {
+                    return report.scenarios[position].feature === id;
+                });
+                var featureName = featurePositions.length > 0 ? report.scenarios[featurePositions[0]].featureName : "";
+                renderScenarioList("feature_summary", "Feature Scenarios", "Feature " + escapeHtml(featureName),
+                    featurePositions, false);
+                break;
+            case "scenario":
+                renderScenario(id);
+                break;
+            default:
+                renderScenarioList("scenario_summary", "All Scenarios", "All Scenarios", allPositions(), false);
+        }
+    }
+
+    $(document).ready(function () {
+        $("#report-date").text(report.date);
+        $("#report-generator").text(report.generator + " - Report generated on " + report.date + ".");
+        $(window).on("hashchange", route);
+        route();
+    });
+})();
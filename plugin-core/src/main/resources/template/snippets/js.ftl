@@ -14,6 +14,7 @@ See the License for the specific language governing permissions and
 limitations under the License.
 -->
 
+<@layoutFragment name="scripts">
 <script src="js/jquery.min.js"></script>
 <script src="js/popper.min.js"></script>
 <script src="js/bootstrap.min.js"></script>
@@ -34,6 +35,17 @@ limitations under the License.
                 "responsive": true
             });
 
+            // Large attachments are only loaded when their panel is opened
+            $('.externalAttachment').on('show.bs.collapse', function () {
+                $(this).find("iframe[data-src]").each(function (index, iframe) {
+                    iframe.onload = function () {
+                        resizeIframe(iframe);
+                    };
+                    iframe.src = iframe.getAttribute("data-src");
+                    iframe.removeAttribute("data-src");
+                })
+            });
+
             $('.collapse').on('shown.bs.collapse', function (e) {
                 $(e.target).find("iframe").each(function (index, iframe) {
                     resizeIframe(iframe);
@@ -45,9 +57,26 @@ limitations under the License.
 
             // Tool tips
             $('[data-toggle="tooltip"]').tooltip();
+        }
+    );
+
+    function resizeIframe(iframe) {
+        try {
+            var height = iframe.contentWindow.document.body.scrollHeight;
+            if (height > 0) {
+                iframe.style.height = (height + 25) + 'px';
+            }
+        } catch (e) {
+            // Browsers may deny access to attachment files opened from the file system, the default height is kept.
+        }
+    }
+</script>
+</@layoutFragment>
 
-            // Chart
-            <#if (reportDetails.chartJson?has_content)>
+<#if (reportDetails.chartJson?has_content)>
+<script>
+    // Chart
+    $(function () {
             var canvas = document.getElementById('chart-area');
             var ctx = canvas.getContext("2d");
             var chart = new Chart(ctx, ${reportDetails.chartJson});
@@ -92,9 +121,15 @@ limitations under the License.
                     }
                 }
             }
+        }
+    );
+</script>
+</#if>
 
-            </#if>
-
+<@layoutFragment name="expansion" expandBeforeAfterHooks=expandBeforeAfterHooks expandStepHooks=expandStepHooks expandDocStrings=expandDocStrings>
+<script>
+    // Expansion of hooks and doc strings
+    $(function () {
             if (${expandBeforeAfterHooks?c}) {
                 $(".btn-outline-secondary[data-cluecumber-item='before-after-hooks-button']").click();
             }
@@ -106,8 +141,4 @@ limitations under the License.
             }
         }
     );
-
-    function resizeIframe(iframe) {
-        iframe.style.height = (iframe.contentWindow.document.body.scrollHeight + 25) + 'px';
-    }
-</script>
\ No newline at end of file
+</script></@layoutFragment>
\ No newline at end of file
@@ -63,6 +63,9 @@ preheadlineLink="">
                     <th>Min Time</th>
                     <th>Max Time</th>
                     <th>Ø Time</th>
+                    <th>P50 Time</th>
+                    <th>P95 Time</th>
+                    <th>P99 Time</th>
                 </tr>
                 </thead>
                 <tbody>
@@ -88,6 +91,9 @@ preheadlineLink="">
                             </#if>
                         </td>
                         <td class="text-right small">${getAverageTimeFromStep(step)}</td>
+                        <td class="text-right small">${getPercentileTimeFromStep(step, 50)}</td>
+                        <td class="text-right small">${getPercentileTimeFromStep(step, 95)}</td>
+                        <td class="text-right small">${getPercentileTimeFromStep(step, 99)}</td>
                     </tr>
                 </#list>
                 </tbody>
@@ -7,6 +7,13 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
+import com.trivago.cluecumberCore.exceptions.CluecumberPluginException;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
 
@@ -41,6 +48,22 @@ public class FileIOTest {
         fileIO.writeContentToFile(new byte[]{}, path);
     }
 
+    @Test
+    public void readerForFileTest() throws Exception {
+        String testString = "This is a test!";
+        String path = testFolder.getRoot().getPath().concat("/test.tmp");
+        fileIO.writeContentToFile(testString, path);
+        try (BufferedReader reader = new BufferedReader(fileIO.getReaderForFile(path))) {
+            assertThat(reader.readLine(), is(testString));
+        }
+    }
+
+    @Test(expected = MissingFileException.class)
+    public void readerForMissingFileTest() throws Exception {
+        String wrongPath = testFolder.getRoot().getPath().concat("/missing.tmp");
+        fileIO.getReaderForFile(wrongPath);
+    }
+
     @Test(expected = MissingFileException.class)
     public void readFromMissingFileTest() throws Exception {
         String wrongPath = testFolder.getRoot().getPath().concat("/missing.tmp");
@@ -56,4 +79,38 @@ public class FileIOTest {
     public void isExistingFileExistingFileTest() {
         assertThat(fileIO.isExistingFile("src/test/resources/test.ftl"), is(true));
     }
+
+    @Test
+    public void streamedContentIsWrittenAsUtf8Test() throws Exception {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            content.append(i % 3 == 0 ? "\uD83E\uDD52" : "ä").append(i);
+        }
+        String firstPath = testFolder.getRoot().getPath().concat("/first.html");
+        String secondPath = testFolder.getRoot().getPath().concat("/second.html");
+        fileIO.writeContentToFile(writer -> {
+            writer.write(content.substring(0, 1));
+            writer.write(content.substring(1));
+        }, firstPath);
+        fileIO.writeContentToFile(writer -> writer.write("Größe"), secondPath);
+
+        assertThat(new String(Files.readAllBytes(new File(firstPath).toPath()), StandardCharsets.UTF_8),
+                is(content.toString()));
+        assertThat(new String(Files.readAllBytes(new File(secondPath).toPath()), StandardCharsets.UTF_8),
+                is("Größe"));
+    }
+
+    @Test
+    public void failedStreamedContentIsNotKeptTest() throws Exception {
+        String path = testFolder.getRoot().getPath().concat("/failed.html");
+        try {
+            fileIO.writeContentToFile(writer -> {
+                writer.write("incomplete");
+                throw new CluecumberPluginException("Failed");
+            }, path);
+        } catch (CluecumberPluginException e) {
+            assertThat(e.getMessage(), is("Failed"));
+        }
+        assertThat(fileIO.isExistingFile(path), is(false));
+    }
 }
@@ -0,0 +1,105 @@
+package com.trivago.cluecumber.filesystem;
+
+import com.trivago.cluecumberCore.filesystem.AttachmentWriter;
+import com.trivago.cluecumberCore.filesystem.FileIO;
+import com.trivago.cluecumberCore.filesystem.ThumbnailGenerator;
+import com.trivago.cluecumberCore.logging.ICluecumberLogger;
+import com.trivago.cluecumberCore.logging.LoggerUtils;
+import com.trivago.cluecumberCore.properties.PropertyManager;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class AttachmentWriterTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private AttachmentWriter attachmentWriter;
+    private ICluecumberLogger logger;
+    private File directory;
+
+    @Before
+    public void setup() throws Exception {
+        logger = mock(ICluecumberLogger.class);
+        LoggerUtils.initialize(logger, "default");
+        PropertyManager propertyManager = mock(PropertyManager.class);
+        when(propertyManager.getNumberOfAttachmentWritingThreads()).thenReturn(2);
+        attachmentWriter = new AttachmentWriter(new FileIO(), propertyManager, new ThumbnailGenerator());
+        directory = temporaryFolder.newFolder();
+    }
+
+    @Test
+    public void writeAndMoveFilesTest() throws Exception {
+        File spooledFile = new File(directory, "spool1.tmp");
+        File duplicateSpooledFile = new File(directory, "spool2.tmp");
+        Files.write(spooledFile.toPath(), "moved".getBytes(StandardCharsets.UTF_8));
+        Files.write(duplicateSpooledFile.toPath(), "moved".getBytes(StandardCharsets.UTF_8));
+
+        for (int i = 0; i < 100; i++) {
+            attachmentWriter.writeFile(("content" + i).getBytes(StandardCharsets.UTF_8), directory + "/written" + i + ".txt", null);
+        }
+        attachmentWriter.moveFile(spooledFile.getPath(), directory + "/moved.txt", null);
+        attachmentWriter.moveFile(duplicateSpooledFile.getPath(), directory + "/moved.txt", null);
+        attachmentWriter.awaitCompletion();
+
+        assertThat(new String(Files.readAllBytes(new File(directory, "written99.txt").toPath()), StandardCharsets.UTF_8),
+                is("content99"));
+        assertThat(new String(Files.readAllBytes(new File(directory, "moved.txt").toPath()), StandardCharsets.UTF_8),
+                is("moved"));
+        assertThat(directory.list().length, is(101));
+    }
+
+    @Test
+    public void failedWriteIsLoggedTest() throws Exception {
+        attachmentWriter.moveFile(directory + "/missing.tmp", directory + "/attachment.txt", null);
+        attachmentWriter.awaitCompletion();
+        verify(logger).warn(startsWith("Could not process attachment " + directory + "/attachment.txt"));
+    }
+
+    @Test
+    public void failedThumbnailFallsBackToOriginalImageTest() throws Exception {
+        ThumbnailGenerator thumbnailGenerator = mock(ThumbnailGenerator.class);
+        doThrow(new IllegalStateException("broken image"))
+                .when(thumbnailGenerator).createThumbnail(anyString(), anyString());
+        PropertyManager propertyManager = mock(PropertyManager.class);
+        when(propertyManager.getNumberOfAttachmentWritingThreads()).thenReturn(1);
+        attachmentWriter = new AttachmentWriter(new FileIO(), propertyManager, thumbnailGenerator);
+
+        attachmentWriter.writeFile("image".getBytes(StandardCharsets.UTF_8), directory + "/image.png",
+                directory + "/image_thumbnail.png");
+        attachmentWriter.awaitCompletion();
+
+        assertThat(new String(Files.readAllBytes(new File(directory, "image_thumbnail.png").toPath()),
+                StandardCharsets.UTF_8), is("image"));
+        verify(logger).warn(startsWith("Could not create thumbnail " + directory + "/image_thumbnail.png"));
+    }
+
+    @Test
+    public void runtimeExceptionIsLoggedTest() throws Exception {
+        FileIO fileIO = mock(FileIO.class);
+        doThrow(new IllegalStateException("disk gone")).when(fileIO).writeContentToFile(any(byte[].class), anyString());
+        PropertyManager propertyManager = mock(PropertyManager.class);
+        when(propertyManager.getNumberOfAttachmentWritingThreads()).thenReturn(1);
+        attachmentWriter = new AttachmentWriter(fileIO, propertyManager, new ThumbnailGenerator());
+
+        attachmentWriter.writeFile(new byte[]{1}, directory + "/attachment.txt", null);
+        attachmentWriter.awaitCompletion();
+
+        verify(logger).warn(startsWith("Could not process attachment " + directory + "/attachment.txt (disk gone)"));
+    }
+}
@@ -0,0 +1,107 @@
+package com.trivago.cluecumber.filesystem;
+
+import com.trivago.cluecumberCore.filesystem.JsonDirectoryWatcher;
+import com.trivago.cluecumberCore.logging.ICluecumberLogger;
+import com.trivago.cluecumberCore.logging.LoggerUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.notNullValue;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.mockito.Mockito.mock;
+
+public class JsonDirectoryWatcherTest {
+    private static final long TIMEOUT_SECONDS = 10;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final BlockingQueue<Set<Path>> changes = new LinkedBlockingQueue<>();
+    private Path directory;
+    private Thread watchThread;
+
+    @Before
+    public void setup() throws Exception {
+        LoggerUtils.initialize(mock(ICluecumberLogger.class), "default");
+        directory = temporaryFolder.newFolder().toPath().toRealPath();
+        JsonDirectoryWatcher jsonDirectoryWatcher = new JsonDirectoryWatcher();
+        watchThread = new Thread(() -> {
+            try {
+                jsonDirectoryWatcher.watch(directory.toString(), changes::add);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        watchThread.start();
+        awaitWatching();
+    }
+
+    @After
+    public void teardown() throws Exception {
+        watchThread.interrupt();
+        watchThread.join(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+        assertThat(watchThread.isAlive(), is(false));
+    }
+
+    @Test
+    public void changedFilesAreBatchedTest() throws Exception {
+        Path first = write(directory.resolve("first.json"));
+        Path second = write(directory.resolve("second.json"));
+        write(directory.resolve("ignored.txt"));
+
+        Set<Path> changedJsonFiles = changes.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertThat(changedJsonFiles, is(notNullValue()));
+        assertThat(changedJsonFiles.size(), is(2));
+        assertThat(changedJsonFiles.contains(first), is(true));
+        assertThat(changedJsonFiles.contains(second), is(true));
+        assertThat(changes.poll(1, TimeUnit.SECONDS), is(nullValue()));
+    }
+
+    @Test
+    public void newSubDirectoriesAreWatchedTest() throws Exception {
+        Path subDirectory = Files.createDirectory(directory.resolve("sub"));
+        Path first = write(subDirectory.resolve("first.json"));
+        Set<Path> changedJsonFiles = changes.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertThat(changedJsonFiles, is(notNullValue()));
+        assertThat(changedJsonFiles.contains(first), is(true));
+
+        Path second = write(subDirectory.resolve("second.json"));
+        changedJsonFiles = changes.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertThat(changedJsonFiles, is(notNullValue()));
+        assertThat(changedJsonFiles.contains(second), is(true));
+    }
+
+    private void awaitWatching() throws Exception {
+        // The watcher registers the directory asynchronously, so touch a file until its change is reported.
+        File readyFile = directory.resolve("ready.json").toFile();
+        for (int i = 0; i < TIMEOUT_SECONDS; i++) {
+            write(readyFile.toPath());
+            if (changes.poll(1, TimeUnit.SECONDS) != null) {
+                Files.delete(readyFile.toPath());
+                changes.poll(1, TimeUnit.SECONDS);
+                changes.clear();
+                return;
+            }
+        }
+        throw new AssertionError("The directory was not watched in time.");
+    }
+
+    private Path write(final Path path) throws Exception {
+        Files.write(path, "[]".getBytes(StandardCharsets.UTF_8));
+        return path;
+    }
+}
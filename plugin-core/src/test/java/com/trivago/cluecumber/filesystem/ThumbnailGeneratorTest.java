@@ -0,0 +1,90 @@
+package com.trivago.cluecumber.filesystem;
+
+import com.trivago.cluecumberCore.exceptions.filesystem.FileCreationException;
+import com.trivago.cluecumberCore.filesystem.ThumbnailGenerator;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+public class ThumbnailGeneratorTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private ThumbnailGenerator thumbnailGenerator;
+
+    @Before
+    public void setup() {
+        thumbnailGenerator = new ThumbnailGenerator();
+    }
+
+    @Test
+    public void largeImageIsScaledDownTest() throws Exception {
+        File image = writeImage("image.png", 1920, 1080, "png");
+        File thumbnail = new File(temporaryFolder.getRoot(), "image_thumbnail.png");
+        thumbnailGenerator.createThumbnail(image.getPath(), thumbnail.getPath());
+
+        BufferedImage thumbnailImage = ImageIO.read(thumbnail);
+        assertThat(thumbnailImage.getWidth(), is(480));
+        assertThat(thumbnailImage.getHeight(), is(270));
+    }
+
+    @Test
+    public void jpegThumbnailTest() throws Exception {
+        File image = writeImage("image.jpeg", 600, 1200, "jpeg");
+        File thumbnail = new File(temporaryFolder.getRoot(), "image_thumbnail.jpeg");
+        thumbnailGenerator.createThumbnail(image.getPath(), thumbnail.getPath());
+
+        BufferedImage thumbnailImage = ImageIO.read(thumbnail);
+        assertThat(thumbnailImage.getWidth(), is(240));
+        assertThat(thumbnailImage.getHeight(), is(480));
+    }
+
+    @Test
+    public void needsThumbnailTest() throws Exception {
+        File largeImage = writeImage("large.png", 1920, 1080, "png");
+        File smallImage = writeImage("small.gif", 100, 480, "gif");
+        assertThat(thumbnailGenerator.needsThumbnail(largeImage.getPath()), is(true));
+        assertThat(thumbnailGenerator.needsThumbnail(Files.readAllBytes(largeImage.toPath())), is(true));
+        assertThat(thumbnailGenerator.needsThumbnail(smallImage.getPath()), is(false));
+        assertThat(thumbnailGenerator.needsThumbnail(Files.readAllBytes(smallImage.toPath())), is(false));
+        assertThat(thumbnailGenerator.needsThumbnail("test".getBytes(StandardCharsets.UTF_8)), is(false));
+        assertThat(thumbnailGenerator.needsThumbnail(new File(temporaryFolder.getRoot(), "missing.png").getPath()),
+                is(false));
+    }
+
+    @Test
+    public void smallImageIsCopiedTest() throws Exception {
+        File image = writeImage("image.gif", 100, 50, "gif");
+        File thumbnail = new File(temporaryFolder.getRoot(), "image_thumbnail.gif");
+        thumbnailGenerator.createThumbnail(image.getPath(), thumbnail.getPath());
+        assertThat(Files.readAllBytes(thumbnail.toPath()), is(Files.readAllBytes(image.toPath())));
+    }
+
+    @Test(expected = FileCreationException.class)
+    public void missingImageTest() throws Exception {
+        thumbnailGenerator.createThumbnail(
+                new File(temporaryFolder.getRoot(), "missing.png").getPath(),
+                new File(temporaryFolder.getRoot(), "missing_thumbnail.png").getPath());
+    }
+
+    private File writeImage(final String name, final int width, final int height, final String formatName)
+            throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < width; x++) {
+            image.setRGB(x, x * height / width, 0xff0000);
+        }
+        File file = temporaryFolder.newFile(name);
+        ImageIO.write(image, formatName, file);
+        return file;
+    }
+}
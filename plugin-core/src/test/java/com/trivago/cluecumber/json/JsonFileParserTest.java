@@ -0,0 +1,208 @@
+package com.trivago.cluecumber.json;
+
+import com.trivago.cluecumberCore.exceptions.filesystem.MissingFileException;
+import com.trivago.cluecumberCore.filesystem.AttachmentWriter;
+import com.trivago.cluecumberCore.filesystem.FileIO;
+import com.trivago.cluecumberCore.filesystem.ThumbnailGenerator;
+import com.trivago.cluecumberCore.json.JsonFileParser;
+import com.trivago.cluecumberCore.json.JsonPojoConverter;
+import com.trivago.cluecumberCore.json.cache.ReportCache;
+import com.trivago.cluecumberCore.json.pojo.Element;
+import com.trivago.cluecumberCore.json.pojo.Embedding;
+import com.trivago.cluecumberCore.json.pojo.Report;
+import com.trivago.cluecumberCore.json.processors.ElementJsonPostProcessor;
+import com.trivago.cluecumberCore.json.processors.ReportJsonPostProcessor;
+import com.trivago.cluecumberCore.json.processors.SymbolTable;
+import com.trivago.cluecumberCore.logging.ICluecumberLogger;
+import com.trivago.cluecumberCore.logging.LoggerUtils;
+import com.trivago.cluecumberCore.properties.PropertyManager;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class JsonFileParserTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private List<Path> jsonFilePaths;
+    private File reportDirectory;
+    private String cacheDirectory;
+    private ICluecumberLogger logger;
+    private AttachmentWriter attachmentWriter;
+
+    @Before
+    public void setup() throws IOException {
+        logger = mock(ICluecumberLogger.class);
+        LoggerUtils.initialize(logger, "default");
+        PropertyManager attachmentProperties = mock(PropertyManager.class);
+        when(attachmentProperties.getNumberOfAttachmentWritingThreads()).thenReturn(2);
+        attachmentWriter = new AttachmentWriter(new FileIO(), attachmentProperties, new ThumbnailGenerator());
+        reportDirectory = temporaryFolder.newFolder();
+        temporaryFolder.newFolder(reportDirectory.getName(), "attachments");
+        jsonFilePaths = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            File jsonFile = temporaryFolder.newFile("report" + i + ".json");
+            writeJson(jsonFile.toPath(), i, 2);
+            jsonFilePaths.add(jsonFile.toPath());
+        }
+    }
+
+    private void writeJson(final Path path, final int index, final int numberOfEmbeddings) throws IOException {
+        StringBuilder embeddings = new StringBuilder();
+        for (int i = 0; i < numberOfEmbeddings; i++) {
+            embeddings.append(i > 0 ? "," : "")
+                    .append(i % 2 == 0 ? "{\"mime_type\": \"text/plain\"" : "{\"mime_type\": \"image/png\"")
+                    .append(", \"data\": \"dGVzdA==\"}");
+        }
+        String json = "[{\"name\": \"Feature " + (index % 5) + "\", \"elements\": [" +
+                "{\"type\": \"scenario\", \"name\": \"Scenario " + index + "\", \"steps\": [{\"embeddings\": [" +
+                embeddings + "]}]}]}]";
+        Files.write(path, json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void parallelParsingMatchesSerialParsingTest() throws Exception {
+        List<Report> serialReports = createJsonFileParser().parseJsonFiles(jsonFilePaths, 1);
+        List<Report> parallelReports = createJsonFileParser().parseJsonFiles(jsonFilePaths, 4);
+
+        assertThat(parallelReports.size(), is(12));
+        assertThat(describe(parallelReports), is(describe(serialReports)));
+        assertThat(parallelReports.get(11).getFeatureIndex(), is(1));
+        assertThat(parallelReports.get(11).getElements().get(0).getSteps().get(0)
+                .getEmbeddings().get(1).getFilename(), is("attachment_9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08.png"));
+        assertThat(new File(reportDirectory, "attachments").list((dir, name) -> name.startsWith("spool")).length, is(0));
+    }
+
+    @Test
+    public void invalidFileIsSkippedTest() throws Exception {
+        Files.write(jsonFilePaths.get(3), "[{".getBytes(StandardCharsets.UTF_8));
+        List<Report> reports = createJsonFileParser().parseJsonFiles(jsonFilePaths, 3);
+        assertThat(reports.size(), is(11));
+        assertThat(reports.get(3).getElements().get(0).getName(), is("Scenario 4"));
+    }
+
+    @Test
+    public void cachedParsingMatchesUncachedParsingTest() throws Exception {
+        cacheDirectory = temporaryFolder.newFolder().getAbsolutePath();
+        String uncached = describe(createJsonFileParser().parseJsonFiles(jsonFilePaths, 1));
+
+        assertThat(describe(createJsonFileParser().parseJsonFiles(jsonFilePaths, 1)), is(uncached));
+        assertThat(describe(createJsonFileParser().parseJsonFiles(jsonFilePaths, 3)), is(uncached));
+        assertThat(describe(createJsonFileParser().parseJsonFiles(jsonFilePaths, 1)), is(uncached));
+        verify(logger, times(3)).info("Reused 12 of 12 JSON files from the parsed JSON cache.");
+    }
+
+    @Test
+    public void changedFileInvalidatesCacheTest() throws Exception {
+        cacheDirectory = temporaryFolder.newFolder().getAbsolutePath();
+        createJsonFileParser().parseJsonFiles(jsonFilePaths, 1);
+        writeJson(jsonFilePaths.get(2), 2, 3);
+
+        String uncached = describeUncached();
+        assertThat(describe(createJsonFileParser().parseJsonFiles(jsonFilePaths, 2)), is(uncached));
+        verify(logger).info("Reused 11 of 12 JSON files from the parsed JSON cache.");
+        assertThat(describe(createJsonFileParser().parseJsonFiles(jsonFilePaths, 1)), is(uncached));
+        verify(logger).info("Reused 12 of 12 JSON files from the parsed JSON cache.");
+        assertThat(uncached.contains("Scenario 2:2,attachment_9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08.txt:test,attachment_9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08.png:test,attachment_9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08.txt:test\n"), is(true));
+    }
+
+    private String describeUncached() throws Exception {
+        String cache = cacheDirectory;
+        File report = reportDirectory;
+        cacheDirectory = null;
+        reportDirectory = temporaryFolder.newFolder();
+        temporaryFolder.newFolder(reportDirectory.getName(), "attachments");
+        String description = describe(createJsonFileParser().parseJsonFiles(jsonFilePaths, 1));
+        cacheDirectory = cache;
+        reportDirectory = report;
+        return description;
+    }
+
+    @Test
+    public void changedFilesAreParsedAgainTest() throws Exception {
+        JsonFileParser jsonFileParser = createJsonFileParser();
+        List<Report> reports = jsonFileParser.parseJsonFiles(jsonFilePaths, 1);
+
+        writeJson(jsonFilePaths.get(11), 11, 3);
+        Set<Path> changedJsonFiles = Collections.singleton(jsonFilePaths.get(11).toAbsolutePath().normalize());
+        List<Report> updatedReports = jsonFileParser.parseJsonFiles(jsonFilePaths, 3, changedJsonFiles);
+
+        assertThat(updatedReports.get(0), is(sameInstance(reports.get(0))));
+        assertThat(updatedReports.get(11), is(not(sameInstance(reports.get(11)))));
+        assertThat(describe(updatedReports), is(describeUncached()));
+        verify(logger).info("Reused 11 of 12 JSON files from the previous run.");
+
+        writeJson(jsonFilePaths.get(0), 0, 1);
+        changedJsonFiles = Collections.singleton(jsonFilePaths.get(0).toAbsolutePath().normalize());
+        updatedReports = jsonFileParser.parseJsonFiles(jsonFilePaths, 1, changedJsonFiles);
+        assertThat(describe(updatedReports), is(describeUncached()));
+        verify(logger, times(2)).info("Reused 11 of 12 JSON files from the previous run.");
+    }
+
+    @Test
+    public void identicalAttachmentsAreStoredOnceTest() throws Exception {
+        List<Report> reports = createJsonFileParser().parseJsonFiles(jsonFilePaths, 3);
+        attachmentWriter.awaitCompletion();
+        assertThat(reports.get(0).getElements().get(0).getSteps().get(0).getEmbeddings().get(1).getFilename(),
+                is(reports.get(7).getElements().get(0).getSteps().get(0).getEmbeddings().get(1).getFilename()));
+        // One text attachment and one image that cannot be decoded, so it does not get a thumbnail
+        assertThat(new File(reportDirectory, "attachments").list().length, is(2));
+    }
+
+    @Test(expected = MissingFileException.class)
+    public void missingFileTest() throws Exception {
+        List<Path> paths = new ArrayList<>(jsonFilePaths);
+        Collections.addAll(paths, new File(temporaryFolder.getRoot(), "missing.json").toPath());
+        createJsonFileParser().parseJsonFiles(paths, 2);
+    }
+
+    private JsonFileParser createJsonFileParser() throws IOException {
+        PropertyManager propertyManager = mock(PropertyManager.class);
+        when(propertyManager.getGeneratedHtmlReportDirectory()).thenReturn(reportDirectory.getAbsolutePath());
+        when(propertyManager.getParsedJsonCacheDirectory()).thenReturn(cacheDirectory);
+        FileIO fileIO = new FileIO();
+        ElementJsonPostProcessor elementJsonPostProcessor =
+                new ElementJsonPostProcessor(propertyManager, attachmentWriter, new ThumbnailGenerator());
+        JsonPojoConverter jsonPojoConverter =
+                new JsonPojoConverter(new ReportJsonPostProcessor(new SymbolTable()), elementJsonPostProcessor);
+        return new JsonFileParser(fileIO, jsonPojoConverter, new ReportCache(propertyManager), attachmentWriter);
+    }
+
+    private String describe(final List<Report> reports) throws Exception {
+        attachmentWriter.awaitCompletion();
+        Path attachments = new File(reportDirectory, "attachments").toPath();
+        StringBuilder description = new StringBuilder();
+        for (Report report : reports) {
+            description.append(report.getName()).append(':').append(report.getFeatureIndex());
+            for (Element element : report.getElements()) {
+                description.append(',').append(element.getName()).append(':').append(element.getFeatureIndex());
+                for (Embedding embedding : element.getAllEmbeddings()) {
+                    description.append(',').append(embedding.getFilename()).append(':').append(new String(
+                            Files.readAllBytes(attachments.resolve(embedding.getFilename())), StandardCharsets.UTF_8));
+                }
+            }
+            description.append('\n');
+        }
+        return description.toString();
+    }
+}
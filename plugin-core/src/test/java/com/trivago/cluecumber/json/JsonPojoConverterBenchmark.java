@@ -0,0 +1,125 @@
+package com.trivago.cluecumber.json;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.trivago.cluecumberCore.constants.MimeType;
+import com.trivago.cluecumberCore.exceptions.CluecumberPluginException;
+import com.trivago.cluecumberCore.json.JsonPojoConverter;
+import com.trivago.cluecumberCore.json.pojo.Element;
+import com.trivago.cluecumberCore.json.pojo.Report;
+import com.trivago.cluecumberCore.json.processors.ElementJsonPostProcessor;
+import com.trivago.cluecumberCore.json.processors.ReportJsonPostProcessor;
+import com.trivago.cluecumberCore.json.processors.SymbolTable;
+import io.gsonfire.GsonFireBuilder;
+
+import java.io.StringReader;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Compares the throughput of the streaming type adapters with the former reflective GsonFire parser
+ * that ran the report and element post processors as GsonFire hooks.
+ * Run the main method with the test classpath, e.g. from the IDE. This is not executed as part of the build.
+ */
+public class JsonPojoConverterBenchmark {
+
+    private static final int FEATURES = 200;
+    private static final int SCENARIOS_PER_FEATURE = 20;
+    private static final int STEPS_PER_SCENARIO = 10;
+    private static final int WARMUP_ROUNDS = 10;
+    private static final int MEASURED_ROUNDS = 20;
+
+    public static void main(final String[] args) throws CluecumberPluginException {
+        String json = createJson();
+        double megabytes = json.length() / (1024.0 * 1024.0);
+
+        ReportJsonPostProcessor reportJsonPostProcessor = new ReportJsonPostProcessor(new SymbolTable()) {
+            @Override
+            public void postDeserialize(final Report report, final JsonElement jsonElement, final Gson gson) {
+            }
+        };
+        ElementJsonPostProcessor elementJsonPostProcessor = new ElementJsonPostProcessor(null, null, null) {
+            @Override
+            public void postDeserialize(final Element element, final JsonElement jsonElement, final Gson gson) {
+            }
+
+            @Override
+            public Path getAttachmentDirectory() {
+                return null;
+            }
+        };
+        Gson reflectiveGson = new GsonFireBuilder()
+                .registerPostProcessor(Report.class, reportJsonPostProcessor)
+                .registerPostProcessor(Element.class, elementJsonPostProcessor)
+                .enumDefaultValue(MimeType.class, MimeType.UNKNOWN)
+                .createGson();
+        JsonPojoConverter jsonPojoConverter = new JsonPojoConverter(reportJsonPostProcessor, elementJsonPostProcessor);
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            reflectiveGson.fromJson(new StringReader(json), Report[].class);
+            jsonPojoConverter.convertJsonToReportPojos(new StringReader(json));
+        }
+
+        long reflectiveNanos = 0;
+        long adapterNanos = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            reflectiveGson.fromJson(new StringReader(json), Report[].class);
+            reflectiveNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            jsonPojoConverter.convertJsonToReportPojos(new StringReader(json));
+            adapterNanos += System.nanoTime() - start;
+        }
+
+        System.out.printf(Locale.ENGLISH, "JSON size: %.1f MB, %d rounds%n", megabytes, MEASURED_ROUNDS);
+        printResult("Reflective GsonFire", megabytes, reflectiveNanos);
+        printResult("Type adapters      ", megabytes, adapterNanos);
+        System.out.printf(Locale.ENGLISH, "Speedup: %.2fx%n", (double) reflectiveNanos / adapterNanos);
+    }
+
+    private static void printResult(final String name, final double megabytes, final long totalNanos) {
+        double secondsPerRound = totalNanos / 1e9 / MEASURED_ROUNDS;
+        System.out.printf(Locale.ENGLISH, "%s: %7.1f ms per round, %6.1f MB/s%n",
+                name, secondsPerRound * 1000, megabytes / secondsPerRound);
+    }
+
+    private static String createJson() {
+        StringBuilder json = new StringBuilder("[");
+        for (int feature = 0; feature < FEATURES; feature++) {
+            if (feature > 0) json.append(',');
+            json.append("{\"line\":1,\"name\":\"Feature ").append(feature)
+                    .append("\",\"description\":\"\",\"id\":\"feature-").append(feature)
+                    .append("\",\"keyword\":\"Feature\",\"uri\":\"features/").append(feature)
+                    .append(".feature\",\"tags\":[{\"name\":\"@feature\",\"line\":1}],\"elements\":[");
+            for (int scenario = 0; scenario < SCENARIOS_PER_FEATURE; scenario++) {
+                if (scenario > 0) json.append(',');
+                json.append("{\"start_timestamp\":\"2019-04-11T08:00:25.829Z\",\"line\":").append(scenario)
+                        .append(",\"name\":\"Scenario ").append(scenario)
+                        .append("\",\"description\":\"\",\"id\":\"feature;scenario\",\"type\":\"scenario\",")
+                        .append("\"keyword\":\"Scenario\",\"tags\":[{\"name\":\"@scenario\"}],")
+                        .append("\"before\":[").append(hook("Hooks.before(Scenario)")).append("],")
+                        .append("\"after\":[").append(hook("Hooks.after(Scenario)")).append("],\"steps\":[");
+                for (int step = 0; step < STEPS_PER_SCENARIO; step++) {
+                    if (step > 0) json.append(',');
+                    json.append("{\"line\":").append(step)
+                            .append(",\"name\":\"I have ").append(step).append(" cukes in my \\\"belly\\\"\",")
+                            .append("\"keyword\":\"Given \",\"result\":{\"duration\":12453061125,\"status\":\"passed\"},")
+                            .append("\"match\":{\"location\":\"Steps.cukes(int,String)\",\"arguments\":[")
+                            .append("{\"val\":\"").append(step).append("\",\"offset\":7},{\"val\":\"belly\",\"offset\":20}]},")
+                            .append("\"rows\":[{\"cells\":[\"a\",\"b\",\"c\"]},{\"cells\":[\"1\",\"2\",\"3\"]}],")
+                            .append("\"output\":[\"Some output\"],")
+                            .append("\"before\":[").append(hook("Hooks.beforeStep()")).append("],")
+                            .append("\"after\":[").append(hook("Hooks.afterStep()")).append("]}");
+                }
+                json.append("]}");
+            }
+            json.append("]}");
+        }
+        return json.append(']').toString();
+    }
+
+    private static String hook(final String location) {
+        return "{\"result\":{\"duration\":5554929,\"status\":\"passed\"},\"match\":{\"location\":\"" + location + "\"}}";
+    }
+}
@@ -10,6 +10,8 @@ import com.trivago.cluecumberCore.json.processors.ReportJsonPostProcessor;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.StringReader;
+
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
@@ -143,4 +145,27 @@ public class JsonPojoConverterTest {
     public void convertJsonToReportPojosInvalidTest() throws CluecumberPluginException {
         pojoConverter.convertJsonToReportPojos("!$%&§/");
     }
+
+    @Test
+    public void convertEmptyJsonReaderToReportPojosTest() throws CluecumberPluginException {
+        Report[] reports = pojoConverter.convertJsonToReportPojos(new StringReader("  \n "));
+        assertThat(reports, is(nullValue()));
+    }
+
+    @Test
+    public void convertJsonReaderToReportPojosTest() throws CluecumberPluginException {
+        String json = "[{\"name\": \"Feature 1\", \"elements\": [{\"type\": \"scenario\"}]}," +
+                "{\"name\": \"Feature 2\"}]";
+        Report[] reports = pojoConverter.convertJsonToReportPojos(new StringReader(json));
+        assertThat(reports.length, is(2));
+        assertThat(reports[0].getName(), is("Feature 1"));
+        assertThat(reports[0].getElements().size(), is(1));
+        assertThat(reports[1].getName(), is("Feature 2"));
+        assertThat(reports[1].getElements().size(), is(0));
+    }
+
+    @Test(expected = CluecumberPluginException.class)
+    public void convertJsonReaderWithTrailingContentToReportPojosTest() throws CluecumberPluginException {
+        pojoConverter.convertJsonToReportPojos(new StringReader("[] {}"));
+    }
 }
@@ -0,0 +1,121 @@
+package com.trivago.cluecumber.json.adapters;
+
+import com.trivago.cluecumberCore.json.adapters.EmbeddingDataSpoolingReader;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.fail;
+
+public class EmbeddingDataSpoolingReaderTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path spoolDirectory;
+
+    @Before
+    public void setup() throws IOException {
+        spoolDirectory = temporaryFolder.newFolder().toPath();
+    }
+
+    @Test
+    public void passThroughWithoutSpoolDirectoryTest() throws IOException {
+        String json = "[{\"data\": \"dGVzdA==\", \"name\": \"data\"}]";
+        assertThat(readAll(new EmbeddingDataSpoolingReader(new StringReader(json), null), 7), is(json));
+    }
+
+    @Test
+    public void dataIsSpooledTest() throws Exception {
+        byte[] content = new byte[50000];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) (i * 31);
+        }
+        String base64 = Base64.getMimeEncoder().encodeToString(content)
+                .replace("\r\n", "\\r\\n").replace("/", "\\/");
+        String json = "[{\"embeddings\": [{\"mime_type\": \"image/png\", \"data\" : \"" + base64 + "\", \"name\": \"data\"}]}]";
+
+        String result = readAll(new EmbeddingDataSpoolingReader(new StringReader(json), spoolDirectory), 3);
+
+        Matcher matcher = Pattern.compile("\"data\" : \"#spooled:([0-9a-f]{64}):(spool[^\"]*)\", \"name\": \"data\"}]}]$").matcher(result);
+        assertThat(matcher.find(), is(true));
+        assertThat(Files.readAllBytes(spoolDirectory.resolve(matcher.group(2))), is(content));
+        assertThat(matcher.group(1), is(sha256Hex(content)));
+    }
+
+    @Test
+    public void unicodeEscapesAndMissingPaddingTest() throws IOException {
+        String json = "{\"embeddings\":[{\"data\":\"dGV\\u007adA\"}]}";
+        String result = readAll(new EmbeddingDataSpoolingReader(new StringReader(json), spoolDirectory), 1024);
+        String spooledFile = result.substring(result.lastIndexOf(':') + 1, result.length() - 4);
+        assertThat(new String(Files.readAllBytes(spoolDirectory.resolve(spooledFile)), StandardCharsets.UTF_8),
+                is("test"));
+    }
+
+    @Test
+    public void otherPropertiesAreNotSpooledTest() throws IOException {
+        String json = "{\"data\": \"dGVzdA==\", \"result\": {\"data\": \"dGVzdA==\"}, \"list\": [\"data\", \"a\"], "
+                + "\"embeddings\": [{\"metadata\": \"dGVzdA==\", \"x\\\"data\": \"dGVzdA==\", \"data\": null, "
+                + "\"nested\": {\"data\": \"dGVzdA==\"}}], \"embeddings2\": [{\"data\": \"dGVzdA==\"}]}";
+        EmbeddingDataSpoolingReader reader = new EmbeddingDataSpoolingReader(new StringReader(json), spoolDirectory);
+        assertThat(readAll(reader, 5), is(json));
+        assertThat(spoolDirectory.toFile().list().length, is(0));
+    }
+
+    @Test
+    public void deleteSpooledFilesTest() throws IOException {
+        EmbeddingDataSpoolingReader reader =
+                new EmbeddingDataSpoolingReader(new StringReader("{\"embeddings\": [{\"data\": \"dGVzdA==\"}]}"), spoolDirectory);
+        readAll(reader, 10);
+        assertThat(spoolDirectory.toFile().list().length, is(1));
+        reader.deleteSpooledFiles();
+        assertThat(spoolDirectory.toFile().list().length, is(0));
+    }
+
+    @Test
+    public void invalidBase64IsRejectedTest() {
+        String[] invalidData = {"dGV*dA==", "dGVzdA==dGVz", "dGVzd", "dGVzdA=", "dGVz\\tdA=="};
+        for (String data : invalidData) {
+            String json = "{\"embeddings\": [{\"data\": \"" + data + "\"}]}";
+            try {
+                readAll(new EmbeddingDataSpoolingReader(new StringReader(json), spoolDirectory), 1024);
+                fail(data + " should be rejected.");
+            } catch (IOException e) {
+                assertThat(e.getMessage().startsWith("Embedding data"), is(true));
+            }
+        }
+    }
+
+    private String sha256Hex(final byte[] content) throws NoSuchAlgorithmException {
+        StringBuilder hex = new StringBuilder();
+        for (byte b : MessageDigest.getInstance("SHA-256").digest(content)) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    private String readAll(final Reader reader, final int bufferSize) throws IOException {
+        StringBuilder result = new StringBuilder();
+        char[] buffer = new char[bufferSize];
+        int read;
+        while ((read = reader.read(buffer, 0, buffer.length)) != -1) {
+            result.append(buffer, 0, read);
+        }
+        reader.close();
+        return result.toString();
+    }
+}
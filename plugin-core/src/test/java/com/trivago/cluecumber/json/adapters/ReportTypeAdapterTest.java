@@ -0,0 +1,117 @@
+package com.trivago.cluecumber.json.adapters;
+
+import com.google.gson.stream.JsonReader;
+import com.trivago.cluecumberCore.constants.MimeType;
+import com.trivago.cluecumberCore.json.adapters.ReportTypeAdapter;
+import com.trivago.cluecumberCore.json.pojo.Element;
+import com.trivago.cluecumberCore.json.pojo.Report;
+import com.trivago.cluecumberCore.json.pojo.Step;
+import com.trivago.cluecumberCore.json.processors.ElementJsonPostProcessor;
+import com.trivago.cluecumberCore.json.processors.ReportJsonPostProcessor;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+
+public class ReportTypeAdapterTest {
+    private ReportJsonPostProcessor reportJsonPostProcessor;
+    private ElementJsonPostProcessor elementJsonPostProcessor;
+    private ReportTypeAdapter reportTypeAdapter;
+
+    @Before
+    public void setup() {
+        reportJsonPostProcessor = mock(ReportJsonPostProcessor.class);
+        elementJsonPostProcessor = mock(ElementJsonPostProcessor.class);
+        reportTypeAdapter = new ReportTypeAdapter(reportJsonPostProcessor, elementJsonPostProcessor);
+    }
+
+    @Test
+    public void readNullTest() throws IOException {
+        assertThat(read("null"), is(nullValue()));
+    }
+
+    @Test
+    public void readReportTest() throws IOException {
+        String json = "{\"line\": 3, \"name\": \"Feature\", \"uri\": \"test.feature\", \"unknown\": {\"a\": [1, 2]}," +
+                "\"tags\": [{\"name\": \"@tag\", \"line\": 2}]," +
+                "\"elements\": [{\"type\": \"scenario\", \"name\": \"Scenario\", \"start_timestamp\": \"2019-04-11T08:00:25.829Z\"," +
+                "\"before\": [{\"result\": {\"duration\": 5, \"status\": \"passed\"}, \"match\": {\"location\": \"Hooks.before()\"}}]," +
+                "\"steps\": [{\"name\": \"I have 5 cukes\", \"keyword\": \"Given \", \"line\": 7," +
+                "\"result\": {\"duration\": 1000, \"status\": \"failed\", \"error_message\": \"Error\"}," +
+                "\"match\": {\"location\": \"Steps.cukes(int)\", \"arguments\": [{\"val\": \"5\", \"offset\": 7}]}," +
+                "\"rows\": [{\"cells\": [\"a\", \"b\"]}], \"doc_string\": {\"content_type\": \"\", \"line\": 8, \"value\": \"text\"}," +
+                "\"output\": [\"out\"], \"embeddings\": [{\"mime_type\": \"image/png\", \"data\": \"abc\"}, {\"mime_type\": \"video/mp4\"}]," +
+                "\"after\": [{\"result\": {\"duration\": 7, \"status\": \"passed\"}}]}]}]}";
+        Report report = read(json);
+
+        assertThat(report.getLine(), is(3));
+        assertThat(report.getName(), is("Feature"));
+        assertThat(report.getUri(), is("test.feature"));
+        assertThat(report.getTags().get(0).getName(), is("@tag"));
+
+        Element element = report.getElements().get(0);
+        assertThat(element.isScenario(), is(true));
+        assertThat(element.getStartTimestamp(), is("2019-04-11T08:00:25.829Z"));
+        assertThat(element.getBefore().get(0).getGlueMethodName(), is("Hooks.before()"));
+
+        Step step = element.getSteps().get(0);
+        assertThat(step.getName(), is("I have 5 cukes"));
+        assertThat(step.getKeyword(), is("Given "));
+        assertThat(step.getLine(), is(7));
+        assertThat(step.getResult().getDuration(), is(1000L));
+        assertThat(step.getResult().getErrorMessage(), is("Error"));
+        assertThat(step.isFailed(), is(true));
+        assertThat(step.getGlueMethodName(), is("Steps.cukes(int)"));
+        assertThat(step.getArguments().get(0).getVal(), is("5"));
+        assertThat(step.getArguments().get(0).getOffset(), is(7));
+        assertThat(step.getRows().get(0).getCells().get(1), is("b"));
+        assertThat(step.getDocString().getValue(), is("text"));
+        assertThat(step.getOutput().get(0), is("out"));
+        assertThat(step.getEmbeddings().get(0).getMimeType(), is(MimeType.PNG));
+        assertThat(step.getEmbeddings().get(0).getData(), is("abc"));
+        assertThat(step.getEmbeddings().get(1).getMimeType(), is(MimeType.UNKNOWN));
+        assertThat(step.getTotalDuration(), is(1007L));
+    }
+
+    @Test
+    public void readNullPropertiesKeepDefaultsTest() throws IOException {
+        Report report = read("{\"name\": null, \"elements\": null, \"tags\": [null]}");
+        assertThat(report.getName(), is("[Unnamed]"));
+        assertThat(report.getElements().size(), is(0));
+        assertThat(report.getTags().size(), is(1));
+        assertThat(report.getTags().get(0), is(nullValue()));
+    }
+
+    @Test
+    public void postProcessorOrderTest() throws IOException {
+        Report report = read("{\"elements\": [{\"name\": \"first\"}, {\"name\": \"second\"}]}");
+        InOrder inOrder = inOrder(elementJsonPostProcessor, reportJsonPostProcessor);
+        inOrder.verify(elementJsonPostProcessor).postDeserialize(report.getElements().get(0), null, null);
+        inOrder.verify(elementJsonPostProcessor).postDeserialize(report.getElements().get(1), null, null);
+        inOrder.verify(reportJsonPostProcessor).postDeserialize(report, null, null);
+    }
+
+    @Test
+    public void readWithoutPostProcessorsTest() throws IOException {
+        ReportTypeAdapter adapter = new ReportTypeAdapter(null, null);
+        Report report = adapter.read(new JsonReader(new StringReader("{\"elements\": [{}]}")));
+        assertThat(report.getElements().size(), is(1));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void readWrongTypeTest() throws IOException {
+        read("{\"elements\": {}}");
+    }
+
+    private Report read(final String json) throws IOException {
+        return reportTypeAdapter.read(new JsonReader(new StringReader(json)));
+    }
+}
@@ -0,0 +1,184 @@
+package com.trivago.cluecumber.json.cache;
+
+import com.trivago.cluecumberCore.constants.MimeType;
+import com.trivago.cluecumberCore.json.cache.JsonFileFingerprint;
+import com.trivago.cluecumberCore.json.cache.ReportCache;
+import com.trivago.cluecumberCore.json.pojo.DocString;
+import com.trivago.cluecumberCore.json.pojo.Element;
+import com.trivago.cluecumberCore.json.pojo.Embedding;
+import com.trivago.cluecumberCore.json.pojo.Report;
+import com.trivago.cluecumberCore.json.pojo.Result;
+import com.trivago.cluecumberCore.json.pojo.Step;
+import com.trivago.cluecumberCore.json.pojo.Tag;
+import com.trivago.cluecumberCore.properties.PropertyManager;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ReportCacheTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private PropertyManager propertyManager;
+    private ReportCache reportCache;
+    private File cacheDirectory;
+    private Path jsonFile;
+    private Path attachmentFile;
+
+    @Before
+    public void setup() throws IOException {
+        cacheDirectory = temporaryFolder.newFolder("cache");
+        File reportDirectory = temporaryFolder.newFolder("report");
+        temporaryFolder.newFolder("report", "attachments");
+        propertyManager = mock(PropertyManager.class);
+        when(propertyManager.getParsedJsonCacheDirectory()).thenReturn(cacheDirectory.getAbsolutePath());
+        when(propertyManager.getGeneratedHtmlReportDirectory()).thenReturn(reportDirectory.getAbsolutePath());
+        reportCache = new ReportCache(propertyManager);
+
+        jsonFile = temporaryFolder.newFile("report.json").toPath();
+        Files.write(jsonFile, "[]".getBytes(StandardCharsets.UTF_8));
+        attachmentFile = reportDirectory.toPath().resolve("attachments/attachment003.txt");
+        Files.write(attachmentFile, "text".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void isEnabledTest() {
+        assertThat(reportCache.isEnabled(), is(true));
+        when(propertyManager.getParsedJsonCacheDirectory()).thenReturn(" ");
+        assertThat(reportCache.isEnabled(), is(false));
+    }
+
+    @Test
+    public void storeAndLoadTest() throws Exception {
+        JsonFileFingerprint fingerprint = reportCache.getFingerprint(jsonFile);
+        reportCache.store(fingerprint, new Report[]{createReport()});
+
+        Report[] cachedReports = reportCache.load(reportCache.getFingerprint(jsonFile));
+        assertThat(cachedReports, is(notNullValue()));
+        assertThat(cachedReports.length, is(1));
+
+        Report report = cachedReports[0];
+        assertThat(report.getName(), is("Feature"));
+        assertThat(report.getTags().get(0).getName(), is("@tag"));
+        Element element = report.getElements().get(0);
+        assertThat(element.getFeatureName(), is("Feature"));
+        assertThat(element.isFailOnPendingOrUndefined(), is(true));
+        Step step = element.getSteps().get(0);
+        assertThat(step.getName(), is("Step"));
+        assertThat(step.getResult().getDuration(), is(1000L));
+        assertThat(step.getResult().getStatus(), is("failed"));
+        assertThat(step.getDocString().getValue(), is("doc"));
+        assertThat(step.getBefore().size(), is(0));
+        Embedding embedding = step.getEmbeddings().get(0);
+        assertThat(embedding.getFilename(), is("attachment003.txt"));
+        assertThat(embedding.getName(), is("text"));
+        assertThat(embedding.hasThumbnail(), is(true));
+        assertThat(embedding.getMimeType(), is(MimeType.TXT));
+    }
+
+    @Test
+    public void changedJsonFileTest() throws Exception {
+        reportCache.store(reportCache.getFingerprint(jsonFile), new Report[]{createReport()});
+        Files.write(jsonFile, "[ ]".getBytes(StandardCharsets.UTF_8));
+        assertThat(reportCache.load(reportCache.getFingerprint(jsonFile)), is(nullValue()));
+    }
+
+    @Test
+    public void unchangedSizeAndModificationTimeAreTrustedTest() throws Exception {
+        FileTime lastModified = FileTime.fromMillis(System.currentTimeMillis() - 60000);
+        Files.setLastModifiedTime(jsonFile, lastModified);
+        reportCache.store(reportCache.getFingerprint(jsonFile), new Report[]{createReport()});
+        // Same size and modification time, so the content is not read again.
+        Files.write(jsonFile, "{}".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(jsonFile, lastModified);
+        assertThat(reportCache.load(reportCache.getFingerprint(jsonFile)), is(notNullValue()));
+    }
+
+    @Test
+    public void recentModificationTimeIsNotTrustedTest() throws Exception {
+        FileTime lastModified = FileTime.fromMillis(System.currentTimeMillis());
+        Files.setLastModifiedTime(jsonFile, lastModified);
+        reportCache.store(reportCache.getFingerprint(jsonFile), new Report[]{createReport()});
+        Files.write(jsonFile, "{}".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(jsonFile, lastModified);
+        assertThat(reportCache.load(reportCache.getFingerprint(jsonFile)), is(nullValue()));
+    }
+
+    @Test
+    public void touchedJsonFileTest() throws Exception {
+        reportCache.store(reportCache.getFingerprint(jsonFile), new Report[]{createReport()});
+        Files.setLastModifiedTime(jsonFile, FileTime.fromMillis(System.currentTimeMillis() + 60000));
+        assertThat(reportCache.load(reportCache.getFingerprint(jsonFile)), is(notNullValue()));
+    }
+
+    @Test
+    public void changedAttachmentTest() throws Exception {
+        reportCache.store(reportCache.getFingerprint(jsonFile), new Report[]{createReport()});
+        Files.write(attachmentFile, "other text".getBytes(StandardCharsets.UTF_8));
+        assertThat(reportCache.load(reportCache.getFingerprint(jsonFile)), is(nullValue()));
+    }
+
+    @Test
+    public void changedSettingsTest() throws Exception {
+        reportCache.store(reportCache.getFingerprint(jsonFile), new Report[]{createReport()});
+        when(propertyManager.isFailScenariosOnPendingOrUndefinedSteps()).thenReturn(true);
+        assertThat(reportCache.load(reportCache.getFingerprint(jsonFile)), is(nullValue()));
+    }
+
+    @Test
+    public void removeUnusedEntriesTest() throws Exception {
+        File unusedEntry = new File(cacheDirectory, "unused.bin");
+        Files.write(unusedEntry.toPath(), new byte[]{1, 2, 3});
+        reportCache.store(reportCache.getFingerprint(jsonFile), new Report[0]);
+
+        reportCache.removeUnusedEntries();
+        assertThat(unusedEntry.exists(), is(false));
+        assertThat(cacheDirectory.listFiles().length, is(1));
+    }
+
+    private Report createReport() {
+        Report report = new Report();
+        report.setName("Feature");
+        Tag tag = new Tag();
+        tag.setName("@tag");
+        report.setTags(Collections.singletonList(tag));
+
+        Element element = new Element();
+        element.setFeatureName("Feature");
+        element.setFailOnPendingOrUndefined(true);
+        Step step = new Step();
+        step.setName("Step");
+        Result result = new Result();
+        result.setDuration(1000);
+        result.setStatus("failed");
+        step.setResult(result);
+        DocString docString = new DocString();
+        docString.setValue("doc");
+        step.setDocString(docString);
+        Embedding embedding = new Embedding();
+        embedding.setMimeType(MimeType.TXT);
+        embedding.setFilename("attachment003.txt");
+        embedding.setName("text");
+        embedding.setThumbnail(true);
+        step.setEmbeddings(Collections.singletonList(embedding));
+        element.setSteps(Collections.singletonList(step));
+        report.setElements(Collections.singletonList(element));
+        return report;
+    }
+}
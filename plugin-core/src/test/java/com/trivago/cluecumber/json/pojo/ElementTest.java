@@ -13,6 +13,7 @@ import static org.hamcrest.CoreMatchers.endsWith;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsNull.nullValue;
+import static org.hamcrest.core.IsSame.sameInstance;
 
 public class ElementTest {
     private Element element;
@@ -369,6 +370,20 @@ public class ElementTest {
         assertThat(element.getEndDateTime().format(DateTimeFormatter.ISO_DATE_TIME), is("2019-04-11T10:47:03.668Z"));
     }
 
+    @Test
+    public void startAndEndDateTimeKeepOffsetTest() {
+        element.setStartTimestamp("2019-04-11T10:00:23.668+02:00");
+        List<ResultMatch> beforeSteps = new ArrayList<>();
+        ResultMatch before = new ResultMatch();
+        Result beforeResult = new Result();
+        beforeResult.setDuration(10000000000000L);
+        before.setResult(beforeResult);
+        beforeSteps.add(before);
+        element.setBefore(beforeSteps);
+        assertThat(element.getStartDateTime().format(DateTimeFormatter.ISO_DATE_TIME), is("2019-04-11T10:00:23.668+02:00"));
+        assertThat(element.getEndDateTime().format(DateTimeFormatter.ISO_DATE_TIME), is("2019-04-11T12:47:03.668+02:00"));
+    }
+
     @Test
     public void getEndDateTimeNoStartDateTest() {
         List<ResultMatch> beforeSteps = new ArrayList<>();
@@ -418,4 +433,51 @@ public class ElementTest {
         element.setBefore(beforeSteps);
         assertThat(element.getEndTimeString(), endsWith(":47:03"));
     }
+
+    @Test
+    public void summaryIsReusedTest() {
+        List<Step> steps = new ArrayList<>();
+        Step step = new Step();
+        Result result = new Result();
+        result.setStatus("passed");
+        result.setDuration(1000L);
+        step.setResult(result);
+        steps.add(step);
+        element.setSteps(steps);
+        element.updateSummary();
+
+        ElementSummary summary = element.getSummary();
+        assertThat(summary.getStatus(), is(Status.PASSED));
+        assertThat(summary.getTotalNumberOfPassedSteps(), is(1));
+        assertThat(summary.getTotalDuration(), is(1000L));
+        assertThat(element.getSummary(), is(sameInstance(summary)));
+    }
+
+    @Test
+    public void summaryIsUpdatedOnChangesTest() {
+        List<Step> steps = new ArrayList<>();
+        Step step = new Step();
+        Result result = new Result();
+        result.setStatus("pending");
+        step.setResult(result);
+        steps.add(step);
+        element.setSteps(steps);
+        assertThat(element.getStatus(), is(Status.SKIPPED));
+
+        element.setFailOnPendingOrUndefined(true);
+        assertThat(element.getStatus(), is(Status.FAILED));
+
+        List<ResultMatch> after = new ArrayList<>();
+        ResultMatch afterHook = new ResultMatch();
+        Result afterHookResult = new Result();
+        afterHookResult.setStatus("failed");
+        afterHookResult.setDuration(5L);
+        afterHook.setResult(afterHookResult);
+        after.add(afterHook);
+        element.setFailOnPendingOrUndefined(false);
+        element.setAfter(after);
+        assertThat(element.getStatus(), is(Status.FAILED));
+        assertThat(element.getTotalDuration(), is(5L));
+        assertThat(element.getTotalNumberOfSkippedSteps(), is(1));
+    }
 }
@@ -2,10 +2,11 @@ package com.trivago.cluecumber.json.pojo;
 
 import com.trivago.cluecumberCore.constants.MimeType;
 import com.trivago.cluecumberCore.json.pojo.Embedding;
-import org.codehaus.plexus.util.Base64;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.nio.charset.StandardCharsets;
+
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 
@@ -60,30 +61,24 @@ public class EmbeddingTest {
     }
 
     @Test
-    public void getDecodedDataTest() {
-        String originalInput = "This is getDecodeData() Test !!!";
-        String encodeString = new String(Base64.encodeBase64(originalInput.getBytes()));
+    public void returnDisplayTextTest() {
+        String originalInput = "This is returnDisplayText() Test !!!";
         embedding.setMimeType(MimeType.TXT);
-        embedding.encodeData(encodeString);
-        assertThat(embedding.getDecodedData(), is("This is getDecodeData() Test !!!"));
+        assertThat(embedding.returnDisplayText(originalInput.getBytes(StandardCharsets.UTF_8)), is("This is returnDisplayText() Test !!!"));
     }
 
     @Test
-    public void getDecodedDataForXMLTest() {
+    public void returnDisplayTextForXMLTest() {
         String originalInput = "<?xml version=\"1.0\" encoding=\"UTF-8\"?><note><to>Tove</to><from>Jani</from><heading>Reminder</heading><body>Don't forget me this weekend!</body></note>";
-        String encodeString = new String(Base64.encodeBase64(originalInput.getBytes()));
         embedding.setMimeType(MimeType.XML);
-        embedding.encodeData(encodeString);
-        assertThat(embedding.getDecodedData(), is("&lt;?xml version=\"1.0\" encoding=\"UTF-8\"?&gt;&lt;note&gt;&lt;to&gt;Tove&lt;/to&gt;&lt;from&gt;Jani&lt;/from&gt;&lt;heading&gt;Reminder&lt;/heading&gt;&lt;body&gt;Don't forget me this weekend!&lt;/body&gt;&lt;/note&gt;"));
+        assertThat(embedding.returnDisplayText(originalInput.getBytes(StandardCharsets.UTF_8)), is("&lt;?xml version=\"1.0\" encoding=\"UTF-8\"?&gt;&lt;note&gt;&lt;to&gt;Tove&lt;/to&gt;&lt;from&gt;Jani&lt;/from&gt;&lt;heading&gt;Reminder&lt;/heading&gt;&lt;body&gt;Don't forget me this weekend!&lt;/body&gt;&lt;/note&gt;"));
     }
 
     @Test
-    public void getDecodedDataForHTMLTest() {
+    public void returnDisplayTextForHTMLTest() {
         String originalInput = "<a href=\"test\">test</a>";
-        String encodeString = new String(Base64.encodeBase64(originalInput.getBytes()));
         embedding.setMimeType(MimeType.HTML);
-        embedding.encodeData(encodeString);
-        assertThat(embedding.getDecodedData(), is("<a href='test'>test</a>"));
+        assertThat(embedding.returnDisplayText(originalInput.getBytes(StandardCharsets.UTF_8)), is("<a href='test'>test</a>"));
     }
 
     @Test
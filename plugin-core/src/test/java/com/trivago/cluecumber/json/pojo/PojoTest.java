@@ -14,7 +14,7 @@ import org.junit.Test;
 import java.util.List;
 
 public class PojoTest {
-    private static final int EXPECTED_CLASS_COUNT = 13;
+    private static final int EXPECTED_CLASS_COUNT = 16;
     private static final String POJO_PACKAGE = "com.trivago.cluecumberCore.json.pojo";
 
     @BeforeClass
@@ -12,6 +12,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 public class ResultMatchTest {
@@ -132,4 +133,29 @@ public class ResultMatchTest {
         resultMatch.setOutput(output);
         assertThat(resultMatch.returnEscapedOutputs().get(0), is("Testäöüß"));
     }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void missingResultCannotBeModifiedTest() {
+        resultMatch.getResult().setStatus(Status.PASSED.getStatusString());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void missingMatchCannotBeModifiedTest() {
+        resultMatch.getMatch().setLocation("someMethod");
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void missingMatchArgumentsCannotBeModifiedTest() {
+        resultMatch.getArguments().add(new Argument());
+    }
+
+    @Test
+    public void missingResultAndMatchAreSharedTest() {
+        ResultMatch otherResultMatch = new ResultMatch();
+        assertThat(resultMatch.getResult(), is(sameInstance(otherResultMatch.getResult())));
+        assertThat(resultMatch.getMatch(), is(sameInstance(otherResultMatch.getMatch())));
+        assertThat(resultMatch.getStatus(), is(Status.UNDEFINED));
+        assertThat(resultMatch.getResult().getDuration(), is(0L));
+        assertThat(resultMatch.getArguments().size(), is(0));
+    }
 }
@@ -1,5 +1,6 @@
 package com.trivago.cluecumber.json.pojo;
 
+import com.trivago.cluecumberCore.constants.Status;
 import com.trivago.cluecumberCore.json.pojo.Result;
 import org.junit.Before;
 import org.junit.Test;
@@ -35,4 +36,19 @@ public class ResultTest {
         String error = result.returnErrorMessageWithClickableLinks();
         assertThat(error, is("Error in <a href='http://google.com' target='_blank'>http://google.com</a> found!"));
     }
+
+    @Test
+    public void normalizedStatusTest() {
+        assertThat(result.getNormalizedStatus(), is(Status.UNDEFINED));
+        result.setStatus("passed");
+        assertThat(result.getNormalizedStatus(), is(Status.PASSED));
+        result.setStatus("PENDING");
+        assertThat(result.getNormalizedStatus(), is(Status.PENDING));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownStatusTest() {
+        result.setStatus("unknown");
+        result.getNormalizedStatus();
+    }
 }
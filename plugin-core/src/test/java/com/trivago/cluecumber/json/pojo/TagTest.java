@@ -17,14 +17,9 @@ public class TagTest {
     }
 
     @Test
-    public void getUrlFriendlyNameSimpleNameTest() {
-        tag.setName("someName");
-        assertThat(tag.getUrlFriendlyName(), is("someName"));
-    }
-
-    @Test
-    public void getUrlFriendlyNameComplexNameTest() {
+    public void getUrlFriendlyNameTest() {
         tag.setName("@this_is-@quite%complex");
-        assertThat(tag.getUrlFriendlyName(), is("this_is-quite%complex"));
+        tag.setId(12);
+        assertThat(tag.getUrlFriendlyName(), is("12"));
     }
-}
\ No newline at end of file
+}
@@ -1,33 +1,41 @@
 package com.trivago.cluecumber.json.processors;
 
 import com.trivago.cluecumberCore.constants.MimeType;
-import com.trivago.cluecumberCore.filesystem.FileIO;
+import com.trivago.cluecumberCore.filesystem.AttachmentWriter;
+import com.trivago.cluecumberCore.filesystem.ThumbnailGenerator;
 import com.trivago.cluecumberCore.json.pojo.Element;
 import com.trivago.cluecumberCore.json.pojo.Embedding;
 import com.trivago.cluecumberCore.json.pojo.ResultMatch;
 import com.trivago.cluecumberCore.json.pojo.Step;
 import com.trivago.cluecumberCore.json.processors.ElementJsonPostProcessor;
-import com.trivago.cluecumberCore.logging.LoggerUtils;
 import com.trivago.cluecumberCore.properties.PropertyManager;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.endsWith;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class ElementJsonPostProcessorTest {
     private ElementJsonPostProcessor elementJsonPostProcessor;
+    private AttachmentWriter attachmentWriter;
+    private ThumbnailGenerator thumbnailGenerator;
 
     @Before
     public void setup() {
         PropertyManager propertyManager = mock(PropertyManager.class);
-        FileIO fileIO = mock(FileIO.class);
-        LoggerUtils logger = mock(LoggerUtils.class);
-        elementJsonPostProcessor = new ElementJsonPostProcessor(propertyManager, fileIO, logger);
+        attachmentWriter = mock(AttachmentWriter.class);
+        thumbnailGenerator = mock(ThumbnailGenerator.class);
+        elementJsonPostProcessor = new ElementJsonPostProcessor(propertyManager, attachmentWriter, thumbnailGenerator);
     }
 
     @Test
@@ -69,9 +77,31 @@ public class ElementJsonPostProcessorTest {
         element.setAfter(elementAfter);
 
         assertThat(embedding.getData(), is("123"));
+        when(thumbnailGenerator.needsThumbnail(any(byte[].class))).thenReturn(true);
 
         elementJsonPostProcessor.postDeserialize(element, null, null);
-        assertThat(embedding.getFilename(), is("attachment001.png"));
+        assertThat(embedding.getFilename(), is("attachment_709e80c88487a2411e1ee4dfb9f22a861492d20c4765150c0c794abd70f8147c.png"));
+        assertThat(embedding.getThumbnailFilename(),
+                is("attachment_709e80c88487a2411e1ee4dfb9f22a861492d20c4765150c0c794abd70f8147c_thumbnail.png"));
+        verify(attachmentWriter).writeFile(any(byte[].class), endsWith("/attachments/" + embedding.getFilename()),
+                endsWith("/attachments/" + embedding.getThumbnailFilename()));
+    }
+
+    @Test
+    public void smallImageHasNoThumbnailTest() {
+        Embedding embedding = new Embedding();
+        embedding.setMimeType(MimeType.PNG);
+        embedding.setData("123");
+        Step step = new Step();
+        step.setEmbeddings(Collections.singletonList(embedding));
+        Element element = new Element();
+        element.setSteps(Collections.singletonList(step));
+
+        elementJsonPostProcessor.postDeserialize(element, null, null);
+        assertThat(embedding.hasThumbnail(), is(false));
+        assertThat(embedding.getThumbnailFilename(), is(embedding.getFilename()));
+        verify(attachmentWriter).writeFile(any(byte[].class), endsWith("/attachments/" + embedding.getFilename()),
+                isNull());
     }
 
     @Test
@@ -1,14 +1,19 @@
 package com.trivago.cluecumber.json.processors;
 
+import com.trivago.cluecumberCore.constants.Status;
 import com.trivago.cluecumberCore.json.pojo.Element;
+import com.trivago.cluecumberCore.json.pojo.Match;
 import com.trivago.cluecumberCore.json.pojo.Report;
+import com.trivago.cluecumberCore.json.pojo.Result;
 import com.trivago.cluecumberCore.json.pojo.Step;
 import com.trivago.cluecumberCore.json.pojo.Tag;
 import com.trivago.cluecumberCore.json.processors.ReportJsonPostProcessor;
+import com.trivago.cluecumberCore.json.processors.SymbolTable;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -19,7 +24,7 @@ public class ReportJsonPostProcessorTest {
 
     @Before
     public void setup() {
-        reportJsonPostProcessor = new ReportJsonPostProcessor();
+        reportJsonPostProcessor = new ReportJsonPostProcessor(new SymbolTable());
     }
 
     @Test
@@ -80,6 +85,82 @@ public class ReportJsonPostProcessorTest {
         assertThat(firstElementSteps.get(3).getName(), is("element step 2"));
     }
 
+    @Test
+    public void symbolIdsTest() {
+        Report report1 = createReport("feature 1", "@tag1", "Steps.one()", "Steps.two()");
+        Report report2 = createReport("feature 2", "@tag2", "Steps.two()", "Steps.three()");
+        Report report3 = createReport("feature 1", "@tag1", "Steps.three()", "Steps.one()");
+        reportJsonPostProcessor.postDeserialize(report1, null, null);
+        reportJsonPostProcessor.postDeserialize(report2, null, null);
+        reportJsonPostProcessor.updateIds(report3);
+
+        assertThat(report1.getFeatureIndex(), is(0));
+        assertThat(report2.getFeatureIndex(), is(1));
+        assertThat(report3.getFeatureIndex(), is(0));
+        assertThat(report3.getElements().get(0).getFeatureIndex(), is(0));
+        assertThat(report1.getElements().get(0).getTags().get(0).getId(), is(0));
+        assertThat(report2.getElements().get(0).getTags().get(0).getId(), is(1));
+        assertThat(report3.getElements().get(0).getTags().get(0).getId(), is(0));
+        List<Step> steps = report3.getElements().get(0).getSteps();
+        assertThat(steps.get(0).getGlueMethodId(), is(2));
+        assertThat(steps.get(1).getGlueMethodId(), is(0));
+        assertThat(steps.get(1).getUrlFriendlyName(), is("0"));
+    }
+
+    private Report createReport(final String featureName, final String tagName, final String... glueMethodNames) {
+        Report report = new Report();
+        report.setName(featureName);
+        Element element = new Element();
+        Tag tag = new Tag();
+        tag.setName(tagName);
+        element.setTags(Collections.singletonList(tag));
+        List<Step> steps = new ArrayList<>();
+        for (String glueMethodName : glueMethodNames) {
+            Match match = new Match();
+            match.setLocation(glueMethodName);
+            Step step = new Step();
+            step.setMatch(match);
+            steps.add(step);
+        }
+        element.setSteps(steps);
+        report.setElements(Collections.singletonList(element));
+        return report;
+    }
+
+    @Test
+    public void failedBackgroundStepFailsScenarioTest() {
+        Element backgroundElement = new Element();
+        backgroundElement.setType("background");
+        backgroundElement.setSteps(new ArrayList<>(Collections.singletonList(createStep("failed", 5000000000L))));
+        Element scenario = new Element();
+        scenario.setType("scenario");
+        scenario.setSteps(new ArrayList<>(Collections.singletonList(createStep("passed", 1000))));
+        // Summaries are computed by the element post processor before the report is post processed
+        assertThat(scenario.getStatus(), is(Status.PASSED));
+
+        Report report = new Report();
+        List<Element> elements = new ArrayList<>();
+        elements.add(backgroundElement);
+        elements.add(scenario);
+        report.setElements(elements);
+        reportJsonPostProcessor.postDeserialize(report, null, null);
+
+        Element mergedScenario = report.getElements().get(0);
+        assertThat(mergedScenario.getStatus(), is(Status.FAILED));
+        assertThat(mergedScenario.getTotalNumberOfSteps(), is(2));
+        assertThat(mergedScenario.getTotalNumberOfFailedSteps(), is(1));
+        assertThat(mergedScenario.getTotalDuration(), is(5000001000L));
+    }
+
+    private Step createStep(final String status, final long duration) {
+        Step step = new Step();
+        Result result = new Result();
+        result.setStatus(status);
+        result.setDuration(duration);
+        step.setResult(result);
+        return step;
+    }
+
     @Test
     public void postSerializeTest() {
         reportJsonPostProcessor.postSerialize(null, null, null);
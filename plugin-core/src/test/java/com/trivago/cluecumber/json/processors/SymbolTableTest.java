@@ -0,0 +1,38 @@
+package com.trivago.cluecumber.json.processors;
+
+import com.trivago.cluecumberCore.json.processors.SymbolTable;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+public class SymbolTableTest {
+    private SymbolTable symbolTable;
+
+    @Before
+    public void setup() {
+        symbolTable = new SymbolTable();
+    }
+
+    @Test
+    public void idsAreDenseAndStableTest() {
+        assertThat(symbolTable.getTagId("@a"), is(0));
+        assertThat(symbolTable.getTagId("@b"), is(1));
+        assertThat(symbolTable.getTagId("@a"), is(0));
+        assertThat(symbolTable.getNumberOfTags(), is(2));
+        assertThat(symbolTable.getGlueMethodId("Steps.a()"), is(0));
+        assertThat(symbolTable.getGlueMethodId("Steps.b()"), is(1));
+        assertThat(symbolTable.getNumberOfGlueMethods(), is(2));
+    }
+
+    @Test
+    public void resetFeatureIdsTest() {
+        assertThat(symbolTable.getFeatureId("feature 1"), is(0));
+        assertThat(symbolTable.getFeatureId("feature 2"), is(1));
+        symbolTable.getTagId("@a");
+        symbolTable.resetFeatureIds();
+        assertThat(symbolTable.getFeatureId("feature 2"), is(0));
+        assertThat(symbolTable.getTagId("@b"), is(1));
+    }
+}
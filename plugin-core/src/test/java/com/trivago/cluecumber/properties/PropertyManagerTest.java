@@ -56,6 +56,26 @@ public class PropertyManagerTest {
         propertyManager.setGeneratedHtmlReportDirectory("");
     }
 
+    @Test(expected = WrongOrMissingPropertyException.class)
+    public void invalidNumberOfJsonParsingThreadsTest() throws Exception {
+        propertyManager.setNumberOfJsonParsingThreads(0);
+    }
+
+    @Test(expected = WrongOrMissingPropertyException.class)
+    public void invalidNumberOfAttachmentWritingThreadsTest() throws Exception {
+        propertyManager.setNumberOfAttachmentWritingThreads(0);
+    }
+
+    @Test(expected = WrongOrMissingPropertyException.class)
+    public void invalidNumberOfAggregationThreadsTest() throws Exception {
+        propertyManager.setNumberOfAggregationThreads(0);
+    }
+
+    @Test(expected = WrongOrMissingPropertyException.class)
+    public void invalidNumberOfRenderingThreadsTest() throws Exception {
+        propertyManager.setNumberOfRenderingThreads(0);
+    }
+
 //    @Test
     public void logBasePropertiesTest() {
         propertyManager.logProperties();
@@ -100,4 +100,17 @@ public class RenderingUtilsTest {
         String timeString = RenderingUtils.convertZonedDateTimeToTimeString(null);
         assertThat(timeString, is(""));
     }
+
+    @Test
+    public void epochNanosecondsTest() {
+        ZonedDateTime zonedDateTime = RenderingUtils.convertTimestampToZonedDateTime("2018-09-14T15:02:15.123456789+02:00");
+        long epochNanoseconds = RenderingUtils.convertZonedDateTimeToEpochNanoseconds(Objects.requireNonNull(zonedDateTime));
+        assertThat(epochNanoseconds, is(1536930135123456789L));
+        assertThat(RenderingUtils.convertEpochNanosecondsToZonedDateTime(epochNanoseconds, zonedDateTime.getZone())
+                .format(DateTimeFormatter.ISO_DATE_TIME), is("2018-09-14T15:02:15.123456789+02:00"));
+        assertThat(RenderingUtils.convertEpochNanosecondsToDateString(epochNanoseconds),
+                is(RenderingUtils.convertZonedDateTimeToDateString(zonedDateTime)));
+        assertThat(RenderingUtils.convertEpochNanosecondsToTimeString(epochNanoseconds),
+                is(RenderingUtils.convertZonedDateTimeToTimeString(zonedDateTime)));
+    }
 }
@@ -0,0 +1,141 @@
+package com.trivago.cluecumber.rendering;
+
+import com.trivago.cluecumberCore.json.pojo.Element;
+import com.trivago.cluecumberCore.json.pojo.Match;
+import com.trivago.cluecumberCore.json.pojo.Report;
+import com.trivago.cluecumberCore.json.pojo.Step;
+import com.trivago.cluecumberCore.json.pojo.Tag;
+import com.trivago.cluecumberCore.json.processors.SymbolTable;
+import com.trivago.cluecumberCore.rendering.ReportChangeTracker;
+import com.trivago.cluecumberCore.rendering.pages.pojos.Feature;
+import com.trivago.cluecumberCore.rendering.pages.visitors.PageSelection;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+public class ReportChangeTrackerTest {
+    private ReportChangeTracker reportChangeTracker;
+    private SymbolTable symbolTable;
+
+    @Before
+    public void setup() {
+        reportChangeTracker = new ReportChangeTracker();
+        symbolTable = new SymbolTable();
+    }
+
+    @Test
+    public void initialReportsAreChangedTest() {
+        Element element = createElement(1, 0, "@tag1", "step1");
+        PageSelection pageSelection = reportChangeTracker.getChangedPages(createReports(element));
+        assertThat(pageSelection.isEmpty(), is(false));
+        assertThat(pageSelection.includesScenario(element), is(true));
+        assertThat(pageSelection.includesFeature(new Feature("feature", 0)), is(true));
+        assertThat(pageSelection.includesTag(createTag("@tag1")), is(true));
+        assertThat(pageSelection.includesStep(createStep("step1")), is(true));
+    }
+
+    @Test
+    public void unchangedReportsTest() {
+        Element element = createElement(1, 0, "@tag1", "step1");
+        reportChangeTracker.getChangedPages(createReports(element));
+        PageSelection pageSelection = reportChangeTracker.getChangedPages(createReports(element));
+        assertThat(pageSelection.isEmpty(), is(true));
+        assertThat(pageSelection.includesScenario(element), is(false));
+        assertThat(pageSelection.includesTag(createTag("@tag1")), is(false));
+    }
+
+    @Test
+    public void replacedAndMovedScenariosTest() {
+        Element unchanged = createElement(1, 0, "@tag1", "step1");
+        Element replaced = createElement(2, 1, "@tag2", "step2");
+        Element moved = createElement(3, 2, "@tag3", "step3");
+        reportChangeTracker.getChangedPages(createReports(unchanged, replaced, moved));
+
+        Element replacement = createElement(2, 1, "@tag4", "step4");
+        moved.setFeatureIndex(3);
+        PageSelection pageSelection = reportChangeTracker.getChangedPages(createReports(unchanged, replacement, moved));
+
+        assertThat(pageSelection.includesScenario(unchanged), is(false));
+        assertThat(pageSelection.includesScenario(replacement), is(true));
+        assertThat(pageSelection.includesScenario(moved), is(true));
+        assertThat(pageSelection.includesFeature(new Feature("feature", 0)), is(false));
+        assertThat(pageSelection.includesFeature(new Feature("feature", 1)), is(true));
+        assertThat(pageSelection.includesFeature(new Feature("feature", 2)), is(true));
+        assertThat(pageSelection.includesFeature(new Feature("feature", 3)), is(true));
+        assertThat(pageSelection.includesTag(createTag("@tag1")), is(false));
+        assertThat(pageSelection.includesTag(createTag("@tag2")), is(true));
+        assertThat(pageSelection.includesTag(createTag("@tag4")), is(true));
+        assertThat(pageSelection.includesStep(createStep("step1")), is(false));
+        assertThat(pageSelection.includesStep(createStep("step2")), is(true));
+    }
+
+    @Test
+    public void removedPagesTest() {
+        Element kept = createElement(1, 0, "@tag1", "step1");
+        Element removed = createElement(2, 1, "@tag2", "step2");
+        reportChangeTracker.getChangedPages(createReports(kept, removed));
+
+        PageSelection pageSelection = reportChangeTracker.getChangedPages(createReports(kept));
+
+        assertThat(pageSelection.isEmpty(), is(false));
+        List<String> removedPages = pageSelection.getRemovedPages();
+        assertThat(removedPages.size(), is(4));
+        assertThat(removedPages.contains("pages/scenario-detail/scenario_2.html"), is(true));
+        assertThat(removedPages.contains("pages/feature-scenarios/feature_1.html"), is(true));
+        assertThat(removedPages.contains(
+                "pages/tag-scenarios/tag_" + removed.getTags().get(0).getUrlFriendlyName() + ".html"), is(true));
+        assertThat(removedPages.contains(
+                "pages/step-scenarios/step_" + removed.getSteps().get(0).getUrlFriendlyName() + ".html"), is(true));
+        assertThat(reportChangeTracker.getChangedPages(createReports(kept)).getRemovedPages().isEmpty(), is(true));
+    }
+
+    @Test
+    public void allPagesTest() {
+        assertThat(PageSelection.ALL_PAGES.includesScenario(new Element()), is(true));
+        assertThat(PageSelection.ALL_PAGES.includesTag(createTag("@any")), is(true));
+        assertThat(PageSelection.ALL_PAGES.isEmpty(), is(false));
+    }
+
+    private List<Report> createReports(final Element... elements) {
+        List<Report> reports = new ArrayList<>();
+        for (Element element : elements) {
+            Report report = new Report();
+            report.setElements(Collections.singletonList(element));
+            reports.add(report);
+        }
+        return reports;
+    }
+
+    private Element createElement(final int scenarioIndex, final int featureIndex, final String tag,
+                                  final String step) {
+        Element element = new Element();
+        element.setType("scenario");
+        element.setScenarioIndex(scenarioIndex);
+        element.setFeatureIndex(featureIndex);
+        element.setTags(Collections.singletonList(createTag(tag)));
+        element.setSteps(Collections.singletonList(createStep(step)));
+        return element;
+    }
+
+    private Tag createTag(final String name) {
+        Tag tag = new Tag();
+        tag.setName(name);
+        tag.setId(symbolTable.getTagId(name));
+        return tag;
+    }
+
+    private Step createStep(final String glueMethodName) {
+        Match match = new Match();
+        match.setLocation(glueMethodName);
+        Step step = new Step();
+        step.setMatch(match);
+        step.setGlueMethodId(symbolTable.getGlueMethodId(glueMethodName));
+        return step;
+    }
+}
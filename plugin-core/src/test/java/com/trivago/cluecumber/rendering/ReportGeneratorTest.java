@@ -1,5 +1,6 @@
 package com.trivago.cluecumber.rendering;
 
+import com.trivago.cluecumberCore.filesystem.AttachmentWriter;
 import com.trivago.cluecumberCore.filesystem.FileIO;
 import com.trivago.cluecumberCore.filesystem.FileSystemManager;
 import com.trivago.cluecumberCore.json.pojo.Element;
@@ -12,6 +13,7 @@ import com.trivago.cluecumberCore.rendering.pages.pojos.pagecollections.AllScena
 import com.trivago.cluecumberCore.rendering.pages.renderering.CustomCssRenderer;
 import com.trivago.cluecumberCore.rendering.pages.templates.TemplateEngine;
 import com.trivago.cluecumberCore.rendering.pages.visitors.*;
+import com.trivago.cluecumberCore.rendering.singlepage.SinglePageReportWriter;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -24,6 +26,9 @@ import static org.mockito.Mockito.*;
 public class ReportGeneratorTest {
 
     private FileSystemManager fileSystemManager;
+    private PropertyManager propertyManager;
+    private SinglePageReportWriter singlePageReportWriter;
+    private ScenarioVisitor scenarioVisitor;
     private ReportGenerator reportGenerator;
 
     @Before
@@ -33,10 +38,11 @@ public class ReportGeneratorTest {
         FileIO fileIO = mock(FileIO.class);
         TemplateEngine templateEngine = mock(TemplateEngine.class);
         PropertiesFileLoader propertiesFileLoader = mock(PropertiesFileLoader.class);
-        PropertyManager propertyManager = new PropertyManager(logger, fileIO, propertiesFileLoader);
+        propertyManager = new PropertyManager(logger, fileIO, propertiesFileLoader);
         CustomCssRenderer customCssRenderer = mock(CustomCssRenderer.class);
+        singlePageReportWriter = mock(SinglePageReportWriter.class);
 
-        ScenarioVisitor scenarioVisitor = mock(ScenarioVisitor.class);
+        scenarioVisitor = mock(ScenarioVisitor.class);
         FeatureVisitor featureVisitor = mock(FeatureVisitor.class);
         TagVisitor tagVisitor = mock(TagVisitor.class);
         StepVisitor stepVisitor = mock(StepVisitor.class);
@@ -55,11 +61,51 @@ public class ReportGeneratorTest {
                 propertyManager,
                 fileSystemManager,
                 customCssRenderer,
-                visitorDirectory);
+                visitorDirectory,
+                mock(AttachmentWriter.class),
+                mock(PageWriter.class),
+                singlePageReportWriter);
     }
 
     @Test
     public void fileOperationsTest() throws Exception {
+        AllScenariosPageCollection allScenariosPageCollection = createPageCollection();
+
+        reportGenerator.generateReport(allScenariosPageCollection);
+
+        verify(fileSystemManager, times(8)).createDirectory(anyString());
+        verify(fileSystemManager, times(17)).copyResourceFromJar(anyString(), anyString());
+        verifyNoInteractions(singlePageReportWriter);
+    }
+
+    @Test
+    public void singlePageReportTest() throws Exception {
+        propertyManager.setSinglePageReport(true);
+        AllScenariosPageCollection allScenariosPageCollection = createPageCollection();
+
+        reportGenerator.generateReport(allScenariosPageCollection);
+
+        verify(fileSystemManager, times(4)).createDirectory(anyString());
+        verify(fileSystemManager, times(19)).copyResourceFromJar(anyString(), anyString());
+        verify(singlePageReportWriter).writeReportData(allScenariosPageCollection);
+        verifyNoInteractions(scenarioVisitor);
+    }
+
+    @Test
+    public void changedPagesTest() throws Exception {
+        AllScenariosPageCollection allScenariosPageCollection = createPageCollection();
+        PageSelection pageSelection = new PageSelection();
+        pageSelection.addRemovedPage("pages/scenario-detail/scenario_2.html");
+
+        reportGenerator.generateChangedPages(allScenariosPageCollection, pageSelection);
+
+        verify(scenarioVisitor).visit(allScenariosPageCollection, pageSelection);
+        verify(fileSystemManager).deleteFile(propertyManager.getGeneratedHtmlReportDirectory()
+                + "/pages/scenario-detail/scenario_2.html");
+        verify(fileSystemManager, never()).createDirectory(anyString());
+    }
+
+    private AllScenariosPageCollection createPageCollection() {
         AllScenariosPageCollection allScenariosPageCollection = new AllScenariosPageCollection("");
 
         Report report1 = new Report();
@@ -76,10 +122,6 @@ public class ReportGeneratorTest {
 
         Report[] reportList = {report1, report2};
         allScenariosPageCollection.addReports(reportList);
-
-        reportGenerator.generateReport(allScenariosPageCollection);
-
-        verify(fileSystemManager, times(8)).createDirectory(anyString());
-        verify(fileSystemManager, times(17)).copyResourceFromJar(anyString(), anyString());
+        return allScenariosPageCollection;
     }
 }
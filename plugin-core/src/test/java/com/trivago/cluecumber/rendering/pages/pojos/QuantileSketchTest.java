@@ -0,0 +1,63 @@
+package com.trivago.cluecumber.rendering.pages.pojos;
+
+import com.trivago.cluecumberCore.rendering.pages.pojos.QuantileSketch;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+public class QuantileSketchTest {
+
+    @Test
+    public void emptySketchTest() {
+        assertThat(new QuantileSketch().getQuantile(0.5), is(0L));
+    }
+
+    @Test
+    public void quantileAccuracyTest() {
+        QuantileSketch sketch = new QuantileSketch();
+        for (int i = 10000; i >= 1; i--) {
+            sketch.add(i * 1000000L);
+        }
+        assertRelativeError(sketch.getQuantile(0.5), 5000 * 1000000L);
+        assertRelativeError(sketch.getQuantile(0.95), 9500 * 1000000L);
+        assertRelativeError(sketch.getQuantile(0.99), 9900 * 1000000L);
+        assertRelativeError(sketch.getQuantile(0), 1000000L);
+        assertRelativeError(sketch.getQuantile(1), 10000 * 1000000L);
+    }
+
+    @Test
+    public void zeroDurationsTest() {
+        QuantileSketch sketch = new QuantileSketch();
+        sketch.add(0);
+        sketch.add(0);
+        sketch.add(1000);
+        assertThat(sketch.getQuantile(0.5), is(0L));
+        assertRelativeError(sketch.getQuantile(1), 1000);
+    }
+
+    @Test
+    public void mergeTest() {
+        QuantileSketch merged = new QuantileSketch();
+        QuantileSketch serial = new QuantileSketch();
+        QuantileSketch part = new QuantileSketch();
+        for (int i = 1; i <= 3000; i++) {
+            serial.add(i * 7919L);
+            if (i % 1000 == 0) {
+                part.add(i * 7919L);
+                merged.merge(part);
+                part = new QuantileSketch();
+            } else {
+                part.add(i * 7919L);
+            }
+        }
+        for (double quantile : new double[]{0, 0.5, 0.95, 0.99, 1}) {
+            assertThat(merged.getQuantile(quantile), is(serial.getQuantile(quantile)));
+        }
+    }
+
+    private void assertRelativeError(final long estimate, final long expected) {
+        assertThat("Estimate " + estimate + " for " + expected,
+                Math.abs(estimate - expected) <= expected * 0.01, is(true));
+    }
+}
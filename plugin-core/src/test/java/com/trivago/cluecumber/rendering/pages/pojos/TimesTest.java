@@ -43,4 +43,34 @@ public class TimesTest {
     public void getAverageTimeString() {
         assertThat(times.getAverageTimeString(), is("0m 00s 333ms"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void getPercentileTimeTest() {
+        assertThat(Math.abs(times.getPercentileTime(50) - 400000000L) <= 4000000L, is(true));
+        assertThat(times.getPercentileTime(0), is(100000000L));
+        assertThat(times.getPercentileTime(100), is(500000000L));
+        assertThat(new Times().getPercentileTime(95), is(0L));
+    }
+
+    @Test
+    public void addTimesTest() {
+        Times otherTimes = new Times();
+        otherTimes.addTime(100000000, 4);
+        otherTimes.addTime(900000000, 5);
+        times.addTimes(otherTimes);
+        times.addTimes(new Times());
+        assertThat(times.getMinimumTimeScenarioIndex(), is(1));
+        assertThat(times.getMaximumTimeScenarioIndex(), is(5));
+        assertThat(times.getAverageTimeString(), is("0m 00s 400ms"));
+        assertThat(Math.abs(times.getPercentileTime(50) - 400000000L) <= 4000000L, is(true));
+        assertThat(times.getPercentileTime(100), is(900000000L));
+    }
+
+    @Test
+    public void emptyTimesTest() {
+        Times emptyTimes = new Times();
+        assertThat(emptyTimes.getMinimumTimeScenarioIndex(), is(-1));
+        assertThat(emptyTimes.getMaximumTimeScenarioIndex(), is(-1));
+        assertThat(emptyTimes.getAverageTimeString(), is("0m 00s 000ms"));
+    }
+}
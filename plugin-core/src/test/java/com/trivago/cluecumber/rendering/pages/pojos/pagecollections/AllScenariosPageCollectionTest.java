@@ -1,11 +1,14 @@
 package com.trivago.cluecumber.rendering.pages.pojos.pagecollections;
 
+import com.trivago.cluecumberCore.constants.Status;
 import com.trivago.cluecumberCore.json.pojo.Element;
 import com.trivago.cluecumberCore.json.pojo.Report;
 import com.trivago.cluecumberCore.json.pojo.Result;
 import com.trivago.cluecumberCore.json.pojo.Step;
+import com.trivago.cluecumberCore.json.pojo.Tag;
 import com.trivago.cluecumberCore.rendering.pages.pojos.CustomParameter;
 import com.trivago.cluecumberCore.rendering.pages.pojos.pagecollections.AllScenariosPageCollection;
+import com.trivago.cluecumberCore.rendering.pages.pojos.pagecollections.ScenarioMembershipIndex;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -14,6 +17,7 @@ import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsSame.sameInstance;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -86,6 +90,144 @@ public class AllScenariosPageCollectionTest {
         assertThat(allScenariosPageCollection.getTotalDurationString(), is("0m 05s 000ms"));
     }
 
+    @Test
+    public void suiteStartAndEndTest() {
+        assertThat(allScenariosPageCollection.returnStartDateTimeString(), is(""));
+        assertThat(allScenariosPageCollection.returnEndDateTimeString(), is(""));
+
+        Report report = new Report();
+        List<Element> elements = new ArrayList<>();
+        elements.add(createTimedElement("2019-04-11T08:00:30.000Z", 1000000000L));
+        elements.add(createTimedElement("2019-04-11T08:00:20.000Z", 2000000000L));
+        elements.add(new Element());
+        report.setElements(elements);
+        allScenariosPageCollection.addReports(new Report[]{report});
+
+        assertThat(allScenariosPageCollection.getTotalDurationString(), is("0m 11s 000ms"));
+        assertThat(allScenariosPageCollection.returnStartDateTimeString(),
+                is(elements.get(1).getStartDateString() + " " + elements.get(1).getStartTimeString()));
+        assertThat(allScenariosPageCollection.returnEndDateTimeString(),
+                is(elements.get(0).getEndDateString() + " " + elements.get(0).getEndTimeString()));
+    }
+
+    private Element createTimedElement(final String startTimestamp, final long duration) {
+        Element element = new Element();
+        element.setStartTimestamp(startTimestamp);
+        List<Step> steps = new ArrayList<>();
+        Step step = new Step();
+        Result result = new Result();
+        result.setDuration(duration);
+        step.setResult(result);
+        steps.add(step);
+        element.setSteps(steps);
+        return element;
+    }
+
+    @Test
+    public void filteredViewTest() {
+        Report report1 = new Report();
+        report1.setFeatureIndex(1);
+        List<Element> elements1 = new ArrayList<>();
+        elements1.add(createElementWithStatus("passed"));
+        elements1.add(createElementWithStatus("failed"));
+        elements1.add(createElementWithStatus("passed"));
+        report1.setElements(elements1);
+        Report report2 = new Report();
+        report2.setFeatureIndex(2);
+        List<Element> elements2 = new ArrayList<>();
+        elements2.add(createElementWithStatus("failed"));
+        report2.setElements(elements2);
+        allScenariosPageCollection.setExpandStepHooks(true);
+        allScenariosPageCollection.addReports(new Report[]{report1, report2});
+
+        AllScenariosPageCollection passedView =
+                allScenariosPageCollection.createFilteredView(report -> true, Element::isPassed);
+        assertThat(passedView.getReports().size(), is(1));
+        assertThat(passedView.getReports().get(0), is(sameInstance(report1)));
+        assertThat(passedView.getElements(report1).size(), is(2));
+        assertThat(passedView.getElements(report1).get(1), is(sameInstance(elements1.get(2))));
+        assertThat(passedView.getTotalNumberOfPassedScenarios(), is(2));
+        assertThat(passedView.getTotalNumberOfFailedScenarios(), is(0));
+        assertThat(passedView.isExpandStepHooks(), is(true));
+
+        AllScenariosPageCollection featureView = allScenariosPageCollection.createFilteredView(
+                report -> report.getFeatureIndex() == 2, element -> true);
+        assertThat(featureView.getReports().size(), is(1));
+        assertThat(featureView.getElements(report2), is(sameInstance(elements2)));
+        assertThat(featureView.getTotalNumberOfFailedScenarios(), is(1));
+
+        assertThat(report1.getElements().size(), is(3));
+        assertThat(allScenariosPageCollection.getTotalNumberOfFailedScenarios(), is(2));
+    }
+
+    @Test
+    public void membershipIndexTest() {
+        Report report1 = new Report();
+        report1.setFeatureIndex(0);
+        List<Element> elements1 = new ArrayList<>();
+        elements1.add(createElementWithStatus("passed", 0, 1));
+        elements1.add(createElementWithStatus("failed", 1));
+        elements1.add(createElementWithStatus("passed"));
+        report1.setElements(elements1);
+        Report emptyReport = new Report();
+        emptyReport.setFeatureIndex(2);
+        Report report2 = new Report();
+        report2.setFeatureIndex(1);
+        List<Element> elements2 = new ArrayList<>();
+        elements2.add(createElementWithStatus("failed", 0));
+        report2.setElements(elements2);
+        allScenariosPageCollection.addReports(new Report[]{report1, emptyReport, report2});
+
+        ScenarioMembershipIndex index = allScenariosPageCollection.getMembershipIndex();
+        assertThat(index, is(sameInstance(allScenariosPageCollection.getMembershipIndex())));
+        assertThat(index.getElementsWithTag(0).toString(), is("{0, 3}"));
+        assertThat(index.getElementsWithTag(1).toString(), is("{0, 1}"));
+        assertThat(index.getElementsWithTag(7).isEmpty(), is(true));
+        assertThat(index.getElementsOfFeature(1).toString(), is("{3}"));
+        assertThat(index.getElementsOfFeature(2).isEmpty(), is(true));
+        assertThat(index.getReportPosition(3), is(2));
+        assertThat(index.countElementsWithStatus(index.getElementsWithTag(1), Status.FAILED), is(1));
+        assertThat(index.getIndexedTags().size(), is(2));
+
+        AllScenariosPageCollection tagView = allScenariosPageCollection.createFilteredView(index.getElementsWithTag(0));
+        assertThat(tagView.getReports().size(), is(2));
+        assertThat(tagView.getElements(report1).size(), is(1));
+        assertThat(tagView.getElements(report1).get(0), is(sameInstance(elements1.get(0))));
+        assertThat(tagView.getElements(report2), is(sameInstance(elements2)));
+        assertThat(tagView.getTotalNumberOfFailedScenarios(), is(1));
+
+        AllScenariosPageCollection nestedView =
+                tagView.createFilteredView(tagView.getMembershipIndex().getElementsWithTag(1));
+        assertThat(nestedView.getReports().size(), is(1));
+        assertThat(nestedView.getElements(report1).get(0), is(sameInstance(elements1.get(0))));
+    }
+
+    private Element createElementWithStatus(final String status, final int... tagIds) {
+        Element element = createElementWithStatus(status);
+        List<Tag> tags = new ArrayList<>();
+        for (int tagId : tagIds) {
+            Tag tag = new Tag();
+            tag.setName("@tag" + tagId);
+            tag.setId(tagId);
+            tags.add(tag);
+        }
+        element.setTags(tags);
+        return element;
+    }
+
+    private Element createElementWithStatus(final String status) {
+        Element element = new Element();
+        element.setType("scenario");
+        List<Step> steps = new ArrayList<>();
+        Step step = new Step();
+        Result result = new Result();
+        result.setStatus(status);
+        step.setResult(result);
+        steps.add(step);
+        element.setSteps(steps);
+        return element;
+    }
+
     @Test
     public void hasFailedScenariosTest() {
         assertThat(allScenariosPageCollection.hasFailedScenarios(), is(false));
@@ -125,6 +125,7 @@ public class AllStepsPageCollectionTest {
         Match match = new Match();
         match.setLocation("location1");
         step.setMatch(match);
+        step.setGlueMethodId(0);
         steps.add(step);
         element.setSteps(steps);
         elements.add(element);
@@ -140,6 +141,7 @@ public class AllStepsPageCollectionTest {
         match = new Match();
         match.setLocation("location2");
         step.setMatch(match);
+        step.setGlueMethodId(1);
         steps.add(step);
         element.setSteps(steps);
         elements.add(element);
@@ -155,6 +157,7 @@ public class AllStepsPageCollectionTest {
         match = new Match();
         match.setLocation("location2");
         step.setMatch(match);
+        step.setGlueMethodId(1);
         steps.add(step);
         element.setSteps(steps);
         elements.add(element);
@@ -86,9 +86,11 @@ public class AllTagsPageCollectionTest {
         List<Tag> tags = new ArrayList<>();
         Tag tag = new Tag();
         tag.setName("tag1");
+        tag.setId(0);
         tags.add(tag);
         tag = new Tag();
         tag.setName("tag2");
+        tag.setId(1);
         tags.add(tag);
         element.setTags(tags);
         List<Step> steps = new ArrayList<>();
@@ -105,6 +107,7 @@ public class AllTagsPageCollectionTest {
         tags = new ArrayList<>();
         tag = new Tag();
         tag.setName("tag2");
+        tag.setId(1);
         tags.add(tag);
         element.setTags(tags);
         steps = new ArrayList<>();
@@ -121,6 +124,7 @@ public class AllTagsPageCollectionTest {
         tags = new ArrayList<>();
         tag = new Tag();
         tag.setName("tag3");
+        tag.setId(2);
         tags.add(tag);
         element.setTags(tags);
         steps = new ArrayList<>();
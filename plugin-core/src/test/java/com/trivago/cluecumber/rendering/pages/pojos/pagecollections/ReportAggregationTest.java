@@ -0,0 +1,169 @@
+package com.trivago.cluecumber.rendering.pages.pojos.pagecollections;
+
+import com.trivago.cluecumberCore.exceptions.CluecumberPluginException;
+import com.trivago.cluecumberCore.json.pojo.Element;
+import com.trivago.cluecumberCore.json.pojo.Match;
+import com.trivago.cluecumberCore.json.pojo.Report;
+import com.trivago.cluecumberCore.json.pojo.Result;
+import com.trivago.cluecumberCore.json.pojo.Step;
+import com.trivago.cluecumberCore.json.pojo.Tag;
+import com.trivago.cluecumberCore.rendering.pages.pojos.Feature;
+import com.trivago.cluecumberCore.rendering.pages.pojos.ResultCount;
+import com.trivago.cluecumberCore.rendering.pages.pojos.pagecollections.AllScenariosPageCollection;
+import com.trivago.cluecumberCore.rendering.pages.pojos.pagecollections.ReportAggregation;
+import com.trivago.cluecumberCore.rendering.pages.pojos.pagecollections.ScenarioMembershipIndex;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsSame.sameInstance;
+
+public class ReportAggregationTest {
+
+    @Test
+    public void emptyAggregationTest() {
+        ReportAggregation aggregation = new ReportAggregation(null);
+        assertThat(aggregation.getNumberOfElements(), is(0));
+        assertThat(aggregation.getFeatureResultCounts().size(), is(0));
+        assertThat(aggregation.hasTimestamps(), is(false));
+    }
+
+    @Test
+    public void singlePassAggregationTest() {
+        Report report1 = createReport("feature 1", 0,
+                createElement("scenario", "2019-04-11T08:00:00Z", "passed", "passed"),
+                createElement("background", "", "failed"));
+        Report report2 = createReport("feature 2", 1,
+                createElement("scenario", "2019-04-11T08:00:05Z", "skipped", "skipped"));
+        Report report3 = createReport("feature 1", 0);
+        ReportAggregation aggregation = new ReportAggregation(Arrays.asList(report1, report2, report3));
+
+        assertThat(aggregation.getNumberOfElements(), is(3));
+        assertThat(aggregation.getNumberOfScenarios(), is(2));
+        assertThat(aggregation.getScenarioResultCount().getPassed(), is(1));
+        assertThat(aggregation.getScenarioResultCount().getFailed(), is(1));
+        assertThat(aggregation.getScenarioResultCount().getSkipped(), is(1));
+        assertThat(aggregation.hasTimestamps(), is(true));
+        assertThat(aggregation.getLatestEndEpochNanoseconds() - aggregation.getEarliestStartEpochNanoseconds(),
+                is(5_000_000_000L + 2000));
+
+        assertThat(aggregation.getFeatureResultCounts().size(), is(2));
+        ResultCount feature1 = aggregation.getFeatureResultCounts().get(new Feature("feature 1", 0));
+        assertThat(feature1.getTotal(), is(2));
+        assertThat(feature1.getFailed(), is(1));
+
+        Step step = new Step();
+        step.setMatch(createMatch(0));
+        ResultCount firstStep = aggregation.getStepResultCounts().get(step);
+        assertThat(firstStep.getPassed(), is(1));
+        assertThat(firstStep.getFailed(), is(1));
+        assertThat(firstStep.getSkipped(), is(1));
+        assertThat(aggregation.getStepResultCounts().size(), is(2));
+        assertThat(aggregation.getElementsWithSteps().cardinality(), is(3));
+        assertThat(aggregation.getMembershipIndex().getElementsOfFeature(0).toString(), is("{0, 1}"));
+    }
+
+    @Test
+    public void elementsWithoutIdsAreNotAggregatedByFeatureOrStepTest() {
+        Element element = createElement("scenario", "", "passed");
+        element.getSteps().get(0).setGlueMethodId(-1);
+        ReportAggregation aggregation = new ReportAggregation(
+                Collections.singletonList(createReport("feature", -1, element)));
+
+        assertThat(aggregation.getNumberOfScenarios(), is(1));
+        assertThat(aggregation.getFeatureResultCounts().size(), is(0));
+        assertThat(aggregation.getStepResultCounts().size(), is(0));
+        assertThat(aggregation.getStepTimes().size(), is(0));
+    }
+
+    @Test
+    public void parallelAggregationMatchesSerialAggregationTest() throws CluecumberPluginException {
+        List<Report> reports = new ArrayList<>();
+        for (int i = 0; i < 41; i++) {
+            Element[] elements = new Element[i % 4];
+            for (int j = 0; j < elements.length; j++) {
+                String[] statuses = {"passed", j % 2 == 0 ? "failed" : "passed", i % 3 == 0 ? "skipped" : "passed"};
+                elements[j] = createElement("scenario", "2019-04-11T08:00:" + (10 + i) + "Z",
+                        Arrays.copyOf(statuses, 1 + (i + j) % 3));
+                Tag tag = new Tag();
+                tag.setName("@tag" + (i % 5));
+                tag.setId(i % 5);
+                elements[j].setTags(Collections.singletonList(tag));
+            }
+            reports.add(createReport("feature " + (i % 7), i % 7, elements));
+        }
+        ReportAggregation serial = new ReportAggregation(reports);
+        AllScenariosPageCollection allScenariosPageCollection = new AllScenariosPageCollection("");
+        allScenariosPageCollection.addReports(reports.toArray(new Report[0]));
+        allScenariosPageCollection.aggregate(3);
+        ReportAggregation parallel = allScenariosPageCollection.getAggregation();
+
+        assertThat(describe(parallel), is(describe(serial)));
+        ScenarioMembershipIndex index = parallel.getMembershipIndex();
+        for (int position = 0; position < parallel.getNumberOfElements(); position++) {
+            assertThat(index.getElement(position), is(sameInstance(serial.getMembershipIndex().getElement(position))));
+            assertThat(index.getReportPosition(position), is(serial.getMembershipIndex().getReportPosition(position)));
+        }
+    }
+
+    private String describe(final ReportAggregation aggregation) {
+        ScenarioMembershipIndex index = aggregation.getMembershipIndex();
+        StringBuilder description = new StringBuilder()
+                .append(aggregation.getNumberOfElements()).append(',')
+                .append(aggregation.getNumberOfScenarios()).append(',')
+                .append(aggregation.getScenarioResultCount()).append(',')
+                .append(aggregation.getEarliestStartEpochNanoseconds()).append(',')
+                .append(aggregation.getLatestEndEpochNanoseconds()).append('\n')
+                .append(aggregation.getFeatureResultCounts()).append('\n')
+                .append(aggregation.getStepResultCounts()).append('\n')
+                .append(aggregation.getElementsWithSteps()).append('\n');
+        aggregation.getStepTimes().forEach((step, times) -> description.append(times.getMinimumTimeString())
+                .append(times.getMinimumTimeScenarioIndex()).append(times.getAverageTimeString()).append(','));
+        for (Tag tag : index.getIndexedTags()) {
+            description.append(tag.getName()).append(index.getElementsWithTag(tag.getId()));
+        }
+        for (int featureIndex = 0; featureIndex < 7; featureIndex++) {
+            description.append(index.getElementsOfFeature(featureIndex));
+        }
+        return description.append(index.getElementsWithGlueMethod(1)).toString();
+    }
+
+    private Report createReport(final String name, final int featureIndex, final Element... elements) {
+        Report report = new Report();
+        report.setName(name);
+        report.setFeatureIndex(featureIndex);
+        report.setElements(new ArrayList<>(Arrays.asList(elements)));
+        return report;
+    }
+
+    private Element createElement(final String type, final String startTimestamp, final String... stepStatuses) {
+        Element element = new Element();
+        element.setType(type);
+        element.setStartTimestamp(startTimestamp);
+        List<Step> steps = new ArrayList<>();
+        for (int i = 0; i < stepStatuses.length; i++) {
+            Step step = new Step();
+            Result result = new Result();
+            result.setStatus(stepStatuses[i]);
+            result.setDuration(1000);
+            step.setResult(result);
+            step.setMatch(createMatch(i));
+            step.setGlueMethodId(i);
+            steps.add(step);
+        }
+        element.setSteps(steps);
+        element.setTags(Collections.emptyList());
+        return element;
+    }
+
+    private Match createMatch(final int index) {
+        Match match = new Match();
+        match.setLocation("Steps.step" + index + "()");
+        return match;
+    }
+}
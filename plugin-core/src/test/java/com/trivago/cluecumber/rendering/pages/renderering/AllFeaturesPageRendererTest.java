@@ -10,6 +10,7 @@ import freemarker.template.Template;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -33,6 +34,6 @@ public class AllFeaturesPageRendererTest {
         List<Report> reports = new ArrayList<>();
         reports.add(report);
         AllFeaturesPageCollection allFeaturesPageCollection = new AllFeaturesPageCollection(reports, "");
-        allFeaturesPageRenderer.getRenderedContent(allFeaturesPageCollection, template);
+        allFeaturesPageRenderer.renderContent(allFeaturesPageCollection, template, new StringWriter());
     }
 }
@@ -12,6 +12,7 @@ import freemarker.template.Template;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -37,7 +38,7 @@ public class AllScenariosPageRendererTest {
     public void testContentRendering() throws CluecumberPluginException {
         Template template = mock(Template.class);
         AllScenariosPageCollection allScenariosPageCollection = new AllScenariosPageCollection("");
-        allScenariosPageRenderer.getRenderedContent(allScenariosPageCollection, template);
+        allScenariosPageRenderer.renderContent(allScenariosPageCollection, template, new StringWriter());
     }
 
     @Test
@@ -47,7 +48,7 @@ public class AllScenariosPageRendererTest {
         Map<String, String> customParameters = new HashMap<>();
         customParameters.put("key", "value");
         when(propertyManager.getCustomParameters()).thenReturn(customParameters);
-        allScenariosPageRenderer.getRenderedContent(allScenariosPageCollection, template);
+        allScenariosPageRenderer.renderContent(allScenariosPageCollection, template, new StringWriter());
     }
 
     @Test
@@ -67,7 +68,7 @@ public class AllScenariosPageRendererTest {
         report.setElements(elements);
         Report[] reportList = new Report[]{report};
         allScenariosPageCollection.addReports(reportList);
-        allScenariosPageRenderer.getRenderedContentByTagFilter(allScenariosPageCollection, template, tag);
+        allScenariosPageRenderer.renderContentByTagFilter(allScenariosPageCollection, template, tag, new StringWriter());
     }
 
     @Test
@@ -88,7 +89,7 @@ public class AllScenariosPageRendererTest {
         report.setElements(elements);
         Report[] reportList = new Report[]{report};
         allScenariosPageCollection.addReports(reportList);
-        allScenariosPageRenderer.getRenderedContentByStepFilter(allScenariosPageCollection, template, step);
+        allScenariosPageRenderer.renderContentByStepFilter(allScenariosPageCollection, template, step, new StringWriter());
     }
 
     @Test
@@ -100,6 +101,6 @@ public class AllScenariosPageRendererTest {
         Report[] reportList = new Report[]{report};
         allScenariosPageCollection.addReports(reportList);
         Feature feature = new Feature("feature", 12);
-        allScenariosPageRenderer.getRenderedContentByFeatureFilter(allScenariosPageCollection, template, feature);
+        allScenariosPageRenderer.renderContentByFeatureFilter(allScenariosPageCollection, template, feature, new StringWriter());
     }
 }
@@ -10,6 +10,7 @@ import freemarker.template.Template;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -33,6 +34,6 @@ public class AllStepsPageRendererTest {
         List<Report> reports = new ArrayList<>();
         reports.add(report);
         AllStepsPageCollection allStepsPageCollection = new AllStepsPageCollection(reports, "");
-        allStepsPageRenderer.getRenderedContent(allStepsPageCollection, template);
+        allStepsPageRenderer.renderContent(allStepsPageCollection, template, new StringWriter());
     }
 }
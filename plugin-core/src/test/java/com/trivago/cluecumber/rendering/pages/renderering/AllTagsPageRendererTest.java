@@ -10,6 +10,7 @@ import freemarker.template.Template;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -33,6 +34,6 @@ public class AllTagsPageRendererTest {
         List<Report> reports = new ArrayList<>();
         reports.add(report);
         AllTagsPageCollection allTagsPageCollection = new AllTagsPageCollection(reports, "");
-        allTagsPageRenderer.getRenderedContent(allTagsPageCollection, template);
+        allTagsPageRenderer.renderContent(allTagsPageCollection, template, new StringWriter());
     }
 }
@@ -1,8 +1,11 @@
 package com.trivago.cluecumber.rendering.pages.renderering;
 
 import com.trivago.cluecumberCore.constants.ChartConfiguration;
+import com.trivago.cluecumberCore.constants.MimeType;
 import com.trivago.cluecumberCore.exceptions.CluecumberPluginException;
+import com.trivago.cluecumberCore.filesystem.FileIO;
 import com.trivago.cluecumberCore.json.pojo.Element;
+import com.trivago.cluecumberCore.json.pojo.Embedding;
 import com.trivago.cluecumberCore.json.pojo.Step;
 import com.trivago.cluecumberCore.properties.PropertyManager;
 import com.trivago.cluecumberCore.rendering.pages.charts.ChartJsonConverter;
@@ -12,15 +15,26 @@ import freemarker.template.Template;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class ScenarioDetailsPageRendererTest {
 
     private ScenarioDetailsPageRenderer scenarioDetailsPageRenderer;
+    private FileIO fileIO;
 
     @Before
     public void setup() {
@@ -29,8 +43,11 @@ public class ScenarioDetailsPageRendererTest {
         when(propertyManager.getCustomStatusColorFailed()).thenReturn("#ff0000");
         when(propertyManager.getCustomStatusColorPassed()).thenReturn("#00ff00");
         when(propertyManager.getCustomStatusColorSkipped()).thenReturn("#00ffff");
+        when(propertyManager.getGeneratedHtmlReportDirectory()).thenReturn("dummyPath");
+        when(propertyManager.getMaximumInlineTextAttachmentSize()).thenReturn(1);
         ChartConfiguration chartConfiguration = new ChartConfiguration(propertyManager);
-        scenarioDetailsPageRenderer = new ScenarioDetailsPageRenderer(chartJsonConverter, chartConfiguration, propertyManager);
+        fileIO = mock(FileIO.class);
+        scenarioDetailsPageRenderer = new ScenarioDetailsPageRenderer(chartJsonConverter, chartConfiguration, propertyManager, fileIO);
     }
 
     @Test
@@ -40,6 +57,54 @@ public class ScenarioDetailsPageRendererTest {
         List<Step> steps = new ArrayList<>();
         element.setSteps(steps);
         ScenarioDetailsPageCollection scenarioDetailsPageCollection = new ScenarioDetailsPageCollection(element, "");
-        scenarioDetailsPageRenderer.getRenderedContent(scenarioDetailsPageCollection, template);
+        scenarioDetailsPageRenderer.renderContent(scenarioDetailsPageCollection, template, new StringWriter());
+    }
+
+    @Test
+    public void textAttachmentsAreLoadedPerPageTest() throws Exception {
+        Template template = mock(Template.class);
+        Embedding textEmbedding = new Embedding();
+        textEmbedding.setMimeType(MimeType.XML);
+        textEmbedding.setFilename("attachment001.xml");
+        Embedding imageEmbedding = new Embedding();
+        imageEmbedding.setMimeType(MimeType.PNG);
+        imageEmbedding.setFilename("attachment002.png");
+        Step step = new Step();
+        step.setEmbeddings(Arrays.asList(textEmbedding, imageEmbedding));
+        // A background step is shared by both scenarios
+        Element element1 = new Element();
+        element1.setSteps(Collections.singletonList(step));
+        Element element2 = new Element();
+        element2.setSteps(Collections.singletonList(step));
+        when(fileIO.readBytesFromFile(eq("dummyPath/attachments/attachment001.xml"), anyInt()))
+                .thenReturn("<a/>".getBytes(StandardCharsets.UTF_8));
+
+        ScenarioDetailsPageCollection page1 = new ScenarioDetailsPageCollection(element1, "");
+        ScenarioDetailsPageCollection page2 = new ScenarioDetailsPageCollection(element2, "");
+        scenarioDetailsPageRenderer.renderContent(page1, template, new StringWriter());
+        scenarioDetailsPageRenderer.renderContent(page2, template, new StringWriter());
+
+        assertThat(page1.getAttachmentText(textEmbedding), is("&lt;a/&gt;"));
+        assertThat(page2.getAttachmentText(textEmbedding), is("&lt;a/&gt;"));
+        assertThat(page1.hasAttachmentText(imageEmbedding), is(false));
+        verify(fileIO, never()).readBytesFromFile(eq("dummyPath/attachments/attachment002.png"), anyInt());
+    }
+
+    @Test
+    public void largeTextAttachmentsAreNotInlinedTest() throws Exception {
+        Template template = mock(Template.class);
+        Embedding htmlEmbedding = new Embedding();
+        htmlEmbedding.setMimeType(MimeType.HTML);
+        htmlEmbedding.setFilename("attachment001.html");
+        Step step = new Step();
+        step.setEmbeddings(Collections.singletonList(htmlEmbedding));
+        Element element = new Element();
+        element.setSteps(Collections.singletonList(step));
+        when(fileIO.readBytesFromFile("dummyPath/attachments/attachment001.html", 1025)).thenReturn(new byte[1025]);
+        ScenarioDetailsPageCollection scenarioDetailsPageCollection = new ScenarioDetailsPageCollection(element, "");
+
+        scenarioDetailsPageRenderer.renderContent(scenarioDetailsPageCollection, template, new StringWriter());
+
+        assertThat(scenarioDetailsPageCollection.hasAttachmentText(htmlEmbedding), is(false));
     }
 }
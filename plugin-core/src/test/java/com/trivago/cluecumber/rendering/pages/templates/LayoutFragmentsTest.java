@@ -0,0 +1,75 @@
+package com.trivago.cluecumber.rendering.pages.templates;
+
+import com.trivago.cluecumberCore.rendering.pages.templates.LayoutFragments;
+import freemarker.template.Configuration;
+import freemarker.template.Template;
+import freemarker.template.TemplateException;
+import freemarker.template.TemplateMethodModelEx;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+public class LayoutFragmentsTest {
+
+    private LayoutFragments layoutFragments;
+    private Configuration configuration;
+    private AtomicInteger renderings;
+
+    @Before
+    public void setup() {
+        layoutFragments = new LayoutFragments();
+        configuration = new Configuration(Configuration.VERSION_2_3_29);
+        configuration.setSharedVariable("layoutFragment", layoutFragments);
+        renderings = new AtomicInteger();
+    }
+
+    @Test
+    public void fragmentIsRenderedOncePerParametersTest() throws Exception {
+        String source = "<@layoutFragment name=\"nav\" highlight=highlight>${highlight}:${count()}</@layoutFragment>|";
+        assertThat(render(source, "tags"), is("tags:1|"));
+        assertThat(render(source, "tags"), is("tags:1|"));
+        assertThat(render(source, "steps"), is("steps:2|"));
+        assertThat(render(source, "tags"), is("tags:1|"));
+        assertThat(renderings.get(), is(2));
+    }
+
+    @Test
+    public void fragmentNamesAreSeparatedTest() throws Exception {
+        String source = "<@layoutFragment name=\"a\">${count()}</@layoutFragment>" +
+                "<@layoutFragment name=\"b\">${count()}</@layoutFragment>";
+        assertThat(render(source, ""), is("12"));
+        assertThat(render(source, ""), is("12"));
+    }
+
+    @Test
+    public void clearedFragmentsAreRenderedAgainTest() throws Exception {
+        String source = "<@layoutFragment name=\"footer\">${count()}</@layoutFragment>";
+        assertThat(render(source, ""), is("1"));
+        layoutFragments.clear();
+        assertThat(render(source, ""), is("2"));
+    }
+
+    @Test(expected = TemplateException.class)
+    public void missingNameTest() throws Exception {
+        render("<@layoutFragment highlight=\"x\">x</@layoutFragment>", "");
+    }
+
+    private String render(final String source, final String highlight) throws IOException, TemplateException {
+        Map<String, Object> model = new HashMap<>();
+        model.put("highlight", highlight);
+        model.put("count", (TemplateMethodModelEx) arguments -> renderings.incrementAndGet());
+        Template template = new Template("test", new StringReader(source), configuration);
+        StringWriter writer = new StringWriter();
+        template.process(model, writer);
+        return writer.toString();
+    }
+}
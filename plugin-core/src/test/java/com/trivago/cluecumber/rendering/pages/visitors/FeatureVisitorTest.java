@@ -18,7 +18,7 @@ public class FeatureVisitorTest extends VisitorTest {
         super.setUp();
         allFeaturesPageRenderer = mock(AllFeaturesPageRenderer.class);
         featureVisitor = new FeatureVisitor(
-                fileIo,
+                pageWriter,
                 templateEngine,
                 propertyManager,
                 allFeaturesPageRenderer,
@@ -28,12 +28,11 @@ public class FeatureVisitorTest extends VisitorTest {
 
     @Test
     public void visitTest() throws CluecumberPluginException {
-        when(allFeaturesPageRenderer.getRenderedContent(any(), any())).thenReturn("MyRenderedFeatures");
-        when(allScenariosPageRenderer.getRenderedContentByFeatureFilter(any(), any(), any())).thenReturn("MyRenderedScenarios");
+        doAnswer(renders("MyRenderedFeatures")).when(allFeaturesPageRenderer).renderContent(any(), any(), any());
+        doAnswer(renders("MyRenderedScenarios")).when(allScenariosPageRenderer)
+                .renderContentByFeatureFilter(any(), any(), any(), any());
         featureVisitor.visit(getAllScenarioPageCollection());
-        verify(fileIo, times(1))
-                .writeContentToFile("MyRenderedFeatures", "dummyPath/pages/feature-summary.html");
-        verify(fileIo, times(1))
-                .writeContentToFile("MyRenderedScenarios", "dummyPath/pages/feature-scenarios/feature_12.html");
+        assertWrittenOnce("MyRenderedFeatures", "dummyPath/pages/feature-summary.html");
+        assertWrittenOnce("MyRenderedScenarios", "dummyPath/pages/feature-scenarios/feature_12.html");
     }
 }
\ No newline at end of file
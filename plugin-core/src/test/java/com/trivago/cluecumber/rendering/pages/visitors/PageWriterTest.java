@@ -0,0 +1,70 @@
+package com.trivago.cluecumber.rendering.pages.visitors;
+
+import com.trivago.cluecumberCore.exceptions.CluecumberPluginException;
+import com.trivago.cluecumberCore.filesystem.FileIO;
+import com.trivago.cluecumberCore.properties.PropertyManager;
+import com.trivago.cluecumberCore.rendering.pages.visitors.PageWriter;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class PageWriterTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private PageWriter pageWriter;
+    private File directory;
+
+    @Before
+    public void setup() throws Exception {
+        PropertyManager propertyManager = mock(PropertyManager.class);
+        when(propertyManager.getNumberOfRenderingThreads()).thenReturn(4);
+        pageWriter = new PageWriter(new FileIO(), propertyManager);
+        directory = temporaryFolder.newFolder();
+    }
+
+    @Test
+    public void parallelWritingTest() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            String content = "page" + i;
+            pageWriter.writePage(writer -> writer.write(content), directory + "/page" + i + ".html");
+        }
+        pageWriter.awaitCompletion();
+
+        assertThat(directory.list().length, is(100));
+        assertThat(new String(Files.readAllBytes(new File(directory, "page99.html").toPath()), StandardCharsets.UTF_8)
+                .trim(), is("page99"));
+    }
+
+    @Test
+    public void firstSubmittedFailureIsReportedTest() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            int page = i;
+            pageWriter.writePage(writer -> {
+                if (page >= 5) {
+                    throw new CluecumberPluginException("Page " + page + " failed");
+                }
+                writer.write("page" + page);
+            }, directory + "/page" + i + ".html");
+        }
+        try {
+            pageWriter.awaitCompletion();
+        } catch (CluecumberPluginException e) {
+            assertThat(e.getMessage(), is("Page 5 failed"));
+            assertThat(directory.list().length, is(5));
+            pageWriter.awaitCompletion();
+            return;
+        }
+        throw new AssertionError("No failure was reported.");
+    }
+}
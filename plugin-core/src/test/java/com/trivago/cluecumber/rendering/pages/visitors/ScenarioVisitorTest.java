@@ -2,9 +2,12 @@ package com.trivago.cluecumber.rendering.pages.visitors;
 
 import com.trivago.cluecumberCore.exceptions.CluecumberPluginException;
 import com.trivago.cluecumberCore.rendering.pages.renderering.ScenarioDetailsPageRenderer;
+import com.trivago.cluecumberCore.rendering.pages.visitors.PageSelection;
 import com.trivago.cluecumberCore.rendering.pages.visitors.ScenarioVisitor;
 import org.junit.Test;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -18,7 +21,7 @@ public class ScenarioVisitorTest extends VisitorTest {
         super.setUp();
         scenarioDetailsPageRenderer = mock(ScenarioDetailsPageRenderer.class);
         scenarioVisitor = new ScenarioVisitor(
-                fileIo,
+                pageWriter,
                 templateEngine,
                 propertyManager,
                 allScenariosPageRenderer,
@@ -28,14 +31,20 @@ public class ScenarioVisitorTest extends VisitorTest {
 
     @Test
     public void visitTest() throws CluecumberPluginException {
-        when(allScenariosPageRenderer.getRenderedContent(any(), any())).thenReturn("MyRenderedScenarios");
-        when(scenarioDetailsPageRenderer.getRenderedContent(any(), any())).thenReturn("MyRenderedScenarioDetails");
+        doAnswer(renders("MyRenderedScenarios")).when(allScenariosPageRenderer).renderContent(any(), any(), any());
+        doAnswer(renders("MyRenderedScenarioDetails")).when(scenarioDetailsPageRenderer).renderContent(any(), any(), any());
         scenarioVisitor.visit(getAllScenarioPageCollection());
-        verify(fileIo, times(1))
-                .writeContentToFile("MyRenderedScenarios", "dummyPath/index.html");
-        verify(fileIo, times(1))
-                .writeContentToFile("MyRenderedScenarios", "dummyPath/pages/scenario-sequence.html");
-        verify(fileIo, times(1))
-                .writeContentToFile("MyRenderedScenarioDetails", "dummyPath/pages/scenario-detail/scenario_0.html");
+        assertWrittenOnce("MyRenderedScenarios", "dummyPath/index.html");
+        assertWrittenOnce("MyRenderedScenarios", "dummyPath/pages/scenario-sequence.html");
+        assertWrittenOnce("MyRenderedScenarioDetails", "dummyPath/pages/scenario-detail/scenario_0.html");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void visitWithEmptyPageSelectionTest() throws CluecumberPluginException {
+        doAnswer(renders("MyRenderedScenarios")).when(allScenariosPageRenderer).renderContent(any(), any(), any());
+        doAnswer(renders("MyRenderedScenarioDetails")).when(scenarioDetailsPageRenderer).renderContent(any(), any(), any());
+        scenarioVisitor.visit(getAllScenarioPageCollection(), new PageSelection());
+        assertWrittenOnce("MyRenderedScenarios", "dummyPath/index.html");
+        assertThat(isWritten("dummyPath/pages/scenario-detail/scenario_0.html"), is(false));
+    }
+}
@@ -18,7 +18,7 @@ public class StepVisitorTest extends VisitorTest {
         super.setUp();
         allStepsPageRenderer = mock(AllStepsPageRenderer.class);
         stepVisitor = new StepVisitor(
-                fileIo,
+                pageWriter,
                 templateEngine,
                 propertyManager,
                 allStepsPageRenderer,
@@ -28,12 +28,11 @@ public class StepVisitorTest extends VisitorTest {
 
     @Test
     public void visitTest() throws CluecumberPluginException {
-        when(allStepsPageRenderer.getRenderedContent(any(), any())).thenReturn("MyRenderedSteps");
-        when(allScenariosPageRenderer.getRenderedContentByStepFilter(any(), any(), any())).thenReturn("MyRenderedScenarios");
+        doAnswer(renders("MyRenderedSteps")).when(allStepsPageRenderer).renderContent(any(), any(), any());
+        doAnswer(renders("MyRenderedScenarios")).when(allScenariosPageRenderer)
+                .renderContentByStepFilter(any(), any(), any(), any());
         stepVisitor.visit(getAllScenarioPageCollection());
-        verify(fileIo, times(1))
-                .writeContentToFile("MyRenderedSteps", "dummyPath/pages/step-summary.html");
-        verify(fileIo, times(1))
-                .writeContentToFile("MyRenderedScenarios", "dummyPath/pages/step-scenarios/step_31.html");
+        assertWrittenOnce("MyRenderedSteps", "dummyPath/pages/step-summary.html");
+        assertWrittenOnce("MyRenderedScenarios", "dummyPath/pages/step-scenarios/step_5.html");
     }
 }
\ No newline at end of file
@@ -18,7 +18,7 @@ public class TagVisitorTest extends VisitorTest {
         super.setUp();
         allTagsPageRenderer = mock(AllTagsPageRenderer.class);
         tagVisitor = new TagVisitor(
-                fileIo,
+                pageWriter,
                 templateEngine,
                 propertyManager,
                 allTagsPageRenderer,
@@ -28,12 +28,11 @@ public class TagVisitorTest extends VisitorTest {
 
     @Test
     public void visitTest() throws CluecumberPluginException {
-        when(allTagsPageRenderer.getRenderedContent(any(), any())).thenReturn("MyRenderedTags");
-        when(allScenariosPageRenderer.getRenderedContentByTagFilter(any(), any(), any())).thenReturn("MyRenderedScenarios");
+        doAnswer(renders("MyRenderedTags")).when(allTagsPageRenderer).renderContent(any(), any(), any());
+        doAnswer(renders("MyRenderedScenarios")).when(allScenariosPageRenderer)
+                .renderContentByTagFilter(any(), any(), any(), any());
         tagVisitor.visit(getAllScenarioPageCollection());
-        verify(fileIo, times(1))
-                .writeContentToFile("MyRenderedTags", "dummyPath/pages/tag-summary.html");
-        verify(fileIo, times(1))
-                .writeContentToFile("MyRenderedScenarios", "dummyPath/pages/tag-scenarios/tag_myTag.html");
+        assertWrittenOnce("MyRenderedTags", "dummyPath/pages/tag-summary.html");
+        assertWrittenOnce("MyRenderedScenarios", "dummyPath/pages/tag-scenarios/tag_3.html");
     }
 }
\ No newline at end of file
@@ -11,19 +11,35 @@ import com.trivago.cluecumberCore.rendering.pages.pojos.Feature;
 import com.trivago.cluecumberCore.rendering.pages.pojos.pagecollections.AllScenariosPageCollection;
 import com.trivago.cluecumberCore.rendering.pages.renderering.AllScenariosPageRenderer;
 import com.trivago.cluecumberCore.rendering.pages.templates.TemplateEngine;
+import com.trivago.cluecumberCore.rendering.pages.visitors.PageWriter;
 import org.junit.Before;
+import org.mockito.stubbing.Answer;
 
+import java.io.StringWriter;
+import java.io.Writer;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class VisitorTest {
     FileIO fileIo;
+    PageWriter pageWriter;
     TemplateEngine templateEngine;
     PropertyManager propertyManager;
     AllScenariosPageRenderer allScenariosPageRenderer;
+    private Map<String, String> writtenFiles;
 
     @Before
     public void setUp() throws CluecumberPluginException {
@@ -32,6 +48,31 @@ public class VisitorTest {
         propertyManager = mock(PropertyManager.class);
         allScenariosPageRenderer = mock(AllScenariosPageRenderer.class);
         when(propertyManager.getGeneratedHtmlReportDirectory()).thenReturn("dummyPath");
+        pageWriter = new PageWriter(fileIo, propertyManager);
+        writtenFiles = new HashMap<>();
+        doAnswer(invocation -> {
+            StringWriter writer = new StringWriter();
+            invocation.<FileIO.ContentWriter>getArgument(0).write(writer);
+            writtenFiles.put(invocation.getArgument(1), writer.toString());
+            return null;
+        }).when(fileIo).writeContentToFile(any(FileIO.ContentWriter.class), anyString());
+    }
+
+    static Answer<Void> renders(final String content) {
+        return invocation -> {
+            Object[] arguments = invocation.getArguments();
+            ((Writer) arguments[arguments.length - 1]).write(content);
+            return null;
+        };
+    }
+
+    void assertWrittenOnce(final String content, final String filePath) throws CluecumberPluginException {
+        verify(fileIo, times(1)).writeContentToFile(any(FileIO.ContentWriter.class), eq(filePath));
+        assertThat(writtenFiles.get(filePath), is(content));
+    }
+
+    boolean isWritten(final String filePath) {
+        return writtenFiles.containsKey(filePath);
     }
 
     AllScenariosPageCollection getAllScenarioPageCollection() {
@@ -47,11 +88,13 @@ public class VisitorTest {
         List<Tag> tags = new ArrayList<>();
         Tag tag = new Tag();
         tag.setName("myTag");
+        tag.setId(3);
         tags.add(tag);
         element.setTags(tags);
         List<Step> steps = new ArrayList<>();
         Step step = new Step();
         step.setName("MyStep");
+        step.setGlueMethodId(5);
         steps.add(step);
         element.setSteps(steps);
         elements.add(element);
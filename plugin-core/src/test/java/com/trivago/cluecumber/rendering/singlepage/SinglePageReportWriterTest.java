@@ -0,0 +1,134 @@
+package com.trivago.cluecumber.rendering.singlepage;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.trivago.cluecumberCore.exceptions.CluecumberPluginException;
+import com.trivago.cluecumberCore.filesystem.FileIO;
+import com.trivago.cluecumberCore.json.pojo.Element;
+import com.trivago.cluecumberCore.json.pojo.Match;
+import com.trivago.cluecumberCore.json.pojo.Report;
+import com.trivago.cluecumberCore.json.pojo.Result;
+import com.trivago.cluecumberCore.json.pojo.Step;
+import com.trivago.cluecumberCore.json.pojo.Tag;
+import com.trivago.cluecumberCore.properties.PropertyManager;
+import com.trivago.cluecumberCore.rendering.pages.pojos.pagecollections.AllScenariosPageCollection;
+import com.trivago.cluecumberCore.rendering.singlepage.SinglePageReportWriter;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SinglePageReportWriterTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private SinglePageReportWriter singlePageReportWriter;
+    private File reportDirectory;
+
+    @Before
+    public void setup() throws IOException {
+        reportDirectory = temporaryFolder.newFolder();
+        temporaryFolder.newFolder(reportDirectory.getName(), "data");
+        PropertyManager propertyManager = mock(PropertyManager.class);
+        when(propertyManager.getGeneratedHtmlReportDirectory()).thenReturn(reportDirectory.getAbsolutePath());
+        when(propertyManager.getCustomPageTitle()).thenReturn("My Report");
+        when(propertyManager.getCustomStatusColorPassed()).thenReturn("#017FAF");
+        when(propertyManager.isExpandStepHooks()).thenReturn(true);
+        singlePageReportWriter = new SinglePageReportWriter(new FileIO(), propertyManager);
+    }
+
+    @Test
+    public void writeReportDataTest() throws Exception {
+        List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < 501; i++) {
+            elements.add(createElement("Scenario " + i, i % 2 == 0 ? "passed" : "failed"));
+        }
+        AllScenariosPageCollection allScenariosPageCollection = createPageCollection(elements);
+
+        singlePageReportWriter.writeReportData(allScenariosPageCollection);
+
+        JsonObject report = readData("report.js", "cluecumberReport = ", ";\n").getAsJsonObject();
+        assertThat(report.get("title").getAsString(), is("My Report"));
+        assertThat(report.getAsJsonObject("colors").get("passed").getAsString(), is("#017FAF"));
+        assertThat(report.getAsJsonObject("expand").get("stepHooks").getAsBoolean(), is(true));
+        assertThat(report.get("scenariosPerDataFile").getAsInt(), is(500));
+
+        JsonArray scenarios = report.getAsJsonArray("scenarios");
+        assertThat(scenarios.size(), is(501));
+        assertThat(scenarios.get(1).getAsJsonObject().get("name").getAsString(), is("Scenario 1"));
+        assertThat(scenarios.get(1).getAsJsonObject().get("status").getAsString(), is("failed"));
+
+        JsonObject tag = report.getAsJsonArray("tags").get(0).getAsJsonObject();
+        assertThat(tag.get("name").getAsString(), is("@tag"));
+        assertThat(tag.getAsJsonArray("scenarios").size(), is(501));
+
+        JsonObject step = report.getAsJsonArray("steps").get(0).getAsJsonObject();
+        assertThat(step.get("glue").getAsString(), is("Steps.step()"));
+        assertThat(step.getAsJsonArray("percentiles").size(), is(3));
+
+        JsonArray firstChunk = readData("scenarios_0.js", "cluecumberScenarios(0, ", ");\n").getAsJsonArray();
+        assertThat(firstChunk.size(), is(500));
+        JsonObject firstStep = firstChunk.get(0).getAsJsonObject().getAsJsonArray("steps").get(0).getAsJsonObject();
+        assertThat(firstStep.get("name").getAsString(), is("I have cukes"));
+        assertThat(readData("scenarios_1.js", "cluecumberScenarios(1, ", ");\n").getAsJsonArray().size(), is(1));
+        assertThat(new File(reportDirectory, "data/scenarios_2.js").exists(), is(false));
+    }
+
+    private JsonElement readData(final String fileName, final String prefix, final String suffix)
+            throws IOException {
+        String content = new String(Files.readAllBytes(new File(reportDirectory, "data/" + fileName).toPath()),
+                StandardCharsets.UTF_8);
+        assertThat(content.startsWith(prefix), is(true));
+        assertThat(content.endsWith(suffix), is(true));
+        return JsonParser.parseString(content.substring(prefix.length(), content.length() - suffix.length()));
+    }
+
+    private AllScenariosPageCollection createPageCollection(final List<Element> elements)
+            throws CluecumberPluginException {
+        Report report = new Report();
+        report.setName("Feature");
+        report.setElements(elements);
+        AllScenariosPageCollection allScenariosPageCollection = new AllScenariosPageCollection("");
+        allScenariosPageCollection.addReports(new Report[]{report});
+        allScenariosPageCollection.aggregate(1);
+        return allScenariosPageCollection;
+    }
+
+    private Element createElement(final String name, final String status) {
+        Element element = new Element();
+        element.setType("scenario");
+        element.setName(name);
+        Tag tag = new Tag();
+        tag.setName("@tag");
+        tag.setId(0);
+        element.setTags(Collections.singletonList(tag));
+        Step step = new Step();
+        step.setKeyword("Given ");
+        step.setName("I have cukes");
+        Result result = new Result();
+        result.setStatus(status);
+        result.setDuration(1000);
+        step.setResult(result);
+        Match match = new Match();
+        match.setLocation("Steps.step()");
+        step.setMatch(match);
+        step.setGlueMethodId(0);
+        element.setSteps(Collections.singletonList(step));
+        return element;
+    }
+}